@@ -0,0 +1,560 @@
+/*******************************************************************************
+ * Copyright (c) 2020 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.codewind.intellij.fake;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A stand-in for Codewind that the plugin can connect to, for integration and load testing.
+ * <p>
+ * It serves the REST endpoints the plugin uses (ready, environment, the project list, single projects
+ * and the per-project actions) and a socket.io namespace on the same port, see {@link FakeSocketServer}.
+ * The projects are simulated: builds and restarts go through the same status transitions as a real
+ * project, with the matching socket events.  Failures can be injected, either as error responses for
+ * some requests or as an outage that drops the socket clients and refuses new connections for a time.
+ * <p>
+ * It is meant to be embedded, for example in a JUnit test:
+ * <pre>
+ * FakeCodewind codewind = new FakeCodewind().start();
+ * codewind.addProjects(100);
+ * CodewindConnection connection = new LocalConnection(codewind.getBaseUri());
+ * connection.connect();
+ * ...
+ * codewind.stop();
+ * </pre>
+ * See <code>FakeCodewindSocketTest</code> for a test that connects the socket without the installer, and
+ * {@link FakeCodewindLoad} to run it standalone under load.
+ */
+public class FakeCodewind {
+
+    public static final String NAMESPACE = "/default";
+    public static final String DEFAULT_VERSION = "latest";
+
+    private static final String API_PROJECTS = "api/v1/projects";
+
+    private final HttpServer server;
+    private final ExecutorService httpExecutor;
+    private final ScheduledExecutorService scheduler;
+    private final FakeSocketServer socketServer = new FakeSocketServer();
+
+    private final Map<String, FakeProject> projects = new ConcurrentSkipListMap<String, FakeProject>();
+    private final AtomicInteger nextProject = new AtomicInteger(1);
+    private final List<Failure> failures = new CopyOnWriteArrayList<Failure>();
+    private final Map<String, AtomicLong> requestCounts = new ConcurrentHashMap<String, AtomicLong>();
+
+    private volatile boolean ready = true;
+    private volatile String version = DEFAULT_VERSION;
+    private volatile long responseDelayMs = 0;
+    private volatile long transitionDelayMs = 200;
+
+    /**
+     * Create a server on a free port.
+     */
+    public FakeCodewind() throws IOException {
+        this(0);
+    }
+
+    public FakeCodewind(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        httpExecutor = Executors.newCachedThreadPool(daemonThreads("Fake Codewind HTTP"));
+        scheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads("Fake Codewind scheduler"));
+        server.setExecutor(httpExecutor);
+        server.createContext(FakeSocketServer.PATH, socketServer);
+        server.createContext("/", this::handle);
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + " #" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public FakeCodewind start() {
+        server.start();
+        return this;
+    }
+
+    public void stop() {
+        socketServer.dropClients();
+        server.stop(0);
+        scheduler.shutdownNow();
+        httpExecutor.shutdownNow();
+    }
+
+    public URI getBaseUri() {
+        return URI.create("http://localhost:" + getPort() + "/");
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public FakeSocketServer getSocketServer() {
+        return socketServer;
+    }
+
+    // ------------------------------------------------------------------------------------------------------
+    // Projects
+    // ------------------------------------------------------------------------------------------------------
+
+    /**
+     * Add projects without sending any events, for example before the plugin connects.
+     */
+    public List<FakeProject> addProjects(int count) {
+        List<FakeProject> added = new ArrayList<FakeProject>(count);
+        for (int i = 0; i < count; i++) {
+            FakeProject project = newProject();
+            projects.put(project.projectID, project);
+            added.add(project);
+        }
+        return added;
+    }
+
+    /**
+     * Add a project and send the project creation event, as Codewind does when a project is created.
+     */
+    public FakeProject createProject() {
+        FakeProject project = newProject();
+        projects.put(project.projectID, project);
+        emit("projectCreation", object("projectID", project.projectID, "status", "success"));
+        return project;
+    }
+
+    private FakeProject newProject() {
+        int n = nextProject.getAndIncrement();
+        String name = String.format("project%04d", n);
+        return new FakeProject(String.format("%08d-0000-0000-0000-000000000000", n), name, "liberty", "java",
+                "/codewind-workspace/" + name, 30000 + (n % 20000), 50000 + (n % 10000));
+    }
+
+    /**
+     * Remove a project and send the project deletion event.
+     */
+    public void deleteProject(String projectID) {
+        if (projects.remove(projectID) != null) {
+            emit("projectDeletion", object("projectID", projectID, "status", "success"));
+        }
+    }
+
+    /**
+     * Remove projects without sending any events, for example to simulate deletes missed during an outage.
+     */
+    public void removeProjects(int count) {
+        Iterator<String> ids = projects.keySet().iterator();
+        for (int i = 0; i < count && ids.hasNext(); i++) {
+            ids.next();
+            ids.remove();
+        }
+    }
+
+    public FakeProject getProject(String projectID) {
+        return projects.get(projectID);
+    }
+
+    public List<FakeProject> getProjects() {
+        return new ArrayList<FakeProject>(projects.values());
+    }
+
+    // ------------------------------------------------------------------------------------------------------
+    // Scripted status transitions
+    // ------------------------------------------------------------------------------------------------------
+
+    /**
+     * The delay between the steps of a build or restart, 200ms by default.
+     */
+    public void setTransitionDelay(long delayMs) {
+        this.transitionDelayMs = delayMs;
+    }
+
+    /**
+     * Build the project: the build goes in progress then succeeds, and the application restarts.
+     */
+    public void build(String projectID) {
+        FakeProject project = projects.get(projectID);
+        if (project == null) {
+            return;
+        }
+        script(project,
+                p -> p.setBuildStatus("inProgress", "Building the application image"),
+                p -> p.setBuildStatus("success", ""),
+                p -> p.setAppStatus("starting"),
+                p -> p.setAppStatus("started"));
+    }
+
+    /**
+     * Restart the application in the given mode, then send the restart result.
+     */
+    public void restart(String projectID, String startMode) {
+        FakeProject project = projects.get(projectID);
+        if (project == null) {
+            return;
+        }
+        script(project,
+                p -> p.setAppStatus("stopping"),
+                p -> {
+                    p.setStartMode(startMode);
+                    p.setAppStatus("starting");
+                },
+                p -> p.setAppStatus("started"));
+        scheduler.schedule(() -> {
+            try {
+                JSONObject result = object("projectID", projectID, "status", "success", "startMode", startMode);
+                result.put("ports", project.getPorts());
+                emit("projectRestartResult", result);
+            } catch (JSONException e) {
+                throw new IllegalStateException(e);
+            }
+        }, transitionDelayMs * 4, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Set the status of the project and send a status changed event.
+     */
+    public void setStatus(String projectID, String appStatus, String buildStatus) {
+        FakeProject project = projects.get(projectID);
+        if (project == null) {
+            return;
+        }
+        if (appStatus != null) {
+            project.setAppStatus(appStatus);
+        }
+        if (buildStatus != null) {
+            project.setBuildStatus(buildStatus, "");
+        }
+        emitStatus(project);
+    }
+
+    public void emitStatus(FakeProject project) {
+        try {
+            emit("projectStatusChanged", project.toStatusJson());
+        } catch (JSONException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private interface Step {
+        void apply(FakeProject project);
+    }
+
+    /**
+     * Apply each step after the transition delay and send a status changed event for each.
+     */
+    private void script(FakeProject project, Step... steps) {
+        for (int i = 0; i < steps.length; i++) {
+            Step step = steps[i];
+            scheduler.schedule(() -> {
+                step.apply(project);
+                emitStatus(project);
+            }, transitionDelayMs * (i + 1), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // ------------------------------------------------------------------------------------------------------
+    // Logs
+    // ------------------------------------------------------------------------------------------------------
+
+    public void emitLog(String projectID, String logType, String logName, String text, boolean reset) {
+        JSONObject event = object("projectID", projectID, "logType", logType, "logName", logName, "logs", text);
+        try {
+            event.put("reset", reset);
+        } catch (JSONException e) {
+            throw new IllegalStateException(e);
+        }
+        emit("log-update", event);
+    }
+
+    /**
+     * Stream lines to the application log of the project until the returned future is cancelled.
+     */
+    public ScheduledFuture<?> streamLogs(String projectID, int linesPerSecond, int linesPerEvent) {
+        AtomicLong line = new AtomicLong();
+        long periodMicros = Math.max(1, 1000000L * linesPerEvent / Math.max(1, linesPerSecond));
+        return scheduler.scheduleAtFixedRate(() -> {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < linesPerEvent; i++) {
+                text.append("[INFO] Simulated log line ").append(line.incrementAndGet()).append('\n');
+            }
+            emitLog(projectID, "app", "app", text.toString(), false);
+        }, 0, periodMicros, TimeUnit.MICROSECONDS);
+    }
+
+    // ------------------------------------------------------------------------------------------------------
+    // Events
+    // ------------------------------------------------------------------------------------------------------
+
+    /**
+     * Send an event to the clients connected to the Codewind namespace.
+     */
+    public void emit(String event, JSONObject data) {
+        socketServer.emit(NAMESPACE, event, data);
+    }
+
+    private static JSONObject object(String... keyValues) {
+        JSONObject json = new JSONObject();
+        try {
+            for (int i = 0; i < keyValues.length; i += 2) {
+                json.put(keyValues[i], keyValues[i + 1]);
+            }
+        } catch (JSONException e) {
+            throw new IllegalStateException(e);
+        }
+        return json;
+    }
+
+    // ------------------------------------------------------------------------------------------------------
+    // Failures
+    // ------------------------------------------------------------------------------------------------------
+
+    public void setReady(boolean ready) {
+        this.ready = ready;
+    }
+
+    /**
+     * The version reported by the environment endpoint, {@link #DEFAULT_VERSION} by default.
+     */
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
+    /**
+     * Delay every REST response.
+     */
+    public void setResponseDelay(long delayMs) {
+        this.responseDelayMs = delayMs;
+    }
+
+    /**
+     * Fail the next requests whose path starts with the prefix (without the leading slash) with the status code.
+     */
+    public void failRequests(String pathPrefix, int status, int count) {
+        failures.add(new Failure(pathPrefix, status, count));
+    }
+
+    /**
+     * Drop the socket clients and refuse new connections and REST requests for the duration.
+     */
+    public void simulateOutage(long durationMs) {
+        ready = false;
+        socketServer.setAccepting(false);
+        socketServer.dropClients();
+        scheduler.schedule(() -> {
+            socketServer.setAccepting(true);
+            ready = true;
+        }, durationMs, TimeUnit.MILLISECONDS);
+    }
+
+    private static final class Failure {
+        private final String pathPrefix;
+        private final int status;
+        private final AtomicInteger remaining;
+
+        private Failure(String pathPrefix, int status, int count) {
+            this.pathPrefix = pathPrefix;
+            this.status = status;
+            this.remaining = new AtomicInteger(count);
+        }
+    }
+
+    private Integer checkFailure(String path) {
+        for (Failure failure : failures) {
+            if (path.startsWith(failure.pathPrefix)) {
+                if (failure.remaining.getAndDecrement() > 0) {
+                    return failure.status;
+                }
+                failures.remove(failure);
+            }
+        }
+        return null;
+    }
+
+    // ------------------------------------------------------------------------------------------------------
+    // Statistics
+    // ------------------------------------------------------------------------------------------------------
+
+    /**
+     * The number of REST requests by method and endpoint, with the project id replaced by {id}.
+     */
+    public Map<String, Long> getRequestCounts() {
+        Map<String, Long> counts = new TreeMap<String, Long>();
+        for (Map.Entry<String, AtomicLong> entry : requestCounts.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().get());
+        }
+        return counts;
+    }
+
+    public void resetRequestCounts() {
+        requestCounts.clear();
+    }
+
+    // ------------------------------------------------------------------------------------------------------
+    // REST
+    // ------------------------------------------------------------------------------------------------------
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath().replaceAll("^/+|/+$", "");
+            String[] segments = path.split("/");
+            String endpoint = path.startsWith(API_PROJECTS + "/") && segments.length > 3
+                    ? API_PROJECTS + "/{id}" + path.substring(API_PROJECTS.length() + 1 + segments[3].length())
+                    : path;
+            requestCounts.computeIfAbsent(method + " " + endpoint, key -> new AtomicLong()).incrementAndGet();
+
+            if (responseDelayMs > 0) {
+                Thread.sleep(responseDelayMs);
+            }
+            Integer failure = checkFailure(path);
+            if (failure != null) {
+                FakeSocketServer.send(exchange, failure, "{\"error\":\"Simulated failure\"}");
+                return;
+            }
+            if (!ready && !"ready".equals(path)) {
+                FakeSocketServer.send(exchange, 503, "{\"error\":\"Codewind is not ready\"}");
+                return;
+            }
+
+            if ("ready".equals(path)) {
+                FakeSocketServer.send(exchange, 200, String.valueOf(ready));
+            } else if ("api/v1/environment".equals(path)) {
+                sendJson(exchange, 200, getEnvironment());
+            } else if ("api/v1/project-types".equals(path)) {
+                sendJson(exchange, 200, new JSONArray().toString());
+            } else if (API_PROJECTS.equals(path) && "GET".equals(method)) {
+                JSONArray array = new JSONArray();
+                for (FakeProject project : projects.values()) {
+                    array.put(project.toJson());
+                }
+                sendJson(exchange, 200, array.toString());
+            } else if (path.startsWith(API_PROJECTS + "/")) {
+                handleProject(exchange, method, segments);
+            } else {
+                FakeSocketServer.send(exchange, 404, "Not found: " + path);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            FakeSocketServer.send(exchange, 500, "interrupted");
+        } catch (JSONException e) {
+            FakeSocketServer.send(exchange, 500, e.toString());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleProject(HttpExchange exchange, String method, String[] segments) throws IOException, JSONException {
+        FakeProject project = projects.get(segments[3]);
+        if (project == null) {
+            FakeSocketServer.send(exchange, 404, "Project not found: " + segments[3]);
+            return;
+        }
+        String action = segments.length > 4 ? segments[4] : "";
+        switch (action) {
+            case "":
+                if ("DELETE".equals(method)) {
+                    FakeSocketServer.send(exchange, 202, "");
+                    deleteProject(project.projectID);
+                } else {
+                    sendJson(exchange, 200, project.toJson().toString());
+                }
+                break;
+            case "restart": {
+                String body = new String(FakeSocketServer.readAll(exchange.getRequestBody()), "UTF-8");
+                String startMode = body.isEmpty() ? "run" : new JSONObject(body).optString("startMode", "run");
+                FakeSocketServer.send(exchange, 202, "");
+                restart(project.projectID, startMode);
+                break;
+            }
+            case "build":
+                FakeSocketServer.send(exchange, 202, "");
+                build(project.projectID);
+                break;
+            case "open":
+            case "close":
+                project.setOpen("open".equals(action));
+                FakeSocketServer.send(exchange, 200, "");
+                if (project.isOpen()) {
+                    build(project.projectID);
+                } else {
+                    emit("projectClosed", object("projectID", project.projectID, "status", "success"));
+                }
+                break;
+            case "capabilities":
+                sendJson(exchange, 200, "{\"startModes\":[\"run\",\"debug\",\"debugNoInit\"],\"controlCommands\":[\"restart\"]}");
+                break;
+            case "logs":
+                if ("GET".equals(method)) {
+                    sendJson(exchange, 200, "{\"build\":[{\"logName\":\"docker.build\",\"workspaceLogPath\":\"/logs\"}],"
+                            + "\"app\":[{\"logName\":\"app\",\"workspaceLogPath\":\"/logs\"}]}");
+                } else {
+                    // Start or stop streaming the logs
+                    FakeSocketServer.send(exchange, 200, "");
+                }
+                break;
+            case "metrics":
+                sendJson(exchange, 200, "{\"metricsAvailable\":false}");
+                break;
+            case "unbind":
+                FakeSocketServer.send(exchange, 202, "");
+                deleteProject(project.projectID);
+                break;
+            default:
+                FakeSocketServer.send(exchange, 404, "Not found: " + action);
+                break;
+        }
+    }
+
+    private String getEnvironment() throws JSONException {
+        JSONObject tekton = new JSONObject();
+        tekton.put("status", false);
+        tekton.put("message", "not-installed");
+        tekton.put("url", "");
+        JSONObject env = new JSONObject();
+        env.put("codewind_version", version);
+        env.put("socket_namespace", NAMESPACE);
+        env.put("tekton_dashboard", tekton);
+        return env.toString();
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes("UTF-8");
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+}
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2020 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.codewind.intellij.fake;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a {@link FakeCodewind} standalone and ramps up the load on the plugin connected to it.
+ * <p>
+ * Add a local connection to the plugin for the printed URL, then press enter to start.  For each project
+ * count the projects are created, then status change events are sent at each rate in turn for the step
+ * duration.  The server statistics are printed after each step.  Saturation shows on the plugin side,
+ * as the handler latency and queue depths that the plugin logs, and in the UI responsiveness.
+ * <p>
+ * Arguments, all optional:
+ * <pre>
+ * --port 10000              the port to listen on, 0 for any free port
+ * --projects 10,100,1000    the project counts to ramp through
+ * --rates 10,100,1000       the event rates to ramp through, in events per second
+ * --step 30                 the duration of each step in seconds
+ * --outage 0                the length of an outage after each project count step in seconds, 0 for none
+ * </pre>
+ */
+public class FakeCodewindLoad {
+
+    public static void main(String[] args) throws Exception {
+        int port = 10000;
+        int[] projectCounts = { 10, 100, 1000 };
+        int[] rates = { 10, 100, 1000 };
+        long stepSeconds = 30;
+        long outageSeconds = 0;
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--port":
+                    port = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--projects":
+                    projectCounts = parseList(args[i + 1]);
+                    break;
+                case "--rates":
+                    rates = parseList(args[i + 1]);
+                    break;
+                case "--step":
+                    stepSeconds = Long.parseLong(args[i + 1]);
+                    break;
+                case "--outage":
+                    outageSeconds = Long.parseLong(args[i + 1]);
+                    break;
+                default:
+                    System.err.println("Unknown argument: " + args[i]);
+                    System.exit(1);
+            }
+        }
+
+        FakeCodewind codewind = new FakeCodewind(port).start();
+        System.out.println("Fake Codewind is running at " + codewind.getBaseUri());
+        System.out.println("Connect the plugin to it and press enter to start the load");
+        System.in.read();
+
+        for (int projectCount : projectCounts) {
+            int toAdd = projectCount - codewind.getProjects().size();
+            for (int i = 0; i < toAdd; i++) {
+                codewind.createProject();
+            }
+            System.out.println("Projects: " + projectCount);
+            for (int rate : rates) {
+                runStep(codewind, rate, stepSeconds);
+            }
+            if (outageSeconds > 0) {
+                System.out.println("Outage of " + outageSeconds + "s");
+                codewind.simulateOutage(TimeUnit.SECONDS.toMillis(outageSeconds));
+                Thread.sleep(TimeUnit.SECONDS.toMillis(outageSeconds + stepSeconds));
+                printStats(codewind, 0, 0, TimeUnit.SECONDS.toNanos(outageSeconds + stepSeconds));
+            }
+        }
+
+        codewind.stop();
+    }
+
+    /**
+     * Send status changed events round robin over the projects at the rate for the duration.  Each event
+     * toggles the application status so that every event is a real change for the plugin.
+     */
+    private static void runStep(FakeCodewind codewind, int rate, long stepSeconds) throws InterruptedException {
+        List<FakeProject> projects = new ArrayList<FakeProject>(codewind.getProjects());
+        if (projects.isEmpty()) {
+            return;
+        }
+        codewind.resetRequestCounts();
+        long eventsBefore = codewind.getSocketServer().getEventsEmitted();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, rate);
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(stepSeconds);
+        long next = start;
+        int index = 0;
+        while (next < end) {
+            FakeProject project = projects.get(index++ % projects.size());
+            String status = "started".equals(project.getAppStatus()) ? "starting" : "started";
+            codewind.setStatus(project.projectID, status, null);
+            next += intervalNanos;
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+        }
+        long emitted = codewind.getSocketServer().getEventsEmitted() - eventsBefore;
+        printStats(codewind, rate, emitted, System.nanoTime() - start);
+    }
+
+    private static void printStats(FakeCodewind codewind, int rate, long emitted, long elapsedNanos) {
+        FakeSocketServer socketServer = codewind.getSocketServer();
+        StringBuilder stats = new StringBuilder();
+        stats.append(String.format("  rate=%d/s emitted=%d actual=%.1f/s clients=%d handshakes=%d packets=%d",
+                rate, emitted, emitted * 1e9 / elapsedNanos, socketServer.getClientCount(),
+                socketServer.getHandshakes(), socketServer.getPacketsSent()));
+        for (Map.Entry<String, Long> entry : codewind.getRequestCounts().entrySet()) {
+            stats.append("\n    ").append(entry.getKey()).append(": ").append(entry.getValue());
+        }
+        System.out.println(stats);
+    }
+
+    private static int[] parseList(String list) {
+        String[] parts = list.split(",");
+        int[] values = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Integer.parseInt(parts[i].trim());
+        }
+        return values;
+    }
+}
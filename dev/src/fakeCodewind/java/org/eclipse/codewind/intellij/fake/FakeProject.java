@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2020 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.codewind.intellij.fake;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * The state of a simulated Codewind project, in the form Codewind reports it.
+ */
+public class FakeProject {
+
+    public final String projectID;
+    public final String name;
+    public final String projectType;
+    public final String language;
+    public final String locOnDisk;
+    public final int httpPort;
+    public final int debugPort;
+
+    private String appStatus = "started";
+    private String buildStatus = "success";
+    private String detailedBuildStatus = "";
+    private String startMode = "run";
+    private boolean autoBuild = true;
+    private boolean open = true;
+    private long lastBuild = System.currentTimeMillis();
+
+    public FakeProject(String projectID, String name, String projectType, String language, String locOnDisk,
+                       int httpPort, int debugPort) {
+        this.projectID = projectID;
+        this.name = name;
+        this.projectType = projectType;
+        this.language = language;
+        this.locOnDisk = locOnDisk;
+        this.httpPort = httpPort;
+        this.debugPort = debugPort;
+    }
+
+    public synchronized String getAppStatus() {
+        return appStatus;
+    }
+
+    public synchronized void setAppStatus(String appStatus) {
+        this.appStatus = appStatus;
+    }
+
+    public synchronized String getBuildStatus() {
+        return buildStatus;
+    }
+
+    public synchronized void setBuildStatus(String buildStatus, String detailedBuildStatus) {
+        this.buildStatus = buildStatus;
+        this.detailedBuildStatus = detailedBuildStatus;
+        if ("success".equals(buildStatus)) {
+            lastBuild = System.currentTimeMillis();
+        }
+    }
+
+    public synchronized String getStartMode() {
+        return startMode;
+    }
+
+    public synchronized void setStartMode(String startMode) {
+        this.startMode = startMode;
+    }
+
+    public synchronized void setAutoBuild(boolean autoBuild) {
+        this.autoBuild = autoBuild;
+    }
+
+    public synchronized boolean isOpen() {
+        return open;
+    }
+
+    public synchronized void setOpen(boolean open) {
+        this.open = open;
+        if (!open) {
+            appStatus = "stopped";
+        }
+    }
+
+    /**
+     * The project as returned by the project list and project endpoints.
+     */
+    public synchronized JSONObject toJson() throws JSONException {
+        JSONObject json = new JSONObject();
+        json.put("projectID", projectID);
+        json.put("name", name);
+        json.put("projectType", projectType);
+        json.put("language", language);
+        json.put("locOnDisk", locOnDisk);
+        json.put("state", open ? "open" : "closed");
+        json.put("autoBuild", autoBuild);
+        json.put("startMode", startMode);
+        json.put("contextRoot", "");
+        json.put("lastbuild", lastBuild);
+        json.put("capabilitiesReady", true);
+        json.put("containerId", open ? "container-" + projectID : "");
+        json.put("buildStatus", buildStatus);
+        json.put("detailedBuildStatus", detailedBuildStatus);
+        json.put("appStatus", appStatus);
+        json.put("ports", getPorts());
+        return json;
+    }
+
+    /**
+     * The status part of the project, as sent in projectStatusChanged events.
+     */
+    public synchronized JSONObject toStatusJson() throws JSONException {
+        JSONObject json = new JSONObject();
+        json.put("projectID", projectID);
+        json.put("appStatus", appStatus);
+        json.put("buildStatus", buildStatus);
+        json.put("detailedBuildStatus", detailedBuildStatus);
+        json.put("lastbuild", lastBuild);
+        return json;
+    }
+
+    synchronized JSONObject getPorts() throws JSONException {
+        JSONObject ports = new JSONObject();
+        if (open && "started".equals(appStatus)) {
+            ports.put("exposedPort", String.valueOf(httpPort));
+            ports.put("internalPort", "9080");
+            if ("debug".equals(startMode) || "debugNoInit".equals(startMode)) {
+                ports.put("exposedDebugPort", String.valueOf(debugPort));
+                ports.put("internalDebugPort", "7777");
+            }
+        }
+        return ports;
+    }
+}
@@ -0,0 +1,327 @@
+/*******************************************************************************
+ * Copyright (c) 2020 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.codewind.intellij.fake;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A minimal socket.io server for the socket.io 1.0.0 Java client used by the plugin.
+ * <p>
+ * Only the engine.io version 3 long polling transport is supported.  The handshake offers no upgrades
+ * so the client stays on polling.  Events can be emitted to the clients connected to a namespace, and the
+ * server can drop all of the clients and refuse new ones to simulate Codewind going down.
+ */
+public class FakeSocketServer implements HttpHandler {
+
+    public static final String PATH = "/socket.io/";
+
+    private static final long PING_INTERVAL_MS = 25000;
+    private static final long PING_TIMEOUT_MS = 60000;
+    private static final long POLL_TIMEOUT_MS = 20000;
+
+    // engine.io packet types
+    private static final char OPEN = '0', CLOSE = '1', PING = '2', PONG = '3', MESSAGE = '4', NOOP = '6';
+    // socket.io packet types
+    private static final char CONNECT = '0', DISCONNECT = '1', EVENT = '2';
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<String, Session>();
+    private volatile boolean accepting = true;
+
+    private final AtomicLong eventsEmitted = new AtomicLong();
+    private final AtomicLong packetsSent = new AtomicLong();
+    private final AtomicLong handshakes = new AtomicLong();
+
+    private static final class Session {
+        private final String sid = UUID.randomUUID().toString().replace("-", "");
+        private final BlockingQueue<String> outgoing = new LinkedBlockingQueue<String>();
+        private final Set<String> namespaces = ConcurrentHashMap.newKeySet();
+        private volatile boolean closed = false;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try {
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            if (!"polling".equals(query.get("transport"))) {
+                send(exchange, 400, "{\"code\":0,\"message\":\"Transport unknown\"}");
+                return;
+            }
+            String sid = query.get("sid");
+            if (sid == null) {
+                handshake(exchange);
+                return;
+            }
+            Session session = sessions.get(sid);
+            if (session == null) {
+                send(exchange, 400, "{\"code\":1,\"message\":\"Session ID unknown\"}");
+                return;
+            }
+            if ("POST".equals(exchange.getRequestMethod())) {
+                receive(exchange, session);
+            } else {
+                poll(exchange, session);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            send(exchange, 500, "interrupted");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handshake(HttpExchange exchange) throws IOException {
+        if (!accepting) {
+            send(exchange, 503, "Codewind is down");
+            return;
+        }
+        Session session = new Session();
+        sessions.put(session.sid, session);
+        handshakes.incrementAndGet();
+        JSONObject open = new JSONObject();
+        try {
+            open.put("sid", session.sid);
+            open.put("upgrades", new JSONArray());
+            open.put("pingInterval", PING_INTERVAL_MS);
+            open.put("pingTimeout", PING_TIMEOUT_MS);
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
+        List<String> packets = new ArrayList<String>();
+        packets.add(OPEN + open.toString());
+        // socket.io 2 servers connect the client to the root namespace straight away
+        packets.add("" + MESSAGE + CONNECT);
+        session.namespaces.add("/");
+        sendPayload(exchange, packets);
+    }
+
+    private void poll(HttpExchange exchange, Session session) throws IOException, InterruptedException {
+        List<String> packets = new ArrayList<String>();
+        String first = session.outgoing.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            packets.add("" + NOOP);
+        } else {
+            packets.add(first);
+            session.outgoing.drainTo(packets);
+        }
+        if (session.closed) {
+            sessions.remove(session.sid);
+        }
+        sendPayload(exchange, packets);
+    }
+
+    private void receive(HttpExchange exchange, Session session) throws IOException {
+        byte[] body = readAll(exchange.getRequestBody());
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        List<String> packets = contentType != null && contentType.startsWith("application/octet-stream")
+                ? decodeBinaryPayload(body) : decodeTextPayload(new String(body, StandardCharsets.UTF_8));
+        for (String packet : packets) {
+            if (packet.isEmpty()) {
+                continue;
+            }
+            switch (packet.charAt(0)) {
+                case PING:
+                    session.outgoing.add(PONG + packet.substring(1));
+                    break;
+                case CLOSE:
+                    session.closed = true;
+                    sessions.remove(session.sid);
+                    break;
+                case MESSAGE:
+                    onMessage(session, packet.substring(1));
+                    break;
+                default:
+                    break;
+            }
+        }
+        send(exchange, 200, "ok");
+    }
+
+    private void onMessage(Session session, String message) {
+        if (message.isEmpty()) {
+            return;
+        }
+        char type = message.charAt(0);
+        String nsp = "/";
+        if (message.length() > 1 && message.charAt(1) == '/') {
+            int comma = message.indexOf(',');
+            nsp = comma < 0 ? message.substring(1) : message.substring(1, comma);
+        }
+        if (type == CONNECT) {
+            session.namespaces.add(nsp);
+            session.outgoing.add("" + MESSAGE + CONNECT + ("/".equals(nsp) ? "" : nsp));
+        } else if (type == DISCONNECT) {
+            session.namespaces.remove(nsp);
+        }
+        // Events from the client (authentication) are accepted and ignored
+    }
+
+    /**
+     * Send an event to every client connected to the namespace.
+     */
+    public void emit(String namespace, String event, JSONObject data) {
+        String nsp = namespace == null || namespace.isEmpty() ? "/" : namespace;
+        JSONArray args = new JSONArray();
+        args.put(event);
+        args.put(data);
+        String packet = "" + MESSAGE + EVENT + ("/".equals(nsp) ? "" : nsp + ",") + args.toString();
+        eventsEmitted.incrementAndGet();
+        for (Session session : sessions.values()) {
+            if (!session.closed && session.namespaces.contains(nsp)) {
+                session.outgoing.add(packet);
+            }
+        }
+    }
+
+    /**
+     * Close every client connection.  The clients see the transport close and start to reconnect.
+     */
+    public void dropClients() {
+        for (Session session : sessions.values()) {
+            session.closed = true;
+            session.outgoing.add("" + CLOSE);
+        }
+    }
+
+    /**
+     * Refuse new connections, for example while simulating an outage.
+     */
+    public void setAccepting(boolean accepting) {
+        this.accepting = accepting;
+    }
+
+    public int getClientCount() {
+        int count = 0;
+        for (Session session : sessions.values()) {
+            if (!session.closed) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public long getEventsEmitted() {
+        return eventsEmitted.get();
+    }
+
+    public long getPacketsSent() {
+        return packetsSent.get();
+    }
+
+    public long getHandshakes() {
+        return handshakes.get();
+    }
+
+    /**
+     * Encode the packets as a text payload, each packet is prefixed with its length and a colon.
+     */
+    private void sendPayload(HttpExchange exchange, List<String> packets) throws IOException {
+        StringBuilder payload = new StringBuilder();
+        for (String packet : packets) {
+            payload.append(packet.length()).append(':').append(packet);
+        }
+        packetsSent.addAndGet(packets.size());
+        send(exchange, 200, payload.toString());
+    }
+
+    private static List<String> decodeTextPayload(String payload) {
+        List<String> packets = new ArrayList<String>();
+        int i = 0;
+        while (i < payload.length()) {
+            int colon = payload.indexOf(':', i);
+            if (colon < 0) {
+                break;
+            }
+            int length = Integer.parseInt(payload.substring(i, colon));
+            packets.add(payload.substring(colon + 1, colon + 1 + length));
+            i = colon + 1 + length;
+        }
+        return packets;
+    }
+
+    /**
+     * Decode a binary payload.  Each packet is a type byte (0 for a string), the length as one byte per
+     * decimal digit, 255 and then the packet.
+     */
+    private static List<String> decodeBinaryPayload(byte[] payload) {
+        List<String> packets = new ArrayList<String>();
+        int i = 0;
+        while (i < payload.length) {
+            boolean isString = payload[i++] == 0;
+            int length = 0;
+            while (i < payload.length && (payload[i] & 0xFF) != 255) {
+                length = length * 10 + payload[i++];
+            }
+            i++;
+            if (isString) {
+                packets.add(new String(payload, i, Math.min(length, payload.length - i), StandardCharsets.UTF_8));
+            }
+            i += length;
+        }
+        return packets;
+    }
+
+    static Map<String, String> parseQuery(String query) throws IOException {
+        Map<String, String> params = new HashMap<String, String>();
+        if (query == null) {
+            return params;
+        }
+        for (String param : query.split("&")) {
+            int eq = param.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(param.substring(0, eq), "UTF-8"), URLDecoder.decode(param.substring(eq + 1), "UTF-8"));
+            }
+        }
+        return params;
+    }
+
+    static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+}
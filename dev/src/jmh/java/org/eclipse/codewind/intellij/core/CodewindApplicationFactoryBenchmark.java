@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2020 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.codewind.intellij.core;
+
+import org.eclipse.codewind.intellij.core.connection.CodewindConnection;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Processing the project list, which happens when connecting and whenever a project is refreshed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.eclipse.codewind.stateCache=false")
+public class CodewindApplicationFactoryBenchmark {
+
+    @Param({"10", "100", "500", "2000"})
+    public int projects;
+
+    private String startedList;
+    private String startingList;
+    private JSONObject[] started;
+    private JSONObject[] starting;
+
+    private CodewindConnection connection;
+    private CodewindApplication[] apps;
+    private boolean toggle = false;
+
+    @Setup
+    public void setup() throws Exception {
+        startedList = SyntheticProjects.getProjectList(projects, SyntheticProjects.STARTED);
+        startingList = SyntheticProjects.getProjectList(projects, SyntheticProjects.STARTING);
+        started = SyntheticProjects.getProjects(projects, SyntheticProjects.STARTED);
+        starting = SyntheticProjects.getProjects(projects, SyntheticProjects.STARTING);
+
+        connection = SyntheticProjects.createConnection("benchmark", projects);
+        apps = new CodewindApplication[projects];
+        for (int i = 0; i < projects; i++) {
+            apps[i] = connection.getAppByID(started[i].getString("projectID"));
+        }
+    }
+
+    /**
+     * Create the applications for a new connection.
+     */
+    @Benchmark
+    public CodewindConnection initialLoad() {
+        CodewindConnection newConnection = SyntheticProjects.createConnection("initial");
+        CodewindApplicationFactory.getAppsFromProjectsJson(newConnection, startedList);
+        return newConnection;
+    }
+
+    /**
+     * Refresh with a project list that has not changed, the most common case.
+     */
+    @Benchmark
+    public void refreshUnchanged() {
+        CodewindApplicationFactory.getAppsFromProjectsJson(connection, startedList);
+    }
+
+    /**
+     * Refresh with a project list where the status of every project changed.
+     */
+    @Benchmark
+    public void refreshChanged() {
+        toggle = !toggle;
+        CodewindApplicationFactory.getAppsFromProjectsJson(connection, toggle ? startingList : startedList);
+    }
+
+    /**
+     * Update every application with a project that has not changed.
+     */
+    @Benchmark
+    public int updateAppUnchanged() {
+        int changes = ApplicationState.NONE;
+        for (int i = 0; i < projects; i++) {
+            changes |= CodewindApplicationFactory.updateApp(apps[i], started[i]);
+        }
+        return changes;
+    }
+
+    /**
+     * Update every application with a project whose status changed.
+     */
+    @Benchmark
+    public int updateAppChanged() {
+        toggle = !toggle;
+        JSONObject[] updates = toggle ? starting : started;
+        int changes = ApplicationState.NONE;
+        for (int i = 0; i < projects; i++) {
+            changes |= CodewindApplicationFactory.updateApp(apps[i], updates[i]);
+        }
+        return changes;
+    }
+}
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2020 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.codewind.intellij.core;
+
+import org.eclipse.codewind.intellij.core.connection.CodewindConnection;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Project lists in the form Codewind returns them, and connections to load them into, for the benchmarks.
+ * <p>
+ * The project names are in a random (but fixed) order so that applications are not simply appended to the
+ * sorted lists.
+ */
+public class SyntheticProjects {
+
+    public static final String WORKSPACE = "/codewind-workspace/";
+    public static final String STARTED = "started";
+    public static final String STARTING = "starting";
+
+    private static final URI BASE_URI = URI.create("http://localhost:10000/");
+
+    public static String getProjectID(int index) {
+        return String.format("%08d-0000-0000-0000-000000000000", index);
+    }
+
+    public static String getName(int index) {
+        return String.format("project%05d", index);
+    }
+
+    public static String getLocation(int index) {
+        return WORKSPACE + getName(index);
+    }
+
+    /**
+     * The project indices in a fixed random order.
+     */
+    public static List<Integer> getOrder(int count) {
+        List<Integer> order = new ArrayList<Integer>(count);
+        for (int i = 0; i < count; i++) {
+            order.add(i);
+        }
+        Collections.shuffle(order, new Random(count));
+        return order;
+    }
+
+    public static JSONObject getProject(int index, String appStatus) throws JSONException {
+        JSONObject project = new JSONObject();
+        project.put("projectID", getProjectID(index));
+        project.put("name", getName(index));
+        project.put("projectType", "liberty");
+        project.put("language", "java");
+        project.put("locOnDisk", getLocation(index));
+        project.put("state", "open");
+        project.put("autoBuild", true);
+        project.put("startMode", "run");
+        project.put("contextRoot", "");
+        project.put("lastbuild", 1590000000000L + index);
+        project.put("capabilitiesReady", true);
+        project.put("containerId", "container-" + index);
+        project.put("buildStatus", "success");
+        project.put("detailedBuildStatus", "");
+        project.put("appStatus", appStatus);
+        JSONObject ports = new JSONObject();
+        if (STARTED.equals(appStatus)) {
+            ports.put("exposedPort", String.valueOf(30000 + index));
+            ports.put("internalPort", "9080");
+        }
+        project.put("ports", ports);
+        return project;
+    }
+
+    public static JSONObject[] getProjects(int count, String appStatus) throws JSONException {
+        JSONObject[] projects = new JSONObject[count];
+        List<Integer> order = getOrder(count);
+        for (int i = 0; i < count; i++) {
+            projects[i] = getProject(order.get(i), appStatus);
+        }
+        return projects;
+    }
+
+    public static String getProjectList(int count, String appStatus) throws JSONException {
+        JSONArray array = new JSONArray();
+        for (JSONObject project : getProjects(count, appStatus)) {
+            array.put(project);
+        }
+        return array.toString();
+    }
+
+    /**
+     * A connection that reports itself as connected and never fetches from Codewind.
+     */
+    public static CodewindConnection createConnection(String name) {
+        return new CodewindConnection(name, BASE_URI, null) {
+            @Override
+            public boolean isConnected() {
+                return true;
+            }
+
+            @Override
+            public void refreshApps(String projectID) {
+                // No server
+            }
+        };
+    }
+
+    /**
+     * A connection with the applications for the project list.
+     */
+    public static CodewindConnection createConnection(String name, int count) throws JSONException {
+        CodewindConnection connection = createConnection(name);
+        CodewindApplicationFactory.getAppsFromProjectsJson(connection, getProjectList(count, STARTED));
+        if (connection.getSortedApps().size() != count) {
+            throw new IllegalStateException("Expected " + count + " applications but found " + connection.getSortedApps().size());
+        }
+        return connection;
+    }
+}
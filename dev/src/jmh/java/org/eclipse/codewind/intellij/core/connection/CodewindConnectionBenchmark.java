@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2020 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.codewind.intellij.core.connection;
+
+import org.eclipse.codewind.intellij.core.CodewindApplication;
+import org.eclipse.codewind.intellij.core.SyntheticProjects;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The application lookups used by the tree, the tool windows and the actions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.eclipse.codewind.stateCache=false")
+public class CodewindConnectionBenchmark {
+
+    @Param({"10", "100", "500", "2000"})
+    public int projects;
+
+    private CodewindConnection connection;
+    private CodewindApplication[] apps;
+    private String[] locations;
+    private String[] unnormalizedLocations;
+    private String[] unknownLocations;
+    private int next = 0;
+
+    @Setup
+    public void setup() throws Exception {
+        connection = SyntheticProjects.createConnection("benchmark", projects);
+        apps = connection.getSortedApps().toArray(new CodewindApplication[0]);
+        locations = new String[projects];
+        unnormalizedLocations = new String[projects];
+        unknownLocations = new String[projects];
+        for (int i = 0; i < projects; i++) {
+            locations[i] = apps[i].fullLocalPath.toString();
+            unnormalizedLocations[i] = SyntheticProjects.WORKSPACE + "./" + apps[i].name + "/";
+            unknownLocations[i] = SyntheticProjects.WORKSPACE + "unknown" + i;
+        }
+    }
+
+    private int nextIndex() {
+        int index = next++;
+        if (next == projects) {
+            next = 0;
+        }
+        return index;
+    }
+
+    /**
+     * Walk the sorted applications, as the tree does when it shows a connection.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int getSortedApps() {
+        List<CodewindApplication> sorted = connection.getSortedApps();
+        int enabled = 0;
+        for (CodewindApplication app : sorted) {
+            if (app.isEnabled()) {
+                enabled++;
+            }
+        }
+        return enabled;
+    }
+
+    @Benchmark
+    public int getSortedIndex() {
+        return connection.getSortedIndex(apps[nextIndex()]);
+    }
+
+    @Benchmark
+    public CodewindApplication getAppByLocation() {
+        return connection.getAppByLocation(locations[nextIndex()]);
+    }
+
+    /**
+     * A location that must be normalized before it matches.
+     */
+    @Benchmark
+    public CodewindApplication getAppByLocationUnnormalized() {
+        return connection.getAppByLocation(unnormalizedLocations[nextIndex()]);
+    }
+
+    /**
+     * A location with no application, which falls back to the canonical path.
+     */
+    @Benchmark
+    public CodewindApplication getAppByLocationUnknown() {
+        return connection.getAppByLocation(unknownLocations[nextIndex()]);
+    }
+}
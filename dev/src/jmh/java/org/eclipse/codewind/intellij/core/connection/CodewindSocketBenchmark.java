@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2020 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.codewind.intellij.core.connection;
+
+import io.socket.emitter.Emitter;
+import org.eclipse.codewind.intellij.core.SyntheticProjects;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Socket events from arrival on the socket.io event thread until their handler has run: decoding the
+ * payload, queueing the handler on the lane for the project and handling the event.  The socket is not
+ * connected, the events are passed to its listeners as the socket.io client would.
+ * <p>
+ * Coalescing is turned off so that the project status handlers deliver their updates to the application
+ * model before they return, otherwise only queueing the update for the coalescing window would be measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Dorg.eclipse.codewind.stateCache=false", "-Dorg.eclipse.codewind.eventCoalesceWindow=0"})
+public class CodewindSocketBenchmark {
+
+    private static final int EVENTS = 1000;
+
+    @Param({"10", "100", "2000"})
+    public int projects;
+
+    private CodewindConnection connection;
+    private CodewindSocket socket;
+    private Emitter.Listener statusListener;
+    private Emitter.Listener logListener;
+    private String[] statusEvents;
+    private String[] logEvents;
+    private int next = 0;
+
+    @Setup
+    public void setup() throws Exception {
+        connection = SyntheticProjects.createConnection("benchmark", projects);
+        socket = new CodewindSocket(connection, null, URI.create("http://localhost:0/"), false);
+        statusListener = getListener("projectStatusChanged");
+        logListener = getListener("log-update");
+
+        // Alternate the status so that every event is a change
+        statusEvents = new String[projects * 2];
+        logEvents = new String[projects];
+        List<Integer> order = SyntheticProjects.getOrder(projects);
+        for (int i = 0; i < projects; i++) {
+            String projectID = SyntheticProjects.getProjectID(order.get(i));
+            statusEvents[i] = getStatusEvent(projectID, SyntheticProjects.STARTING);
+            statusEvents[projects + i] = getStatusEvent(projectID, SyntheticProjects.STARTED);
+
+            JSONObject log = new JSONObject();
+            log.put("projectID", projectID);
+            log.put("logType", "app");
+            log.put("logName", "app");
+            log.put("logs", "[INFO] CWWKF0011I: The defaultServer server is ready to run a smarter planet.\n");
+            log.put("reset", false);
+            logEvents[i] = log.toString();
+        }
+    }
+
+    private Emitter.Listener getListener(String event) {
+        List<Emitter.Listener> listeners = socket.socket.listeners(event);
+        if (listeners.size() != 1) {
+            throw new IllegalStateException("Expected one listener for " + event + " but found " + listeners.size());
+        }
+        return listeners.get(0);
+    }
+
+    private static String getStatusEvent(String projectID, String appStatus) throws Exception {
+        JSONObject event = new JSONObject();
+        event.put("projectID", projectID);
+        event.put("appStatus", appStatus);
+        event.put("buildStatus", "success");
+        event.put("detailedBuildStatus", "");
+        return event.toString();
+    }
+
+    @TearDown
+    public void tearDown() {
+        socket.getEventDispatcher().flush();
+        socket.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public void projectStatusChanged() {
+        send(statusListener, statusEvents);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public void logUpdate() {
+        send(logListener, logEvents);
+    }
+
+    private void send(Emitter.Listener listener, String[] events) {
+        long target = socket.getEventExecutor().getEventsHandled() + EVENTS;
+        for (int i = 0; i < EVENTS; i++) {
+            listener.call(events[next++ % events.length]);
+        }
+        // Wait for the handlers so the queues do not grow from one invocation to the next
+        while (socket.getEventExecutor().getEventsHandled() < target) {
+            Thread.yield();
+        }
+    }
+}
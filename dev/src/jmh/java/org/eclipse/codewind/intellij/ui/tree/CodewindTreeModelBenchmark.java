@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2020 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.codewind.intellij.ui.tree;
+
+import org.eclipse.codewind.intellij.core.ApplicationState;
+import org.eclipse.codewind.intellij.core.CodewindApplication;
+import org.eclipse.codewind.intellij.core.SyntheticProjects;
+import org.eclipse.codewind.intellij.core.connection.CodewindConnection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Updating the tree for a changed application, which runs on the event dispatch thread for every
+ * application update.  A listener stands in for the tree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.eclipse.codewind.stateCache=false")
+public class CodewindTreeModelBenchmark {
+
+    @Param({"10", "100", "500", "2000"})
+    public int projects;
+
+    private CodewindTreeModel model;
+    private CodewindApplication[] apps;
+    private int next = 0;
+    private long events = 0;
+
+    @Setup
+    public void setup() throws Exception {
+        CodewindConnection connection = SyntheticProjects.createConnection("benchmark", projects);
+        apps = connection.getSortedApps().toArray(new CodewindApplication[0]);
+        model = new CodewindTreeModel(new Object(), Collections.singletonList(connection));
+        model.addTreeModelListener(new TreeModelListener() {
+            @Override
+            public void treeNodesChanged(TreeModelEvent e) {
+                events++;
+            }
+
+            @Override
+            public void treeNodesInserted(TreeModelEvent e) {
+                events++;
+            }
+
+            @Override
+            public void treeNodesRemoved(TreeModelEvent e) {
+                events++;
+            }
+
+            @Override
+            public void treeStructureChanged(TreeModelEvent e) {
+                events++;
+            }
+        });
+        // The tree asks for the children before it is sent any updates
+        if (model.getChildren(connection).size() != projects) {
+            throw new IllegalStateException("The tree model does not have the applications");
+        }
+    }
+
+    private CodewindApplication nextApp() {
+        CodewindApplication app = apps[next++];
+        if (next == apps.length) {
+            next = 0;
+        }
+        return app;
+    }
+
+    /**
+     * A change that is shown in the tree, the node is found and a change event is fired.
+     */
+    @Benchmark
+    public void updateApplicationLabel() {
+        model.updateApplication(nextApp(), ApplicationState.STATUS);
+    }
+
+    /**
+     * A change that is not shown in the tree, the model only checks that the node exists.
+     */
+    @Benchmark
+    public void updateApplicationNoLabel() {
+        model.updateApplication(nextApp(), ApplicationState.PORTS);
+    }
+}
@@ -0,0 +1,478 @@
+/*******************************************************************************
+ * Copyright (c) 2020 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.codewind.intellij.core;
+
+import org.eclipse.codewind.intellij.core.console.ProjectLogInfo;
+import org.eclipse.codewind.intellij.core.constants.AppStatus;
+import org.eclipse.codewind.intellij.core.constants.BuildStatus;
+import org.eclipse.codewind.intellij.core.constants.StartMode;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable snapshot of the dynamic state of a Codewind application.  The application publishes a new
+ * snapshot for every change, so a reader that takes a snapshot sees a consistent set of values, for
+ * example the ports and the urls derived from them.
+ * <p>
+ * Each snapshot has a version, which increases with every change to the application, and a mask of
+ * the groups of fields that changed from the previous version.
+ */
+public final class ApplicationState {
+
+    private static final Logger LOG = Logger.getInstance(ApplicationState.class);
+
+    // Change mask bits
+    public static final int STATUS = 1;
+    public static final int BUILD = 1 << 1;
+    public static final int PORTS = 1 << 2;
+    public static final int URLS = 1 << 3;
+    public static final int START_MODE = 1 << 4;
+    public static final int METRICS = 1 << 5;
+    public static final int CONTAINER = 1 << 6;
+    public static final int SETTINGS = 1 << 7;
+    public static final int LOGS = 1 << 8;
+    public static final int NONE = 0;
+    public static final int ALL = (1 << 9) - 1;
+
+    public final long version;
+    public final int changes;
+
+    public final String contextRoot;    // can be null
+    public final StartMode startMode;
+    public final AppStatus appStatus;
+    public final String appStatusDetails;
+    public final BuildStatus buildStatus;
+    public final String buildDetails;
+    public final long lastBuild;
+    public final long lastImageBuild;
+    public final boolean autoBuild;
+    public final boolean canInjectMetrics;
+    public final boolean metricsInjected;
+    public final String metricsHosting;
+    public final String metricsPath;
+    public final String perfPath;
+    public final boolean metricsAvailable;
+    public final boolean hasConfirmedMetrics;    // see CodewindApplication.confirmMetricsAvailable
+    public final boolean enabled;
+    public final String containerId;
+    public final String podName;
+    public final String namespace;
+    public final boolean capabilitiesReady;
+    public final String action;
+    public final List<ProjectLogInfo> logInfos;    // unmodifiable
+    public final boolean isHttps;
+    public final boolean deleteContents;
+    public final String appBaseUrl;    // application base url from the project info, can be null
+
+    // An httpPort of -1 indicates the app is not started - could be building or disabled.
+    public final int httpPort, debugPort;
+    public final String containerAppPort, containerDebugPort;
+
+    // Derived from the http port, isHttps, the host, the application base url and the context root.
+    // Both are null if the http port is not set.
+    public final URL baseUrl;
+    public final URL rootUrl;    // (appBaseUrl if set or baseUrl) + context root
+
+    private ApplicationState(Builder builder, long version, int changes) {
+        this.version = version;
+        this.changes = changes;
+        this.contextRoot = builder.contextRoot;
+        this.startMode = builder.startMode;
+        this.appStatus = builder.appStatus;
+        this.appStatusDetails = builder.appStatusDetails;
+        this.buildStatus = builder.buildStatus;
+        this.buildDetails = builder.buildDetails;
+        this.lastBuild = builder.lastBuild;
+        this.lastImageBuild = builder.lastImageBuild;
+        this.autoBuild = builder.autoBuild;
+        this.canInjectMetrics = builder.canInjectMetrics;
+        this.metricsInjected = builder.metricsInjected;
+        this.metricsHosting = builder.metricsHosting;
+        this.metricsPath = builder.metricsPath;
+        this.perfPath = builder.perfPath;
+        this.metricsAvailable = builder.metricsAvailable;
+        this.hasConfirmedMetrics = builder.hasConfirmedMetrics;
+        this.enabled = builder.enabled;
+        this.containerId = builder.containerId;
+        this.podName = builder.podName;
+        this.namespace = builder.namespace;
+        this.capabilitiesReady = builder.capabilitiesReady;
+        this.action = builder.action;
+        this.logInfos = builder.logInfos;
+        this.isHttps = builder.isHttps;
+        this.deleteContents = builder.deleteContents;
+        this.appBaseUrl = builder.appBaseUrl;
+        this.httpPort = builder.httpPort;
+        this.debugPort = builder.debugPort;
+        this.containerAppPort = builder.containerAppPort;
+        this.containerDebugPort = builder.containerDebugPort;
+        this.baseUrl = builder.baseUrl;
+        this.rootUrl = builder.rootUrl;
+    }
+
+    /**
+     * The state of a new application.
+     */
+    static ApplicationState initial(String host) {
+        return new Builder(host).build(0, NONE);
+    }
+
+    /**
+     * A builder for the next version of the state, starting from the values in this one.
+     */
+    Builder toBuilder(String host) {
+        return new Builder(host, this);
+    }
+
+    public boolean hasChanged(int mask) {
+        return (changes & mask) != 0;
+    }
+
+    public boolean isRunning() {
+        return rootUrl != null;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s version=%d changes=0x%x status=%s build=%s httpPort=%d debugPort=%d rootUrl=%s", //$NON-NLS-1$
+                ApplicationState.class.getSimpleName(), version, changes, appStatus, buildStatus,
+                httpPort, debugPort, rootUrl);
+    }
+
+    /**
+     * The result of an update to the state of an application.
+     */
+    public static final class Change {
+        public final ApplicationState previous;
+        public final ApplicationState current;
+
+        Change(ApplicationState previous, ApplicationState current) {
+            this.previous = previous;
+            this.current = current;
+        }
+
+        /**
+         * The mask of the groups of fields that changed, or {@link #NONE} if the update did not change anything.
+         */
+        public int getChanges() {
+            return previous == current ? NONE : current.changes;
+        }
+
+        public boolean isChanged() {
+            return previous != current;
+        }
+
+        public boolean hasChanged(int mask) {
+            return (getChanges() & mask) != 0;
+        }
+    }
+
+    /**
+     * Mutable copy of the state used to create the next version.  Each setter records the group of
+     * fields in the change mask if the value is different.
+     */
+    static final class Builder {
+        private final String host;
+        private int changes = NONE;
+
+        private String contextRoot;
+        private StartMode startMode = StartMode.RUN;
+        private AppStatus appStatus = AppStatus.UNKNOWN;
+        private String appStatusDetails;
+        private BuildStatus buildStatus = BuildStatus.UNKOWN;
+        private String buildDetails;
+        private long lastBuild = -1;
+        private long lastImageBuild = -1;
+        private boolean autoBuild = true;
+        private boolean canInjectMetrics = false;
+        private boolean metricsInjected = false;
+        private String metricsHosting;
+        private String metricsPath;
+        private String perfPath;
+        private boolean metricsAvailable = false;
+        private boolean hasConfirmedMetrics = false;
+        private boolean enabled = true;
+        private String containerId;
+        private String podName;
+        private String namespace;
+        private boolean capabilitiesReady = false;
+        private String action;
+        private List<ProjectLogInfo> logInfos = Collections.emptyList();
+        private boolean isHttps = false;
+        private boolean deleteContents = false;
+        private String appBaseUrl;
+        private int httpPort = -1, debugPort = -1;
+        private String containerAppPort, containerDebugPort;
+        private URL baseUrl;
+        private URL rootUrl;
+
+        private Builder(String host) {
+            this.host = host;
+        }
+
+        private Builder(String host, ApplicationState state) {
+            this.host = host;
+            this.contextRoot = state.contextRoot;
+            this.startMode = state.startMode;
+            this.appStatus = state.appStatus;
+            this.appStatusDetails = state.appStatusDetails;
+            this.buildStatus = state.buildStatus;
+            this.buildDetails = state.buildDetails;
+            this.lastBuild = state.lastBuild;
+            this.lastImageBuild = state.lastImageBuild;
+            this.autoBuild = state.autoBuild;
+            this.canInjectMetrics = state.canInjectMetrics;
+            this.metricsInjected = state.metricsInjected;
+            this.metricsHosting = state.metricsHosting;
+            this.metricsPath = state.metricsPath;
+            this.perfPath = state.perfPath;
+            this.metricsAvailable = state.metricsAvailable;
+            this.hasConfirmedMetrics = state.hasConfirmedMetrics;
+            this.enabled = state.enabled;
+            this.containerId = state.containerId;
+            this.podName = state.podName;
+            this.namespace = state.namespace;
+            this.capabilitiesReady = state.capabilitiesReady;
+            this.action = state.action;
+            this.logInfos = state.logInfos;
+            this.isHttps = state.isHttps;
+            this.deleteContents = state.deleteContents;
+            this.appBaseUrl = state.appBaseUrl;
+            this.httpPort = state.httpPort;
+            this.debugPort = state.debugPort;
+            this.containerAppPort = state.containerAppPort;
+            this.containerDebugPort = state.containerDebugPort;
+            this.baseUrl = state.baseUrl;
+            this.rootUrl = state.rootUrl;
+        }
+
+        private void changed(boolean changed, int mask) {
+            if (changed) {
+                changes |= mask;
+            }
+        }
+
+        Builder appStatus(AppStatus appStatus, String appStatusDetails) {
+            changed(this.appStatus != appStatus || !Objects.equals(this.appStatusDetails, appStatusDetails), STATUS);
+            this.appStatus = appStatus;
+            this.appStatusDetails = appStatusDetails;
+            return this;
+        }
+
+        Builder buildStatus(BuildStatus buildStatus, String buildDetails) {
+            changed(this.buildStatus != buildStatus || !Objects.equals(this.buildDetails, buildDetails), BUILD);
+            this.buildStatus = buildStatus;
+            this.buildDetails = buildDetails;
+            return this;
+        }
+
+        Builder lastBuild(long lastBuild) {
+            changed(this.lastBuild != lastBuild, BUILD);
+            this.lastBuild = lastBuild;
+            return this;
+        }
+
+        Builder lastImageBuild(long lastImageBuild) {
+            changed(this.lastImageBuild != lastImageBuild, BUILD);
+            this.lastImageBuild = lastImageBuild;
+            return this;
+        }
+
+        Builder contextRoot(String contextRoot) {
+            changed(!Objects.equals(this.contextRoot, contextRoot), URLS);
+            this.contextRoot = contextRoot;
+            return this;
+        }
+
+        Builder appBaseUrl(String appBaseUrl) {
+            changed(!Objects.equals(this.appBaseUrl, appBaseUrl), URLS);
+            this.appBaseUrl = appBaseUrl;
+            return this;
+        }
+
+        Builder isHttps(boolean isHttps) {
+            changed(this.isHttps != isHttps, URLS);
+            this.isHttps = isHttps;
+            return this;
+        }
+
+        Builder startMode(StartMode startMode) {
+            changed(this.startMode != startMode, START_MODE);
+            this.startMode = startMode;
+            return this;
+        }
+
+        Builder autoBuild(boolean autoBuild) {
+            changed(this.autoBuild != autoBuild, SETTINGS);
+            this.autoBuild = autoBuild;
+            return this;
+        }
+
+        Builder enabled(boolean enabled) {
+            changed(this.enabled != enabled, SETTINGS);
+            this.enabled = enabled;
+            return this;
+        }
+
+        Builder action(String action) {
+            changed(!Objects.equals(this.action, action), SETTINGS);
+            this.action = action;
+            return this;
+        }
+
+        Builder capabilitiesReady(boolean capabilitiesReady) {
+            changed(this.capabilitiesReady != capabilitiesReady, SETTINGS);
+            this.capabilitiesReady = capabilitiesReady;
+            return this;
+        }
+
+        Builder deleteContents(boolean deleteContents) {
+            changed(this.deleteContents != deleteContents, SETTINGS);
+            this.deleteContents = deleteContents;
+            return this;
+        }
+
+        Builder containerId(String containerId) {
+            changed(!Objects.equals(this.containerId, containerId), CONTAINER);
+            this.containerId = containerId;
+            return this;
+        }
+
+        Builder podInfo(String podName, String namespace) {
+            changed(!Objects.equals(this.podName, podName) || !Objects.equals(this.namespace, namespace), CONTAINER);
+            this.podName = podName;
+            this.namespace = namespace;
+            return this;
+        }
+
+        Builder metricsInjectionInfo(boolean canInjectMetrics, boolean metricsInjected) {
+            changed(this.canInjectMetrics != canInjectMetrics || this.metricsInjected != metricsInjected, METRICS);
+            this.canInjectMetrics = canInjectMetrics;
+            this.metricsInjected = metricsInjected;
+            return this;
+        }
+
+        Builder metricsDashboardInfo(String hosting, String path) {
+            if (hasMetricsDashboardInfo(hosting, path)) {
+                return this;
+            }
+            changes |= METRICS;
+            this.metricsHosting = hosting;
+            this.metricsPath = path;
+            this.metricsAvailable = hosting != null && path != null;
+            this.hasConfirmedMetrics = false;
+            return this;
+        }
+
+        Builder perfPath(String perfPath) {
+            changed(!Objects.equals(this.perfPath, perfPath), METRICS);
+            this.perfPath = perfPath;
+            return this;
+        }
+
+        Builder metricsAvailable(boolean metricsAvailable) {
+            changed(this.metricsAvailable != metricsAvailable, METRICS);
+            this.metricsAvailable = metricsAvailable;
+            return this;
+        }
+
+        Builder hasConfirmedMetrics(boolean hasConfirmedMetrics) {
+            changed(this.hasConfirmedMetrics != hasConfirmedMetrics, METRICS);
+            this.hasConfirmedMetrics = hasConfirmedMetrics;
+            return this;
+        }
+
+        Builder httpPort(int httpPort) {
+            changed(this.httpPort != httpPort, PORTS);
+            this.httpPort = httpPort;
+            return this;
+        }
+
+        Builder debugPort(int debugPort) {
+            changed(this.debugPort != debugPort, PORTS);
+            this.debugPort = debugPort;
+            return this;
+        }
+
+        Builder containerAppPort(String containerAppPort) {
+            changed(!Objects.equals(this.containerAppPort, containerAppPort), PORTS);
+            this.containerAppPort = containerAppPort;
+            return this;
+        }
+
+        Builder containerDebugPort(String containerDebugPort) {
+            changed(!Objects.equals(this.containerDebugPort, containerDebugPort), PORTS);
+            this.containerDebugPort = containerDebugPort;
+            return this;
+        }
+
+        Builder logInfos(List<ProjectLogInfo> logInfos) {
+            changed(!this.logInfos.equals(logInfos), LOGS);
+            this.logInfos = Collections.unmodifiableList(new ArrayList<ProjectLogInfo>(logInfos));
+            return this;
+        }
+
+        List<ProjectLogInfo> logInfos() {
+            return logInfos;
+        }
+
+        boolean hasMetricsDashboardInfo(String hosting, String path) {
+            return Objects.equals(metricsHosting, hosting) && Objects.equals(metricsPath, path);
+        }
+
+        boolean isChanged() {
+            return changes != NONE;
+        }
+
+        /**
+         * Create the next version of the state, updating the urls if any of the values they are derived from changed.
+         */
+        ApplicationState build(long version) {
+            return build(version, changes);
+        }
+
+        private ApplicationState build(long version, int changes) {
+            if ((changes & (PORTS | URLS)) != 0) {
+                setUrls();
+            }
+            return new ApplicationState(this, version, changes);
+        }
+
+        private void setUrls() {
+            if (httpPort == -1) {
+                baseUrl = null;
+                rootUrl = null;
+                return;
+            }
+            try {
+                String httpStr = isHttps ? "https" : "http"; //$NON-NLS-1$ //$NON-NLS-2$
+                baseUrl = new URL(httpStr, host, httpPort, ""); //$NON-NLS-1$
+
+                // If the app url was set in the project info, use it
+                URL url = appBaseUrl != null && !appBaseUrl.isEmpty() ? new URL(appBaseUrl) : baseUrl;
+
+                // Add the context root if there is one
+                if (contextRoot != null && !contextRoot.isEmpty()) {
+                    url = new URL(url, contextRoot);
+                }
+                rootUrl = url;
+            } catch (MalformedURLException e) {
+                LOG.warn("An error occurred updating the application url, base url: " + appBaseUrl + ", context root: " + contextRoot, e); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+        }
+    }
+}
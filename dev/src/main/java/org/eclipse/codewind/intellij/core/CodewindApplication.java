@@ -24,9 +24,11 @@ import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Vector;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 import static org.eclipse.codewind.intellij.core.constants.IntelliJConstants.IDEA_FOLDER;
 import static org.eclipse.codewind.intellij.core.constants.IntelliJConstants.IPR_FOLDER;
@@ -35,58 +37,30 @@ import static org.eclipse.codewind.intellij.core.constants.IntelliJConstants.IPR
  * Represents a Codewind Application / Project
  */
 public class CodewindApplication {
+
+    private static final Logger LOG = Logger.getInstance(CodewindApplication.class);
+
+    /**
+     * Order applications are shown in: by name, then by project id for applications with the same name.
+     */
+    public static final Comparator<CodewindApplication> NAME_ORDER =
+            Comparator.comparing((CodewindApplication app) -> app.name, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+                    .thenComparing(app -> app.projectID);
+
     public final CodewindConnection connection;
     public final String projectID, name, host;
     public final Path fullLocalPath;
+    // Computed once since it needs a file system lookup, used to find the application by location
+    public final String canonicalLocalPath;
     public final ProjectType projectType;
     public final ProjectLanguage projectLanguage;
 
 
-    private String contextRoot;    // can be null
-    private StartMode startMode;
-    private AppStatus appStatus;
-    private String appStatusDetails;
-    private BuildStatus buildStatus;
-    private String buildDetails;
-    private boolean autoBuild = true;
-    private boolean canInjectMetrics = false;
-    private boolean metricsInjected = false;
-    private String metricsHosting = null;
-    private String metricsPath = null;
-    private String perfPath = null;
-    private boolean metricsAvailable = false;
-    private boolean hasConfirmedMetrics = false; 		// see confirmMetricsAvailable
-    private boolean enabled = true;
-    private String containerId;
-    private String podName;
-    private String namespace;
-	private boolean capabilitiesReady = false;
+    // Dynamic state, replaced as a whole on every change so readers never see a partial update
+    private final AtomicReference<ApplicationState> state;
     private ProjectCapabilities projectCapabilities;
-    private String action;
-    private List<ProjectLogInfo> logInfos = new ArrayList<ProjectLogInfo>();
-    private long lastBuild = -1;
-    private long lastImageBuild = -1;
-    private boolean isHttps = false;
-    private boolean deleteContents = false;
     private final Vector<String> activeNotificationIDs = new Vector<String>();
 
-
-    // Must be updated whenever httpPort changes. Can be null
-    private URL baseUrl;
-
-    // Application base url
-    private String appBaseUrl;
-
-    // Full application url ((appBaseUrl if set or baseUrl) + context root)
-    private URL rootUrl;
-
-    // These are set by the CodewindSocket so we have to make sure the reads and writes are synchronized
-    // An httpPort of -1 indicates the app is not started - could be building or disabled.
-    private int httpPort = -1, debugPort = -1;
-
-    // Container ports
-    private String containerAppPort = null, containerDebugPort = null;
-
     CodewindApplication(CodewindConnection connection, String id, String name,
                         ProjectType projectType, ProjectLanguage projectLanguage, Path localPath)
             throws MalformedURLException {
@@ -99,201 +73,215 @@ public class CodewindApplication {
         this.host = connection.getBaseURI().getHost();
 
         this.fullLocalPath = localPath;
+        this.canonicalLocalPath = localPath == null ? null : FileUtil.getCanonicalPath(localPath.toString());
 
-        this.startMode = StartMode.RUN;
-        this.appStatus = AppStatus.UNKNOWN;
-        this.buildStatus = BuildStatus.UNKOWN;
+        this.state = new AtomicReference<ApplicationState>(ApplicationState.initial(host));
     }
 
-    private void setUrls() throws MalformedURLException {
-        if (httpPort == -1) {
-            Logger.log("Un-setting baseUrl because httpPort is not valid"); //$NON-NLS-1$
-            baseUrl = null;
-            rootUrl = null;
-            return;
-        }
-
-        String httpStr = getIsHttps() ? "https" : "http";
-        baseUrl = new URL(httpStr, host, httpPort, ""); //$NON-NLS-1$ //$NON-NLS-2$
-
-        // If the app url was set in the project info, use it
-        URL appUrl = null;
-        if (appBaseUrl != null && !appBaseUrl.isEmpty()) {
-            appUrl = new URL(appBaseUrl);
-        }
-        rootUrl = appUrl != null ? appUrl : baseUrl;
-
-        // Add the context root if there is one
-        if (contextRoot != null && !contextRoot.isEmpty()) {
-            rootUrl = new URL(rootUrl, contextRoot);
-        }
+    /**
+     * Get a consistent snapshot of the dynamic state of the application.
+     */
+    public ApplicationState getState() {
+        return state.get();
     }
 
-    public synchronized void setAppStatus(String appStatus, String appStatusDetails) {
-        if (appStatus != null) {
-            this.appStatus = AppStatus.get(appStatus);
-            if (appStatusDetails == null || appStatusDetails.trim().isEmpty()) {
-                this.appStatusDetails = null;
-            } else {
-                this.appStatusDetails = appStatusDetails;
+    /**
+     * Publish a new version of the state.  The updater is called again if another thread changed the
+     * state at the same time, so it must not have side effects.  If the updater does not change any
+     * values then the state is left as is.
+     */
+    ApplicationState.Change updateState(Consumer<ApplicationState.Builder> updater) {
+        while (true) {
+            ApplicationState current = state.get();
+            ApplicationState.Builder builder = current.toBuilder(host);
+            updater.accept(builder);
+            if (!builder.isChanged()) {
+                return new ApplicationState.Change(current, current);
+            }
+            ApplicationState next = builder.build(current.version + 1);
+            if (state.compareAndSet(current, next)) {
+                return new ApplicationState.Change(current, next);
             }
         }
     }
 
-    public synchronized void setBuildStatus(String buildStatus, String buildDetails) {
-        if (buildStatus != null) {
-            BuildStatus newStatus = BuildStatus.get(buildStatus);
-            boolean hasChanged = newStatus != this.buildStatus;
-            this.buildStatus = newStatus;
-            if (buildDetails != null && buildDetails.trim().isEmpty()) {
-                this.buildDetails = null;
-            } else {
-                this.buildDetails = buildDetails;
-            }
-            if (hasChanged && newStatus.isComplete()) {
-                buildComplete();
-            }
+    public int setAppStatus(String appStatus, String appStatusDetails) {
+        if (appStatus == null) {
+            return ApplicationState.NONE;
         }
+        AppStatus status = AppStatus.get(appStatus);
+        String details = appStatusDetails == null || appStatusDetails.trim().isEmpty() ? null : appStatusDetails;
+        return updateState(builder -> builder.appStatus(status, details)).getChanges();
     }
 
-    public synchronized void setAppBaseUrl(String appBaseUrl) {
-        this.appBaseUrl = appBaseUrl;
-        try {
-            setUrls();
-        } catch (MalformedURLException e) {
-            Logger.logWarning("An error occurred updating the application base url to: " + appBaseUrl, e);
+    public int setBuildStatus(String buildStatus, String buildDetails) {
+        if (buildStatus == null) {
+            return ApplicationState.NONE;
         }
+        BuildStatus newStatus = BuildStatus.get(buildStatus);
+        String details = buildDetails != null && buildDetails.trim().isEmpty() ? null : buildDetails;
+        ApplicationState.Change change = updateState(builder -> builder.buildStatus(newStatus, details));
+        if (change.previous.buildStatus != newStatus && newStatus.isComplete()) {
+            buildComplete();
+        }
+        return change.getChanges();
     }
 
-    public synchronized void setContextRoot(String contextRoot) {
-        this.contextRoot = contextRoot;
-        try {
-            setUrls();
-        } catch (MalformedURLException e) {
-            Logger.logWarning("An error occurred updating the base url with the new context root: " + contextRoot, e);
-        }
+    public int setAppBaseUrl(String appBaseUrl) {
+        return updateState(builder -> builder.appBaseUrl(appBaseUrl)).getChanges();
     }
 
-    public synchronized String getContextRoot() {
-        return this.contextRoot;
+    public int setContextRoot(String contextRoot) {
+        return updateState(builder -> builder.contextRoot(contextRoot)).getChanges();
     }
 
-    public synchronized void setStartMode(StartMode startMode) {
-        this.startMode = startMode;
+    public String getContextRoot() {
+        return getState().contextRoot;
     }
 
-    public synchronized void setAutoBuild(boolean enabled) {
-        this.autoBuild = enabled;
-        CoreUtil.updateApplication(this);
+    public int setStartMode(StartMode startMode) {
+        return updateState(builder -> builder.startMode(startMode)).getChanges();
+    }
+
+    public int setAutoBuild(boolean enabled) {
+        return updateState(builder -> builder.autoBuild(enabled)).getChanges();
     }
 	
-    public synchronized void setEnabled(boolean enabled) {
-        boolean reenabled = enabled && !this.enabled;
-        this.enabled = enabled;
-        if (reenabled) {
-            connection.refreshApps(projectID);
-            CoreUtil.updateApplication(this);
-        } else if (!enabled) {
-            // Reset fields that are only valid when the app is enabled
-            setHttpPort(-1);
-            setDebugPort(-1);
-            setContainerId(null);
+    public int setEnabled(boolean enabled) {
+        ApplicationState.Change change = updateEnabled(enabled);
+        if (enabled && !change.previous.enabled) {
+            onEnabled();
         }
+        return change.getChanges();
     }
 
-    public synchronized void setContainerId(String id) {
-        this.containerId = id;
+    /**
+     * Update the enabled state without refreshing the application when it becomes enabled.  Used by callers
+     * that hold the application update lock, which must call {@link #onEnabled()} after releasing it.
+     */
+    ApplicationState.Change updateEnabled(boolean enabled) {
+        ApplicationState.Change change = updateState(builder -> {
+            builder.enabled(enabled);
+            if (!enabled) {
+                // Reset fields that are only valid when the app is enabled
+                builder.httpPort(-1).debugPort(-1).containerId(null);
+            }
+        });
+        if (!enabled && change.hasChanged(ApplicationState.PORTS)) {
+            LOG.info("Reset ports for disabled application " + name); //$NON-NLS-1$
+        }
+        return change;
     }
 
-    public synchronized void setPodInfo(String podName, String namespace) {
-        this.podName = podName;
-        this.namespace = namespace;
+    /**
+     * Refresh the application from Codewind after it was enabled.
+     */
+    void onEnabled() {
+        connection.refreshApps(projectID);
+        CoreUtil.updateApplication(this);
     }
 
-    public synchronized void setAction(String action) {
-        this.action = action;
+    public int setContainerId(String id) {
+        return updateState(builder -> builder.containerId(id)).getChanges();
     }
 
-    public synchronized void addLogInfos(List<ProjectLogInfo> newLogInfos) {
+    public int setPodInfo(String podName, String namespace) {
+        return updateState(builder -> builder.podInfo(podName, namespace)).getChanges();
+    }
+
+    public int setAction(String action) {
+        return updateState(builder -> builder.action(action)).getChanges();
+    }
+
+    public int addLogInfos(List<ProjectLogInfo> newLogInfos) {
         if (newLogInfos == null || newLogInfos.isEmpty()) {
-            Logger.logWarning("Trying to add empty log infos to project: " + name);
-            return;
+            LOG.warn("Trying to add empty log infos to project: " + name);
+            return ApplicationState.NONE;
         }
-        if (this.logInfos == null || this.logInfos.isEmpty()) {
-            this.logInfos = newLogInfos;
-            return;
-        }
-        for (ProjectLogInfo newLogInfo : newLogInfos) {
-            boolean found = false;
-            for (ProjectLogInfo logInfo : this.logInfos) {
-                // There should not be more than one log with the same name for a project
-                if (logInfo.logName.equals(newLogInfo.logName)) {
-                    found = true;
-                    break;
+        return updateState(builder -> {
+            List<ProjectLogInfo> logInfos = new ArrayList<ProjectLogInfo>(builder.logInfos());
+            for (ProjectLogInfo newLogInfo : newLogInfos) {
+                boolean found = false;
+                for (ProjectLogInfo logInfo : logInfos) {
+                    // There should not be more than one log with the same name for a project
+                    if (logInfo.logName.equals(newLogInfo.logName)) {
+                        found = true;
+                        break;
+                    }
+                }
+                if (!found) {
+                    logInfos.add(newLogInfo);
                 }
             }
-            if (!found) {
-                this.logInfos.add(newLogInfo);
-            }
-        }
+            builder.logInfos(logInfos);
+        }).getChanges();
     }
 
-    public synchronized void setLogInfos(List<ProjectLogInfo> logInfos) {
+    public int setLogInfos(List<ProjectLogInfo> logInfos) {
         if (logInfos == null) {
-            Logger.logWarning("The logs should not be set to null for project: " + name);
-            return;
+            LOG.warn("The logs should not be set to null for project: " + name);
+            return ApplicationState.NONE;
         }
-        this.logInfos = logInfos;
+        return updateState(builder -> builder.logInfos(logInfos)).getChanges();
     }
 
     /**
      * Can return null if this project hasn't started yet (ie httpPort == -1)
      */
     public URL getBaseUrl() {
-        return baseUrl;
+        return getState().baseUrl;
     }
 
     public URL getAppBaseUrl() throws MalformedURLException {
+        return getAppBaseUrl(getState());
+    }
+
+    private static URL getAppBaseUrl(ApplicationState state) throws MalformedURLException {
         // If the app url was set in the project info, use it
-        if (appBaseUrl != null && !appBaseUrl.isEmpty()) {
-            return new URL(appBaseUrl);
+        if (state.appBaseUrl != null && !state.appBaseUrl.isEmpty()) {
+            return new URL(state.appBaseUrl);
         }
-        return baseUrl;
+        return state.baseUrl;
     }
 
     /**
      * Can return null if this project hasn't started yet (ie httpPort == -1)
      */
     public URL getRootUrl() {
-        return rootUrl;
+        return getState().rootUrl;
     }
 
     public URL getMetricsDashboardUrl() {
-        if (!hasMetricsDashboard()) {
+        return getMetricsDashboardUrl(getState());
+    }
+
+    private URL getMetricsDashboardUrl(ApplicationState state) {
+        if (!state.metricsAvailable) {
             return null;
         }
         try {
-            if (CoreConstants.VALUE_METRICS_HOSTING_PROJECT.equals(metricsHosting)) {
-                return new URL(getAppBaseUrl(), metricsPath);
-            } else if (CoreConstants.VALUE_METRICS_HOSTING_PERF_CONTAINER.equals(metricsHosting)) {
-                return (connection.getBaseURI().resolve(metricsPath)).toURL();
+            if (CoreConstants.VALUE_METRICS_HOSTING_PROJECT.equals(state.metricsHosting)) {
+                return new URL(getAppBaseUrl(state), state.metricsPath);
+            } else if (CoreConstants.VALUE_METRICS_HOSTING_PERF_CONTAINER.equals(state.metricsHosting)) {
+                return (connection.getBaseURI().resolve(state.metricsPath)).toURL();
 			} else {
-                Logger.logWarning("Unrecognized metrics hosting type: " + metricsHosting);
+                LOG.warn("Unrecognized metrics hosting type: " + state.metricsHosting);
 			}
         } catch (MalformedURLException e) {
-            Logger.logWarning("An error occurred trying to construct the metrics dashboard URL", e);
+            LOG.warn("An error occurred trying to construct the metrics dashboard URL", e);
         }
         return null;
     }
 
     public URL getPerfDashboardUrl() {
-        if (!hasPerfDashboard()) {
+        ApplicationState state = getState();
+        if (!state.metricsAvailable || state.perfPath == null) {
             return null;
         }
         try {
-            return (connection.getBaseURI().resolve(perfPath)).toURL();
+            return (connection.getBaseURI().resolve(state.perfPath)).toURL();
         } catch (MalformedURLException e) {
-            Logger.logWarning("An error occurred trying to construct the performance dashboard URL", e);
+            LOG.warn("An error occurred trying to construct the performance dashboard URL", e);
         }
         return null;
     }
@@ -304,171 +292,179 @@ public class CodewindApplication {
      * <p>
      * Workaround for https://github.com/eclipse/codewind/issues/258
      */
-    public synchronized void confirmMetricsAvailable() {
-        if (this.hasConfirmedMetrics) {
+    public void confirmMetricsAvailable() {
+        ApplicationState.Change change = updateState(builder -> builder.hasConfirmedMetrics(true));
+        if (!change.isChanged()) {
+            // Already confirmed
             return;
         }
-        this.hasConfirmedMetrics = true;
 
         // Only extension projects which report they DO support metrics require this extra check;
         // for normal projects the metricsAvailable is accurate.
-        if (!this.metricsAvailable || !this.projectType.isExtension()) {
+        ApplicationState current = change.current;
+        if (!current.metricsAvailable || !this.projectType.isExtension()) {
             return;
         }
 
         try {
-            URL metricsUrl = this.getMetricsDashboardUrl();
+            URL metricsUrl = getMetricsDashboardUrl(current);
             if (metricsUrl == null) {
                 // we should not have made it this far
                 return;
             }
             HttpResult getMetricsResult = HttpUtil.get(metricsUrl.toURI());
-            this.metricsAvailable = getMetricsResult.isGoodResponse;
+            // Only update if the dashboard info was not changed while the request was running
+            updateState(builder -> {
+                if (builder.hasMetricsDashboardInfo(current.metricsHosting, current.metricsPath)) {
+                    builder.metricsAvailable(getMetricsResult.isGoodResponse);
+                }
+            });
         } catch (IOException | URISyntaxException e) {
-            Logger.logWarning("An error occurred trying to confirm the application metrics status", e);
+            LOG.warn("An error occurred trying to confirm the application metrics status", e);
         }
     }
 
-    public synchronized AppStatus getAppStatus() {
-        return appStatus;
+    public AppStatus getAppStatus() {
+        return getState().appStatus;
     }
 
-    public synchronized String getAppStatusDetails() {
-        return appStatusDetails;
+    public String getAppStatusDetails() {
+        return getState().appStatusDetails;
     }
 
-    public synchronized BuildStatus getBuildStatus() {
-        return buildStatus;
+    public BuildStatus getBuildStatus() {
+        return getState().buildStatus;
     }
 
-    public synchronized String getBuildDetails() {
-        return buildDetails;
+    public String getBuildDetails() {
+        return getState().buildDetails;
     }
 
-    public synchronized int getHttpPort() {
-        return httpPort;
+    public int getHttpPort() {
+        return getState().httpPort;
     }
 
-    public synchronized int getDebugPort() {
-        return debugPort;
+    public int getDebugPort() {
+        return getState().debugPort;
     }
 
-    public synchronized StartMode getStartMode() {
-        return startMode;
+    public StartMode getStartMode() {
+        return getState().startMode;
     }
 
-    public synchronized boolean isAutoBuild() {
-        return autoBuild;
+    public boolean isAutoBuild() {
+        return getState().autoBuild;
     }
 
-	public synchronized boolean isMetricsInjected() {
-		return metricsInjected;
+	public boolean isMetricsInjected() {
+		return getState().metricsInjected;
 	}
 	
-    public synchronized boolean isEnabled() {
-        return enabled;
+    public boolean isEnabled() {
+        return getState().enabled;
     }
 
-    public synchronized String getContainerId() {
-        return containerId;
+    public String getContainerId() {
+        return getState().containerId;
     }
 
-    public synchronized String getPodName() {
-        return podName;
+    public String getPodName() {
+        return getState().podName;
     }
 
-    public synchronized String getNamespace() {
-        return namespace;
+    public String getNamespace() {
+        return getState().namespace;
     }
 
     public boolean isActive() {
-        return getAppStatus() == AppStatus.STARTING || getAppStatus() == AppStatus.STARTED;
+        AppStatus appStatus = getAppStatus();
+        return appStatus == AppStatus.STARTING || appStatus == AppStatus.STARTED;
     }
 
     public boolean isRunning() {
-        return rootUrl != null;
+        return getState().isRunning();
     }
 
     public boolean isDeleting() {
-        return CoreConstants.VALUE_ACTION_DELETING.equals(action);
+        return CoreConstants.VALUE_ACTION_DELETING.equals(getState().action);
     }
 
     public boolean isImporting() {
         // The action value is called "validating" but really this means the project is importing
-        return CoreConstants.VALUE_ACTION_VALIDATING.equals(action);
+        return CoreConstants.VALUE_ACTION_VALIDATING.equals(getState().action);
     }
 
     public boolean isAvailable() {
-        return isEnabled() && !isImporting();
+        ApplicationState state = getState();
+        return state.enabled && !CoreConstants.VALUE_ACTION_VALIDATING.equals(state.action);
     }
 
+    /**
+     * The logs of the application.  The list cannot be modified.
+     */
     public List<ProjectLogInfo> getLogInfos() {
-        return logInfos;
+        return getState().logInfos;
     }
 
     public boolean hasBuildLog() {
         return (projectType != ProjectType.TYPE_NODEJS);
     }
 
-    public synchronized boolean hasMetricsDashboard() {
-        return metricsAvailable;
+    public boolean hasMetricsDashboard() {
+        return getState().metricsAvailable;
     }
 
-    public synchronized boolean hasPerfDashboard() {
-        return metricsAvailable && perfPath != null;
+    public boolean hasPerfDashboard() {
+        ApplicationState state = getState();
+        return state.metricsAvailable && state.perfPath != null;
     }
 
-    public synchronized void setMetricsInjectionInfo(boolean injectable, boolean injected) {
-        this.canInjectMetrics = injectable;
-        this.metricsInjected = injected;
+    public int setMetricsInjectionInfo(boolean injectable, boolean injected) {
+        return updateState(builder -> builder.metricsInjectionInfo(injectable, injected)).getChanges();
 	}
 
-    public synchronized void setMetricsDashboardInfo(String hosting, String path) {
-        // If there is no change then just return
-        if ((hosting == null ? this.metricsHosting == null : hosting.equals(this.metricsHosting)) &&
-                (path == null ? this.metricsPath == null : path.equals(this.metricsPath))) {
-            return;
+    public int setMetricsDashboardInfo(String hosting, String path) {
+        ApplicationState.Change change = updateState(builder -> builder.metricsDashboardInfo(hosting, path));
+        if (change.isChanged()) {
+            LOG.info("Updating metrics dashboard info, hosting: " + hosting + ", path: " + path); //$NON-NLS-1$ //$NON-NLS-2$
         }
-        Logger.log("Updating metrics dashboard info, hosting: " + hosting + ", path: " + path); //$NON-NLS-1$ //$NON-NLS-2$
-        this.metricsHosting = hosting;
-        this.metricsPath = path;
-        this.metricsAvailable = hosting != null && path != null;
-        this.hasConfirmedMetrics = false;
+        return change.getChanges();
     }
 
-    public synchronized void setPerfDashboardInfo(String path) {
-        this.perfPath = path;
+    public int setPerfDashboardInfo(String path) {
+        return updateState(builder -> builder.perfPath(path)).getChanges();
     }
 	
-    public synchronized void setLastBuild(long timestamp) {
-        lastBuild = timestamp;
+    public int setLastBuild(long timestamp) {
+        return updateState(builder -> builder.lastBuild(timestamp)).getChanges();
     }
 
-    public synchronized long getLastBuild() {
-        return lastBuild;
+    public long getLastBuild() {
+        return getState().lastBuild;
     }
 
-    public synchronized void setLastImageBuild(long timestamp) {
-        lastImageBuild = timestamp;
+    public int setLastImageBuild(long timestamp) {
+        return updateState(builder -> builder.lastImageBuild(timestamp)).getChanges();
     }
 
-    public synchronized long getLastImageBuild() {
-        return lastImageBuild;
+    public long getLastImageBuild() {
+        return getState().lastImageBuild;
     }
 
-    public synchronized void setHttpPort(int httpPort) {
-        Logger.log("Set HTTP port for " + rootUrl + " to " + httpPort); //$NON-NLS-1$ //$NON-NLS-2$
-        this.httpPort = httpPort;
-        try {
-            setUrls();
-        } catch (MalformedURLException e) {
-            Logger.logWarning(e);
+    public int setHttpPort(int httpPort) {
+        ApplicationState.Change change = updateState(builder -> builder.httpPort(httpPort));
+        if (change.isChanged()) {
+            LOG.info("Set HTTP port for " + change.previous.rootUrl + " to " + httpPort); //$NON-NLS-1$ //$NON-NLS-2$
         }
+        return change.getChanges();
     }
 
-    public synchronized void setDebugPort(int debugPort) {
-        Logger.log("Set debug port for " + rootUrl + " to " + debugPort); //$NON-NLS-1$ //$NON-NLS-2$
-        this.debugPort = debugPort;
+    public int setDebugPort(int debugPort) {
+        ApplicationState.Change change = updateState(builder -> builder.debugPort(debugPort));
+        if (change.isChanged()) {
+            LOG.info("Set debug port for " + change.previous.rootUrl + " to " + debugPort); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        return change.getChanges();
     }
 
     /**
@@ -477,55 +473,49 @@ public class CodewindApplication {
      * This is done because the application will wait for the ports to be
      * set to something other than -1 before trying to connect.
      */
-    public synchronized void invalidatePorts() {
-        Logger.log("Invalidate ports for " + name); //$NON-NLS-1$
-        httpPort = -1;
-        debugPort = -1;
+    public int invalidatePorts() {
+        LOG.info("Invalidate ports for " + name); //$NON-NLS-1$
+        return updateState(builder -> builder.httpPort(-1).debugPort(-1)).getChanges();
     }
 
-    public synchronized void setContainerAppPort(String port) {
-        this.containerAppPort = port;
+    public int setContainerAppPort(String port) {
+        return updateState(builder -> builder.containerAppPort(port)).getChanges();
     }
 
-    public synchronized String getContainerAppPort() {
-        return this.containerAppPort;
+    public String getContainerAppPort() {
+        return getState().containerAppPort;
     }
 
-    public synchronized void setContainerDebugPort(String port) {
-        this.containerDebugPort = port;
+    public int setContainerDebugPort(String port) {
+        return updateState(builder -> builder.containerDebugPort(port)).getChanges();
     }
 
-    public synchronized String getContainerDebugPort() {
-        return this.containerDebugPort;
+    public String getContainerDebugPort() {
+        return getState().containerDebugPort;
     }
 
-    public synchronized void setIsHttps(boolean value) {
-        isHttps = value;
-        try {
-            setUrls();
-        } catch (MalformedURLException e) {
-            Logger.logWarning("An error occurred updating isHttps to: " + value, e);
-        }
+    public int setIsHttps(boolean value) {
+        return updateState(builder -> builder.isHttps(value)).getChanges();
     }
 
-    public synchronized boolean getIsHttps() {
-        return isHttps;
+    public boolean getIsHttps() {
+        return getState().isHttps;
     }
 
-    public synchronized void setDeleteContents(boolean value) {
-        deleteContents = value;
+    public int setDeleteContents(boolean value) {
+        return updateState(builder -> builder.deleteContents(value)).getChanges();
     }
 
-    public synchronized boolean getDeleteContents() {
-        return deleteContents;
+    public boolean getDeleteContents() {
+        return getState().deleteContents;
     }
 
-	public synchronized void setCapabilitiesReady(boolean capabilitiesReady) {
-		this.capabilitiesReady = capabilitiesReady;
+	public int setCapabilitiesReady(boolean capabilitiesReady) {
+		return updateState(builder -> builder.capabilitiesReady(capabilitiesReady)).getChanges();
 	}
 	
-	public synchronized boolean getCapabilitiesReady() {
-		return capabilitiesReady;
+	public boolean getCapabilitiesReady() {
+		return getState().capabilitiesReady;
 	}
 
     /**
@@ -534,12 +524,12 @@ public class CodewindApplication {
      * needs to be fast.
      */
     public ProjectCapabilities getProjectCapabilities() {
-		if (projectCapabilities == null && capabilitiesReady) {
+		if (projectCapabilities == null && getCapabilitiesReady()) {
             try {
                 JSONObject obj = connection.requestProjectCapabilities(this);
                 projectCapabilities = new ProjectCapabilities(obj);
             } catch (Exception e) {
-                Logger.logWarning("Failed to get the project capabilities for application: " + name, e); //$NON-NLS-1$
+                LOG.warn("Failed to get the project capabilities for application: " + name, e); //$NON-NLS-1$
             }
         }
         if (projectCapabilities == null) {
@@ -587,27 +577,28 @@ public class CodewindApplication {
     }
 
 	public boolean canInjectMetrics() {
-		return canInjectMetrics;
+		return getState().canInjectMetrics;
 	}
 
     public boolean hasNotificationID(String id) {
-        Logger.log(String.format("The %s notification id for the %s application is contained: %b", id, name, activeNotificationIDs.contains(id))); //$NON-NLS-1$
+        LOG.info(String.format("The %s notification id for the %s application is contained: %b", id, name, activeNotificationIDs.contains(id))); //$NON-NLS-1$
         return activeNotificationIDs.contains(id);
     }
 
     // Call hasNotificationID first before adding
     public void addNotificationID(String id) {
-        Logger.log(String.format("Adding notification id %s to the %s application", id, name)); //$NON-NLS-1$
+        LOG.info(String.format("Adding notification id %s to the %s application", id, name)); //$NON-NLS-1$
         activeNotificationIDs.add(id);
     }
 
     public void clearNotificationIDs() {
-        Logger.log(String.format("Clearing notification ids for the %s application", name)); //$NON-NLS-1$
+        LOG.info(String.format("Clearing notification ids for the %s application", name)); //$NON-NLS-1$
         activeNotificationIDs.clear();
     }
 
     @Override
     public String toString() {
+        URL rootUrl = getRootUrl();
         String urlString = rootUrl == null ? "" : rootUrl.toString();
         String fullPathString = fullLocalPath == null ? "" : fullLocalPath.toString();
 
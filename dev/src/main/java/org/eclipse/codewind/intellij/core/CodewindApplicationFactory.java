@@ -22,14 +22,41 @@ import org.json.JSONException;
 import org.json.JSONObject;
 
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 import static org.eclipse.codewind.intellij.core.messages.CodewindCoreBundle.message;
 
 public class CodewindApplicationFactory {
 
+	private static final Logger LOG = Logger.getInstance(CodewindApplicationFactory.class);
+
+	// Locks for creating and updating applications, striped by connection and project so that
+	// independent projects and connections can be updated at the same time
+	private static final int LOCK_STRIPES = 64;
+	private static final Object[] locks = new Object[LOCK_STRIPES];
+	static {
+		for (int i = 0; i < LOCK_STRIPES; i++) {
+			locks[i] = new Object();
+		}
+	}
+
+	// Project arrays at least this long are processed in parallel when refreshing all projects
+	private static final int PARALLEL_THRESHOLD = 16;
+	private static final int MIN_PROJECTS_PER_WORKER = 8;
+
+	private static Object getLock(CodewindConnection connection, String projectID) {
+		int hash = System.identityHashCode(connection) * 31 + projectID.hashCode();
+		// Spread the bits since identity hash codes and string hash codes can share low order bits
+		hash ^= (hash >>> 16);
+		return locks[hash & (LOCK_STRIPES - 1)];
+	}
+
 	/**
 	 * Process the json for all projects, create or update applications as needed.
 	 */
@@ -44,9 +71,10 @@ public class CodewindApplicationFactory {
 											   String projectsJson, String projectID) {
 
 		try {
-			Logger.logDebug(projectsJson);
+			LOG.debug(projectsJson);
 			JSONArray appArray = new JSONArray(projectsJson);
 			Set<String> idSet = new HashSet<String>();
+			List<JSONObject> appJsos = new ArrayList<JSONObject>();
 
 			for (int i = 0; i < appArray.length(); i++) {
 				JSONObject appJso = appArray.getJSONObject(i);
@@ -55,47 +83,204 @@ public class CodewindApplicationFactory {
 					idSet.add(id);
 					// If a project id was passed in then only process the JSON object for that project
 					if (projectID == null || projectID.equals(id)) {
-						synchronized (CodewindApplicationFactory.class) {
-							CodewindApplication app = connection.getAppByID(id);
-							if (app != null) {
-								updateApp(app, appJso);
-								if (app.isDeleting()) {
-									// Remove the app from the list
-									connection.removeApp(id);
-								}
-							} else {
-								app = createApp(connection, appJso);
-								if (app != null && !app.isDeleting()) {
-									connection.addApp(app);
-								}
-							}
-						}
+						appJsos.add(appJso);
 					}
 				} catch (Exception e) {
-					Logger.logWarning("Error parsing project json: " + appJso, e); //$NON-NLS-1$
+					LOG.warn("Error parsing project json: " + appJso, e); //$NON-NLS-1$
 				}
 			}
 
+			processAll(connection, appJsos, appJso -> processProjectJson(connection, appJso));
+
 			// If refreshing all of the projects, remove any projects that are not in the list returned by Codewind.
 			// This will only happen if something goes wrong and no delete event is received from Codewind for a
 			// project.
 			if (projectID == null) {
 				for (String id : connection.getAppIds()) {
 					if (!idSet.contains(id)) {
-						Logger.log("The application is no longer in the project list so removing: " + id);
+						LOG.info("The application is no longer in the project list so removing: " + id);
+						connection.removeApp(id);
+					}
+				}
+			}
+		} catch (Exception e) {
+			LOG.warn("Error parsing json for project array.", e); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Bring the applications for the connection up to date with the project list after the connection to
+	 * Codewind was restored.  The existing applications are kept and updated in place, and the UI is only
+	 * updated for the applications that were added, changed or removed.
+	 *
+	 * @return the number of applications that were added, changed or removed
+	 */
+	public static int resyncApps(CodewindConnection connection, String projectsJson) throws JSONException {
+		LOG.debug(projectsJson);
+		JSONArray appArray = new JSONArray(projectsJson);
+		Set<String> idSet = new HashSet<String>();
+		List<JSONObject> appJsos = new ArrayList<JSONObject>();
+		for (int i = 0; i < appArray.length(); i++) {
+			JSONObject appJso = appArray.getJSONObject(i);
+			String id = appJso.optString(CoreConstants.KEY_PROJECT_ID, null);
+			if (id == null) {
+				LOG.warn("Error parsing project json: " + appJso); //$NON-NLS-1$
+				continue;
+			}
+			idSet.add(id);
+			appJsos.add(appJso);
+		}
+
+		AtomicInteger changed = new AtomicInteger();
+		processAll(connection, appJsos, appJso -> {
+			if (resyncProjectJson(connection, appJso)) {
+				changed.incrementAndGet();
+			}
+		});
+
+		// Remove the projects that were deleted while the connection was down
+		for (String id : connection.getAppIds()) {
+			if (!idSet.contains(id)) {
+				LOG.info("The application was removed while the connection was down: " + id); //$NON-NLS-1$
+				connection.removeApp(id);
+				changed.incrementAndGet();
+			}
+		}
+		return changed.get();
+	}
+
+	/**
+	 * @return true if the application was added, changed or removed
+	 */
+	private static boolean resyncProjectJson(CodewindConnection connection, JSONObject appJso) {
+		try {
+			String id = appJso.getString(CoreConstants.KEY_PROJECT_ID);
+			CodewindApplication app;
+			AppUpdate update;
+			synchronized (getLock(connection, id)) {
+				app = connection.getAppByID(id);
+				if (app == null) {
+					app = newApp(connection, appJso);
+					if (app == null) {
+						return false;
+					}
+					update = updateAppState(app, appJso);
+					if (app.isDeleting()) {
+						return false;
+					}
+					connection.addApp(app);
+					update.changes = ApplicationState.ALL;
+				} else {
+					update = updateAppState(app, appJso);
+					if (app.isDeleting()) {
 						connection.removeApp(id);
+						return true;
 					}
 				}
 			}
+			int changes = completeUpdate(app, update);
+			CoreUtil.updateApplication(app, changes);
+			return changes != ApplicationState.NONE;
 		} catch (Exception e) {
-			Logger.logWarning("Error parsing json for project array.", e); //$NON-NLS-1$
+			LOG.warn("Error parsing project json: " + appJso, e); //$NON-NLS-1$
+		}
+		return false;
+	}
+
+	private static void processAll(CodewindConnection connection, List<JSONObject> appJsos, Consumer<JSONObject> processor) {
+		if (appJsos.size() >= PARALLEL_THRESHOLD) {
+			processInParallel(connection, appJsos, processor);
+		} else {
+			for (JSONObject appJso : appJsos) {
+				processor.accept(appJso);
+			}
 		}
 	}
 
+	/**
+	 * Process the projects using the calling thread and up to one helper task per core on the Codewind I/O
+	 * executor.  The calling thread takes part in the work and only waits for projects that a helper has
+	 * already started, so this cannot deadlock if it is called from an I/O executor thread while the
+	 * executor is busy.
+	 */
+	private static void processInParallel(CodewindConnection connection, List<JSONObject> appJsos, Consumer<JSONObject> processor) {
+		AtomicInteger next = new AtomicInteger();
+		CountDownLatch done = new CountDownLatch(appJsos.size());
+		Runnable worker = () -> {
+			int i;
+			while ((i = next.getAndIncrement()) < appJsos.size()) {
+				try {
+					processor.accept(appJsos.get(i));
+				} finally {
+					done.countDown();
+				}
+			}
+		};
+		int helpers = Math.min(Runtime.getRuntime().availableProcessors(), appJsos.size() / MIN_PROJECTS_PER_WORKER) - 1;
+		for (int i = 0; i < helpers; i++) {
+			CoreUtil.runAsync("Update Codewind projects for " + connection.getName(), worker); //$NON-NLS-1$
+		}
+		worker.run();
+		try {
+			done.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			LOG.warn("Interrupted waiting for the projects to be updated for connection: " + connection.getName()); //$NON-NLS-1$
+		}
+	}
+
+	private static void processProjectJson(CodewindConnection connection, JSONObject appJso) {
+		try {
+			getAppFromProjectJson(connection, appJso);
+		} catch (Exception e) {
+			LOG.warn("Error parsing project json: " + appJso, e); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Process the json for a single project, creating or updating the application as needed.
+	 */
+	public static void getAppFromProjectJson(CodewindConnection connection, JSONObject appJso) throws JSONException {
+		String id = appJso.getString(CoreConstants.KEY_PROJECT_ID);
+		CodewindApplication app;
+		AppUpdate update;
+		synchronized (getLock(connection, id)) {
+			app = connection.getAppByID(id);
+			if (app != null) {
+				update = updateAppState(app, appJso);
+				if (app.isDeleting()) {
+					// Remove the app from the list
+					connection.removeApp(id);
+					return;
+				}
+			} else {
+				app = newApp(connection, appJso);
+				if (app == null) {
+					return;
+				}
+				update = updateAppState(app, appJso);
+				if (app.isDeleting()) {
+					return;
+				}
+				connection.addApp(app);
+			}
+		}
+		// Requests to Codewind are made after releasing the lock so other updates for the project are not blocked
+		completeUpdate(app, update);
+	}
+
 	/**
 	 * Use the static information in the JSON object to create the application.
 	 */
 	public static CodewindApplication createApp(CodewindConnection connection, JSONObject appJso) {
+		CodewindApplication app = newApp(connection, appJso);
+		if (app != null) {
+			updateApp(app, appJso);
+		}
+		return app;
+	}
+
+	private static CodewindApplication newApp(CodewindConnection connection, JSONObject appJso) {
 		try {
 			// MCLogger.log("app: " + appJso.toString());
 			String name = appJso.getString(CoreConstants.KEY_NAME);
@@ -113,51 +298,82 @@ public class CodewindApplicationFactory {
 				type = ProjectType.getType(typeStr, extension);
 				language = ProjectLanguage.getLanguage(languageStr);
 			} catch (JSONException e) {
-				Logger.logWarning(e.getMessage() + " in: " + appJso); //$NON-NLS-1$
+				LOG.warn(e.getMessage() + " in: " + appJso); //$NON-NLS-1$
 			}
 
 			String localPath = appJso.getString(CoreConstants.KEY_LOC_DISK);
 			localPath = CoreUtil.getHostPath(localPath);
 
-			CodewindApplication app = CodewindObjectFactory.createCodewindApplication(connection, id, name, type,
+			return CodewindObjectFactory.createCodewindApplication(connection, id, name, type,
 					language, Paths.get(localPath));
-
-			updateApp(app, appJso);
-			return app;
 		} catch (JSONException e) {
-			Logger.logWarning("Error parsing project json: " + appJso, e); //$NON-NLS-1$
+			LOG.warn("Error parsing project json: " + appJso, e); //$NON-NLS-1$
 		} catch (Exception e) {
-			Logger.logWarning("Error creating new application for project.", e); //$NON-NLS-1$
+			LOG.warn("Error creating new application for project.", e); //$NON-NLS-1$
 		}
 		return null;
 	}
 
 	/**
 	 * Update the application with the dynamic information in the JSON object.
+	 *
+	 * @return the {@link ApplicationState} change mask, {@link ApplicationState#NONE} if the JSON object did
+	 * not change anything.  Codewind often sends the same project information again so callers should only
+	 * update the UI if something changed.
+	 */
+	public static int updateApp(CodewindApplication app, JSONObject appJso) {
+		return completeUpdate(app, updateAppState(app, appJso));
+	}
+
+	/**
+	 * The result of updating the application state from a JSON object, and the requests to Codewind that are
+	 * still needed to finish the update.  The requests are made by {@link #completeUpdate} so that callers can
+	 * update the state while holding the application lock and make the requests after releasing it.
+	 */
+	private static class AppUpdate {
+		private int changes = ApplicationState.NONE;
+		// The application was enabled so it needs to be refreshed
+		private boolean enabled = false;
+		// The project has logs so the log information needs to be requested
+		private boolean requestLogs = false;
+	}
+
+	/**
+	 * Update the application state with the dynamic information in the JSON object, without making any
+	 * requests to Codewind.
 	 */
-	public static void updateApp(CodewindApplication app, JSONObject appJso) {
+	private static AppUpdate updateAppState(CodewindApplication app, JSONObject appJso) {
+		AppUpdate update = new AppUpdate();
+		update.changes = setAppState(app, appJso, update);
+		return update;
+	}
+
+	private static int setAppState(CodewindApplication app, JSONObject appJso, AppUpdate update) {
+		int changes = ApplicationState.NONE;
 		try {
 			// Set the action
 			if (appJso.has(CoreConstants.KEY_ACTION)) {
 				String action = appJso.getString(CoreConstants.KEY_ACTION);
-				app.setAction(action);
+				changes |= app.setAction(action);
 				if (CoreConstants.VALUE_ACTION_DELETING.equals(action)) {
 					// No point in updating any further since this app should be removed from the list
-					return;
+					return changes;
 				}
 			} else {
-				app.setAction(null);
+				changes |= app.setAction(null);
 			}
 
 			// Set the app state
 			if (appJso.has(CoreConstants.KEY_OPEN_STATE)) {
 				String state = appJso.getString(CoreConstants.KEY_OPEN_STATE);
 				if (CoreConstants.VALUE_STATE_CLOSED.equals(state)) {
-					app.setEnabled(false);
-					return;
+					changes |= app.updateEnabled(false).getChanges();
+					return changes;
 				}
 			}
-			app.setEnabled(true);
+			ApplicationState.Change enabledChange = app.updateEnabled(true);
+			update.enabled = !enabledChange.previous.enabled;
+			changes |= enabledChange.getChanges();
 
 			// Set the app status
 			if (appJso.has(CoreConstants.KEY_APP_STATUS)) {
@@ -201,7 +417,7 @@ public class CodewindApplicationFactory {
 						}
 					}
 				}
-				app.setAppStatus(appStatus, detail);
+				changes |= app.setAppStatus(appStatus, detail);
 			}
 
 			// Set the build status
@@ -211,20 +427,20 @@ public class CodewindApplicationFactory {
 				if (appJso.has(CoreConstants.KEY_DETAILED_BUILD_STATUS)) {
 					detail = appJso.getString(CoreConstants.KEY_DETAILED_BUILD_STATUS);
 				}
-				app.setBuildStatus(buildStatus, detail);
+				changes |= app.setBuildStatus(buildStatus, detail);
 			}
 
 			if (appJso.has(CoreConstants.KEY_LAST_BUILD)) {
 				long timestamp = appJso.getLong(CoreConstants.KEY_LAST_BUILD);
-				app.setLastBuild(timestamp);
+				changes |= app.setLastBuild(timestamp);
 			}
 
 			if (appJso.has(CoreConstants.KEY_APP_IMAGE_LAST_BUILD)) {
 				String timestamp = appJso.getString(CoreConstants.KEY_APP_IMAGE_LAST_BUILD);
 				try {
-					app.setLastImageBuild(Long.parseLong(timestamp));
+					changes |= app.setLastImageBuild(Long.parseLong(timestamp));
 				} catch (NumberFormatException e) {
-					Logger.logWarning("Error parsing the app image last build value: " + timestamp, e);
+					LOG.warn("Error parsing the app image last build value: " + timestamp, e);
 				}
 			}
 
@@ -233,24 +449,24 @@ public class CodewindApplicationFactory {
 			if (appJso.has(CoreConstants.KEY_APP_BASE_URL)) {
 				appBaseUrl = appJso.getString(CoreConstants.KEY_APP_BASE_URL);
 			}
-			app.setAppBaseUrl(appBaseUrl);
+			changes |= app.setAppBaseUrl(appBaseUrl);
 
 			// Set isHttps
 			boolean isHttps = false;
 			if (appJso.has(CoreConstants.KEY_IS_HTTPS)) {
 				isHttps = appJso.getBoolean(CoreConstants.KEY_IS_HTTPS);
 			}
-			app.setIsHttps(isHttps);
+			changes |= app.setIsHttps(isHttps);
 
 			// Get the container id
 			String containerId = null;
 			if (appJso.has(CoreConstants.KEY_CONTAINER_ID)) {
 				containerId = appJso.getString(CoreConstants.KEY_CONTAINER_ID);
 			}
-			app.setContainerId(containerId);
+			changes |= app.setContainerId(containerId);
 
 			// Get the pod information
-			app.setPodInfo(getStringValue(appJso, CoreConstants.KEY_POD_NAME), getStringValue(appJso, CoreConstants.KEY_NAMESPACE));
+			changes |= app.setPodInfo(getStringValue(appJso, CoreConstants.KEY_POD_NAME), getStringValue(appJso, CoreConstants.KEY_NAMESPACE));
 
 			// Get the ports if they are available
 			try {
@@ -266,13 +482,13 @@ public class CodewindApplicationFactory {
 						httpPortNum = CoreUtil.parsePort(httpPort);
 					}
 				}
-				app.setHttpPort(httpPortNum);
+				changes |= app.setHttpPort(httpPortNum);
 
 				String internalAppPort = null;
 				if (portsObj != null && portsObj.has(CoreConstants.KEY_INTERNAL_PORT)) {
 					internalAppPort = portsObj.getString(CoreConstants.KEY_INTERNAL_PORT);
 				}
-				app.setContainerAppPort(internalAppPort);
+				changes |= app.setContainerAppPort(internalAppPort);
 
 				int debugPortNum = -1;
 				if (portsObj != null && portsObj.has(CoreConstants.KEY_EXPOSED_DEBUG_PORT)) {
@@ -281,15 +497,15 @@ public class CodewindApplicationFactory {
 						debugPortNum = CoreUtil.parsePort(debugPort);
 					}
 				}
-				app.setDebugPort(debugPortNum);
+				changes |= app.setDebugPort(debugPortNum);
 
 				String internalDebugPort = null;
 				if (portsObj != null && portsObj.has(CoreConstants.KEY_INTERNAL_DEBUG_PORT)) {
 					internalDebugPort = portsObj.getString(CoreConstants.KEY_INTERNAL_DEBUG_PORT);
 				}
-				app.setContainerDebugPort(internalDebugPort);
+				changes |= app.setContainerDebugPort(internalDebugPort);
 			} catch (Exception e) {
-				Logger.logWarning("Failed to get the ports for application: " + app.name, e); //$NON-NLS-1$
+				LOG.warn("Failed to get the ports for application: " + app.name, e); //$NON-NLS-1$
 			}
 
 			// Set the context root
@@ -299,52 +515,73 @@ public class CodewindApplicationFactory {
 			} else if (appJso.has(CoreConstants.KEY_CONTEXTROOT)) {
 				contextRoot = appJso.getString(CoreConstants.KEY_CONTEXTROOT);
 			}
-			app.setContextRoot(contextRoot);
+			changes |= app.setContextRoot(contextRoot);
 
 			// Set the start mode
 			StartMode startMode = StartMode.get(appJso);
-			app.setStartMode(startMode);
+			changes |= app.setStartMode(startMode);
 
 			// Set auto build
 			if (appJso.has(CoreConstants.KEY_AUTO_BUILD)) {
 				boolean autoBuild = appJso.getBoolean(CoreConstants.KEY_AUTO_BUILD);
-				app.setAutoBuild(autoBuild);
+				changes |= app.setAutoBuild(autoBuild);
 			}
 
 			// Set capabilities ready
 			if (appJso.has(CoreConstants.KEY_CAPABILITIES_READY)) {
-				app.setCapabilitiesReady(appJso.getBoolean(CoreConstants.KEY_CAPABILITIES_READY));
+				changes |= app.setCapabilitiesReady(appJso.getBoolean(CoreConstants.KEY_CAPABILITIES_READY));
 			}
 
 			// Set inject metrics info
 			if (appJso.has(CoreConstants.KEY_INJECTION)) {
 				JSONObject injectObj = appJso.getJSONObject(CoreConstants.KEY_INJECTION);
-				app.setMetricsInjectionInfo(injectObj.getBoolean(CoreConstants.KEY_INJECTABLE), injectObj.getBoolean(CoreConstants.KEY_INJECTED));
+				changes |= app.setMetricsInjectionInfo(injectObj.getBoolean(CoreConstants.KEY_INJECTABLE), injectObj.getBoolean(CoreConstants.KEY_INJECTED));
 			}
 
 			// Set metrics dashboard info
 			if (appJso.has(CoreConstants.KEY_METRICS_DASHBOARD)) {
 				JSONObject metricsObj = appJso.getJSONObject(CoreConstants.KEY_METRICS_DASHBOARD);
-				app.setMetricsDashboardInfo(getStringValue(metricsObj, CoreConstants.KEY_METRICS_HOSTING), getStringValue(metricsObj, CoreConstants.KEY_METRICS_PATH));
+				changes |= app.setMetricsDashboardInfo(getStringValue(metricsObj, CoreConstants.KEY_METRICS_HOSTING), getStringValue(metricsObj, CoreConstants.KEY_METRICS_PATH));
 			}
 
 			// Set perf dashboard info
 			if (appJso.has(CoreConstants.KEY_PERF_DASHBOARD_PATH)) {
-				app.setPerfDashboardInfo(getStringValue(appJso, CoreConstants.KEY_PERF_DASHBOARD_PATH));
+				changes |= app.setPerfDashboardInfo(getStringValue(appJso, CoreConstants.KEY_PERF_DASHBOARD_PATH));
 			}
 		} catch (JSONException e) {
-			Logger.logWarning("Error parsing project json: " + appJso, e); //$NON-NLS-1$
+			LOG.warn("Error parsing project json: " + appJso, e); //$NON-NLS-1$
 		}
 
 		try {
-			if (appJso.has(CoreConstants.KEY_LOGS) && appJso.getJSONObject(CoreConstants.KEY_LOGS).length() > 0) {
+			update.requestLogs = appJso.has(CoreConstants.KEY_LOGS) && appJso.getJSONObject(CoreConstants.KEY_LOGS).length() > 0;
+		} catch (JSONException e) {
+			LOG.warn("An error occurred while updating the log information for project: " + app.name, e);
+		}
+		return changes;
+	}
+
+	/**
+	 * Make the requests to Codewind needed to finish updating the application.  Must not be called while
+	 * holding the application lock.
+	 *
+	 * @return the change mask of the update
+	 */
+	private static int completeUpdate(CodewindApplication app, AppUpdate update) {
+		int changes = update.changes;
+		try {
+			if (update.requestLogs) {
 				// Set the log information
 				List<ProjectLogInfo> logInfos = app.connection.requestProjectLogs(app);
-				app.setLogInfos(logInfos);
+				changes |= app.setLogInfos(logInfos);
+				app.connection.getIndexedLogStreams().update(app);
 			}
 		} catch (Exception e) {
-			Logger.logWarning("An error occurred while updating the log information for project: " + app.name, e);
+			LOG.warn("An error occurred while updating the log information for project: " + app.name, e);
+		}
+		if (update.enabled) {
+			app.onEnabled();
 		}
+		return changes;
 	}
 
 	private static String getStringValue(JSONObject obj, String key) throws JSONException {
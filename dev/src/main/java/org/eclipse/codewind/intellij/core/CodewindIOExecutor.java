@@ -0,0 +1,363 @@
+/*******************************************************************************
+ * Copyright (c) 2020 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.codewind.intellij.core;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.eclipse.codewind.intellij.core.messages.CodewindCoreBundle.message;
+
+/**
+ * Executor for Codewind background work that blocks on I/O (HTTP requests, cwctl processes, socket
+ * console registration).  Using a dedicated pool keeps this work off the JVM wide common ForkJoinPool
+ * which is shared with the IDE and other plugins.
+ * <p>
+ * The pool size, queue size and saturation policy can be set with the <code>org.eclipse.codewind.ioThreads</code>,
+ * <code>org.eclipse.codewind.ioQueueSize</code> and <code>org.eclipse.codewind.ioSaturationPolicy</code> system
+ * properties.  Tasks that can't be run on the submitting thread because it is the event dispatch thread are kept in
+ * an overflow queue, bounded by the <code>org.eclipse.codewind.ioOverflowSize</code> system property, and moved to
+ * the executor as it catches up.  A task that is rejected is reported to the user.  The executor is shut down
+ * when the plugin is unloaded.
+ */
+public class CodewindIOExecutor {
+
+    private static final Logger LOG = Logger.getInstance(CodewindIOExecutor.class);
+
+    public static final String THREADS_PROPERTY = "org.eclipse.codewind.ioThreads"; //$NON-NLS-1$
+    public static final String QUEUE_SIZE_PROPERTY = "org.eclipse.codewind.ioQueueSize"; //$NON-NLS-1$
+    public static final String SATURATION_POLICY_PROPERTY = "org.eclipse.codewind.ioSaturationPolicy"; //$NON-NLS-1$
+    public static final String OVERFLOW_SIZE_PROPERTY = "org.eclipse.codewind.ioOverflowSize"; //$NON-NLS-1$
+
+    private static final int DEFAULT_THREADS = 16;
+    private static final int DEFAULT_QUEUE_SIZE = 1000;
+    private static final int DEFAULT_OVERFLOW_SIZE = 1000;
+    private static final long KEEP_ALIVE_SECONDS = 60;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+    // Report rejected tasks to the user at most once in this interval
+    private static final long REJECTION_REPORT_INTERVAL_MS = 60000;
+
+    /**
+     * What to do with a task when all of the threads are busy and the queue is full.
+     */
+    public enum SaturationPolicy {
+        // Run the task on the submitting thread, unless it is the event dispatch thread in which case it is
+        // kept in the overflow queue
+        CALLER_RUNS,
+        // Reject the task
+        ABORT,
+        // Drop the oldest queued task to make room for the new one
+        DISCARD_OLDEST;
+
+        public static SaturationPolicy get(String name) {
+            for (SaturationPolicy policy : SaturationPolicy.values()) {
+                if (policy.name().equalsIgnoreCase(name)) {
+                    return policy;
+                }
+            }
+            return CALLER_RUNS;
+        }
+    }
+
+    private static CodewindIOExecutor instance;
+
+    private final ThreadPoolExecutor executor;
+    private final SaturationPolicy policy;
+    private final Map<Thread, TaskInfo> activeTasks = new ConcurrentHashMap<Thread, TaskInfo>();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong callerRunsCount = new AtomicLong();
+    private final AtomicLong overflowCount = new AtomicLong();
+    private final AtomicLong lastRejectionReport = new AtomicLong();
+    // Tasks from the event dispatch thread that did not fit in the queue, in submission order
+    private final BlockingDeque<Runnable> overflow;
+
+    private CodewindIOExecutor(int threads, int queueSize, int overflowSize, SaturationPolicy policy) {
+        this.policy = policy;
+        this.overflow = new LinkedBlockingDeque<Runnable>(overflowSize);
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "Codewind I/O " + threadCount.incrementAndGet()); //$NON-NLS-1$
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                this::saturated);
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    public static synchronized CodewindIOExecutor getExecutor() {
+        if (instance == null || instance.executor.isShutdown()) {
+            instance = new CodewindIOExecutor(Math.max(1, getIntProperty(THREADS_PROPERTY, DEFAULT_THREADS)),
+                    Math.max(1, getIntProperty(QUEUE_SIZE_PROPERTY, DEFAULT_QUEUE_SIZE)),
+                    Math.max(1, getIntProperty(OVERFLOW_SIZE_PROPERTY, DEFAULT_OVERFLOW_SIZE)),
+                    SaturationPolicy.get(System.getProperty(SATURATION_POLICY_PROPERTY)));
+        }
+        return instance;
+    }
+
+    private static int getIntProperty(String property, int defaultValue) {
+        String value = System.getProperty(property);
+        if (value != null && !value.trim().isEmpty()) {
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                LOG.warn("Invalid value for " + property + ": " + value, e); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Run the task on the executor.
+     *
+     * @param name a description of the task, shown when inspecting the active and queued tasks
+     * @return a future that completes when the task completes
+     */
+    public CompletableFuture<Void> runAsync(String name, Runnable runnable) {
+        CompletableFuture<Void> future = new CompletableFuture<Void>();
+        try {
+            executor.execute(new TaskInfo(name, runnable, future));
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Run the task on the executor.
+     *
+     * @param name a description of the task, shown when inspecting the active and queued tasks
+     * @return a future that completes with the result of the task
+     */
+    public <T> CompletableFuture<T> supplyAsync(String name, Callable<T> callable) {
+        CompletableFuture<T> result = new CompletableFuture<T>();
+        runAsync(name, () -> {
+            try {
+                result.complete(callable.call());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        }).whenComplete((v, t) -> {
+            // The task was rejected or cancelled before it ran
+            if (t != null) {
+                result.completeExceptionally(t);
+            }
+        });
+        return result;
+    }
+
+    private void saturated(Runnable runnable, ThreadPoolExecutor pool) {
+        if (pool.isShutdown()) {
+            rejectedCount.incrementAndGet();
+            throw new RejectedExecutionException("The Codewind I/O executor has been shut down"); //$NON-NLS-1$
+        }
+        switch (policy) {
+            case CALLER_RUNS:
+                // Never block the UI with I/O work, queue it until the executor catches up instead
+                if (!SwingUtilities.isEventDispatchThread()) {
+                    callerRunsCount.incrementAndGet();
+                    runnable.run();
+                    return;
+                }
+                if (overflow.offer(runnable)) {
+                    overflowCount.incrementAndGet();
+                    drainOverflow();
+                    return;
+                }
+                break;
+            case DISCARD_OLDEST:
+                Runnable oldest = pool.getQueue().poll();
+                if (oldest instanceof TaskInfo) {
+                    ((TaskInfo) oldest).future.completeExceptionally(new RejectedExecutionException("Discarded from the Codewind I/O executor queue")); //$NON-NLS-1$
+                }
+                rejectedCount.incrementAndGet();
+                LOG.warn("The Codewind I/O executor is saturated, discarded the oldest task: " + oldest); //$NON-NLS-1$
+                pool.execute(runnable);
+                return;
+            default:
+                break;
+        }
+        rejectedCount.incrementAndGet();
+        LOG.warn("The Codewind I/O executor is saturated, rejected task: " + runnable); //$NON-NLS-1$
+        reportRejection(runnable);
+        throw new RejectedExecutionException("The Codewind I/O executor is saturated: " + runnable); //$NON-NLS-1$
+    }
+
+    /**
+     * Move tasks from the overflow queue to the executor while there is room in its queue.
+     */
+    private void drainOverflow() {
+        BlockingQueue<Runnable> queue = executor.getQueue();
+        Runnable next;
+        while (queue.remainingCapacity() > 0 && (next = overflow.pollFirst()) != null) {
+            if (!queue.offer(next)) {
+                // Another thread filled the queue, keep the task's place
+                overflow.offerFirst(next);
+                break;
+            }
+        }
+        // Tasks added to the queue directly do not start a thread
+        if (executor.getPoolSize() == 0 && !queue.isEmpty()) {
+            executor.prestartCoreThread();
+        }
+    }
+
+    private void reportRejection(Runnable runnable) {
+        long now = System.currentTimeMillis();
+        long last = lastRejectionReport.get();
+        if (now - last >= REJECTION_REPORT_INTERVAL_MS && lastRejectionReport.compareAndSet(last, now)) {
+            CoreUtil.openDialog(true, message("IOExecutorSaturatedTitle"), message("IOExecutorSaturatedMsg", runnable));
+        }
+    }
+
+    public int getActiveCount() {
+        return activeTasks.size();
+    }
+
+    public int getQueuedCount() {
+        return executor.getQueue().size() + overflow.size();
+    }
+
+    public int getPoolSize() {
+        return executor.getPoolSize();
+    }
+
+    public int getLargestPoolSize() {
+        return executor.getLargestPoolSize();
+    }
+
+    public long getCompletedCount() {
+        return executor.getCompletedTaskCount();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    public long getCallerRunsCount() {
+        return callerRunsCount.get();
+    }
+
+    /**
+     * The number of tasks that were kept in the overflow queue because the executor was saturated.
+     */
+    public long getOverflowCount() {
+        return overflowCount.get();
+    }
+
+    /**
+     * Descriptions of the running tasks, including how long they have been running.
+     */
+    public List<String> getActiveTasks() {
+        List<String> tasks = new ArrayList<String>();
+        long now = System.currentTimeMillis();
+        for (Map.Entry<Thread, TaskInfo> entry : activeTasks.entrySet()) {
+            tasks.add(entry.getValue().name + " on " + entry.getKey().getName() + " for " + (now - entry.getValue().startTime) + " ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        }
+        return tasks;
+    }
+
+    /**
+     * Descriptions of the tasks waiting in the queue, followed by the tasks in the overflow queue.
+     */
+    public List<String> getQueuedTasks() {
+        List<String> tasks = new ArrayList<String>();
+        for (Runnable runnable : executor.getQueue().toArray(new Runnable[0])) {
+            tasks.add(runnable.toString());
+        }
+        for (Runnable runnable : overflow.toArray(new Runnable[0])) {
+            tasks.add(runnable.toString());
+        }
+        return tasks;
+    }
+
+    /**
+     * Shut down the executor, cancelling queued tasks and interrupting running ones.
+     */
+    public static void shutdown() {
+        CodewindIOExecutor executor;
+        synchronized (CodewindIOExecutor.class) {
+            executor = instance;
+            instance = null;
+        }
+        if (executor == null) {
+            return;
+        }
+        LOG.info("Shutting down the Codewind I/O executor: " + executor); //$NON-NLS-1$
+        List<Runnable> cancelled = executor.executor.shutdownNow();
+        executor.overflow.drainTo(cancelled);
+        for (Runnable runnable : cancelled) {
+            if (runnable instanceof TaskInfo) {
+                ((TaskInfo) runnable).future.cancel(false);
+            }
+        }
+        try {
+            if (!executor.executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LOG.warn("The Codewind I/O executor did not terminate, active tasks: " + executor.getActiveTasks()); //$NON-NLS-1$
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s poolSize=%d active=%d queued=%d completed=%d rejected=%d callerRuns=%d overflow=%d policy=%s", //$NON-NLS-1$
+                CodewindIOExecutor.class.getSimpleName(), getPoolSize(), getActiveCount(), getQueuedCount(),
+                getCompletedCount(), getRejectedCount(), getCallerRunsCount(), getOverflowCount(), policy);
+    }
+
+    private class TaskInfo implements Runnable {
+        private final String name;
+        private final Runnable runnable;
+        private final CompletableFuture<Void> future;
+        private long startTime;
+
+        private TaskInfo(String name, Runnable runnable, CompletableFuture<Void> future) {
+            this.name = name != null ? name : runnable.getClass().getName();
+            this.runnable = runnable;
+            this.future = future;
+        }
+
+        @Override
+        public void run() {
+            if (future.isDone()) {
+                return;
+            }
+            Thread thread = Thread.currentThread();
+            startTime = System.currentTimeMillis();
+            activeTasks.put(thread, this);
+            try {
+                runnable.run();
+                future.complete(null);
+            } catch (Throwable t) {
+                LOG.warn("An error occurred running the task: " + name, t); //$NON-NLS-1$
+                future.completeExceptionally(t);
+            } finally {
+                activeTasks.remove(thread);
+                if (!overflow.isEmpty()) {
+                    drainOverflow();
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -19,6 +19,8 @@ import org.eclipse.codewind.intellij.core.connection.ConnectionManager;
 import java.net.URI;
 
 public class CodewindManager {
+
+	private static final Logger LOG = Logger.getInstance(CodewindManager.class);
 	
 	private static CodewindManager codewindManager;
 	
@@ -78,7 +80,7 @@ public class CodewindManager {
 			}
 			return;
 		} catch (Exception e) {
-			Logger.log("An error occurred trying to get the Codewind install status.", e); //$NON-NLS-1$
+			LOG.info("An error occurred trying to get the Codewind install status.", e); //$NON-NLS-1$
 			System.out.println("*** An error occurred trying to get the Codewind install status. " + e.getLocalizedMessage());
 			installerErrorMsg = e.getLocalizedMessage();
 		}
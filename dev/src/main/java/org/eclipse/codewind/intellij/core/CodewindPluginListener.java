@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright (c) 2020 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.codewind.intellij.core;
+
+import com.intellij.ide.AppLifecycleListener;
+import com.intellij.ide.plugins.DynamicPluginListener;
+import com.intellij.ide.plugins.IdeaPluginDescriptor;
+import org.eclipse.codewind.intellij.core.connection.ConnectionCache;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Saves the project cache and releases the Codewind background threads when the plugin is unloaded or updated.
+ * The project cache is also saved when the IDE is closed, since the plugin is not unloaded then.
+ */
+public class CodewindPluginListener implements DynamicPluginListener, AppLifecycleListener {
+
+    public static final String PLUGIN_ID = "org.eclipse.codewind.intellij"; //$NON-NLS-1$
+
+    @Override
+    public void beforePluginUnload(@NotNull IdeaPluginDescriptor pluginDescriptor, boolean isUpdate) {
+        if (PLUGIN_ID.equals(pluginDescriptor.getPluginId().getIdString())) {
+            ConnectionCache.getInstance().dispose();
+            CodewindIOExecutor.shutdown();
+        }
+    }
+
+    @Override
+    public void appWillBeClosed(boolean isRestart) {
+        ConnectionCache.getInstance().dispose();
+    }
+}
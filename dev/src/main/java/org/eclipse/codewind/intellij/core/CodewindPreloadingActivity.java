@@ -0,0 +1,29 @@
+/*******************************************************************************
+ * Copyright (c) 2020 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.codewind.intellij.core;
+
+import com.intellij.openapi.application.PreloadingActivity;
+import com.intellij.openapi.progress.ProgressIndicator;
+import org.eclipse.codewind.intellij.core.connection.ConnectionCache;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Reads the project cache in the background when the IDE starts, so that the Codewind tree can show the cached
+ * projects without reading the file on the event dispatch thread.
+ */
+public class CodewindPreloadingActivity extends PreloadingActivity {
+
+    @Override
+    public void preload(@NotNull ProgressIndicator indicator) {
+        ConnectionCache.getInstance().loadAsync();
+    }
+}
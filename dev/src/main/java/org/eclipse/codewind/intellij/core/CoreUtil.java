@@ -17,6 +17,7 @@ import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.application.ModalityState;
 import com.intellij.openapi.ui.Messages;
 import org.eclipse.codewind.intellij.core.connection.CodewindConnection;
+import org.eclipse.codewind.intellij.core.connection.ConnectionCache;
 import org.eclipse.codewind.intellij.ui.IconCache;
 import org.eclipse.codewind.intellij.ui.tree.CodewindToolWindowHelper;
 
@@ -34,6 +35,8 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import static com.intellij.openapi.application.ModalityState.defaultModalityState;
@@ -44,6 +47,8 @@ import static org.eclipse.codewind.intellij.core.messages.CodewindCoreBundle.mes
  */
 public class CoreUtil {
 
+    private static final Logger LOG = Logger.getInstance(CoreUtil.class);
+
     // Provide a way for users to override the path used for running commands
     private static final String ENV_PATH_PROPERTY = "org.eclipse.codewind.envPath";
 
@@ -51,6 +56,13 @@ public class CoreUtil {
     private static IUpdateHandler toolWindowUpdateHandler;
     private static NotificationGroup logUpdatesNotificationGroup;
 
+    // Application updates sent to the update handlers and those dropped because nothing changed
+    private static final AtomicLong deliveredAppUpdates = new AtomicLong();
+    private static final AtomicLong suppressedAppUpdates = new AtomicLong();
+
+    // Runnables passed to invokeLater that have not run yet
+    private static final AtomicInteger pendingEdtTasks = new AtomicInteger();
+
 	public enum DialogType {
 		ERROR,
 		WARN,
@@ -129,7 +141,7 @@ public class CoreUtil {
                                         final URI uri = new URI(linkUrl);
                                         com.intellij.ide.browsers.BrowserLauncher.getInstance().browse(uri);
                                     } catch (URISyntaxException use) {
-                                        Logger.log("An error occurred trying to open an external browser at: " + linkUrl);
+                                        LOG.info("An error occurred trying to open an external browser at: " + linkUrl);
                                         System.out.println("*** An error occurred trying to open an external browser at: " + linkUrl);
                                     }
                                 }
@@ -201,7 +213,7 @@ public class CoreUtil {
         try {
             return Integer.parseInt(portStr);
         } catch (NumberFormatException e) {
-            Logger.logWarning(String.format("Couldn't parse port from \"%s\"", portStr), e); //$NON-NLS-1$
+            LOG.warn(String.format("Couldn't parse port from \"%s\"", portStr), e); //$NON-NLS-1$
             return -1;
         }
     }
@@ -215,7 +227,18 @@ public class CoreUtil {
      * @see ModalityState
      */
     public static void invokeLater(Runnable runner, ModalityState state) {
-        ApplicationManager.getApplication().invokeLater(runner, state);
+        pendingEdtTasks.incrementAndGet();
+        ApplicationManager.getApplication().invokeLater(() -> {
+            pendingEdtTasks.decrementAndGet();
+            runner.run();
+        }, state);
+    }
+
+    /**
+     * The number of runnables passed to {@link #invokeLater} that are waiting to run on the event dispatch thread.
+     */
+    public static int getPendingEdtTasks() {
+        return pendingEdtTasks.get();
     }
 
     /**
@@ -230,12 +253,25 @@ public class CoreUtil {
     }
 
     /**
-     * Asynchronously execute the given runnable on a background thread
+     * Asynchronously execute the given runnable on a background thread.  If the executor is saturated the
+     * runnable is queued, or if it can't be queued the user is told that it was not run.
      *
      * @param runner the runner to run
+     * @return a future that completes when the runner completes
      */
-    public static void runAsync(Runnable runner) {
-        CompletableFuture.runAsync(runner);
+    public static CompletableFuture<Void> runAsync(Runnable runner) {
+        return runAsync(null, runner);
+    }
+
+    /**
+     * Asynchronously execute the given runnable on the Codewind I/O executor
+     *
+     * @param name a description of the task, used when inspecting the executor
+     * @param runner the runner to run
+     * @return a future that completes when the runner completes
+     */
+    public static CompletableFuture<Void> runAsync(String name, Runnable runner) {
+        return CodewindIOExecutor.getExecutor().runAsync(name, runner);
     }
 
     /**
@@ -289,21 +325,54 @@ public class CoreUtil {
      * Note: the update may be asynchronous
      */
     public static void updateApplication(CodewindApplication app) {
+        updateApplication(app, ApplicationState.ALL);
+    }
+
+    /**
+     * Update the application in the Codewind explorer view and the tool windows, if any of
+     * its state changed.
+     * Note: the update may be asynchronous
+     *
+     * @param changes the {@link ApplicationState} change mask, nothing is updated if it is
+     *                {@link ApplicationState#NONE}
+     */
+    public static void updateApplication(CodewindApplication app, int changes) {
+        if (changes == ApplicationState.NONE) {
+            suppressedAppUpdates.incrementAndGet();
+            return;
+        }
+        deliveredAppUpdates.incrementAndGet();
+        ConnectionCache.getInstance().scheduleSave();
         IUpdateHandler handler = getUpdateHandler();
         IUpdateHandler handlers = getToolWindowUpdateHandler();
         if (handler != null) {
-            invokeLater(() -> handler.updateApplication(app));
+            invokeLater(() -> handler.updateApplication(app, changes));
         }
         if (handlers != null) {
-            invokeLater(() -> handlers.updateApplication(app));
+            invokeLater(() -> handlers.updateApplication(app, changes));
         }
     }
 
+    /**
+     * Number of application updates sent to the update handlers.
+     */
+    public static long getDeliveredAppUpdates() {
+        return deliveredAppUpdates.get();
+    }
+
+    /**
+     * Number of application updates that were not sent to the update handlers because nothing changed.
+     */
+    public static long getSuppressedAppUpdates() {
+        return suppressedAppUpdates.get();
+    }
+
     /**
      * Remove the application in the Codewind explorer view
      * Note: the update may be asynchronous
      */
     public static void removeApplication(CodewindApplication app) {
+        ConnectionCache.getInstance().scheduleSave();
         IUpdateHandler handler = getUpdateHandler();
         IUpdateHandler toolWindowHandler = getToolWindowUpdateHandler();
         if (handler != null) {
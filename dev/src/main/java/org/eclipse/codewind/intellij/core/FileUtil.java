@@ -21,6 +21,8 @@ import java.util.stream.Stream;
 
 public class FileUtil {
 
+    private static final Logger LOG = Logger.getInstance(FileUtil.class);
+
     public static boolean makeDir(String path) {
         boolean result = true;
 
@@ -32,7 +34,7 @@ public class FileUtil {
                     result = fp.mkdirs();
                 }
             } catch (Exception e) {
-                Logger.logWarning("Failed to create directory: " + path, e);
+                LOG.warn("Failed to create directory: " + path, e);
                 result = false;
             }
         }
@@ -94,7 +96,7 @@ public class FileUtil {
                             deleteDirectory(dir + File.separator + fileList[i], recursive);
                         } else {
                             if (!curFp.delete())
-                                Logger.log("Could not delete " + curFp.getName());
+                                LOG.info("Could not delete " + curFp.getName());
                         }
                     }
                 }
@@ -112,7 +114,7 @@ public class FileUtil {
         try {
             canonicalPath = (new File(path)).getCanonicalPath();
         } catch (Exception e) {
-            Logger.log("Failed to get the canonical path for: " + path + ". " + e.getMessage());
+            LOG.info("Failed to get the canonical path for: " + path + ". " + e.getMessage());
         }
         return canonicalPath;
     }
@@ -0,0 +1,318 @@
+/*******************************************************************************
+ * Copyright (c) 2020 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.codewind.intellij.core;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * An in memory cache of GET responses, used by {@link HttpUtil} to send conditional requests.
+ * <p>
+ * A response is kept if it has a validator (an <code>ETag</code> or <code>Last-Modified</code> header).  The next
+ * read of the same URI sends the validator with <code>If-None-Match</code> or <code>If-Modified-Since</code>, and
+ * if Codewind answers 304 Not Modified the cached response is returned.  Every read still goes to Codewind so
+ * a cached response is never out of date.
+ * <p>
+ * Responses are kept per scope, which is one per connection, and per auth identity so that a response is never
+ * returned for a different connection or user.  The cache is a bounded LRU on both the number of responses and
+ * their total size.  It is turned off by setting the <code>org.eclipse.codewind.httpCache</code> system
+ * property to false.
+ * <p>
+ * For each endpoint the cache counts:
+ * <ul>
+ * <li>hits, a 304 was returned and the cached response was used</li>
+ * <li>revalidations, a conditional request was sent but the response had changed</li>
+ * <li>misses, there was no cached response so the request was not conditional</li>
+ * </ul>
+ */
+public class HttpResponseCache {
+
+    private static final Logger LOG = Logger.getInstance(HttpResponseCache.class);
+
+    public static final String ENABLED_PROPERTY = "org.eclipse.codewind.httpCache"; //$NON-NLS-1$
+    public static final String MAX_ENTRIES_PROPERTY = "org.eclipse.codewind.httpCacheEntries"; //$NON-NLS-1$
+    public static final String MAX_SIZE_PROPERTY = "org.eclipse.codewind.httpCacheSizeKB"; //$NON-NLS-1$
+
+    private static final int DEFAULT_MAX_ENTRIES = 500;
+    private static final int DEFAULT_MAX_SIZE_KB = 8192;
+
+    private static final String ANONYMOUS = ""; //$NON-NLS-1$
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long maxSize;    // in chars
+
+    // In access order, the eldest is the least recently used
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true);
+    private long size = 0;
+
+    private final Map<String, Counters> counters = new ConcurrentHashMap<String, Counters>();
+
+    HttpResponseCache() {
+        this(!"false".equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY)), //$NON-NLS-1$
+                Integer.getInteger(MAX_ENTRIES_PROPERTY, DEFAULT_MAX_ENTRIES),
+                Integer.getInteger(MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE_KB) * 1024L);
+    }
+
+    HttpResponseCache(boolean enabled, int maxEntries, long maxSize) {
+        this.enabled = enabled && maxEntries > 0 && maxSize > 0;
+        this.maxEntries = maxEntries;
+        this.maxSize = maxSize;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * The identity used to keep the responses for different users apart.  The authorization itself is not kept.
+     */
+    static String getIdentity(IAuthInfo auth) {
+        if (auth == null || !auth.isValid()) {
+            return ANONYMOUS;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(auth.getHttpAuthorization().getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+            StringBuilder identity = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                identity.append(String.format("%02x", b)); //$NON-NLS-1$
+            }
+            return identity.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform has SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    synchronized Entry get(String scope, String identity, URI uri) {
+        return entries.get(new Key(scope, identity, uri));
+    }
+
+    /**
+     * Keep the response if it has a validator, otherwise remove any response kept for the URI.
+     */
+    synchronized void put(String scope, String identity, URI uri, HttpUtil.HttpResult result) {
+        Key key = new Key(scope, identity, uri);
+        String etag = result.getHeader("ETag"); //$NON-NLS-1$
+        String lastModified = result.getHeader("Last-Modified"); //$NON-NLS-1$
+        if (etag == null && lastModified == null) {
+            remove(key);
+            return;
+        }
+        Entry entry = new Entry(result, etag, lastModified, key.uri.length() + (result.response == null ? 0 : result.response.length()));
+        if (entry.size > maxSize) {
+            remove(key);
+            return;
+        }
+        Entry old = entries.put(key, entry);
+        if (old != null) {
+            size -= old.size;
+        }
+        size += entry.size;
+        Iterator<Entry> eldest = entries.values().iterator();
+        while ((entries.size() > maxEntries || size > maxSize) && eldest.hasNext()) {
+            size -= eldest.next().size;
+            eldest.remove();
+        }
+    }
+
+    synchronized void remove(String scope, String identity, URI uri) {
+        remove(new Key(scope, identity, uri));
+    }
+
+    private void remove(Key key) {
+        Entry old = entries.remove(key);
+        if (old != null) {
+            size -= old.size;
+        }
+    }
+
+    /**
+     * Remove the responses for the scope, for example when the connection is removed or its authorization changes.
+     */
+    public synchronized void invalidate(String scope) {
+        int removed = removeIf(key -> key.scope.equals(scope));
+        if (removed > 0) {
+            LOG.debug(() -> "Removed " + removed + " cached responses for scope " + scope); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+    }
+
+    /**
+     * Remove the responses for the URI and the URIs under it in the scope, for example when a project is deleted.
+     */
+    public synchronized void invalidate(String scope, URI uri) {
+        String prefix = uri.toString();
+        removeIf(key -> key.scope.equals(scope) && isUnder(key.uri, prefix));
+    }
+
+    /**
+     * Remove the responses for the URI and the URIs under it in every scope.  Called when a request that
+     * changes the resource is sent to the URI.
+     */
+    public synchronized void invalidateUri(URI uri) {
+        String prefix = uri.toString();
+        removeIf(key -> isUnder(key.uri, prefix));
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        size = 0;
+    }
+
+    private static boolean isUnder(String uri, String prefix) {
+        return uri.startsWith(prefix) && (uri.length() == prefix.length() || prefix.endsWith("/") //$NON-NLS-1$
+                || uri.charAt(prefix.length()) == '/' || uri.charAt(prefix.length()) == '?');
+    }
+
+    private int removeIf(Predicate<Key> filter) {
+        int removed = 0;
+        for (Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Key, Entry> entry = it.next();
+            if (filter.test(entry.getKey())) {
+                size -= entry.getValue().size;
+                it.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    void recordHit(String endpoint) {
+        getCounters(endpoint).hits.incrementAndGet();
+    }
+
+    void recordRevalidation(String endpoint) {
+        getCounters(endpoint).revalidations.incrementAndGet();
+    }
+
+    void recordMiss(String endpoint) {
+        getCounters(endpoint).misses.incrementAndGet();
+    }
+
+    private Counters getCounters(String endpoint) {
+        return counters.computeIfAbsent(endpoint == null ? "other" : endpoint, key -> new Counters()); //$NON-NLS-1$
+    }
+
+    /**
+     * Get a snapshot of the statistics for each endpoint, sorted by endpoint.
+     */
+    public Map<String, CacheStats> getStats() {
+        Map<String, CacheStats> stats = new TreeMap<String, CacheStats>();
+        for (Map.Entry<String, Counters> entry : counters.entrySet()) {
+            Counters c = entry.getValue();
+            stats.put(entry.getKey(), new CacheStats(c.hits.get(), c.revalidations.get(), c.misses.get()));
+        }
+        return stats;
+    }
+
+    private static final class Counters {
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong revalidations = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+    }
+
+    public static class CacheStats {
+        public final long hits;
+        public final long revalidations;
+        public final long misses;
+
+        private CacheStats(long hits, long revalidations, long misses) {
+            this.hits = hits;
+            this.revalidations = revalidations;
+            this.misses = misses;
+        }
+
+        public long getRequests() {
+            return hits + revalidations + misses;
+        }
+
+        public double getHitRate() {
+            return rate(hits);
+        }
+
+        public double getRevalidationRate() {
+            return rate(revalidations);
+        }
+
+        public double getMissRate() {
+            return rate(misses);
+        }
+
+        private double rate(long count) {
+            long requests = getRequests();
+            return requests == 0 ? 0 : (double) count / requests;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("requests=%d hits=%d (%.2f) revalidations=%d (%.2f) misses=%d (%.2f)", //$NON-NLS-1$
+                    getRequests(), hits, getHitRate(), revalidations, getRevalidationRate(), misses, getMissRate());
+        }
+    }
+
+    static final class Entry {
+        final HttpUtil.HttpResult result;
+        final String etag;
+        final String lastModified;
+        final long size;
+
+        private Entry(HttpUtil.HttpResult result, String etag, String lastModified, long size) {
+            this.result = result;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+    }
+
+    private static final class Key {
+        private final String scope;
+        private final String identity;
+        private final String uri;
+
+        private Key(String scope, String identity, URI uri) {
+            this.scope = scope;
+            this.identity = identity;
+            this.uri = uri.toString();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return scope.equals(other.scope) && identity.equals(other.identity) && uri.equals(other.uri);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(scope, identity, uri);
+        }
+    }
+}
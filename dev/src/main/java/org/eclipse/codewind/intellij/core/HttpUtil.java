@@ -11,25 +11,50 @@
 
 package org.eclipse.codewind.intellij.core;
 
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
 import okhttp3.*;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
 import javax.net.ssl.*;
-import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.security.SecureRandom;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Static utilities to allow easy HTTP communication, and make diagnosing and handling errors a bit easier.
+ * <p>
+ * All requests go through one shared OkHttp connection pool so that keep-alive connections (and their
+ * TLS sessions) are reused across requests instead of doing a new handshake for every call.
+ * <p>
+ * The <code>*Async</code> methods queue the request on the OkHttp dispatcher and return a future rather
+ * than blocking the caller.  Cancelling the future cancels the HTTP call.
+ * <p>
+ * The <code>getCached*</code> methods send a conditional request if there is a cached response for the URI,
+ * and return the cached response if it has not changed, see {@link HttpResponseCache}.
  */
 public class HttpUtil {
 
+    private static final Logger LOG = Logger.getInstance(HttpUtil.class);
+
     private static final int DEFAULT_CONNECT_TIMEOUT_MS = 10000;
     private static final int DEFAULT_READ_TIMEOUT_MS = 10000;
 
@@ -39,10 +64,53 @@ public class HttpUtil {
     public static final SSLContext sslContext;
 	public static final HostnameVerifier hostnameVerifier;
 
+    private static final int MAX_IDLE_CONNECTIONS = 10;
+    private static final long KEEP_ALIVE_MINUTES = 5;
+    private static final int MAX_REQUESTS_PER_HOST = 16;
+    private static final long CANCEL_CHECK_MS = 100;
+
+    // Checks the progress indicators of async requests so the requests can be cancelled
+    private static final ScheduledExecutorService cancelMonitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Codewind HTTP cancel monitor"); //$NON-NLS-1$
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Shared by all clients so that connections are reused for every request
+    private static final ConnectionPool connectionPool = new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES);
+
+    // Request and connection reuse counts for the pool statistics
+    private static final AtomicLong requestCount = new AtomicLong();
+    private static final AtomicLong reusedCount = new AtomicLong();
+    private static final Set<Connection> seenConnections = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<Connection, Boolean>()));
+
+    // Conditional GET cache for the Codewind reads that rarely change
+    private static final HttpResponseCache responseCache = new HttpResponseCache();
+
+    // Client using the default trust settings, and the client for authenticated requests that trusts all certificates
+    private static final OkHttpClient client;
+    private static final OkHttpClient trustAllClient;
+
     static {
         trustManager = getTrustAllCertsManager();
         sslContext = getTrustAllCertsContext(trustManager);
 		hostnameVerifier = getHostnameVerifier();
+
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequestsPerHost(MAX_REQUESTS_PER_HOST);
+        client = new OkHttpClient.Builder()
+                .connectionPool(connectionPool)
+                .dispatcher(dispatcher)
+                .connectTimeout(DEFAULT_CONNECT_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+                .readTimeout(DEFAULT_READ_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+                .addNetworkInterceptor(HttpUtil::countConnectionReuse)
+                .build();
+        OkHttpClient.Builder builder = client.newBuilder();
+        if (sslContext != null) {
+            builder.sslSocketFactory(sslContext.getSocketFactory(), trustManager)
+                    .hostnameVerifier(hostnameVerifier);
+        }
+        trustAllClient = builder.build();
     }
 
     private HttpUtil() {
@@ -74,8 +142,8 @@ public class HttpUtil {
             }
 
             if (!isGoodResponse) {
-                Logger.logWarning("Received bad response code " + responseCode + " from "
-                        + connection.getURL() + " - Error:\n" + error);
+                LOG.warn("Received bad response code " + responseCode + " from "
+                        + connection.getURL() + " - Error:\n" + Logger.truncate(error));
                 response = null;
             } else {
                 InputStream is = connection.getInputStream();
@@ -87,17 +155,18 @@ public class HttpUtil {
             }
         }
 
-        // HttpResult for OkHttp (used for PATCH)
+        // HttpResult for OkHttp
         public HttpResult(URI uri, Response httpResponse) throws IOException {
             responseCode = httpResponse.code();
             isGoodResponse = responseCode > 199 && responseCode < 300;
 
-            headerFields = null;
+            headerFields = isGoodResponse ? httpResponse.headers().toMultimap() : null;
 
-            InputStream stream = httpResponse.body().byteStream();
             String content = null;
-            if (stream != null) {
-                content = CoreUtil.readAllFromStream(stream);
+            try (ResponseBody body = httpResponse.body()) {
+                if (body != null) {
+                    content = body.string();
+                }
             }
             if (isGoodResponse) {
                 response = content;
@@ -108,8 +177,8 @@ public class HttpUtil {
             }
 
             if (!isGoodResponse) {
-                Logger.logWarning("Received bad response code " + responseCode + " from "
-                        + uri + " - Error:\n" + content);
+                LOG.warn("Received bad response code " + responseCode + " from "
+                        + uri + " - Error:\n" + Logger.truncate(content));
             }
         }
 
@@ -118,6 +187,15 @@ public class HttpUtil {
                 return null;
             }
             List<String> list = headerFields.get(key);
+            if (list == null) {
+                // OkHttp uses lower case header names
+                for (Map.Entry<String, List<String>> entry : headerFields.entrySet()) {
+                    if (key.equalsIgnoreCase(entry.getKey())) {
+                        list = entry.getValue();
+                        break;
+                    }
+                }
+            }
             if (list == null || list.isEmpty()) {
                 return null;
             }
@@ -137,6 +215,23 @@ public class HttpUtil {
         return sendRequest("GET", uri, auth, null, connectTimeoutMS, readTimeoutMS);
     }
 
+    /**
+     * Get the URI with a conditional request if there is a cached response for it.
+     *
+     * @param scope the cache scope, one per connection, or null to not use the cache
+     * @param endpoint the name of the endpoint for the cache statistics
+     */
+    public static HttpResult getCached(URI uri, IAuthInfo auth, String scope, String endpoint) throws IOException {
+        if (scope == null || !responseCache.isEnabled()) {
+            return get(uri, auth);
+        }
+        String identity = HttpResponseCache.getIdentity(auth);
+        HttpResponseCache.Entry cached = responseCache.get(scope, identity, uri);
+        try (Response response = newCall("GET", uri, auth, null, DEFAULT_CONNECT_TIMEOUT_MS, DEFAULT_READ_TIMEOUT_MS, cached).execute()) {
+            return getCachedResult(uri, response, scope, identity, endpoint, cached);
+        }
+    }
+
     public static HttpResult post(URI uri, IAuthInfo auth, JSONObject payload) throws IOException {
         return sendRequest("POST", uri, auth, payload, DEFAULT_CONNECT_TIMEOUT_MS, DEFAULT_READ_TIMEOUT_MS);
     }
@@ -178,55 +273,275 @@ public class HttpUtil {
     }
 
     public static HttpResult sendRequest(String method, URI uri, IAuthInfo auth, JSONObject payload, int connectTimeoutMS, int readTimeoutMS) throws IOException {
-        HttpURLConnection connection = null;
-        if (payload != null) {
-            Logger.log("Making a " + method + " request on " + uri + " with payload: " + payload.toString());
-        } else {
-            Logger.log("Making a " + method + " request on " + uri);
+        try (Response response = newCall(method, uri, auth, payload, connectTimeoutMS, readTimeoutMS, null).execute()) {
+            return new HttpResult(uri, response);
+        }
+    }
+
+    public static CompletableFuture<HttpResult> getAsync(URI uri, IAuthInfo auth, ProgressIndicator indicator) {
+        return sendRequestAsync("GET", uri, auth, null, indicator);
+    }
+
+    /**
+     * The asynchronous version of {@link #getCached(URI, IAuthInfo, String, String)}.
+     */
+    public static CompletableFuture<HttpResult> getCachedAsync(URI uri, IAuthInfo auth, String scope, String endpoint, ProgressIndicator indicator) {
+        if (scope == null || !responseCache.isEnabled()) {
+            return getAsync(uri, auth, indicator);
         }
+        String identity = HttpResponseCache.getIdentity(auth);
+        HttpResponseCache.Entry cached = responseCache.get(scope, identity, uri);
+        return enqueue("GET", uri, auth, null, DEFAULT_CONNECT_TIMEOUT_MS, DEFAULT_READ_TIMEOUT_MS, cached, indicator,
+                response -> getCachedResult(uri, response, scope, identity, endpoint, cached));
+    }
+
+    public static CompletableFuture<HttpResult> postAsync(URI uri, IAuthInfo auth, JSONObject payload, ProgressIndicator indicator) {
+        return sendRequestAsync("POST", uri, auth, payload, indicator);
+    }
+
+    public static CompletableFuture<HttpResult> putAsync(URI uri, IAuthInfo auth, JSONObject payload, ProgressIndicator indicator) {
+        return sendRequestAsync("PUT", uri, auth, payload, indicator);
+    }
+
+    public static CompletableFuture<HttpResult> deleteAsync(URI uri, IAuthInfo auth, ProgressIndicator indicator) {
+        return sendRequestAsync("DELETE", uri, auth, null, indicator);
+    }
+
+    public static CompletableFuture<HttpResult> sendRequestAsync(String method, URI uri, IAuthInfo auth, JSONObject payload, ProgressIndicator indicator) {
+        return sendRequestAsync(method, uri, auth, payload, DEFAULT_CONNECT_TIMEOUT_MS, DEFAULT_READ_TIMEOUT_MS, indicator);
+    }
 
+    /**
+     * Send the request without blocking the caller.
+     *
+     * @param indicator if not null, the request is cancelled when the indicator is cancelled
+     * @return a future for the result.  Cancelling the future cancels the request.
+     */
+    public static CompletableFuture<HttpResult> sendRequestAsync(String method, URI uri, IAuthInfo auth, JSONObject payload,
+                                                                 int connectTimeoutMS, int readTimeoutMS, ProgressIndicator indicator) {
+        return enqueue(method, uri, auth, payload, connectTimeoutMS, readTimeoutMS, null, indicator,
+                response -> new HttpResult(uri, response));
+    }
+
+    private interface ResponseHandler {
+        HttpResult handle(Response response) throws IOException;
+    }
+
+    private static CompletableFuture<HttpResult> enqueue(String method, URI uri, IAuthInfo auth, JSONObject payload,
+                                                         int connectTimeoutMS, int readTimeoutMS, HttpResponseCache.Entry cached,
+                                                         ProgressIndicator indicator, ResponseHandler handler) {
+        CompletableFuture<HttpResult> future = new CompletableFuture<HttpResult>();
+        Call call;
         try {
-            connection = (HttpURLConnection) uri.toURL().openConnection();
+            call = newCall(method, uri, auth, payload, connectTimeoutMS, readTimeoutMS, cached);
+        } catch (IOException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (Response r = response) {
+                    future.complete(handler.handle(r));
+                } catch (IOException e) {
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+        if (indicator != null) {
+            cancelOnIndicator(future, indicator);
+        }
+        return future;
+    }
 
-            connection.setRequestMethod(method);
-            connection.setConnectTimeout(connectTimeoutMS);
-            connection.setReadTimeout(readTimeoutMS);
-            addAuthorization(connection, auth);
+    /**
+     * Use the cached response if Codewind says it has not changed, otherwise cache the new response.
+     */
+    private static HttpResult getCachedResult(URI uri, Response response, String scope, String identity, String endpoint,
+                                              HttpResponseCache.Entry cached) throws IOException {
+        if (cached != null && response.code() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+            responseCache.recordHit(endpoint);
+            LOG.debug(() -> "Using the cached response for " + uri); //$NON-NLS-1$
+            return cached.result;
+        }
+        if (cached != null) {
+            responseCache.recordRevalidation(endpoint);
+        } else {
+            responseCache.recordMiss(endpoint);
+        }
+        HttpResult result = new HttpResult(uri, response);
+        if (result.isGoodResponse) {
+            responseCache.put(scope, identity, uri, result);
+        } else {
+            responseCache.remove(scope, identity, uri);
+        }
+        return result;
+    }
 
-            if (payload != null) {
-                connection.setRequestProperty("Content-Type", "application/json");
-                connection.setDoOutput(true);
+    /**
+     * Cancel the future if the progress indicator is cancelled before the future completes.
+     */
+    public static void cancelOnIndicator(CompletableFuture<?> future, ProgressIndicator indicator) {
+        ScheduledFuture<?> check = cancelMonitor.scheduleWithFixedDelay(() -> {
+            if (indicator.isCanceled()) {
+                future.cancel(true);
+            }
+        }, CANCEL_CHECK_MS, CANCEL_CHECK_MS, TimeUnit.MILLISECONDS);
+        future.whenComplete((result, error) -> check.cancel(false));
+    }
 
-                DataOutputStream payloadStream = new DataOutputStream(connection.getOutputStream());
-                payloadStream.write(payload.toString().getBytes());
+    /**
+     * Wait for the future to complete, checking the progress indicator while waiting.  If the indicator is
+     * cancelled the future is cancelled and a {@link ProcessCanceledException} is thrown.
+     *
+     * @throws CompletionException if the future completed exceptionally
+     */
+    public static <T> T waitFor(CompletableFuture<T> future, ProgressIndicator indicator) {
+        while (true) {
+            try {
+                return future.get(CANCEL_CHECK_MS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Check the indicator and keep waiting
+            } catch (ExecutionException e) {
+                throw new CompletionException(e.getCause());
+            } catch (CancellationException e) {
+                throw new ProcessCanceledException(e);
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                Thread.currentThread().interrupt();
+                throw new ProcessCanceledException(e);
+            }
+            if (indicator.isCanceled()) {
+                future.cancel(true);
+                throw new ProcessCanceledException();
             }
+        }
+    }
 
-            return new HttpResult(connection);
-        } finally {
-            if (connection != null) {
-                connection.disconnect();
+    /**
+     * @param cached if not null, the validators of the cached response are sent to make the request conditional
+     */
+    private static Call newCall(String method, URI uri, IAuthInfo auth, JSONObject payload, int connectTimeoutMS, int readTimeoutMS,
+                                HttpResponseCache.Entry cached) throws IOException {
+        LOG.info("Making a " + method + " request on " + uri);
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            // The request may change the resource so drop the cached responses for it
+            responseCache.invalidateUri(uri);
+        }
+        if (payload != null) {
+            LOG.debug(() -> "Payload for the " + method + " request on " + uri + ": " + Logger.truncate(payload));
+        }
+
+        RequestBody body = null;
+        if (payload != null) {
+            body = RequestBody.create(JSON, payload.toString());
+        } else if ("POST".equals(method) || "PUT".equals(method)) {
+            // OkHttp requires a body for these methods
+            body = RequestBody.create(null, new byte[0]);
+        }
+        Request.Builder requestBuilder = new Request.Builder().url(uri.toURL()).method(method, body);
+        if (cached != null) {
+            if (cached.etag != null) {
+                requestBuilder.header("If-None-Match", cached.etag); //$NON-NLS-1$
+            }
+            if (cached.lastModified != null) {
+                requestBuilder.header("If-Modified-Since", cached.lastModified); //$NON-NLS-1$
             }
         }
+
+        boolean isAuthorized = addAuthorization(requestBuilder, uri, auth);
+        return getClient(isAuthorized, connectTimeoutMS, readTimeoutMS).newCall(requestBuilder.build());
+    }
+
+    private static boolean addAuthorization(Request.Builder requestBuilder, URI uri, IAuthInfo auth) {
+        if (sslContext == null || auth == null || !auth.isValid() || !"https".equalsIgnoreCase(uri.getScheme())) {
+            return false;
+        }
+        requestBuilder.header("Authorization", auth.getHttpAuthorization());
+        return true;
     }
 
-    private static void addAuthorization(HttpURLConnection connection, IAuthInfo auth) {
-        if (sslContext == null || auth == null || !auth.isValid() || !(connection instanceof HttpsURLConnection)) {
-            return;
+    private static OkHttpClient getClient(boolean trustAll, int connectTimeoutMS, int readTimeoutMS) {
+        OkHttpClient httpClient = trustAll ? trustAllClient : client;
+        if (connectTimeoutMS == DEFAULT_CONNECT_TIMEOUT_MS && readTimeoutMS == DEFAULT_READ_TIMEOUT_MS) {
+            return httpClient;
         }
-        connection.setRequestProperty("Authorization", auth.getHttpAuthorization());
-        ((HttpsURLConnection) connection).setSSLSocketFactory(sslContext.getSocketFactory());
-		((HttpsURLConnection)connection).setHostnameVerifier(hostnameVerifier);
+        // Clients created with newBuilder share the connection pool and dispatcher
+        return httpClient.newBuilder()
+                .connectTimeout(connectTimeoutMS, TimeUnit.MILLISECONDS)
+                .readTimeout(readTimeoutMS, TimeUnit.MILLISECONDS)
+                .build();
     }
 
     public static HttpResult patch(URI uri, JSONArray payload) throws IOException {
-        Logger.log("PATCH " + uri);
+        LOG.info("PATCH " + uri);
 
-        // No PATCH for HttpURLConnection so use OkHttp
         RequestBody body = RequestBody.create(JSON, payload.toString());
-        OkHttpClient client = new OkHttpClient();
         Request request = new Request.Builder().url(uri.toURL()).patch(body).build();
-        Response response = client.newCall(request).execute();
-        return new HttpResult(uri, response);
+        try (Response response = client.newCall(request).execute()) {
+            return new HttpResult(uri, response);
+        }
+    }
+
+    private static Response countConnectionReuse(Interceptor.Chain chain) throws IOException {
+        requestCount.incrementAndGet();
+        Connection connection = chain.connection();
+        if (connection != null && !seenConnections.add(connection)) {
+            reusedCount.incrementAndGet();
+        }
+        return chain.proceed(chain.request());
+    }
+
+    public static HttpResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * Get a snapshot of the shared connection pool statistics.
+     */
+    public static PoolStats getPoolStats() {
+        return new PoolStats(connectionPool.connectionCount(), connectionPool.idleConnectionCount(),
+                requestCount.get(), reusedCount.get());
+    }
+
+    public static class PoolStats {
+        public final int totalConnections;
+        public final int idleConnections;
+        public final int activeConnections;
+        public final long requests;
+        public final long reusedConnectionRequests;
+
+        private PoolStats(int totalConnections, int idleConnections, long requests, long reusedConnectionRequests) {
+            this.totalConnections = totalConnections;
+            this.idleConnections = idleConnections;
+            this.activeConnections = Math.max(0, totalConnections - idleConnections);
+            this.requests = requests;
+            this.reusedConnectionRequests = reusedConnectionRequests;
+        }
+
+        /**
+         * The fraction of requests that were sent on an existing pooled connection.
+         */
+        public double getReuseRatio() {
+            return requests == 0 ? 0 : (double) reusedConnectionRequests / requests;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("connections=%d idle=%d active=%d requests=%d reused=%d reuseRatio=%.2f", //$NON-NLS-1$
+                    totalConnections, idleConnections, activeConnections, requests, reusedConnectionRequests, getReuseRatio());
+        }
     }
 
     private static X509TrustManager getTrustAllCertsManager() {
@@ -254,7 +569,7 @@ public class HttpUtil {
             context.init(new KeyManager[0], new TrustManager[]{manager}, new SecureRandom());
             return context;
         } catch (Exception e) {
-            Logger.logWarning("An error occurred creating a trust all certs context", e);
+            LOG.warn("An error occurred creating a trust all certs context", e);
         }
         return null;
     }
@@ -23,6 +23,16 @@ public interface IUpdateHandler {
 
     public void updateApplication(CodewindApplication application);
 
+    /**
+     * Update the application, only called if some of its state changed.  Handlers that only show
+     * part of the state can ignore changes to the rest.
+     *
+     * @param changes the {@link ApplicationState} change mask
+     */
+    public default void updateApplication(CodewindApplication application, int changes) {
+        updateApplication(application);
+    }
+
     public void removeConnection(List<CodewindApplication> apps);
 
     public void removeApplication(CodewindApplication application);
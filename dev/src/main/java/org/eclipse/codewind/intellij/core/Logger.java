@@ -13,10 +13,8 @@ package org.eclipse.codewind.intellij.core;
 
 import org.eclipse.codewind.intellij.core.constants.CoreConstants;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
-import java.util.Arrays;
-import java.util.stream.Stream;
+import java.util.function.Supplier;
 
 /**
  * Class to write logging information to the IntelliJ log
@@ -24,160 +22,139 @@ import java.util.stream.Stream;
  * Note: IntelliJ considers actual errors written to the log to be a "Fatal IDE Error" and will show an error
  * notification to the user, asking if they want to disable the offending plugin.  So we shouldn't use those methods
  * unless it really is a fatal error.
+ *
+ * Each class logs to its own category, named after the class, so that debug and trace can be turned on for
+ * one class.  Since the categories are under {@link CoreConstants#LOGGER_CATEGORY}, turning it on for that
+ * category turns it on for all of Codewind.  Use the Supplier variants so that the message is only built when the
+ * level is enabled:
+ * <pre>
+ *     private static final Logger LOG = Logger.getInstance(MyClass.class);
+ *     ...
+ *     LOG.debug(() -> "Received: " + Logger.truncate(json));
+ * </pre>
  */
 public class Logger {
 
-    /*
-     * Use this class-specific-category-based logger for info and warnings
+    /**
+     * Maximum number of characters of a payload (such as a JSON object) written by {@link #truncate(Object)}.
+     * Can be set with the <code>org.eclipse.codewind.logPayloadLimit</code> system property.
      */
-    @NotNull
-    private static com.intellij.openapi.diagnostic.Logger getLogger() {
-        StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
-        if (stackTrace.length < 2)
-            return com.intellij.openapi.diagnostic.Logger.getInstance(CoreConstants.LOGGER_CATEGORY);
-
-        // First element is the call to Thread::getStackTrace()
-        // Second element is the call to this method
-        Stream<StackTraceElement> stream = Arrays.stream(stackTrace, 2, stackTrace.length);
-        String category = stream
-                .map(StackTraceElement::getClassName)
-                .filter(className -> !className.equals(Logger.class.getName()))
-                .findFirst()
-                .map(name -> "#" + name)
-                .orElse(CoreConstants.LOGGER_CATEGORY);
-        return com.intellij.openapi.diagnostic.Logger.getInstance(category);
-    }
-
-    /*
-     * Use this general logger for debug and trace.  Use this in conjunction with getCaller() to also show the calling
-     * class with the message
+    public static final String PAYLOAD_LIMIT_PROPERTY = "org.eclipse.codewind.logPayloadLimit"; //$NON-NLS-1$
+    private static final int PAYLOAD_LIMIT = Integer.getInteger(PAYLOAD_LIMIT_PROPERTY, 1000);
+
+    private final com.intellij.openapi.diagnostic.Logger logger;
+
+    private Logger(com.intellij.openapi.diagnostic.Logger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * Get a logger for the category of the given class.  Keep the result in a static field.
      */
     @NotNull
-    private static com.intellij.openapi.diagnostic.Logger getGeneralLogger() {
-        return com.intellij.openapi.diagnostic.Logger.getInstance(CoreConstants.LOGGER_CATEGORY);  // Use general codewind category
+    public static Logger getInstance(@NotNull Class<?> cls) {
+        return new Logger(com.intellij.openapi.diagnostic.Logger.getInstance("#" + cls.getName()));
     }
 
-    /*
-     * Used to calculate the class that called the logger. Using the %C conversion pattern in log4J is not advised and affects performance.
-     * So prefixing each of our messages with our 'calculated' caller class will not be redundant.
+    /**
+     * Convert the payload to a string for logging, truncating it if it is longer than the payload limit.
      *
-     * @return fully qualified class name
+     * @param payload the payload, for example a JSON object
+     * @return the payload string
      */
-    @Nullable
-    private static String getCaller() {
-        StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
-        if (stackTrace.length < 2)
-            return null;
+    public static String truncate(Object payload) {
+        if (payload == null) {
+            return "null"; //$NON-NLS-1$
+        }
+        String str = payload.toString();
+        if (str.length() <= PAYLOAD_LIMIT) {
+            return str;
+        }
+        return str.substring(0, PAYLOAD_LIMIT) + "... (" + (str.length() - PAYLOAD_LIMIT) + " more characters)"; //$NON-NLS-1$ //$NON-NLS-2$
+    }
 
-        // First element is the call to Thread::getStackTrace()
-        // Second element is the call to this method
-        Stream<StackTraceElement> stream = Arrays.stream(stackTrace, 2, stackTrace.length);
-        String caller = stream
-                .map(StackTraceElement::getClassName)
-                .filter(className -> !className.equals(Logger.class.getName()))
-                .findFirst()
-                .orElse(null);
-        return caller;
+    public boolean isDebugEnabled() {
+        return logger.isDebugEnabled();
     }
 
-    private static String getPrefixedMessage(String caller, String msg) {
-        return caller != null ? caller + " - " + msg : msg;
+    public boolean isTraceEnabled() {
+        return logger.isTraceEnabled();
+    }
+
+    public void debug(String msg) {
+        logger.debug(msg);
     }
 
     /**
-     * Log message at debug level. Enable Codewind logger category with debug.
-     *
-     * @param msg
+     * Log the message at debug level.  The supplier is only called if debug is enabled for the category.
      */
-    public static void logDebug(String msg) {
-        com.intellij.openapi.diagnostic.Logger logger = getGeneralLogger();
+    public void debug(@NotNull Supplier<String> msg) {
         if (logger.isDebugEnabled()) {
-            String caller = getCaller();
-            logger.debug(getPrefixedMessage(caller, msg));
+            logger.debug(msg.get());
         }
     }
 
-    /**
-     *  Log message at debug level and Throwable. Enable Codewind logger category with debug.
-     *
-     * @param msg
-     * @param t
-     */
-    public static void logDebug(String msg, Throwable t) {
-        com.intellij.openapi.diagnostic.Logger logger = getGeneralLogger();
+    public void debug(String msg, Throwable t) {
+        logger.debug(msg, t);
+    }
+
+    public void debug(@NotNull Supplier<String> msg, Throwable t) {
         if (logger.isDebugEnabled()) {
-            String caller = getCaller();
-            logger.debug(getPrefixedMessage(caller, msg), t);
+            logger.debug(msg.get(), t);
         }
     }
 
     /**
-     * Log message at trace level. Enable Codewind logger category with :trace.
-     * See @link(CoreConstants.LOGGER_CATEGORY)
-     *
-     * @param msg
+     * Log the message at trace level.  The supplier is only called if trace is enabled for the category.
      */
-    public static void logTrace(String msg) {
-        com.intellij.openapi.diagnostic.Logger logger = getGeneralLogger();
+    public void trace(@NotNull Supplier<String> msg) {
         if (logger.isTraceEnabled()) {
-            String caller = getCaller();
-            logger.trace(getPrefixedMessage(caller, msg));
+            logger.trace(msg.get());
         }
     }
 
+    public void trace(String msg) {
+        logger.trace(msg);
+    }
+
+    public void trace(Throwable t) {
+        logger.trace(t);
+    }
+
     /**
-     * Log throwable at trace level. Enable Codewind logger category with :trace.
-     *
-     * @param t
+     * Use INFO sparingly since it will inundate the IntelliJ logs, eg. idea.log, with our output.  By default, INFO
+     * messages are sent to the log.
      */
-    public static void logTrace(Throwable t) {
-        com.intellij.openapi.diagnostic.Logger logger = getGeneralLogger();
-        if (logger.isTraceEnabled()) {
-            logger.trace(t);
-        }
+    public void info(String msg) {
+        logger.info(msg);
     }
 
-    public static void logWarning(String msg) {
-        getLogger().warn(msg);
+    public void info(@NotNull Supplier<String> msg) {
+        logger.info(msg.get());
     }
 
-    public static void logWarning(String msg, Throwable t) {
-        getLogger().warn(msg, t);
+    public void info(String msg, Throwable t) {
+        logger.info(msg, t);
     }
 
-    public static void logWarning(Throwable t) {
-        getLogger().warn(t);
+    public void info(Throwable t) {
+        logger.info(t);
     }
 
-    /**
-     * Use INFO sparingly since it will inundate the IntelliJ logs, eg. idea.log, with our output. By default, INFO
-     * messages are sent to the log.
-     *
-     * @param msg
-     */
-    public static void log(String msg) {
-        getLogger().info(msg);
+    public void warn(String msg) {
+        logger.warn(msg);
     }
 
-    /**
-     * Use INFO sparingly since it will inundate the IntelliJ logs, eg. idea.log, with our output. By default, INFO
-     * messages are sent to the log.
-     *
-     * @param msg
-     * @param t
-     */
-    public static void log(String msg, Throwable t) {
-        getLogger().info(msg, t);
+    public void warn(String msg, Throwable t) {
+        logger.warn(msg, t);
     }
 
-    /**
-     * Use INFO sparingly since it will inundate the IntelliJ logs, eg. idea.log, with our output.  By default, INFO
-     * messages are sent to the log.
-     *
-     * @param t
-     */
-    public static void log(Throwable t) {
-        getLogger().info(t);
+    public void warn(@NotNull Supplier<String> msg, Throwable t) {
+        logger.warn(msg.get(), t);
+    }
+
+    public void warn(Throwable t) {
+        logger.warn(t);
     }
 
     public static Throwable unwrap(Throwable error) {
@@ -24,6 +24,8 @@ import java.util.Enumeration;
  */
 public class PlatformUtil {
 
+    private static final Logger LOG = Logger.getInstance(PlatformUtil.class);
+
     public enum OperatingSystem {
         LINUX,
         MAC,
@@ -37,7 +39,7 @@ public class PlatformUtil {
 
     public static OperatingSystem getOS(String osName) {
         if (osName == null || osName.isEmpty()) {
-            Logger.logWarning("The operating system name is null or empty, defaulting to Linux.");
+            LOG.warn("The operating system name is null or empty, defaulting to Linux.");
             return OperatingSystem.LINUX;
         }
 
@@ -49,7 +51,7 @@ public class PlatformUtil {
         if (name.contains("linux"))
             return OperatingSystem.LINUX;
 
-        Logger.logWarning("The operating system name is not valid: " + osName + ", defaulting to Linux.");
+        LOG.warn("The operating system name is not valid: " + osName + ", defaulting to Linux.");
         return OperatingSystem.LINUX;
     }
 
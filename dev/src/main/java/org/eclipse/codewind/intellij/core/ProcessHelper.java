@@ -13,12 +13,24 @@ package org.eclipse.codewind.intellij.core;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import static org.eclipse.codewind.intellij.core.messages.CodewindCoreBundle.message;
 
 public class ProcessHelper {
 
+    private static final Logger LOG = Logger.getInstance(ProcessHelper.class);
+
+    private static final int BUFFER_SIZE = 4096;
+    // How long to wait for a destroyed process to exit before killing it
+    private static final long DESTROY_TIMEOUT_MS = 2000;
+    // How long to wait for the output to be read once the process has exited
+    private static final long PUMP_TIMEOUT_MS = 5000;
+
     public static class ProcessResult {
         private final int exitValue;
         private final String sysOut;
@@ -54,74 +66,170 @@ public class ProcessHelper {
     }
 
     /**
-     * Wait for the given process to finish, and return the exit value and output. Checks for status every
-     * <code>pollingDelay</code> ms, and terminates the process if it takes more than <code>timeout</code>
-     * seconds. The progress monitor passed in must be <code>null</code> or already begun, and this method
-     * will add <code>totalWork</code> to it's progress.
+     * Receives the output of a process line by line as it is produced.  Called on the
+     * output pumping threads, so implementations should not block.
+     */
+    public interface OutputListener {
+        void outputLine(String line);
+
+        void errorLine(String line);
+    }
+
+    /**
+     * Wait for the given process to finish, and return the exit value and output. The output and error
+     * streams are read on separate threads as the process runs, and this method returns as soon as the
+     * process exits. The process is terminated if it takes more than <code>timeout</code> seconds.
+     *
+     * @param p the process to monitor
+     * @param timeout the process timeout, in seconds
+     * @return the exit value and output
+     * @throws IOException if the process output cannot be read or the wait is interrupted
+     * @throws TimeoutException if the process does not complete within the timeout and had to be terminated
+     */
+    public static ProcessResult waitForProcess(final Process p, int timeout) throws IOException, TimeoutException {
+        return waitForProcess(p, timeout, null);
+    }
+
+    /**
+     * Wait for the given process to finish, and return the exit value and output. The output and error
+     * lines are passed to the listener, if there is one, as they are produced.
      *
      * @param p the process to monitor
-     * @param pollingDelay the delay between polling the process, in ms
      * @param timeout the process timeout, in seconds
-     * @return the exit value
-     * @throws IOException if the process fails to exit normally and cannot be terminated
+     * @param listener the listener for the output lines, may be <code>null</code>
+     * @return the exit value and output
+     * @throws IOException if the process output cannot be read or the wait is interrupted
+     * @throws TimeoutException if the process does not complete within the timeout and had to be terminated
      */
-    public static ProcessResult waitForProcess(final Process p, int pollingDelay, int timeout) throws IOException, TimeoutException {
-        final int BUFFER_STEP = 1024;
-        byte[] buf = new byte[BUFFER_STEP];
-        InputStream in = null;
-        InputStream err = null;
-        StringBuilder inBuilder = new StringBuilder();
-        StringBuilder errBuilder = new StringBuilder();
-        int iter = timeout * 1000 / pollingDelay;
-        int work = 50;
+    public static ProcessResult waitForProcess(final Process p, int timeout, OutputListener listener) throws IOException, TimeoutException {
+        StreamPump outPump = new StreamPump(p.getInputStream(), listener == null ? null : listener::outputLine, "output"); //$NON-NLS-1$
+        StreamPump errPump = new StreamPump(p.getErrorStream(), listener == null ? null : listener::errorLine, "error"); //$NON-NLS-1$
+        outPump.start();
+        errPump.start();
+
         try {
-            in = p.getInputStream();
-            err = p.getErrorStream();
-            for (int i = 0; i < iter; i++) {
-                try {
-                    Thread.sleep(pollingDelay);
-                } catch (InterruptedException e) {
-                    // ignore
-                }
+            if (!p.waitFor(timeout, TimeUnit.SECONDS)) {
+                terminate(p);
+                throw new TimeoutException("Process did not complete and had to be terminated");
+            }
 
-                // read data from the process
-                inBuilder.append(readInput(in, buf));
-                errBuilder.append(readInput(err, buf));
+            // The process has exited, wait for the pumps to read the rest of the output
+            String sysOut = outPump.getOutput();
+            String sysError = errPump.getOutput();
+            return new ProcessResult(p.exitValue(), sysOut, sysError);
+        } catch (InterruptedException e) {
+            terminate(p);
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted waiting for the process to complete", e); //$NON-NLS-1$
+        } finally {
+            outPump.close();
+            errPump.close();
+        }
+    }
 
-                try {
-                    int exitValue = p.exitValue();
+    private static void terminate(Process p) {
+        p.destroy();
+        try {
+            if (!p.waitFor(DESTROY_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                p.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            p.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private interface LineConsumer {
+        void accept(String line);
+    }
 
-                    // finish reading the data
-                    inBuilder.append(readInput(in, buf));
-                    errBuilder.append(readInput(err, buf));
+    /**
+     * Reads a process stream on its own thread, collecting the output and passing complete lines to the consumer.
+     */
+    private static class StreamPump extends Thread {
+        private final InputStream stream;
+        private final LineConsumer consumer;
+        private final StringBuilder output = new StringBuilder();
+        private final StringBuilder line = new StringBuilder();
+        private volatile IOException error;
+
+        private StreamPump(InputStream stream, LineConsumer consumer, String name) {
+            super("Codewind process " + name + " pump"); //$NON-NLS-1$ //$NON-NLS-2$
+            setDaemon(true);
+            this.stream = stream;
+            this.consumer = consumer;
+        }
 
-                    return new ProcessResult(exitValue, inBuilder.toString(), errBuilder.toString());
-                } catch (IllegalThreadStateException e) {
-                    // process has not terminated yet
+        @Override
+        public void run() {
+            char[] buf = new char[BUFFER_SIZE];
+            try (Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+                int len;
+                while ((len = reader.read(buf)) != -1) {
+                    synchronized (output) {
+                        output.append(buf, 0, len);
+                    }
+                    if (consumer != null) {
+                        pumpLines(buf, len);
+                    }
                 }
+                if (consumer != null && line.length() > 0) {
+                    acceptLine(line.toString());
+                }
+            } catch (IOException e) {
+                error = e;
             }
-        } finally {
-            try {
-                if (in != null)
-                    in.close();
-            } catch (Exception ex) {
-                // ignore
+        }
+
+        private void pumpLines(char[] buf, int len) {
+            for (int i = 0; i < len; i++) {
+                char c = buf[i];
+                if (c == '\n') {
+                    int end = line.length();
+                    if (end > 0 && line.charAt(end - 1) == '\r') {
+                        end--;
+                    }
+                    acceptLine(line.substring(0, end));
+                    line.setLength(0);
+                } else {
+                    line.append(c);
+                }
             }
         }
 
-        p.destroy();
+        private void acceptLine(String text) {
+            try {
+                consumer.accept(text);
+            } catch (Exception e) {
+                LOG.warn("An error occurred passing a line of process output to the listener", e); //$NON-NLS-1$
+            }
+        }
 
-        throw new TimeoutException("Process did not complete and had to be terminated");
-    }
+        /**
+         * Wait for the stream to be read to the end and return the output.
+         */
+        private String getOutput() throws InterruptedException, IOException {
+            join(PUMP_TIMEOUT_MS);
+            if (error != null) {
+                throw error;
+            }
+            if (isAlive()) {
+                // A child of the process may still be holding the stream open
+                LOG.warn("The process exited but its " + getName() + " did not reach the end of the stream"); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+            synchronized (output) {
+                return output.toString();
+            }
+        }
 
-    private static String readInput(InputStream stream, byte[] buffer) throws IOException {
-        StringBuilder builder = new StringBuilder();
-        int n = stream.available();
-        while (n > 0) {
-            int len = stream.read(buffer, 0, Math.min(n, buffer.length));
-            builder.append(new String(buffer, 0, len, "UTF-8"));
-            n = stream.available();
+        private void close() {
+            if (isAlive()) {
+                try {
+                    stream.close();
+                } catch (IOException e) {
+                    // ignore
+                }
+            }
         }
-        return builder.toString();
     }
 }
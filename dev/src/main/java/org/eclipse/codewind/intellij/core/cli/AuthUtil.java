@@ -22,6 +22,8 @@ import java.io.IOException;
 import java.util.concurrent.TimeoutException;
 
 public class AuthUtil {
+
+	private static final Logger LOG = Logger.getInstance(AuthUtil.class);
 	
 
 	private static final String[] SECKEYRING_UPDATE_CMD = new String[] {"seckeyring",  "update"};
@@ -41,20 +43,20 @@ public class AuthUtil {
 		Process process = null;
 		try {
 			process = CLIUtil.runCWCTL(null, SECKEYRING_UPDATE_CMD, new String[] {USERNAME_OPTION, username, PASSWORD_OPTION, password, CLIUtil.CON_ID_OPTION, conid});
-			ProcessResult result = ProcessHelper.waitForProcess(process, 500, 60);
+			ProcessResult result = ProcessHelper.waitForProcess(process, 60);
 			if (result.getExitValue() != 0) {
-				Logger.logWarning("Seckeyring update failed with rc: " + result.getExitValue() + " and error: " + result.getErrorMsg()); //$NON-NLS-1$ //$NON-NLS-2$
+				LOG.warn("Seckeyring update failed with rc: " + result.getExitValue() + " and error: " + result.getErrorMsg()); //$NON-NLS-1$ //$NON-NLS-2$
 				throw new IOException(result.getErrorMsg());
 			}
 			if (result.getOutput() == null || result.getOutput().trim().isEmpty()) {
 				// This should not happen
-				Logger.logWarning("Seckeyring update had 0 return code but the output is empty"); //$NON-NLS-1$
+				LOG.warn("Seckeyring update had 0 return code but the output is empty"); //$NON-NLS-1$
 				throw new IOException("The output from seckeyring update is empty."); //$NON-NLS-1$
 			}
 			JSONObject resultJson = new JSONObject(result.getOutput());
 			if (!STATUS_OK_VALUE.equals(resultJson.getString(STATUS_KEY))) {
 				String msg = "Seckeyring update failed for: " + conid + " with output: " + resultJson.getString(STATUS_MSG_KEY); //$NON-NLS-1$ //$NON-NLS-2$
-				Logger.logWarning(msg);
+				LOG.warn(msg);
 				throw new IOException(msg);
 			}
 			
@@ -72,14 +74,14 @@ public class AuthUtil {
 		Process process = null;
 		try {
 			process = CLIUtil.runCWCTL(CLIUtil.GLOBAL_INSECURE, SECTOKEN_GET_CMD, new String[] {USERNAME_OPTION, username, CLIUtil.CON_ID_OPTION, conid});
-			ProcessResult result = ProcessHelper.waitForProcess(process, 500, 60);
+			ProcessResult result = ProcessHelper.waitForProcess(process, 60);
 			if (result.getExitValue() != 0) {
-				Logger.logWarning("Sectoken get failed with rc: " + result.getExitValue() + " and error: " + result.getErrorMsg()); //$NON-NLS-1$ //$NON-NLS-2$
+				LOG.warn("Sectoken get failed with rc: " + result.getExitValue() + " and error: " + result.getErrorMsg()); //$NON-NLS-1$ //$NON-NLS-2$
 				throw new IOException(result.getErrorMsg());
 			}
 			if (result.getOutput() == null || result.getOutput().trim().isEmpty()) {
 				// This should not happen
-				Logger.logWarning("Sectoken get had 0 return code but the output is empty"); //$NON-NLS-1$
+				LOG.warn("Sectoken get had 0 return code but the output is empty"); //$NON-NLS-1$
 				throw new IOException("The output from sectoken get is empty."); //$NON-NLS-1$
 			}
 			return new AuthToken(new JSONObject(result.getOutput()));
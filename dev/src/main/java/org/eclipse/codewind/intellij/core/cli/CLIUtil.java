@@ -36,6 +36,8 @@ import java.util.stream.Collectors;
 
 public class CLIUtil {
 
+    private static final Logger LOG = Logger.getInstance(CLIUtil.class);
+
     public static final Path CODEWIND_DIR = Paths.get(System.getProperty("user.home"), ".codewind");
 
 	// Global options
@@ -98,7 +100,7 @@ public class CLIUtil {
         addOptions(cmdList, cmd);
         addOptions(cmdList, options);
         addOptions(cmdList, args);
-//        Logger.log(cmdList.stream().collect(Collectors.joining(" ")));
+//        LOG.info(cmdList.stream().collect(Collectors.joining(" ")));
         String[] command = cmdList.toArray(new String[cmdList.size()]);
         ProcessBuilder builder = new ProcessBuilder(command);
         if (PlatformUtil.getOS() == PlatformUtil.OperatingSystem.MAC) {
@@ -134,14 +136,14 @@ public class CLIUtil {
         Map<OperatingSystem, String> osPathMap = operation.getOSPathMap();
         if (osPathMap == null) {
             String msg = "Failed to get the list of operating specific paths for installing the executable " + operation.getInstallName();
-            Logger.logWarning(msg);
+            LOG.warn(msg);
             throw new IOException(msg);
         }
 
         String relPath = osPathMap.get(os);
         if (relPath == null) {
             String msg = "Failed to get the relative path for the install executable " + operation.getInstallName();
-            Logger.logWarning(msg);
+            LOG.warn(msg);
             throw new IOException(msg);
         }
 
@@ -153,7 +155,7 @@ public class CLIUtil {
         // Make the installer directory
         if (!FileUtil.makeDir(installerDir)) {
             String msg = "Failed to make the directory for the installer utility: " + installerDir;
-            Logger.logWarning(msg);
+            LOG.warn(msg);
             throw new IOException(msg);
         }
 
@@ -22,6 +22,8 @@ import org.json.JSONException;
 import org.json.JSONObject;
 
 public class ConnectionInfo extends JSONObjectResult {
+
+	private static final Logger LOG = Logger.getInstance(ConnectionInfo.class);
 	
 	private static final String SCHEMAVERSION_KEY = "schemaversion";
 	private static final String CONNECTIONS_KEY = "connections";
@@ -79,7 +81,7 @@ public class ConnectionInfo extends JSONObjectResult {
 				}
 			}
 		} catch (JSONException e) {
-			Logger.logWarning("The output for the connection list is not valid", e);
+			LOG.warn("The output for the connection list is not valid", e);
 		}
 		return connections;
 	}
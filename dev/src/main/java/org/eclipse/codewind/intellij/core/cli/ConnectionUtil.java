@@ -60,7 +60,7 @@ public class ConnectionUtil {
 		Process process = null;
 		try {
 			process = CLIUtil.runCWCTL(CLIUtil.GLOBAL_JSON_INSECURE, command, options, args);
-			ProcessResult result = ProcessHelper.waitForProcess(process, 500, 60);
+			ProcessResult result = ProcessHelper.waitForProcess(process, 60);
 			CLIUtil.checkResult(command, result, checkOutput);
 			return result;
 		} finally {
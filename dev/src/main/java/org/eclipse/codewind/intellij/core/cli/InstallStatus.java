@@ -18,6 +18,8 @@ import org.json.JSONException;
 import org.json.JSONObject;
 
 public class InstallStatus {
+
+	private static final Logger LOG = Logger.getInstance(InstallStatus.class);
 	
 	public static final String STATUS_KEY = "status";
 	public static final String URL_KEY = "url";
@@ -55,7 +57,7 @@ public class InstallStatus {
 				}
 			}
 			// This should not happen
-			Logger.logWarning("Unrecognized installer status: " + statusStr);
+			LOG.warn("Unrecognized installer status: " + statusStr);
 			return ERROR;
 		}
 
@@ -86,7 +88,7 @@ public class InstallStatus {
 			}
 			
 		} catch (JSONException e) {
-			Logger.logWarning("The Codewind installer status format is not recognized", e); //$NON-NLS-1$
+			LOG.warn("The Codewind installer status format is not recognized", e); //$NON-NLS-1$
 			status = Status.ERROR;
 			url = null;
 		}
@@ -128,7 +130,7 @@ public class InstallStatus {
 				}
 			}
 		} catch (JSONException e) {
-			Logger.logWarning("The Codewind installer status format is not recognized", e); //$NON-NLS-1$
+			LOG.warn("The Codewind installer status format is not recognized", e); //$NON-NLS-1$
 		}
 		return false;
 	}
@@ -168,7 +170,7 @@ public class InstallStatus {
 				builder.append(versions.getString(i));
 				start = false;
 			} catch (JSONException e) {
-				Logger.logWarning("The Codewind installer status format is not recognized", e); //$NON-NLS-1$
+				LOG.warn("The Codewind installer status format is not recognized", e); //$NON-NLS-1$
 			}
 		}
 		return builder.toString();
@@ -28,6 +28,8 @@ import java.util.concurrent.TimeoutException;
 
 public class InstallUtil {
 
+    private static final Logger LOG = Logger.getInstance(InstallUtil.class);
+
     public static final String STOP_APP_CONTAINERS_PREFSKEY = "stopAppContainers";
     public static final String STOP_APP_CONTAINERS_ALWAYS = "stopAppContainersAlways";
     public static final String STOP_APP_CONTAINERS_NEVER = "stopAppContainersNever";
@@ -60,7 +62,7 @@ public class InstallUtil {
             properties.load(stream);
             version = properties.getProperty(INSTALL_VERSION_KEY);
         } catch (Exception e) {
-            Logger.logWarning("Reading version from \"" + INSTALL_VERSION_PROPERTIES + " file failed, defaulting to \"latest\": ", e);
+            LOG.warn("Reading version from \"" + INSTALL_VERSION_PROPERTIES + " file failed, defaulting to \"latest\": ", e);
             version = CoreConstants.VERSION_LATEST;
         }
         INSTALL_VERSION = version;
@@ -70,7 +72,7 @@ public class InstallUtil {
         Process process = null;
         try {
             process = CLIUtil.runCWCTL(CLIUtil.GLOBAL_JSON, STATUS_CMD, null);
-            ProcessResult result = ProcessHelper.waitForProcess(process, 500, 120);
+            ProcessResult result = ProcessHelper.waitForProcess(process, 120);
             CLIUtil.checkResult(STATUS_CMD, result, true);
             JSONObject status = new JSONObject(result.getOutput());
             return new InstallStatus(status);
@@ -87,7 +89,7 @@ public class InstallUtil {
         try {
             CodewindManager.getManager().setInstallerStatus(CodewindManager.InstallerStatus.STARTING);
             process = CLIUtil.runCWCTL(null, START_CMD, new String[]{TAG_OPTION, version});
-            ProcessResult result = ProcessHelper.waitForProcess(process, 500, 240);
+            ProcessResult result = ProcessHelper.waitForProcess(process, 240);
             return result;
         } finally {
             if (process != null && process.isAlive()) {
@@ -111,14 +113,14 @@ public class InstallUtil {
                 // ignore
             }
         } catch (Exception e) {
-            Logger.logWarning("Error closing socket", e);
+            LOG.warn("Error closing socket", e);
         }
 
         Process process = null;
         try {
             CodewindManager.getManager().setInstallerStatus(CodewindManager.InstallerStatus.STOPPING);
             process = CLIUtil.runCWCTL(null, STOP_ALL_CMD, null);
-            return ProcessHelper.waitForProcess(process, 500, 240);
+            return ProcessHelper.waitForProcess(process, 240);
         } finally {
             if (process != null && process.isAlive()) {
                 process.destroy();
@@ -134,7 +136,7 @@ public class InstallUtil {
         try {
             CodewindManager.getManager().setInstallerStatus(CodewindManager.InstallerStatus.INSTALLING);
             process = CLIUtil.runCWCTL(null, INSTALL_CMD, new String[]{TAG_OPTION, version});
-            return ProcessHelper.waitForProcess(process, 1000, 600);
+            return ProcessHelper.waitForProcess(process, 600);
         } finally {
             if (process != null && process.isAlive()) {
                 process.destroy();
@@ -154,7 +156,7 @@ public class InstallUtil {
             } else {
                 process = CLIUtil.runCWCTL(null, REMOVE_CMD, null);
             }
-            return ProcessHelper.waitForProcess(process, 500, 120);
+            return ProcessHelper.waitForProcess(process, 120);
         } finally {
             if (process != null && process.isAlive()) {
                 process.destroy();
@@ -169,7 +171,7 @@ public class InstallUtil {
         Process process = null;
         try {
             process = CLIUtil.runCWCTL(null, UPGRADE_CMD, new String[]{WORKSPACE_OPTION, path});
-            return ProcessHelper.waitForProcess(process, 500, 300);
+            return ProcessHelper.waitForProcess(process, 300);
         } finally {
             if (process != null && process.isAlive()) {
                 process.destroy();
@@ -26,6 +26,8 @@ import java.util.concurrent.TimeoutException;
 
 public class ProjectUtil {
 
+	private static final Logger LOG = Logger.getInstance(ProjectUtil.class);
+
 	private static final String PROJECT_CMD = "project";
 	private static final String[] CREATE_CMD = new String[] {PROJECT_CMD, "create"};
 	private static final String[] BIND_CMD = new String[] {PROJECT_CMD, "bind"};
@@ -40,7 +42,7 @@ public class ProjectUtil {
 	private static final String PROJECT_ID_OPTION = "--id";
 
 	public static void createProject(String name, String path, String url, String conid, String javaHome, ProgressIndicator monitor) throws IOException, JSONException, TimeoutException {
-		Logger.log("createProject: javaHome = " + javaHome);
+		LOG.info("createProject: javaHome = " + javaHome);
 		monitor.setIndeterminate(true);
 		Process process = null;
 		try {
@@ -55,16 +57,16 @@ public class ProjectUtil {
 				builder.environment().put(CoreConstants.PATH, pathVar);
 			}
 			process = builder.start();
-			ProcessResult result = ProcessHelper.waitForProcess(process, 500, 1200);
+			ProcessResult result = ProcessHelper.waitForProcess(process, 1200);
 			CLIUtil.checkResult(CREATE_CMD, result, true);
 			JSONObject resultJson = new JSONObject(result.getOutput());
 			if (!CoreConstants.VALUE_STATUS_SUCCESS.equals(resultJson.getString(CoreConstants.KEY_STATUS))) {
 				String msg = "Project create failed for project: " + name + " with output: " + result.getOutput(); //$NON-NLS-1$ //$NON-NLS-2$
-				Logger.logWarning(msg);
+				LOG.warn(msg);
 				throw new IOException(msg);
 			}
 			if (result.getError() != null && !result.getError().trim().isEmpty()) {
-				Logger.log("createProject stderr: " + result.getError().trim());
+				LOG.info("createProject stderr: " + result.getError().trim());
 			}
 		} finally {
 			if (process != null && process.isAlive()) {
@@ -79,10 +81,10 @@ public class ProjectUtil {
 		try {
 			String[] options = new String[] {NAME_OPTION, name, LANGUAGE_OPTION, language, TYPE_OPTION, projectType, PATH_OPTION, path, CLIUtil.CON_ID_OPTION, conid};
 			process = CLIUtil.runCWCTL(CLIUtil.GLOBAL_JSON_INSECURE, BIND_CMD, options);
-			ProcessResult result = ProcessHelper.waitForProcess(process, 500, 600);
+			ProcessResult result = ProcessHelper.waitForProcess(process, 600);
 			CLIUtil.checkResult(BIND_CMD, result, false);
 			if (result.getError() != null && !result.getError().trim().isEmpty()) {
-				Logger.log("bindProject stderr: " + result.getError().trim());
+				LOG.info("bindProject stderr: " + result.getError().trim());
 			}
 		} finally {
 			if (process != null && process.isAlive()) {
@@ -98,9 +100,9 @@ public class ProjectUtil {
 			process = (hint == null) ?
 					CLIUtil.runCWCTL(CLIUtil.GLOBAL_JSON_INSECURE, VALIDATE_CMD, new String[] {PATH_OPTION, path, CLIUtil.CON_ID_OPTION, conid}) :
 					CLIUtil.runCWCTL(CLIUtil.GLOBAL_JSON_INSECURE, VALIDATE_CMD, new String[] {TYPE_OPTION, hint, PATH_OPTION, path, CLIUtil.CON_ID_OPTION, conid});
-			ProcessResult result = ProcessHelper.waitForProcess(process, 500, 600);
+			ProcessResult result = ProcessHelper.waitForProcess(process, 600);
 			if (result.getExitValue() != 0) {
-				Logger.logWarning("Project validate failed with rc: " + result.getExitValue() + " and error: " + result.getErrorMsg()); //$NON-NLS-1$ //$NON-NLS-2$
+				LOG.warn("Project validate failed with rc: " + result.getExitValue() + " and error: " + result.getErrorMsg()); //$NON-NLS-1$ //$NON-NLS-2$
 				throw new IOException(result.getErrorMsg());
 			}
 			CLIUtil.checkResult(VALIDATE_CMD, result, true);
@@ -114,7 +116,7 @@ public class ProjectUtil {
 				}
 			}
 			String msg = "Validation failed for project: " + name + " with output: " + result.getOutput(); //$NON-NLS-1$ //$NON-NLS-2$
-			Logger.logWarning(msg);
+			LOG.warn(msg);
 			throw new IOException(msg);
 		} finally {
 			if (process != null && process.isAlive()) {
@@ -128,9 +130,9 @@ public class ProjectUtil {
 		Process process = null;
 		try {
 			process = CLIUtil.runCWCTL(CLIUtil.GLOBAL_JSON_INSECURE, REMOVE_CMD, new String[] {PROJECT_ID_OPTION, projectId});
-			ProcessResult result = ProcessHelper.waitForProcess(process, 500, 600);
+			ProcessResult result = ProcessHelper.waitForProcess(process, 600);
 			if (result.getError() != null && !result.getError().trim().isEmpty()) {
-				Logger.log("removeProject stderr: " + result.getError().trim());
+				LOG.info("removeProject stderr: " + result.getError().trim());
 			}
 			CLIUtil.checkResult(REMOVE_CMD, result, false);
 		} finally {
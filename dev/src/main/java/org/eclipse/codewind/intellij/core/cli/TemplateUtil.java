@@ -54,7 +54,7 @@ public class TemplateUtil {
 		String[] options = enabledOnly ? new String[] {ENABLED_ONLY_OPTION, CLIUtil.CON_ID_OPTION, conid} : new String[] {CLIUtil.CON_ID_OPTION, conid};
 		try {
 			process = CLIUtil.runCWCTL(CLIUtil.GLOBAL_JSON_INSECURE, LIST_CMD, options);
-			ProcessResult result = ProcessHelper.waitForProcess(process, 500, 60);
+			ProcessResult result = ProcessHelper.waitForProcess(process, 60);
 			CLIUtil.checkResult(LIST_CMD, result, true);
 			JSONArray templateArray = new JSONArray(result.getOutput().trim());
 			List<ProjectTemplateInfo> templates = new ArrayList<ProjectTemplateInfo>();
@@ -74,7 +74,7 @@ public class TemplateUtil {
 		Process process = null;
 		try {
 			process = CLIUtil.runCWCTL(CLIUtil.GLOBAL_JSON_INSECURE, REPO_LIST_CMD, new String[] {CLIUtil.CON_ID_OPTION, conid});
-			ProcessResult result = ProcessHelper.waitForProcess(process, 500, 60);
+			ProcessResult result = ProcessHelper.waitForProcess(process, 60);
 			CLIUtil.checkResult(REPO_LIST_CMD, result, true);
 			JSONArray repoArray = new JSONArray(result.getOutput());
 			List<RepositoryInfo> repos = new ArrayList<RepositoryInfo>();
@@ -129,7 +129,7 @@ public class TemplateUtil {
 		Process process = null;
 		try {
 			process = CLIUtil.runCWCTL(CLIUtil.GLOBAL_JSON_INSECURE, command, options, args);
-			ProcessResult result = ProcessHelper.waitForProcess(process, 500, 60);
+			ProcessResult result = ProcessHelper.waitForProcess(process, 60);
 			CLIUtil.checkResult(command, result, false);
 		} finally {
 			if (process != null && process.isAlive()) {
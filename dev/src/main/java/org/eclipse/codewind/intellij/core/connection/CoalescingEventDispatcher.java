@@ -0,0 +1,285 @@
+/*******************************************************************************
+ * Copyright (c) 2020 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.codewind.intellij.core.connection;
+
+import org.eclipse.codewind.intellij.core.ApplicationState;
+import org.eclipse.codewind.intellij.core.CodewindApplication;
+import org.eclipse.codewind.intellij.core.CodewindApplicationFactory;
+import org.eclipse.codewind.intellij.core.CoreUtil;
+import org.eclipse.codewind.intellij.core.Logger;
+import org.eclipse.codewind.intellij.core.constants.StartMode;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects the project update events for a connection (projectChanged and projectStatusChanged) and
+ * delivers them in batches.  The events received for a project within the coalescing window are kept in
+ * order and applied to the application model one after the other, as they would be without coalescing, but
+ * the UI is notified once per project per window with the combined changes.
+ * <p>
+ * The updates are delivered on the socket event lane for their project so that they are handled in
+ * order with the other events for the project.  An update stays pending until its delivery runs, so a handler
+ * that flushes the project first always sees it.
+ * <p>
+ * The window can be set with the <code>org.eclipse.codewind.eventCoalesceWindow</code> system property
+ * (in ms).  A window of 0 disables coalescing and updates are delivered as they arrive.
+ */
+public class CoalescingEventDispatcher {
+
+    private static final Logger LOG = Logger.getInstance(CoalescingEventDispatcher.class);
+
+    public static final String COALESCE_WINDOW_PROPERTY = "org.eclipse.codewind.eventCoalesceWindow"; //$NON-NLS-1$
+    private static final long DEFAULT_COALESCE_WINDOW_MS = 250;
+
+    private final CodewindConnection connection;
+    private final SocketEventExecutor eventExecutor;
+    private final long windowMS;
+    private final ScheduledExecutorService scheduler;
+
+    // Pending updates by project id and the thread delivering the update for a project, guarded by this
+    private final Map<String, PendingUpdate> pendingUpdates = new LinkedHashMap<String, PendingUpdate>();
+    private final Map<String, Thread> deliveries = new HashMap<String, Thread>();
+    private boolean flushScheduled = false;
+    private volatile boolean disposed = false;
+
+    private final AtomicLong eventsReceived = new AtomicLong();
+    private final AtomicLong eventsDelivered = new AtomicLong();
+
+    public CoalescingEventDispatcher(CodewindConnection connection, SocketEventExecutor eventExecutor) {
+        this(connection, eventExecutor, getDefaultWindow());
+    }
+
+    public CoalescingEventDispatcher(CodewindConnection connection, SocketEventExecutor eventExecutor, long windowMS) {
+        this.connection = connection;
+        this.eventExecutor = eventExecutor;
+        this.windowMS = Math.max(0, windowMS);
+        this.scheduler = this.windowMS > 0 ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Codewind event dispatcher: " + connection.getName()); //$NON-NLS-1$
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    private static long getDefaultWindow() {
+        String value = System.getProperty(COALESCE_WINDOW_PROPERTY);
+        if (value != null && !value.trim().isEmpty()) {
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                LOG.warn("Invalid value for " + COALESCE_WINDOW_PROPERTY + ": " + value, e); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+        }
+        return DEFAULT_COALESCE_WINDOW_MS;
+    }
+
+    /**
+     * Queue an update event for the given project.
+     *
+     * @param projectID        the project the event applies to
+     * @param event            the event JSON, in the same format as the project list entries
+     * @param reconnectDebugger whether the debugger should be reconnected after the update (projectChanged)
+     */
+    public void dispatch(String projectID, JSONObject event, boolean reconnectDebugger) throws JSONException {
+        eventsReceived.incrementAndGet();
+        // The latency of the event is recorded when its update is delivered
+        long received = eventExecutor.deferLatency();
+        if (scheduler == null) {
+            deliver(projectID, new PendingUpdate(event, received, reconnectDebugger));
+            return;
+        }
+
+        synchronized (this) {
+            if (disposed) {
+                return;
+            }
+            PendingUpdate update = pendingUpdates.get(projectID);
+            if (update == null) {
+                pendingUpdates.put(projectID, new PendingUpdate(event, received, reconnectDebugger));
+            } else {
+                update.add(event, received, reconnectDebugger);
+            }
+            if (!flushScheduled) {
+                flushScheduled = true;
+                scheduler.schedule(this::queueDeliveries, windowMS, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Queue the delivery of each pending update on the lane for its project.
+     */
+    private void queueDeliveries() {
+        List<String> projectIDs = new ArrayList<String>();
+        synchronized (this) {
+            flushScheduled = false;
+            for (Map.Entry<String, PendingUpdate> entry : pendingUpdates.entrySet()) {
+                if (!entry.getValue().deliveryQueued) {
+                    entry.getValue().deliveryQueued = true;
+                    projectIDs.add(entry.getKey());
+                }
+            }
+        }
+        for (String projectID : projectIDs) {
+            eventExecutor.executeOnLane(projectID, () -> flush(projectID));
+        }
+    }
+
+    /**
+     * Deliver any pending update for the given project now, on the calling thread.  Used before handling
+     * events that must see the latest project state (restart, close, settings changed).  If the update is
+     * being delivered on another thread this waits for it to finish.
+     */
+    public void flush(String projectID) {
+        PendingUpdate update;
+        synchronized (this) {
+            Thread current = Thread.currentThread();
+            Thread delivering;
+            while ((delivering = deliveries.get(projectID)) != null) {
+                if (delivering == current) {
+                    // Called while delivering the update for this project
+                    return;
+                }
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    current.interrupt();
+                    return;
+                }
+            }
+            update = pendingUpdates.remove(projectID);
+            if (update == null) {
+                return;
+            }
+            deliveries.put(projectID, current);
+        }
+        try {
+            deliver(projectID, update);
+        } finally {
+            synchronized (this) {
+                deliveries.remove(projectID);
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Drop any pending update for the given project, for example if the project was deleted.
+     */
+    public synchronized void discard(String projectID) {
+        pendingUpdates.remove(projectID);
+    }
+
+    /**
+     * Deliver all pending updates on the calling thread.  This should only be called once the socket event
+     * lanes are idle, for example when replaying events or in a benchmark.
+     */
+    public void flush() {
+        List<String> projectIDs;
+        synchronized (this) {
+            projectIDs = new ArrayList<String>(pendingUpdates.keySet());
+        }
+        for (String projectID : projectIDs) {
+            flush(projectID);
+        }
+    }
+
+    private void deliver(String projectID, PendingUpdate update) {
+        try {
+            CodewindApplication app = connection.getAppByID(projectID);
+            if (app == null) {
+                LOG.info("The application was removed before its pending update could be delivered: " + projectID); //$NON-NLS-1$
+                return;
+            }
+
+            // Apply each event in order so that every notification is shown and fields left out of a
+            // later event are reset as they would be without coalescing
+            int changes = ApplicationState.NONE;
+            for (JSONObject event : update.events) {
+                changes |= CodewindApplicationFactory.updateApp(app, event);
+            }
+
+            // Reconnect debugger if necessary
+            if (update.reconnectDebugger && StartMode.DEBUG_MODES.contains(app.getStartMode()) && app.getDebugPort() != -1) {
+                app.reconnectDebugger();
+            }
+
+            // Codewind often sends the same project status again, only update the UI if something changed
+            CoreUtil.updateApplication(app, changes);
+            eventsDelivered.incrementAndGet();
+            if (update.events.size() > 1) {
+                LOG.debug("Coalesced " + update.events.size() + " events into one update for project: " + projectID); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+        } catch (Exception e) {
+            LOG.warn("An error occurred delivering the update for project: " + projectID, e); //$NON-NLS-1$
+        } finally {
+            for (long received : update.receivedNanos) {
+                eventExecutor.recordDeferredLatency(received);
+            }
+        }
+    }
+
+    /**
+     * Number of update events received by this dispatcher.
+     */
+    public long getEventsReceived() {
+        return eventsReceived.get();
+    }
+
+    /**
+     * Number of coalesced updates delivered to the application model and the UI.
+     */
+    public long getEventsDelivered() {
+        return eventsDelivered.get();
+    }
+
+    public long getWindow() {
+        return windowMS;
+    }
+
+    public void dispose() {
+        synchronized (this) {
+            disposed = true;
+            pendingUpdates.clear();
+        }
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private static class PendingUpdate {
+        // The events received in the window, in order, and the time each was received
+        private final List<JSONObject> events = new ArrayList<JSONObject>(2);
+        private final List<Long> receivedNanos = new ArrayList<Long>(2);
+        private boolean reconnectDebugger;
+        private boolean deliveryQueued = false;
+
+        private PendingUpdate(JSONObject event, long received, boolean reconnectDebugger) {
+            add(event, received, reconnectDebugger);
+        }
+
+        private void add(JSONObject event, long received, boolean reconnect) {
+            events.add(event);
+            receivedNanos.add(received);
+            reconnectDebugger |= reconnect;
+        }
+    }
+}
@@ -11,12 +11,15 @@
 
 package org.eclipse.codewind.intellij.core.connection;
 
+import com.intellij.openapi.progress.ProgressIndicator;
 import org.eclipse.codewind.intellij.core.*;
 import org.eclipse.codewind.intellij.core.HttpUtil.HttpResult;
 import org.eclipse.codewind.intellij.core.cli.AuthToken;
 import org.eclipse.codewind.intellij.core.cli.CLIUtil;
 import org.eclipse.codewind.intellij.core.cli.InstallUtil;
 import org.eclipse.codewind.intellij.core.connection.ConnectionEnv.TektonDashboard;
+import org.eclipse.codewind.intellij.core.console.IndexedLogStreams;
+import org.eclipse.codewind.intellij.core.console.LogSearchIndex;
 import org.eclipse.codewind.intellij.core.console.ProjectLogInfo;
 import org.eclipse.codewind.intellij.core.constants.CoreConstants;
 import org.eclipse.codewind.intellij.core.filewatcher.CodewindIntelliJFilewatcherdConnection;
@@ -29,11 +32,16 @@ import java.io.IOException;
 import java.net.ConnectException;
 import java.net.URI;
 import java.net.URL;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.regex.Pattern;
 
-import static java.util.Comparator.comparing;
-import static java.util.stream.Collectors.toList;
 import static org.eclipse.codewind.intellij.core.messages.CodewindCoreBundle.message;
 
 /**
@@ -41,6 +49,8 @@ import static org.eclipse.codewind.intellij.core.messages.CodewindCoreBundle.mes
  */
 public abstract class CodewindConnection {
 
+    private static final Logger LOG = Logger.getInstance(CodewindConnection.class);
+
     private static final Pattern RELEASE_PATTERN = Pattern.compile("^\\d+\\.\\d+\\.\\d+$");
 
     private String name;
@@ -55,38 +65,90 @@ public abstract class CodewindConnection {
 
     private volatile boolean isConnected = false;
 
+    // How long to wait for Codewind to be ready, not counting the time taken by the checks, and the delays
+    // between checks
+    private static final long READY_TIMEOUT_MS = 5000;
+    private static final long READY_MIN_DELAY_MS = 50;
+    private static final long READY_MAX_DELAY_MS = 1000;
+
+    private volatile ConnectTimings connectTimings;
+
+    private volatile long lastOutageMs = -1;
+
+    // The HttpUtil response cache scope for this connection, and the endpoint names for the cache statistics
+    private static final String CACHE_ENV = "environment"; //$NON-NLS-1$
+    private static final String CACHE_PROJECT_LIST = "projects"; //$NON-NLS-1$
+    private static final String CACHE_LOGS = "logs"; //$NON-NLS-1$
+    private static final String CACHE_CAPABILITIES = "capabilities"; //$NON-NLS-1$
+    private static final String CACHE_PROJECT_TYPES = "project-types"; //$NON-NLS-1$
+    private final String cacheScope = UUID.randomUUID().toString();
+
     private final Map<String, CodewindApplication> appMap = new LinkedHashMap<String, CodewindApplication>();
 
+    // The applications in CodewindApplication.NAME_ORDER.  The list is never modified, it is replaced when an
+    // application is added or removed so callers can use it as a snapshot.  Guarded by appMap for updates.
+    private volatile List<CodewindApplication> sortedApps = Collections.emptyList();
+
+    // Indexes for finding applications by name and by location, guarded by appMap.  More than one application
+    // can have the same name or location so each key maps to the applications in the order they were added.
+    private final Map<String, List<CodewindApplication>> appsByName = new HashMap<String, List<CodewindApplication>>();
+    private final Map<String, List<CodewindApplication>> appsByLocation = new HashMap<String, List<CodewindApplication>>();
+    // The canonical form of the locations that were looked up, so that the file system is only checked
+    // once per location.  Cleared when it gets too big since there are usually only a few locations.
+    private final Map<String, String> canonicalLocations = new ConcurrentHashMap<String, String>();
+    private static final int MAX_CANONICAL_LOCATIONS = 256;
+
+    private final IndexedLogStreams indexedLogStreams = new IndexedLogStreams(this);
+
+    // The latest single project request, by project id
+    private final Map<String, ProjectRequest> projectRequests = new ConcurrentHashMap<String, ProjectRequest>();
+
     public CodewindConnection(String name, URI uri, String conid) {
         setName(name);
         setBaseURI(uri);
         this.conid = conid;
     }
 
+    /**
+     * Connect to Codewind.  The project list is fetched once the socket has connected so that no project
+     * change is missed between the two, and it is fetched in the background while the filewatcher is set up.
+     * The time taken by each phase is available from {@link #getConnectTimings()}.
+     */
     public void connect() throws IOException, JSONException {
         if (isConnected) {
             return;
         }
+        ConnectTimings timings = new ConnectTimings();
+        connectTimings = timings;
         if (!waitForReady()) {
-            Logger.logWarning("Timed out waiting for Codewind to go into ready state.");
+            LOG.warn("Timed out waiting for Codewind to go into ready state.");
             onInitFail(message("Connection_ErrConnection_CodewindNotReady"));
         }
+        long phaseStart = timings.recordSince(ConnectTimings.READY, timings.getStart());
 
-        env = new ConnectionEnv(getEnvData(this.baseUri, authToken));
+        env = new ConnectionEnv(getEnvData(this.baseUri, authToken, cacheScope));
+        phaseStart = timings.recordSince(ConnectTimings.ENV, phaseStart);
         if (isLocal()) {
-            Logger.log("Codewind version is: " + env.getVersion());    // $NON-NLS-1$
+            LOG.info("Codewind version is: " + env.getVersion());    // $NON-NLS-1$
             if (!isSupportedVersion(env.getVersion())) {
-                Logger.logWarning("The detected version of Codewind is not supported: " + env.getVersion() + ", url: " + baseUri);    // $NON-NLS-1$	// $NON-NLS-2$
+                LOG.warn("The detected version of Codewind is not supported: " + env.getVersion() + ", url: " + baseUri);    // $NON-NLS-1$	// $NON-NLS-2$
                 onInitFail(message("Connection_ErrConnection_OldVersion", env.getVersion(), InstallUtil.getVersion()));
             }
         }
 
         socket = new CodewindSocket(this, authToken);
         if (!socket.blockUntilFirstConnection()) {
-            Logger.logWarning("Socket failed to connect: " + socket.socketUri);
+            LOG.warn("Socket failed to connect: " + socket.socketUri);
             disconnect();
             throw new CodewindConnectionException(socket.socketUri);
         }
+        phaseStart = timings.recordSince(ConnectTimings.SOCKET, phaseStart);
+
+        // The socket is subscribed, so any project change after this is also sent as an event
+        final long projectsStart = phaseStart;
+        CompletableFuture<String> projectsFuture = CodewindIOExecutor.getExecutor().supplyAsync(
+                "Fetch the project list for " + getName(), this::requestProjectList); //$NON-NLS-1$
+        projectsFuture.whenComplete((response, e) -> timings.recordSince(ConnectTimings.PROJECT_LIST, projectsStart));
 
         File cwctl = new File(CLIUtil.getCWCTLExecutable());
         // TODO: For Remote Connection support, implement ICodewindProjectTranslator for authTokenProvider
@@ -106,8 +168,30 @@ public abstract class CodewindConnection {
 //        });
 
         isConnected = true;
-        Logger.log("Connected to: " + this); //$NON-NLS-1$
-        refreshApps(null);
+        LOG.info("Connected to: " + this); //$NON-NLS-1$
+
+        String projectsResponse = null;
+        try {
+            projectsResponse = projectsFuture.join();
+        } catch (CompletionException | CancellationException e) {
+            LOG.warn("Failed to get the project list while connecting, trying again: " + this, e); //$NON-NLS-1$
+        }
+        phaseStart = System.currentTimeMillis();
+        if (projectsResponse != null) {
+            updateApps(projectsResponse);
+        } else {
+            refreshApps(null);
+        }
+        timings.recordSince(ConnectTimings.PROJECTS, phaseStart);
+        timings.done();
+        LOG.info("Connection timings for " + getName() + ": " + timings); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    /**
+     * The time taken by each phase of the last connect, or null if the connection has never connected.
+     */
+    public ConnectTimings getConnectTimings() {
+        return connectTimings;
     }
 
     public static LocalConnection createLocalConnection() {
@@ -123,13 +207,13 @@ public abstract class CodewindConnection {
     }
 
     private void onInitFail(String msg) throws ConnectException {
-        Logger.log("Initializing Codewind connection failed: " + msg); //$NON-NLS-1$
+        LOG.info("Initializing Codewind connection failed: " + msg); //$NON-NLS-1$
         disconnect();
         throw new ConnectException(msg);
     }
 
     public void disconnect() {
-        Logger.log("Disconnecting connection: " + this); //$NON-NLS-1$
+        LOG.info("Disconnecting connection: " + this); //$NON-NLS-1$
         isConnected = false;
         if (socket != null) {
             socket.close();
@@ -137,10 +221,15 @@ public abstract class CodewindConnection {
 		if (filewatcher != null) {
 			filewatcher.dispose();
 		}
-        for (CodewindApplication app : appMap.values()) {
-            app.dispose();
+        indexedLogStreams.clear();
+        synchronized (appMap) {
+            for (CodewindApplication app : appMap.values()) {
+                app.dispose();
+            }
+            appMap.clear();
+            sortedApps = Collections.emptyList();
+            clearIndexes();
         }
-        appMap.clear();
     }
 
     /**
@@ -148,6 +237,9 @@ public abstract class CodewindConnection {
      */
     public void close() {
         disconnect();
+        LOG.info("HTTP response cache statistics: " + HttpUtil.getResponseCache().getStats()); //$NON-NLS-1$
+        HttpUtil.getResponseCache().invalidate(cacheScope);
+        LogSearchIndex.getInstance().removeSources(conid);
     }
 
     public String getName() {
@@ -177,23 +269,44 @@ public abstract class CodewindConnection {
         return conid;
     }
 
+    /**
+     * The log streams kept enabled for the log search index.
+     */
+    public IndexedLogStreams getIndexedLogStreams() {
+        return indexedLogStreams;
+    }
+
     public void setAuthToken(AuthToken authToken) {
+        if (this.authToken != null && this.authToken != authToken) {
+            // The responses for the old token can no longer be used
+            HttpUtil.getResponseCache().invalidate(cacheScope);
+        }
         this.authToken = authToken;
     }
 
+    /**
+     * The scope of the responses for this connection in the {@link HttpUtil#getResponseCache() response cache}.
+     */
+    public String getCacheScope() {
+        return cacheScope;
+    }
+
     AuthToken getAuthToken(boolean update) throws IOException, JSONException {
         // Override as needed
         return null;
     }
 
-    private static JSONObject getEnvData(URI baseUrl, AuthToken auth) throws JSONException, IOException {
+    /**
+     * @param cacheScope the response cache scope of the connection, or null if there is no connection
+     */
+    private static JSONObject getEnvData(URI baseUrl, AuthToken auth, String cacheScope) throws JSONException, IOException {
         final URI envUrl = baseUrl.resolve(CoreConstants.APIPATH_ENV);
 
         String envResponse = null;
         try {
-            envResponse = HttpUtil.get(envUrl, auth).response;
+            envResponse = HttpUtil.getCached(envUrl, auth, cacheScope, CACHE_ENV).response;
         } catch (IOException e) {
-            Logger.logWarning("Error contacting Environment endpoint", e); //$NON-NLS-1$
+            LOG.warn("Error contacting Environment endpoint", e); //$NON-NLS-1$
             throw e;
         }
 
@@ -202,10 +315,10 @@ public abstract class CodewindConnection {
 
     public static String getVersion(URI baseURI, AuthToken auth) {
         try {
-            ConnectionEnv env = new ConnectionEnv(getEnvData(baseURI, auth));
+            ConnectionEnv env = new ConnectionEnv(getEnvData(baseURI, auth, null));
             return env.getVersion();
         } catch (Exception e) {
-            Logger.logWarning("An error occurred trying to get the Codewind version.", e);
+            LOG.warn("An error occurred trying to get the Codewind version.", e);
         }
         return null;
     }
@@ -264,7 +377,7 @@ public abstract class CodewindConnection {
         try {
             return compareVersions(versionStr, InstallUtil.getVersion()) >= 0;
         } catch (NumberFormatException e) {
-            Logger.logWarning("Invalid version: " + versionStr, e);
+            LOG.warn("Invalid version: " + versionStr, e);
         }
         return false;
     }
@@ -275,16 +388,52 @@ public abstract class CodewindConnection {
 
     /**
      * Refresh this connection's apps using the Codewind project list endpoint.
-     * If projectID is not null then only refresh the corresponding application.
+     * If projectID is not null then only the corresponding project is fetched and its application refreshed.
      */
     public void refreshApps(String projectID) {
+        if (projectID != null) {
+            refreshApp(projectID);
+            return;
+        }
 
+        try {
+            updateApps(requestProjectList());
+        } catch (Exception e) {
+            CoreUtil.openDialog(true, message("Connection_ErrGettingProjectListTitle"), e.getMessage());
+        }
+    }
+
+    private String requestProjectList() throws IOException {
         final URI projectsURL = baseUri.resolve(CoreConstants.APIPATH_PROJECT_LIST);
+        return HttpUtil.getCached(projectsURL, authToken, cacheScope, CACHE_PROJECT_LIST).response;
+    }
 
+    /**
+     * Create, update and remove applications to match the full project list.
+     */
+    private void updateApps(String projectsResponse) {
+        recordProjectList(projectsResponse);
+        CodewindApplicationFactory.getAppsFromProjectsJson(this, projectsResponse, null);
+        LOG.info("App list update success"); //$NON-NLS-1$
+        ConnectionCache.getInstance().reconciled(this);
+    }
+
+    private void recordProjectList(String projectsResponse) {
+        CodewindSocket socket = this.socket;
+        if (socket != null) {
+            socket.recordProjectList(projectsResponse);
+        }
+    }
+
+    private void refreshApp(String projectID) {
         try {
-            String projectsResponse = HttpUtil.get(projectsURL, authToken).response;
-            CodewindApplicationFactory.getAppsFromProjectsJson(this, projectsResponse, projectID);
-            Logger.log("App list update success"); //$NON-NLS-1$
+            JSONObject projectJson = requestProject(projectID);
+            if (projectJson == null) {
+                LOG.info("The project was not found when refreshing the application: " + projectID); //$NON-NLS-1$
+                return;
+            }
+            CodewindApplicationFactory.getAppFromProjectJson(this, projectJson);
+            LOG.info("App update success for project: " + projectID); //$NON-NLS-1$
         } catch (Exception e) {
             CoreUtil.openDialog(true, message("Connection_ErrGettingProjectListTitle"), e.getMessage());
         }
@@ -292,7 +441,20 @@ public abstract class CodewindConnection {
 
     public void addApp(CodewindApplication app) {
         synchronized (appMap) {
-            appMap.put(app.projectID, app);
+            CodewindApplication oldApp = appMap.put(app.projectID, app);
+            List<CodewindApplication> apps = new ArrayList<CodewindApplication>(sortedApps.size() + 1);
+            apps.addAll(sortedApps);
+            if (oldApp != null) {
+                int index = Collections.binarySearch(apps, oldApp, CodewindApplication.NAME_ORDER);
+                if (index >= 0) {
+                    apps.remove(index);
+                }
+                unindexApp(oldApp);
+            }
+            indexApp(app);
+            int index = Collections.binarySearch(apps, app, CodewindApplication.NAME_ORDER);
+            apps.add(index >= 0 ? index : -(index + 1), app);
+            sortedApps = Collections.unmodifiableList(apps);
         }
     }
 
@@ -312,12 +474,24 @@ public abstract class CodewindConnection {
         CodewindApplication app = null;
         synchronized (appMap) {
             app = appMap.remove(projectID);
+            if (app != null) {
+                unindexApp(app);
+                int index = Collections.binarySearch(sortedApps, app, CodewindApplication.NAME_ORDER);
+                if (index >= 0) {
+                    List<CodewindApplication> apps = new ArrayList<CodewindApplication>(sortedApps);
+                    apps.remove(index);
+                    sortedApps = Collections.unmodifiableList(apps);
+                }
+            }
         }
         if (app == null) {
-            Logger.log("No application found for deleted project: " + projectID); //$NON-NLS-1$
+            LOG.info("No application found for deleted project: " + projectID); //$NON-NLS-1$
             return;
         }
-        Logger.log("Removing the " + app.name + " application with id: " + projectID);
+        LOG.info("Removing the " + app.name + " application with id: " + projectID);
+        HttpUtil.getResponseCache().invalidate(cacheScope, baseUri.resolve(CoreConstants.APIPATH_PROJECT_LIST + "/" + projectID)); //$NON-NLS-1$
+        indexedLogStreams.remove(projectID);
+        LogSearchIndex.getInstance().removeSources(conid, projectID);
         CoreUtil.removeApplication(app);
         app.dispose();
     }
@@ -333,46 +507,143 @@ public abstract class CodewindConnection {
 
     public CodewindApplication getAppByName(String name) {
         synchronized (appMap) {
-            for (CodewindApplication app : getApps()) {
-                if (app.name.equals(name)) {
-                    return app;
-                }
+            CodewindApplication app = getFirst(appsByName, name);
+            if (app != null) {
+                return app;
             }
         }
-        Logger.log("No application found for name " + name); //$NON-NLS-1$
+        LOG.info("No application found for name " + name); //$NON-NLS-1$
         return null;
     }
 
+    /**
+     * Find the application for a project location.  The location is first looked up as given (made absolute and
+     * normalized), which does not touch the file system.  Only if that fails is the location made canonical, for
+     * example to resolve symbolic links, and looked up again.  The canonical form of each location is remembered
+     * so that callers on the UI thread only touch the file system the first time a location is looked up.
+     */
     public CodewindApplication getAppByLocation(String location) {
         if (location == null) {
             return null;
         }
-        String canonicalLocation = FileUtil.getCanonicalPath(location);
-        synchronized(appMap) {
-            for (CodewindApplication app : getApps()) {
-                // toString() ?  Test on windows
-                if (FileUtil.getCanonicalPath(app.fullLocalPath.toString()).equals(canonicalLocation)) {
+        String normalizedLocation = normalizePath(location);
+        synchronized (appMap) {
+            CodewindApplication app = getFirst(appsByLocation, normalizedLocation);
+            if (app != null) {
+                return app;
+            }
+        }
+        String canonicalLocation = getCanonicalLocation(location);
+        if (!canonicalLocation.equals(normalizedLocation)) {
+            synchronized (appMap) {
+                CodewindApplication app = getFirst(appsByLocation, canonicalLocation);
+                if (app != null) {
                     return app;
                 }
             }
         }
-        Logger.log("No application found for location: " + location); //$NON-NLS-1$
+        LOG.info("No application found for location: " + location); //$NON-NLS-1$
         return null;
-    }    
+    }
+
+    private String getCanonicalLocation(String location) {
+        String canonicalLocation = canonicalLocations.get(location);
+        if (canonicalLocation == null) {
+            canonicalLocation = FileUtil.getCanonicalPath(location);
+            if (canonicalLocations.size() >= MAX_CANONICAL_LOCATIONS) {
+                canonicalLocations.clear();
+            }
+            canonicalLocations.put(location, canonicalLocation);
+        }
+        return canonicalLocation;
+    }
+
+    private static String normalizePath(String path) {
+        try {
+            return Paths.get(path).toAbsolutePath().normalize().toString();
+        } catch (InvalidPathException e) {
+            return path;
+        }
+    }
+
+    // Must be called with the appMap lock held
+    private void indexApp(CodewindApplication app) {
+        addToIndex(appsByName, app.name, app);
+        if (app.fullLocalPath != null) {
+            String normalizedPath = normalizePath(app.fullLocalPath.toString());
+            addToIndex(appsByLocation, normalizedPath, app);
+            if (app.canonicalLocalPath != null && !app.canonicalLocalPath.equals(normalizedPath)) {
+                addToIndex(appsByLocation, app.canonicalLocalPath, app);
+            }
+        }
+    }
+
+    // Must be called with the appMap lock held
+    private void unindexApp(CodewindApplication app) {
+        removeFromIndex(appsByName, app.name, app);
+        if (app.fullLocalPath != null) {
+            removeFromIndex(appsByLocation, normalizePath(app.fullLocalPath.toString()), app);
+            removeFromIndex(appsByLocation, app.canonicalLocalPath, app);
+        }
+    }
+
+    // Must be called with the appMap lock held
+    private void clearIndexes() {
+        appsByName.clear();
+        appsByLocation.clear();
+        canonicalLocations.clear();
+    }
+
+    private static void addToIndex(Map<String, List<CodewindApplication>> index, String key, CodewindApplication app) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> new ArrayList<CodewindApplication>(1)).add(app);
+        }
+    }
+
+    private static void removeFromIndex(Map<String, List<CodewindApplication>> index, String key, CodewindApplication app) {
+        List<CodewindApplication> apps = key == null ? null : index.get(key);
+        if (apps != null) {
+            // Remove this application object, not another one with the same project id
+            apps.removeIf(indexed -> indexed == app);
+            if (apps.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static CodewindApplication getFirst(Map<String, List<CodewindApplication>> index, String key) {
+        List<CodewindApplication> apps = index.get(key);
+        return apps == null || apps.isEmpty() ? null : apps.get(0);
+    }
 
+    /**
+     * Wait for Codewind to be ready.  Codewind is usually ready already so it is checked again quickly at first,
+     * backing off to a longer delay.  The delays add up to the same wait as checking ten times with half a
+     * second between each check.
+     */
     public boolean waitForReady() throws IOException {
+        long waited = 0;
+        long delay = READY_MIN_DELAY_MS;
         IOException exception = null;
-        for (int i = 0; i < 10; i++) {
+        while (true) {
             try {
                 if (requestCodewindReady(500, 500)) {
                     return true;
                 }
-                Thread.sleep(500);
             } catch (IOException e) {
                 exception = e;
+            }
+            if (waited >= READY_TIMEOUT_MS) {
+                break;
+            }
+            try {
+                Thread.sleep(delay);
+                waited += delay;
             } catch (InterruptedException e) {
-                // Ignore
+                Thread.currentThread().interrupt();
+                break;
             }
+            delay = Math.min(delay * 2, READY_MAX_DELAY_MS);
         }
         if (exception != null) {
             throw exception;
@@ -437,30 +708,84 @@ public abstract class CodewindConnection {
      * or null if the project is not found in the status info.
      */
     public JSONObject requestProjectStatus(CodewindApplication app) throws IOException, JSONException {
-        final URI statusUrl = baseUri.resolve(CoreConstants.APIPATH_PROJECT_LIST);
-
-        HttpResult result = HttpUtil.get(statusUrl, authToken);
+        JSONObject projectStatus = requestProject(app.projectID);
+        if (projectStatus == null) {
+            LOG.info("Didn't find status info for project " + app.name); //$NON-NLS-1$
+        }
+        return projectStatus;
+    }
 
-        if (!result.isGoodResponse) {
-            final String msg = String.format("Received bad response from server %d with error message %s", //$NON-NLS-1$
-                    result.responseCode, result.error);
-            throw new IOException(msg);
-        } else if (result.response == null) {
-            // I don't think this will ever happen.
-            throw new IOException("Server returned good response code, but null response when getting initial state"); //$NON-NLS-1$
+    /**
+     * Get the JSON for a single project from the project endpoint.  Concurrent requests for the same
+     * project share one request to Codewind, but only if it has not been sent yet so that the response
+     * is never older than the call.  While a request is in flight the callers that come in share the next
+     * one, which is sent once the first completes.
+     *
+     * @return The JSON for the project, or null if Codewind does not know about the project.
+     */
+    public JSONObject requestProject(String projectID) throws IOException, JSONException {
+        ProjectRequest[] created = new ProjectRequest[1];
+        ProjectRequest request = projectRequests.compute(projectID, (id, latest) -> {
+            if (latest != null && latest.join()) {
+                return latest;
+            }
+            created[0] = new ProjectRequest(latest == null ? null : latest.result);
+            return created[0];
+        });
+        if (request != created[0]) {
+            // Another thread is sending this request so wait for its result
+            return getProjectResult(projectID, request.result);
         }
 
-        JSONArray allProjectStatuses = new JSONArray(result.response);
-        for (int i = 0; i < allProjectStatuses.length(); i++) {
-            JSONObject projectStatus = allProjectStatuses.getJSONObject(i);
-            if (projectStatus.getString(CoreConstants.KEY_PROJECT_ID).equals(app.projectID)) {
-                // Success - found the project of interest
-                return projectStatus;
+        try {
+            CompletableFuture<JSONObject> previous = request.takePrevious();
+            if (previous != null) {
+                try {
+                    previous.get();
+                } catch (ExecutionException e) {
+                    // The failure was reported to the callers of the previous request, this one is sent anyway
+                }
             }
+            request.send();
+
+            String endpoint = CoreConstants.APIPATH_PROJECT_LIST + "/" + projectID;	//$NON-NLS-1$
+            URI uri = baseUri.resolve(endpoint);
+            HttpResult result = HttpUtil.get(uri, authToken);
+            JSONObject projectJson = null;
+            if (result.responseCode != 404) {
+                checkResult(result, uri, true);
+                projectJson = new JSONObject(result.response);
+            }
+            request.result.complete(projectJson);
+            return projectJson;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            IOException error = new IOException("Interrupted while waiting for the project request: " + projectID, e); //$NON-NLS-1$
+            request.result.completeExceptionally(error);
+            throw error;
+        } catch (IOException | JSONException | RuntimeException e) {
+            request.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            projectRequests.remove(projectID, request);
         }
+    }
 
-        Logger.log("Didn't find status info for project " + app.name); //$NON-NLS-1$
-        return null;
+    private static JSONObject getProjectResult(String projectID, CompletableFuture<JSONObject> result) throws IOException, JSONException {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the project request: " + projectID, e); //$NON-NLS-1$
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof JSONException) {
+                throw (JSONException) cause;
+            }
+            throw new IOException("The project request failed: " + projectID, cause); //$NON-NLS-1$
+        }
     }
 
     public JSONObject requestProjectMetricsStatus(CodewindApplication app) throws IOException, JSONException {
@@ -501,7 +826,7 @@ public abstract class CodewindConnection {
                 + CoreConstants.APIPATH_LOGS;
 
         URI uri = baseUri.resolve(endpoint);
-        HttpResult result = HttpUtil.get(uri, authToken);
+        HttpResult result = HttpUtil.getCached(uri, authToken, cacheScope, CACHE_LOGS);
         checkResult(result, uri, true);
 
         JSONObject logs = new JSONObject(result.response);
@@ -529,7 +854,7 @@ public abstract class CodewindConnection {
                     ProjectLogInfo logInfo = new ProjectLogInfo(type, logName, workspacePath);
                     logList.add(logInfo);
                 } else {
-                    Logger.log("An item in the log list does not have the key: " + CoreConstants.KEY_LOG_NAME);
+                    LOG.info("An item in the log list does not have the key: " + CoreConstants.KEY_LOG_NAME);
                 }
             }
         }
@@ -603,7 +928,7 @@ public abstract class CodewindConnection {
     public JSONObject requestProjectCapabilities(CodewindApplication app) throws IOException, JSONException {
         final URI statusUrl = baseUri.resolve(CoreConstants.APIPATH_PROJECT_LIST + "/" + app.projectID + "/" + CoreConstants.APIPATH_CAPABILITIES);
 
-        HttpResult result = HttpUtil.get(statusUrl, authToken);
+        HttpResult result = HttpUtil.getCached(statusUrl, authToken, cacheScope, CACHE_CAPABILITIES);
 
         if (!result.isGoodResponse) {
             final String msg = String.format("Received bad response from server %d with error message %s", //$NON-NLS-1$
@@ -629,7 +954,7 @@ public abstract class CodewindConnection {
     public List<ProjectTypeInfo> requestProjectTypes() throws IOException, JSONException {
         List<ProjectTypeInfo> projectTypes = new ArrayList<ProjectTypeInfo>();
         final URI uri = baseUri.resolve(CoreConstants.APIPATH_BASE + "/" + CoreConstants.APIPATH_PROJECT_TYPES);
-        HttpResult result = HttpUtil.get(uri, authToken);
+        HttpResult result = HttpUtil.getCached(uri, authToken, cacheScope, CACHE_PROJECT_TYPES);
         checkResult(result, uri, true);
 
         JSONArray array = new JSONArray(result.response);
@@ -656,6 +981,246 @@ public abstract class CodewindConnection {
         CoreUtil.updateConnection(this);
     }
 
+    // Asynchronous versions of the requests.  These return immediately and the HTTP requests are run by the
+    // HttpUtil dispatcher.  If a progress indicator is passed in, cancelling it cancels the request.  Cancelling
+    // the returned future also cancels the request.
+
+    public CompletableFuture<Void> requestProjectRestartAsync(CodewindApplication app, String launchMode, ProgressIndicator indicator) {
+        return postAsync(projectURI(app.projectID, CoreConstants.APIPATH_RESTART), payload(CoreConstants.KEY_START_MODE, launchMode), indicator, result -> {
+            checkResult(result, null, false);
+            app.invalidatePorts();
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> requestProjectOpenCloseAsync(CodewindApplication app, boolean enable, ProgressIndicator indicator) {
+        String action = enable ? CoreConstants.APIPATH_OPEN : CoreConstants.APIPATH_CLOSE;
+        URI uri = projectURI(app.projectID, action);
+        return handleAsync(HttpUtil.putAsync(uri, authToken, null, indicator), result -> {
+            checkResult(result, uri, false);
+            return null;
+        });
+    }
+
+    public CompletableFuture<JSONObject> requestProjectMetricsStatusAsync(CodewindApplication app, ProgressIndicator indicator) {
+        URI uri = projectURI(app.projectID, CoreConstants.APIPATH_METRICS_STATUS);
+        return handleAsync(HttpUtil.getAsync(uri, authToken, indicator), result -> {
+            checkResult(result, uri, true);
+            return new JSONObject(result.response);
+        });
+    }
+
+    public CompletableFuture<HttpResult> requestProjectBuildAsync(CodewindApplication app, String action, ProgressIndicator indicator) {
+        return postAsync(projectURI(app.projectID, CoreConstants.APIPATH_BUILD), payload(CoreConstants.KEY_ACTION, action), indicator, result -> result);
+    }
+
+    public CompletableFuture<List<ProjectLogInfo>> requestProjectLogsAsync(CodewindApplication app, ProgressIndicator indicator) {
+        URI uri = projectURI(app.projectID, CoreConstants.APIPATH_LOGS);
+        return handleAsync(HttpUtil.getCachedAsync(uri, authToken, cacheScope, CACHE_LOGS, indicator), result -> {
+            checkResult(result, uri, true);
+            List<ProjectLogInfo> logList = new ArrayList<ProjectLogInfo>();
+            JSONObject logs = new JSONObject(result.response);
+            logList.addAll(getLogs(logs.getJSONArray(CoreConstants.KEY_LOG_BUILD), CoreConstants.KEY_LOG_BUILD));
+            logList.addAll(getLogs(logs.getJSONArray(CoreConstants.KEY_LOG_APP), CoreConstants.KEY_LOG_APP));
+            return logList;
+        });
+    }
+
+    public CompletableFuture<Void> requestEnableLogStreamAsync(CodewindApplication app, ProjectLogInfo logInfo, ProgressIndicator indicator) {
+        URI uri = projectURI(app.projectID, CoreConstants.APIPATH_LOGS + "/" + logInfo.type + "/" + logInfo.logName); //$NON-NLS-1$ //$NON-NLS-2$
+        return handleAsync(HttpUtil.postAsync(uri, authToken, null, indicator), result -> {
+            checkResult(result, uri, false);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> requestDisableLogStreamAsync(CodewindApplication app, ProjectLogInfo logInfo, ProgressIndicator indicator) {
+        URI uri = projectURI(app.projectID, CoreConstants.APIPATH_LOGS + "/" + logInfo.type + "/" + logInfo.logName); //$NON-NLS-1$ //$NON-NLS-2$
+        return handleAsync(HttpUtil.deleteAsync(uri, authToken, indicator), result -> {
+            checkResult(result, uri, false);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> requestValidateAsync(CodewindApplication app, ProgressIndicator indicator) {
+        URI uri = projectURI(app.projectID, CoreConstants.APIPATH_VALIDATE);
+        return postAsync(uri, payload(CoreConstants.KEY_PROJECT_TYPE, app.projectType.getId()), indicator, result -> {
+            checkResult(result, uri, false);
+            return null;
+        });
+    }
+
+    public CompletableFuture<JSONObject> requestProjectCapabilitiesAsync(CodewindApplication app, ProgressIndicator indicator) {
+        URI uri = projectURI(app.projectID, CoreConstants.APIPATH_CAPABILITIES);
+        return handleAsync(HttpUtil.getCachedAsync(uri, authToken, cacheScope, CACHE_CAPABILITIES, indicator), result -> {
+            checkResult(result, uri, true);
+            return new JSONObject(result.response);
+        });
+    }
+
+    public CompletableFuture<Void> requestProjectUnbindAsync(String projectID, ProgressIndicator indicator) {
+        URI uri = projectURI(projectID, CoreConstants.APIPATH_PROJECT_UNBIND);
+        return handleAsync(HttpUtil.postAsync(uri, authToken, null, indicator), result -> {
+            checkResult(result, uri, false);
+            CoreUtil.updateConnection(this);
+            return null;
+        });
+    }
+
+    public CompletableFuture<List<ProjectTypeInfo>> requestProjectTypesAsync(ProgressIndicator indicator) {
+        URI uri = baseUri.resolve(CoreConstants.APIPATH_BASE + "/" + CoreConstants.APIPATH_PROJECT_TYPES); //$NON-NLS-1$
+        return handleAsync(HttpUtil.getCachedAsync(uri, authToken, cacheScope, CACHE_PROJECT_TYPES, indicator), result -> {
+            checkResult(result, uri, true);
+            List<ProjectTypeInfo> projectTypes = new ArrayList<ProjectTypeInfo>();
+            JSONArray array = new JSONArray(result.response);
+            for (int i = 0; i < array.length(); i++) {
+                projectTypes.add(new ProjectTypeInfo(array.getJSONObject(i)));
+            }
+            return projectTypes;
+        });
+    }
+
+    /**
+     * Get the JSON for a single project, or null if Codewind does not know about the project.
+     */
+    public CompletableFuture<JSONObject> requestProjectAsync(String projectID, ProgressIndicator indicator) {
+        URI uri = baseUri.resolve(CoreConstants.APIPATH_PROJECT_LIST + "/" + projectID); //$NON-NLS-1$
+        return handleAsync(HttpUtil.getAsync(uri, authToken, indicator), result -> {
+            if (result.responseCode == 404) {
+                return null;
+            }
+            checkResult(result, uri, true);
+            return new JSONObject(result.response);
+        });
+    }
+
+    public CompletableFuture<JSONObject> requestProjectStatusAsync(CodewindApplication app, ProgressIndicator indicator) {
+        return requestProjectAsync(app.projectID, indicator).thenApply(projectStatus -> {
+            if (projectStatus == null) {
+                LOG.info("Didn't find status info for project " + app.name); //$NON-NLS-1$
+            }
+            return projectStatus;
+        });
+    }
+
+    /**
+     * Refresh a single application.  The application is updated on the I/O executor since updating it can
+     * make more requests.
+     */
+    public CompletableFuture<Void> refreshAppAsync(String projectID, ProgressIndicator indicator) {
+        return requestProjectAsync(projectID, indicator).thenCompose(projectJson ->
+                CodewindIOExecutor.getExecutor().supplyAsync("Update the application for project " + projectID, () -> { //$NON-NLS-1$
+                    if (projectJson == null) {
+                        LOG.info("The project was not found when refreshing the application: " + projectID); //$NON-NLS-1$
+                        return null;
+                    }
+                    CodewindApplicationFactory.getAppFromProjectJson(this, projectJson);
+                    LOG.info("App update success for project: " + projectID); //$NON-NLS-1$
+                    return null;
+                }));
+    }
+
+    public CompletableFuture<Void> requestValidateGenerateAsync(CodewindApplication app, ProgressIndicator indicator) {
+        URI uri = projectURI(app.projectID, CoreConstants.APIPATH_VALIDATE_GENERATE);
+        JSONObject payload = payload(CoreConstants.KEY_PROJECT_TYPE, app.projectType.getId(), CoreConstants.KEY_AUTO_GENERATE, true);
+        return postAsync(uri, payload, indicator, result -> {
+            checkResult(result, uri, false);
+            return null;
+        }).thenCompose(result -> {
+            // Perform validation again to clear the errors/warnings that have been fixed
+            return requestValidateAsync(app, indicator);
+        });
+    }
+
+    public CompletableFuture<Void> requestInjectMetricsAsync(String projectID, boolean enable, ProgressIndicator indicator) {
+        URI uri = projectURI(projectID, CoreConstants.APIPATH_INJECT_METRICS);
+        JSONObject payload = payload(CoreConstants.KEY_INJECT_METRICS_ENABLE, enable);
+        CompletableFuture<HttpResult> request = getAuthTokenAsync(false)
+                .thenCompose(token -> HttpUtil.postAsync(uri, token, payload, indicator))
+                .thenCompose(result -> {
+                    if (!hasAuthFailure(result)) {
+                        return CompletableFuture.completedFuture(result);
+                    }
+                    return getAuthTokenAsync(true).thenCompose(token -> HttpUtil.postAsync(uri, token, payload, indicator));
+                });
+        return handleAsync(request, result -> {
+            checkResult(result, uri, false);
+            CoreUtil.updateConnection(this);
+            return null;
+        });
+    }
+
+    /**
+     * Getting a new auth token can run the CLI, so it is done on the I/O executor.
+     */
+    private CompletableFuture<AuthToken> getAuthTokenAsync(boolean update) {
+        return CodewindIOExecutor.getExecutor().supplyAsync("Get the auth token for " + getName(), () -> getAuthToken(update)); //$NON-NLS-1$
+    }
+
+    public CompletableFuture<Void> requestProjectDeleteAsync(String projectID, ProgressIndicator indicator) {
+        URI uri = baseUri.resolve(CoreConstants.APIPATH_PROJECT_LIST + "/" + projectID); //$NON-NLS-1$
+        return handleAsync(HttpUtil.deleteAsync(uri, authToken, indicator), result -> {
+            checkResult(result, uri, false);
+            return null;
+        });
+    }
+
+    private URI projectURI(String projectID, String action) {
+        return baseUri.resolve(CoreConstants.APIPATH_PROJECT_LIST + "/" + projectID + "/" + action); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    private static JSONObject payload(String key, Object value) {
+        try {
+            JSONObject payload = new JSONObject();
+            payload.put(key, value);
+            return payload;
+        } catch (JSONException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private static JSONObject payload(String key1, Object value1, String key2, Object value2) {
+        JSONObject payload = payload(key1, value1);
+        try {
+            payload.put(key2, value2);
+            return payload;
+        } catch (JSONException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private <T> CompletableFuture<T> postAsync(URI uri, JSONObject payload, ProgressIndicator indicator, ResultHandler<T> handler) {
+        return handleAsync(HttpUtil.postAsync(uri, authToken, payload, indicator), handler);
+    }
+
+    /**
+     * Convert the result of an async request using the handler.  Cancelling the returned future cancels the request.
+     */
+    private <T> CompletableFuture<T> handleAsync(CompletableFuture<HttpResult> request, ResultHandler<T> handler) {
+        CompletableFuture<T> future = new CompletableFuture<T>();
+        request.whenComplete((result, error) -> {
+            if (error != null) {
+                future.completeExceptionally(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+                return;
+            }
+            try {
+                future.complete(handler.handle(result));
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        });
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) {
+                request.cancel(true);
+            }
+        });
+        return future;
+    }
+
+    private interface ResultHandler<T> {
+        T handle(HttpResult result) throws IOException, JSONException;
+    }
+
     private boolean hasAuthFailure(HttpResult result) {
         return result.responseCode == 302;
     }
@@ -676,32 +1241,33 @@ public abstract class CodewindConnection {
     }
 
     /**
-     * Called by the CodewindSocket when the socket.io connection goes down.
+     * Called by the CodewindSocket when the socket.io connection goes down.  The applications are kept
+     * so that they can be resynchronized with Codewind when the connection is restored.
      */
     public synchronized void onConnectionError() {
         if (isConnected) {
-            Logger.log("Connection to " + baseUri + " lost"); //$NON-NLS-1$ //$NON-NLS-2$
+            LOG.info("Connection to " + baseUri + " lost"); //$NON-NLS-1$ //$NON-NLS-2$
             isConnected = false;
-            synchronized (appMap) {
-                appMap.clear();
-            }
             // Update everything as Codewind might be down as well
             CoreUtil.updateAll();
         }
     }
 
     /**
-     * Called by the CodewindSocket when the socket.io connection is working.
+     * Called by the CodewindSocket when the socket.io connection is working again.
+     *
+     * @param outageMs how long the connection was down
      */
-    public synchronized void clearConnectionError() {
-        Logger.log("Connection to " + baseUri + " restored"); //$NON-NLS-1$ //$NON-NLS-2$
+    public synchronized void clearConnectionError(long outageMs) {
+        LOG.info("Connection to " + baseUri + " restored after " + outageMs + " ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        lastOutageMs = outageMs;
 
         // Reset any cached information in case it has changed
         try {
             String oldSocketNS = env.getSocketNamespace();
-            env = new ConnectionEnv(getEnvData(baseUri, authToken));
+            env = new ConnectionEnv(getEnvData(baseUri, authToken, cacheScope));
             if (!isSupportedVersion(env.getVersion())) {
-                Logger.logWarning("The detected version of Codewind after reconnect is not supported: " + env.getVersion());
+                LOG.warn("The detected version of Codewind after reconnect is not supported: " + env.getVersion());
                 this.connectionErrorMsg = message("Connection_ErrConnection_OldVersion", env.getVersion(), InstallUtil.getVersion());
                 CoreUtil.updateConnection(this);
                 return;
@@ -714,7 +1280,7 @@ public abstract class CodewindConnection {
                 socket = new CodewindSocket(this, authToken);
                 if (!socket.blockUntilFirstConnection()) {
                     // Still not connected
-                    Logger.logWarning("Failed to create a new socket with updated URI: " + socket.socketUri);
+                    LOG.warn("Failed to create a new socket with updated URI: " + socket.socketUri);
                     // Clear the message so that it just shows the basic disconnected message
                     this.connectionErrorMsg = null;
                     CoreUtil.updateAll();
@@ -722,7 +1288,7 @@ public abstract class CodewindConnection {
                 }
             }
         } catch (Exception e) {
-            Logger.logWarning("An exception occurred while trying to update the connection information", e);
+            LOG.warn("An exception occurred while trying to update the connection information", e);
             this.connectionErrorMsg = message("Connection_ErrConnection_UpdateCacheException");
             CoreUtil.updateAll();
             return;
@@ -730,8 +1296,34 @@ public abstract class CodewindConnection {
 
         this.connectionErrorMsg = null;
         isConnected = true;
-        refreshApps(null);
-        CoreUtil.updateAll();
+        resyncApps(outageMs);
+        CoreUtil.updateConnection(this);
+    }
+
+    /**
+     * Catch up on the changes missed while the connection was down.  The existing applications are updated
+     * in place, only those that changed are updated in the UI.
+     */
+    private void resyncApps(long outageMs) {
+        long start = System.currentTimeMillis();
+        try {
+            String projectsResponse = requestProjectList();
+            recordProjectList(projectsResponse);
+            int changed = CodewindApplicationFactory.resyncApps(this, projectsResponse);
+            ConnectionCache.getInstance().reconciled(this);
+            LOG.info("Resynchronized " + changed + " applications for " + getName() + " after a " + outageMs + " ms outage in " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+                    + (System.currentTimeMillis() - start) + " ms"); //$NON-NLS-1$
+        } catch (Exception e) {
+            LOG.warn("Failed to resynchronize the applications for " + getName() + ", reloading them", e); //$NON-NLS-1$ //$NON-NLS-2$
+            refreshApps(null);
+        }
+    }
+
+    /**
+     * How long the connection was down the last time it was lost, or -1 if it has not been lost.
+     */
+    public long getLastOutage() {
+        return lastOutageMs;
     }
 
     @Override
@@ -770,7 +1362,7 @@ public abstract class CodewindConnection {
             uri = new URI(uri.getScheme(), uri.getAuthority(), uri.getPath(), query, uri.getFragment());
             return uri;
         } catch (Exception e) {
-            Logger.logWarning("Failed to get the project URI for the query: " + projectQuery, e);  //$NON-NLS-1$
+            LOG.warn("Failed to get the project URI for the query: " + projectQuery, e);  //$NON-NLS-1$
         }
         return null;
     }
@@ -779,12 +1371,20 @@ public abstract class CodewindConnection {
         return false;
     }
 
+    /**
+     * @return The applications sorted by name.  The list is a snapshot that does not change.
+     */
     public List<CodewindApplication> getSortedApps() {
-        List<CodewindApplication> apps = getApps()
-                .stream()
-                .sorted(comparing(CodewindApplication::getName))
-                .collect(toList());
-        return apps;
+        return sortedApps;
+    }
+
+    /**
+     * @return The index of the application in {@link #getSortedApps()}, or a negative value if it is not there.
+     */
+    public int getSortedIndex(CodewindApplication app) {
+        List<CodewindApplication> apps = sortedApps;
+        int index = Collections.binarySearch(apps, app, CodewindApplication.NAME_ORDER);
+        return index >= 0 && apps.get(index) == app ? index : -1;
     }
 
     public void setBaseUri(URI uri) {
@@ -805,4 +1405,35 @@ public abstract class CodewindConnection {
     public int hashCode() {
         return name.hashCode();
     }
+
+    /**
+     * A request for a single project.  Callers can join it until it is sent.
+     */
+    private static final class ProjectRequest {
+        private final CompletableFuture<JSONObject> result = new CompletableFuture<JSONObject>();
+        // The request that was in flight when this one was created
+        private CompletableFuture<JSONObject> previous;
+        private boolean sent = false;
+
+        private ProjectRequest(CompletableFuture<JSONObject> previous) {
+            this.previous = previous;
+        }
+
+        /**
+         * @return true if the request has not been sent yet, so the caller can share its result
+         */
+        private synchronized boolean join() {
+            return !sent;
+        }
+
+        private synchronized void send() {
+            sent = true;
+        }
+
+        private synchronized CompletableFuture<JSONObject> takePrevious() {
+            CompletableFuture<JSONObject> previous = this.previous;
+            this.previous = null;
+            return previous;
+        }
+    }
 }
@@ -18,7 +18,9 @@ import okhttp3.OkHttpClient;
 import org.eclipse.codewind.intellij.core.*;
 import org.eclipse.codewind.intellij.core.cli.AuthToken;
 import org.eclipse.codewind.intellij.core.console.ProjectLogInfo;
+import org.eclipse.codewind.intellij.core.console.LogSearchIndex;
 import org.eclipse.codewind.intellij.core.console.SocketConsole;
+import org.eclipse.codewind.intellij.core.console.SocketConsoleIndex;
 import org.eclipse.codewind.intellij.core.constants.CoreConstants;
 import org.eclipse.codewind.intellij.core.constants.ProjectType;
 import org.eclipse.codewind.intellij.core.constants.StartMode;
@@ -27,11 +29,10 @@ import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
-import java.io.IOException;
 import java.net.URI;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import static org.eclipse.codewind.intellij.core.messages.CodewindCoreBundle.message;
@@ -44,17 +45,44 @@ import static org.eclipse.codewind.intellij.core.messages.CodewindCoreBundle.mes
  */
 public class CodewindSocket {
 
+    private static final Logger LOG = Logger.getInstance(CodewindSocket.class);
+
     private final CodewindConnection connection;
 
     public final Socket socket;
 
     public final URI socketUri;
 
-    private boolean hasLostConnection = false;
+    private volatile boolean hasLostConnection = false;
+
+    // When the connection was lost, 0 if it is not lost
+    private volatile long outageStart = 0;
+
+    // Reconnect backoff.  socket.io doubles the delay after each failed attempt up to the maximum and
+    // randomizes each delay by the factor, so clients do not all reconnect at the same time after a
+    // Codewind restart.
+    private static final long RECONNECT_DELAY_MS = 500;
+    private static final long RECONNECT_DELAY_MAX_MS = 30000;
+    private static final double RECONNECT_RANDOMIZATION = 0.5;
+
+    // The reason given for the disconnect event when the socket is closed by the client
+    private static final String CLIENT_DISCONNECT = "io client disconnect"; //$NON-NLS-1$
 
     private volatile boolean hasConnected = false;
 
-     private Set<SocketConsole> socketConsoles = new HashSet<>();
+    // Released when the socket first connects
+    private final CountDownLatch firstConnection = new CountDownLatch(1);
+
+    private final SocketConsoleIndex socketConsoles = new SocketConsoleIndex();
+
+    // Runs the event handlers off the socket.io event thread, keeping the order of events for each project
+    private final SocketEventExecutor eventExecutor;
+
+    // Coalesces the project update events so the model and UI are updated once per project per window
+    private final CoalescingEventDispatcher eventDispatcher;
+
+    // Records the events when the org.eclipse.codewind.socketRecordDir system property is set, can be null
+    private final SocketEventRecorder recorder;
 
     // Track the previous Exception so we don't spam the logs with the same connection failure message
     private Throwable previousException;
@@ -74,13 +102,19 @@ public class CodewindSocket {
             EVENT_PROJECT_SETTINGS_CHANGED = "projectSettingsChanged";
 
 	public CodewindSocket(CodewindConnection connection, AuthToken authToken) {
-        this.connection = connection;
+        this(connection, authToken, getSocketUri(connection), true);
+    }
 
-        URI uri = connection.getBaseURI();
-        if (connection.getSocketNamespace() != null) {
-            uri = uri.resolve(connection.getSocketNamespace());
-        }
-        socketUri = uri;
+    /**
+     * @param connect false to create the socket without connecting it, so that events can be fed to the
+     *                handlers by the {@link SocketEventReplayer}
+     */
+    CodewindSocket(CodewindConnection connection, AuthToken authToken, URI socketUri, boolean connect) {
+        this.connection = connection;
+        this.eventExecutor = new SocketEventExecutor(connection.getName());
+        this.eventDispatcher = new CoalescingEventDispatcher(connection, eventExecutor);
+        this.recorder = connect ? SocketEventRecorder.create(connection.getName()) : null;
+        this.socketUri = socketUri;
 
 		OkHttpClient.Builder builder = new OkHttpClient.Builder();
 		if (authToken != null) {
@@ -96,6 +130,10 @@ public class CodewindSocket {
 			IO.Options opts = new IO.Options();
 			opts.callFactory = okHttpClient;
 			opts.webSocketFactory = okHttpClient;
+			opts.reconnection = true;
+			opts.reconnectionDelay = RECONNECT_DELAY_MS;
+			opts.reconnectionDelayMax = RECONNECT_DELAY_MAX_MS;
+			opts.randomizationFactor = RECONNECT_RANDOMIZATION;
 			socket = IO.socket(socketUri, opts);
 
         socket.on(Socket.EVENT_CONNECT, new Emitter.Listener() {
@@ -107,18 +145,35 @@ public class CodewindSocket {
 						obj.put("token", authToken.getToken());
 						socket.emit("authentication", obj.toString());
 					} catch (Exception e) {
-						Logger.logWarning("An error occurred trying to pass the authentication token to the socket", e);
+						LOG.warn("An error occurred trying to pass the authentication token to the socket", e);
 						return;
 					}
 				}
                 if (!hasConnected) {
                     hasConnected = true;
-                    Logger.log("SocketIO connect success @ " + socketUri); //$NON-NLS-1$
+                    firstConnection.countDown();
+                    LOG.info("SocketIO connect success @ " + socketUri); //$NON-NLS-1$
                 }
                 if (hasLostConnection) {
-                    connection.clearConnectionError();
+                    hasLostConnection = false;
                     previousException = null;
+                    long outage = System.currentTimeMillis() - outageStart;
+                    outageStart = 0;
+                    LOG.info("SocketIO reconnected @ " + socketUri + " after " + outage + " ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                    // Restoring the connection makes requests to Codewind so keep it off the socket thread
+                    CoreUtil.runAsync("Restore the connection to " + connection.getName(), //$NON-NLS-1$
+                            () -> connection.clearConnectionError(outage));
+                }
+            }
+        }).on(Socket.EVENT_DISCONNECT, new Emitter.Listener() {
+            @Override
+            public void call(Object... arg0) {
+                if (arg0.length > 0 && CLIENT_DISCONNECT.equals(arg0[0])) {
+                    // Closed by this client
+                    return;
                 }
+                LOG.warn("SocketIO disconnected @ " + socketUri + ": " + (arg0.length > 0 ? arg0[0] : null)); //$NON-NLS-1$ //$NON-NLS-2$
+                onConnectionLost();
             }
         }).on(Socket.EVENT_CONNECT_ERROR, new Emitter.Listener() {
             @Override
@@ -127,154 +182,127 @@ public class CodewindSocket {
                     Throwable e = Logger.unwrap((Exception) arg0[0]);
                     if (previousException == null || !e.getMessage().equals(previousException.getMessage())) {
                         previousException = e;
-                        Logger.logWarning("SocketIO Connect Error @ " + socketUri, e); //$NON-NLS-1$
+                        LOG.warn("SocketIO Connect Error @ " + socketUri, e); //$NON-NLS-1$
                     }
                 }
-                connection.onConnectionError();
-                hasLostConnection = true;
+                onConnectionLost();
             }
         }).on(Socket.EVENT_ERROR, new Emitter.Listener() {
             @Override
             public void call(Object... arg0) {
                 if (arg0[0] instanceof Exception) {
 					Exception e = (Exception) arg0[0];
-					Logger.logWarning("SocketIO Error @ " + socketUri, Logger.unwrap(e)); //$NON-NLS-1$
+					LOG.warn("SocketIO Error @ " + socketUri, Logger.unwrap(e)); //$NON-NLS-1$
                 }
             }
         }).on(Socket.EVENT_MESSAGE, new Emitter.Listener() {
             @Override
             public void call(Object... arg0) {
                 // Don't think this is ever used
-                Logger.log("SocketIO EVENT_MESSAGE " + arg0[0].toString()); //$NON-NLS-1$
+                logEvent("SocketIO EVENT_MESSAGE", arg0[0]); //$NON-NLS-1$
             }
         }).on(EVENT_PROJECT_CREATION, new Emitter.Listener() {
             @Override
             public void call(Object... arg0) {
-                Logger.log(EVENT_PROJECT_CREATION + ": " + arg0[0].toString()); //$NON-NLS-1$
+                logEvent(EVENT_PROJECT_CREATION, arg0[0]);
 
-                try {
-                    JSONObject event = new JSONObject(arg0[0].toString());
-                    onProjectCreation(event);
-                } catch (JSONException e) {
-                    Logger.logWarning("Error parsing JSON: " + arg0[0].toString(), e); //$NON-NLS-1$
-                }
+                handleEvent(EVENT_PROJECT_CREATION, arg0[0], CodewindSocket.this::onProjectCreation);
             }
         }).on(EVENT_PROJECT_CHANGED, new Emitter.Listener() {
             @Override
             public void call(Object... arg0) {
-                Logger.log(EVENT_PROJECT_CHANGED + ": " + arg0[0].toString()); //$NON-NLS-1$
+                logEvent(EVENT_PROJECT_CHANGED, arg0[0]);
 
-                try {
-                    JSONObject event = new JSONObject(arg0[0].toString());
-                    onProjectChanged(event);
-                } catch (JSONException e) {
-                    Logger.logWarning("Error parsing JSON: " + arg0[0].toString(), e); //$NON-NLS-1$
-                }
+                handleEvent(EVENT_PROJECT_CHANGED, arg0[0], CodewindSocket.this::onProjectChanged);
             }
         }).on(EVENT_PROJECT_SETTINGS_CHANGED, new Emitter.Listener() {
             @Override
             public void call(Object... arg0) {
-                Logger.log(EVENT_PROJECT_SETTINGS_CHANGED + ": " + arg0[0].toString()); //$NON-NLS-1$
+                logEvent(EVENT_PROJECT_SETTINGS_CHANGED, arg0[0]);
 
-                try {
-                    JSONObject event = new JSONObject(arg0[0].toString());
-                    onProjectSettingsChanged(event);
-                } catch (JSONException e) {
-                    Logger.logWarning("Error parsing JSON: " + arg0[0].toString(), e); //$NON-NLS-1$
-                }
+                handleEvent(EVENT_PROJECT_SETTINGS_CHANGED, arg0[0], CodewindSocket.this::onProjectSettingsChanged);
             }
         }).on(EVENT_PROJECT_STATUS_CHANGE, new Emitter.Listener() {
             @Override
             public void call(Object... arg0) {
-                Logger.log(EVENT_PROJECT_STATUS_CHANGE + ": " + arg0[0].toString()); //$NON-NLS-1$
+                logEvent(EVENT_PROJECT_STATUS_CHANGE, arg0[0]);
 
-                try {
-                    JSONObject event = new JSONObject(arg0[0].toString());
-                    onProjectStatusChanged(event);
-                } catch (JSONException e) {
-                    Logger.logWarning("Error parsing JSON: " + arg0[0].toString(), e); //$NON-NLS-1$
-                }
+                handleEvent(EVENT_PROJECT_STATUS_CHANGE, arg0[0], CodewindSocket.this::onProjectStatusChanged);
             }
         }).on(EVENT_PROJECT_RESTART, new Emitter.Listener() {
             @Override
             public void call(Object... arg0) {
-                Logger.log(EVENT_PROJECT_RESTART + ": " + arg0[0].toString()); //$NON-NLS-1$
+                logEvent(EVENT_PROJECT_RESTART, arg0[0]);
 
-                try {
-                    JSONObject event = new JSONObject(arg0[0].toString());
-                    onProjectRestart(event);
-                } catch (JSONException e) {
-                    Logger.logWarning("Error parsing JSON: " + arg0[0].toString(), e); //$NON-NLS-1$
-                }
+                handleEvent(EVENT_PROJECT_RESTART, arg0[0], CodewindSocket.this::onProjectRestart);
             }
         }).on(EVENT_PROJECT_CLOSED, new Emitter.Listener() {
             @Override
             public void call(Object... arg0) {
-                Logger.log(EVENT_PROJECT_CLOSED + ": " + arg0[0].toString()); //$NON-NLS-1$
+                logEvent(EVENT_PROJECT_CLOSED, arg0[0]);
 
-                try {
-                    JSONObject event = new JSONObject(arg0[0].toString());
-                    onProjectClosed(event);
-                } catch (JSONException e) {
-                    Logger.logWarning("Error parsing JSON: " + arg0[0].toString(), e); //$NON-NLS-1$
-                }
+                handleEvent(EVENT_PROJECT_CLOSED, arg0[0], CodewindSocket.this::onProjectClosed);
             }
         }).on(EVENT_PROJECT_DELETION, new Emitter.Listener() {
             @Override
             public void call(Object... arg0) {
-                Logger.log(EVENT_PROJECT_DELETION + ": " + arg0[0].toString()); //$NON-NLS-1$
+                logEvent(EVENT_PROJECT_DELETION, arg0[0]);
 
-                try {
-                    JSONObject event = new JSONObject(arg0[0].toString());
-                    onProjectDeletion(event);
-                } catch (JSONException e) {
-                    Logger.logWarning("Error parsing JSON: " + arg0[0].toString(), e); //$NON-NLS-1$
-                }
+                handleEvent(EVENT_PROJECT_DELETION, arg0[0], CodewindSocket.this::onProjectDeletion);
             }
         }).on(EVENT_PROJECT_LOGS_LIST_CHANGED, new Emitter.Listener() {
             @Override
             public void call(Object... arg0) {
-                Logger.log(EVENT_PROJECT_LOGS_LIST_CHANGED + ": " + arg0[0].toString()); //$NON-NLS-1$
+                logEvent(EVENT_PROJECT_LOGS_LIST_CHANGED, arg0[0]);
 
-                try {
-                    JSONObject event = new JSONObject(arg0[0].toString());
-                    onProjectLogsListChanged(event);
-                } catch (JSONException e) {
-                    Logger.logWarning("Error parsing JSON: " + arg0[0].toString(), e); //$NON-NLS-1$
-                }
+                handleEvent(EVENT_PROJECT_LOGS_LIST_CHANGED, arg0[0], CodewindSocket.this::onProjectLogsListChanged);
             }
         }).on(EVENT_LOG_UPDATE, new Emitter.Listener() {
             @Override
             public void call(Object... arg0) {
                 // can't print this whole thing because the logs strings flood the output
-                Logger.log(EVENT_LOG_UPDATE);
+                LOG.debug(EVENT_LOG_UPDATE);
 
-                try {
-                    JSONObject event = new JSONObject(arg0[0].toString());
-                    onLogUpdate(event);
-                } catch (JSONException e) {
-                    Logger.logWarning("Error parsing JSON: " + arg0[0].toString(), e); //$NON-NLS-1$
-                }
+                handleEvent(EVENT_LOG_UPDATE, arg0[0], CodewindSocket.this::onLogUpdate);
             }
         }).on(EVENT_PROJECT_VALIDATED, new Emitter.Listener() {
             @Override
             public void call(Object... arg0) {
-                Logger.log(EVENT_PROJECT_VALIDATED + ": " + arg0[0].toString()); //$NON-NLS-1$
+                logEvent(EVENT_PROJECT_VALIDATED, arg0[0]);
 
-                try {
-                    JSONObject event = new JSONObject(arg0[0].toString());
-                    onValidationEvent(event);
-                } catch (JSONException e) {
-                    Logger.logWarning("Error parsing JSON: " + arg0[0].toString(), e); //$NON-NLS-1$
-                }
+                handleEvent(EVENT_PROJECT_VALIDATED, arg0[0], CodewindSocket.this::onValidationEvent);
             }
         });
 
-        socket.connect();
-        Logger.log("Created CodewindSocket connected to " + socketUri); //$NON-NLS-1$
+        if (connect) {
+            socket.connect();
+            LOG.info("Created CodewindSocket connected to " + socketUri); //$NON-NLS-1$
+        }
+    }
+
+    private static URI getSocketUri(CodewindConnection connection) {
+        URI uri = connection.getBaseURI();
+        if (connection.getSocketNamespace() != null) {
+            uri = uri.resolve(connection.getSocketNamespace());
+        }
+        return uri;
+    }
+
+    private void onConnectionLost() {
+        // Failures before the first connect are handled by CodewindConnection.connect
+        if (hasConnected && !hasLostConnection) {
+            outageStart = System.currentTimeMillis();
+            hasLostConnection = true;
+        }
+        connection.onConnectionError();
     }
 
     public void close() {
+        eventExecutor.shutdown();
+        eventDispatcher.dispose();
+        if (recorder != null) {
+            recorder.close();
+        }
         if (socket != null) {
             if (socket.connected()) {
                 socket.disconnect();
@@ -283,6 +311,41 @@ public class CodewindSocket {
         }
     }
 
+    /**
+     * The event payloads can be large and arrive in bursts so only log them when debug is enabled.
+     */
+    private static void logEvent(String event, Object data) {
+        LOG.debug(() -> event + ": " + Logger.truncate(data)); //$NON-NLS-1$
+    }
+
+    /**
+     * Parse the event data on the socket thread and queue the handler on the event executor lane for the project.
+     */
+    private void handleEvent(String name, Object data, EventHandler handler) {
+        if (recorder != null) {
+            recorder.record(name, data);
+        }
+        final JSONObject event;
+        try {
+            event = new JSONObject(data.toString());
+        } catch (JSONException e) {
+            LOG.warn(() -> "Error parsing JSON: " + Logger.truncate(data), e); //$NON-NLS-1$
+            return;
+        }
+        String projectID = event.optString(CoreConstants.KEY_PROJECT_ID, null);
+        eventExecutor.execute(projectID, () -> {
+            try {
+                handler.handle(event);
+            } catch (JSONException e) {
+                LOG.warn(() -> "Error handling event: " + Logger.truncate(event), e); //$NON-NLS-1$
+            }
+        });
+    }
+
+    private interface EventHandler {
+        void handle(JSONObject event) throws JSONException;
+    }
+
     private void onProjectCreation(JSONObject event) throws JSONException {
         String projectID = event.getString(CoreConstants.KEY_PROJECT_ID);
         connection.refreshApps(projectID);
@@ -291,7 +354,7 @@ public class CodewindSocket {
             app.setEnabled(true);
             CoreUtil.updateApplication(app);
         } else {
-            Logger.logWarning("No application found matching the project id for the project creation event: " + projectID); //$NON-NLS-1$
+            LOG.warn("No application found matching the project id for the project creation event: " + projectID); //$NON-NLS-1$
         }
     }
 
@@ -299,31 +362,25 @@ public class CodewindSocket {
         String projectID = event.getString(CoreConstants.KEY_PROJECT_ID);
         CodewindApplication app = connection.getAppByID(projectID);
         if (app == null) {
-            Logger.logWarning("No application found matching the project id for the project changed event: " + projectID); //$NON-NLS-1$
+            LOG.warn("No application found matching the project id for the project changed event: " + projectID); //$NON-NLS-1$
             return;
         }
 
-        CodewindApplicationFactory.updateApp(app, event);
-
-        // Reconnect debugger if necessary
-        if (StartMode.DEBUG_MODES.contains(app.getStartMode()) && app.getDebugPort() != -1) {
-            // For IntelliJ, we will not automatically connect since the project might not be opened.  The user simply has to
-            // run the Attach Debugger action
-            app.reconnectDebugger();
-        }
-
-        CoreUtil.updateApplication(app);
+        // The dispatcher will reconnect the debugger if necessary.  For IntelliJ, we will not automatically connect since
+        // the project might not be opened.  The user simply has to run the Attach Debugger action
+        eventDispatcher.dispatch(projectID, event, true);
     }
 
     private void onProjectSettingsChanged(JSONObject event) throws JSONException {
         String projectID = event.getString(CoreConstants.KEY_PROJECT_ID);
         CodewindApplication app = connection.getAppByID(projectID);
         if (app == null) {
-            Logger.logWarning("No application found matching the project id for the project settings changed event: " + projectID); //$NON-NLS-1$
+            LOG.warn("No application found matching the project id for the project settings changed event: " + projectID); //$NON-NLS-1$
             return;
         }
+        eventDispatcher.flush(projectID);
 
-        app.setEnabled(true);
+        int changes = app.setEnabled(true);
 
         // Check the status
         if (event.has(CoreConstants.KEY_STATUS)) {
@@ -333,7 +390,7 @@ public class CodewindSocket {
                     String errorMsg = event.getString(CoreConstants.KEY_ERROR);
                     CoreUtil.openDialog(true, message("ProjectSettingsUpdateErrorTitle"), errorMsg);
                 } else {
-                    Logger.logWarning("The project settings request failed but there is no error message in the result");
+                    LOG.warn("The project settings request failed but there is no error message in the result");
                 }
                 return;
             }
@@ -341,20 +398,19 @@ public class CodewindSocket {
 
         // Update project
         if (event.has(CoreConstants.KEY_CONTEXT_ROOT)) {
-            app.setContextRoot(event.getString(CoreConstants.KEY_CONTEXT_ROOT));
+            changes |= app.setContextRoot(event.getString(CoreConstants.KEY_CONTEXT_ROOT));
         }
         if (event.has(CoreConstants.KEY_PORTS) && (event.get(CoreConstants.KEY_PORTS) instanceof JSONObject)) {
             JSONObject portsObj = event.getJSONObject(CoreConstants.KEY_PORTS);
             if (portsObj.has(CoreConstants.KEY_INTERNAL_PORT)) {
-                app.setContainerAppPort(portsObj.getString(CoreConstants.KEY_INTERNAL_PORT));
+                changes |= app.setContainerAppPort(portsObj.getString(CoreConstants.KEY_INTERNAL_PORT));
             }
             if (portsObj.has(CoreConstants.KEY_INTERNAL_DEBUG_PORT)) {
-                app.setContainerDebugPort(portsObj.getString(CoreConstants.KEY_INTERNAL_DEBUG_PORT));
+                changes |= app.setContainerDebugPort(portsObj.getString(CoreConstants.KEY_INTERNAL_DEBUG_PORT));
             }
         }
 
-
-        CoreUtil.updateApplication(app);
+        CoreUtil.updateApplication(app, changes);
     }
 
     private void onProjectStatusChanged(JSONObject event) throws JSONException {
@@ -367,23 +423,23 @@ public class CodewindSocket {
             return;
         }
 
-        CodewindApplicationFactory.updateApp(app, event);
-        CoreUtil.updateApplication(app);
+        eventDispatcher.dispatch(projectID, event, false);
     }
 
     private void onProjectRestart(JSONObject event) throws JSONException {
         String projectID = event.getString(CoreConstants.KEY_PROJECT_ID);
         CodewindApplication app = connection.getAppByID(projectID);
         if (app == null) {
-            Logger.logWarning("No application found matching the project id for the project restart event: " + projectID); //$NON-NLS-1$
+            LOG.warn("No application found matching the project id for the project restart event: " + projectID); //$NON-NLS-1$
             return;
         }
+        eventDispatcher.flush(projectID);
 
-        app.setEnabled(true);
+        int changes = app.setEnabled(true);
 
         String status = event.getString(CoreConstants.KEY_STATUS);
         if (!CoreConstants.REQUEST_STATUS_SUCCESS.equalsIgnoreCase(status)) {
-            Logger.logWarning("Project restart failed on the application: " + event.toString()); //$NON-NLS-1$
+            LOG.warn("Project restart failed on the application: " + Logger.truncate(event)); //$NON-NLS-1$
             CoreUtil.openDialog(true,
                     message("Socket_ErrRestartingProjectDialogTitle"),
                     message("Socket_ErrRestartingProjectDialogMsg",
@@ -397,9 +453,9 @@ public class CodewindSocket {
         // The ports object should always have an http port
         if (portsObj != null && portsObj.has(CoreConstants.KEY_EXPOSED_PORT)) {
             int port = CoreUtil.parsePort(portsObj.getString(CoreConstants.KEY_EXPOSED_PORT));
-            app.setHttpPort(port);
+            changes |= app.setHttpPort(port);
         } else {
-            Logger.logWarning("No http port on project restart event for: " + app.name); //$NON-NLS-1$
+            LOG.warn("No http port on project restart event for: " + app.name); //$NON-NLS-1$
         }
 
         // Debug port will be missing if the restart was into Run mode.
@@ -407,18 +463,18 @@ public class CodewindSocket {
         if (portsObj != null && portsObj.has(CoreConstants.KEY_EXPOSED_DEBUG_PORT)) {
             debugPort = CoreUtil.parsePort(portsObj.getString(CoreConstants.KEY_EXPOSED_DEBUG_PORT));
         }
-        app.setDebugPort(debugPort);
+        changes |= app.setDebugPort(debugPort);
 
         StartMode startMode = StartMode.get(event);
-        app.setStartMode(startMode);
+        changes |= app.setStartMode(startMode);
 
         if (event.has(CoreConstants.KEY_CONTAINER_ID)) {
             String containerId = event.getString(CoreConstants.KEY_CONTAINER_ID);
-            app.setContainerId(containerId);
+            changes |= app.setContainerId(containerId);
         }
 
         // Update the application
-        CoreUtil.updateApplication(app);
+        CoreUtil.updateApplication(app, changes);
 
         // Make sure no old debugger is running
         app.clearDebugger();
@@ -432,9 +488,10 @@ public class CodewindSocket {
         String projectID = event.getString(CoreConstants.KEY_PROJECT_ID);
         CodewindApplication app = connection.getAppByID(projectID);
         if (app == null) {
-            Logger.logWarning("No application found for project being closed: " + projectID); //$NON-NLS-1$
+            LOG.warn("No application found for project being closed: " + projectID); //$NON-NLS-1$
             return;
         }
+        eventDispatcher.flush(projectID);
         app.dispose();
         app.connection.refreshApps(app.projectID);
         CoreUtil.updateApplication(app);
@@ -442,16 +499,17 @@ public class CodewindSocket {
 
     private void onProjectDeletion(JSONObject event) throws JSONException {
         String projectID = event.getString(CoreConstants.KEY_PROJECT_ID);
+        eventDispatcher.discard(projectID);
         CodewindApplication app = connection.getAppByID(projectID);
         if (app == null) {
-            Logger.log("No application found for project being deleted: " + projectID);
+            LOG.info("No application found for project being deleted: " + projectID);
             return;
         }
         connection.removeApp(projectID);
     }
 
     public void registerSocketConsole(SocketConsole console) {
-        Logger.log("Register socketConsole for project: " + console.app.name); //$NON-NLS-1$
+        LOG.info("Register socketConsole for project: " + console.app.name); //$NON-NLS-1$
         this.socketConsoles.add(console);
     }
 
@@ -459,22 +517,33 @@ public class CodewindSocket {
         this.socketConsoles.remove(console);
     }
 
+    public SocketConsoleIndex getSocketConsoles() {
+        return socketConsoles;
+    }
+
     private void onLogUpdate(JSONObject event) throws JSONException {
         String projectID = event.getString(CoreConstants.KEY_PROJECT_ID);
         String type = event.getString(CoreConstants.KEY_LOG_TYPE);
         String logName = event.getString(CoreConstants.KEY_LOG_NAME);
-        Logger.log("Update the " + logName + " log for project: " + projectID);
-
-        for (SocketConsole console : this.socketConsoles) {
-            if (console.app.projectID.equals(projectID) && console.logInfo.isThisLogInfo(type, logName)) {
-                try {
-                    String logContents = event.getString(CoreConstants.KEY_LOGS);
-                    boolean reset = event.getBoolean(CoreConstants.KEY_LOG_RESET);
-                    console.update(logContents, reset);
-                } catch (IOException e) {
-                    Logger.logWarning("Error updating console " + logName, e);
-                }
-            }
+        LOG.debug(() -> "Update the " + logName + " log for project: " + projectID);
+
+        String logContents = event.getString(CoreConstants.KEY_LOGS);
+        boolean reset = event.getBoolean(CoreConstants.KEY_LOG_RESET);
+
+        LogSearchIndex index = LogSearchIndex.getInstance();
+        if (index.isEnabled()) {
+            CodewindApplication app = connection.getAppByID(projectID);
+            index.add(index.getSource(connection.getConid(), projectID, app != null ? app.name : null, type, logName), logContents, reset);
+        }
+
+        Set<SocketConsole> consoles = this.socketConsoles.route(projectID, type, logName);
+        if (consoles.isEmpty()) {
+            LOG.debug(() -> "No console registered for the " + logName + " log for project: " + projectID);
+            return;
+        }
+        SocketConsole.archive(consoles, logContents, reset);
+        for (SocketConsole console : consoles) {
+            console.update(logContents, reset);
         }
     }
 
@@ -501,13 +570,14 @@ public class CodewindSocket {
             List<ProjectLogInfo> logInfos = CodewindConnection.getLogs(logs, type);
             app.addLogInfos(logInfos);
         }
+        connection.getIndexedLogStreams().update(app);
     }
 
     private void onValidationEvent(JSONObject event) throws JSONException {
         String projectID = event.getString(CoreConstants.KEY_PROJECT_ID);
         CodewindApplication app = connection.getAppByID(projectID);
         if (app == null) {
-            Logger.logWarning("No application found for project: " + projectID); //$NON-NLS-1$
+            LOG.warn("No application found for project: " + projectID); //$NON-NLS-1$
             return;
         }
 
@@ -548,7 +618,7 @@ public class CodewindSocket {
                 }
             }
         } else {
-            Logger.log("Validation event indicates failure but no validation results,"); //$NON-NLS-1$
+            LOG.info("Validation event indicates failure but no validation results,"); //$NON-NLS-1$
         }
     }
 
@@ -566,23 +636,33 @@ public class CodewindSocket {
         return false;
     }
 
-    boolean blockUntilFirstConnection() {
-        final int delay = 100;
-        final int timeout = 2500;
-        int waited = 0;
-        while (!hasConnected && waited < timeout) {
-            try {
-                Thread.sleep(delay);
-                waited += delay;
+    /**
+     * Add the project list to the recording, if the events are being recorded.
+     */
+    void recordProjectList(String projectsJson) {
+        if (recorder != null) {
+            recorder.record(SocketEventRecorder.PROJECT_LIST, projectsJson);
+        }
+    }
 
-                if (waited % (5 * delay) == 0) {
-                    Logger.log("Waiting for CodewindSocket initial connection"); //$NON-NLS-1$
-                }
-            } catch (InterruptedException e) {
-                Logger.logWarning(e);
-            }
+    public SocketEventExecutor getEventExecutor() {
+        return eventExecutor;
+    }
+
+    public CoalescingEventDispatcher getEventDispatcher() {
+        return eventDispatcher;
+    }
+
+    boolean blockUntilFirstConnection() {
+        final long timeout = 2500;
+        long start = System.currentTimeMillis();
+        try {
+            firstConnection.await(timeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            LOG.warn(e);
+            Thread.currentThread().interrupt();
         }
-        Logger.log("CodewindSocket initialized in time ? " + hasConnected); //$NON-NLS-1$
+        LOG.info("CodewindSocket initialized in time ? " + hasConnected + " (" + (System.currentTimeMillis() - start) + " ms)"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
         return hasConnected;
     }
 }
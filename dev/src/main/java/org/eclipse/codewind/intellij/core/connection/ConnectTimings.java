@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2020 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.codewind.intellij.core.connection;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * How long each phase of bringing up a connection took.  Some phases run at the same time, so the
+ * total can be less than the sum of the phases.
+ */
+public class ConnectTimings {
+
+    public static final String READY = "ready"; //$NON-NLS-1$
+    public static final String ENV = "env"; //$NON-NLS-1$
+    public static final String SOCKET = "socket"; //$NON-NLS-1$
+    public static final String PROJECT_LIST = "projectList"; //$NON-NLS-1$
+    public static final String PROJECTS = "projects"; //$NON-NLS-1$
+
+    private final long start = System.currentTimeMillis();
+    private final Map<String, Long> phases = new LinkedHashMap<String, Long>();
+    private long total = -1;
+
+    /**
+     * Record a phase that ran for the given time.
+     */
+    public synchronized void record(String phase, long ms) {
+        phases.put(phase, ms);
+    }
+
+    /**
+     * Record a phase that started at the given time and has just finished.
+     *
+     * @return the current time, which can be used as the start of the next phase
+     */
+    public long recordSince(String phase, long phaseStart) {
+        long now = System.currentTimeMillis();
+        record(phase, now - phaseStart);
+        return now;
+    }
+
+    synchronized void done() {
+        total = System.currentTimeMillis() - start;
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    /**
+     * The time for each phase in ms, in the order they finished.
+     */
+    public synchronized Map<String, Long> getPhases() {
+        return new LinkedHashMap<String, Long>(phases);
+    }
+
+    /**
+     * The time to connect in ms, or -1 if the connection has not finished connecting.
+     */
+    public synchronized long getTotal() {
+        return total;
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("total=").append(total).append("ms"); //$NON-NLS-1$ //$NON-NLS-2$
+        for (Map.Entry<String, Long> phase : phases.entrySet()) {
+            builder.append(' ').append(phase.getKey()).append('=').append(phase.getValue()).append("ms"); //$NON-NLS-1$
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,391 @@
+/*******************************************************************************
+ * Copyright (c) 2020 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.codewind.intellij.core.connection;
+
+import com.intellij.openapi.application.PathManager;
+import org.eclipse.codewind.intellij.core.ApplicationState;
+import org.eclipse.codewind.intellij.core.CodewindApplication;
+import org.eclipse.codewind.intellij.core.CodewindIOExecutor;
+import org.eclipse.codewind.intellij.core.CoreUtil;
+import org.eclipse.codewind.intellij.core.Logger;
+import org.eclipse.codewind.intellij.core.constants.AppStatus;
+import org.eclipse.codewind.intellij.core.constants.BuildStatus;
+import org.eclipse.codewind.intellij.core.constants.ProjectLanguage;
+import org.eclipse.codewind.intellij.core.constants.ProjectType;
+import org.eclipse.codewind.intellij.core.constants.StartMode;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cache of the last known projects for each connection, kept on disk under the IDE system directory in
+ * <code>codewind/cache/projects.json</code>.
+ * <p>
+ * Connecting to Codewind and fetching the project list can take several seconds at startup.  Until a connection
+ * has its project list, the Codewind tree shows the projects from the cache, marked as stale, instead of an
+ * empty connection.  The cached projects are only for display, actions are only available on the live
+ * applications.  The cache is read on a background thread at startup, see {@link #loadAsync()}, and the tree
+ * only uses what has already been read.  The cache is written a short time after the projects change so that a
+ * burst of updates results in a single write.
+ * <p>
+ * The cache can be turned off by setting the <code>org.eclipse.codewind.stateCache</code> system property to false.
+ */
+public class ConnectionCache {
+
+    private static final Logger LOG = Logger.getInstance(ConnectionCache.class);
+
+    public static final String ENABLED_PROPERTY = "org.eclipse.codewind.stateCache"; //$NON-NLS-1$
+    private static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY)); //$NON-NLS-1$
+
+    private static final String CACHE_FILE = "codewind/cache/projects.json"; //$NON-NLS-1$
+    private static final int CACHE_VERSION = 1;
+    private static final long SAVE_DELAY_MS = 2000;
+
+    private static final String KEY_VERSION = "version"; //$NON-NLS-1$
+    private static final String KEY_CONNECTIONS = "connections"; //$NON-NLS-1$
+    private static final String KEY_ID = "id"; //$NON-NLS-1$
+    private static final String KEY_NAME = "name"; //$NON-NLS-1$
+    private static final String KEY_PROJECTS = "projects"; //$NON-NLS-1$
+    private static final String KEY_TYPE = "type"; //$NON-NLS-1$
+    private static final String KEY_LANGUAGE = "language"; //$NON-NLS-1$
+    private static final String KEY_LOCATION = "location"; //$NON-NLS-1$
+    private static final String KEY_APP_STATUS = "appStatus"; //$NON-NLS-1$
+    private static final String KEY_BUILD_STATUS = "buildStatus"; //$NON-NLS-1$
+    private static final String KEY_START_MODE = "startMode"; //$NON-NLS-1$
+    private static final String KEY_ENABLED = "enabled"; //$NON-NLS-1$
+
+    private static final ConnectionCache instance = new ConnectionCache();
+
+    // Last known projects by connection id, in the form they are written to disk, or null until the cache is
+    // loaded.  Guarded by this.
+    private Map<String, JSONObject> connections;
+    // Projects shown in place of the live applications by connection id, until the connection has its project
+    // list.  Guarded by this.
+    private final Map<String, List<CachedApplication>> staleApps = new LinkedHashMap<String, List<CachedApplication>>();
+    // Connections whose cached projects were discarded before the cache was loaded.  Guarded by this.
+    private final Set<String> discarded = new HashSet<String>();
+    private CompletableFuture<Void> loading;
+
+    private final AtomicBoolean saveScheduled = new AtomicBoolean(false);
+    private ScheduledExecutorService saver;
+
+    public static ConnectionCache getInstance() {
+        return instance;
+    }
+
+    private ConnectionCache() {
+        // Empty
+    }
+
+    private static Path getCacheFile() {
+        return Paths.get(PathManager.getSystemPath(), CACHE_FILE);
+    }
+
+    /**
+     * Read the cache file on the I/O executor, if it has not been read yet.  Called at startup so that the
+     * cached projects are in memory by the time the tree is shown, the tree is updated if they are not.
+     */
+    public synchronized CompletableFuture<Void> loadAsync() {
+        if (loading == null) {
+            loading = CodewindIOExecutor.getExecutor().runAsync("Load the Codewind project cache", () -> { //$NON-NLS-1$
+                if (load()) {
+                    CoreUtil.updateAll();
+                }
+            });
+        }
+        return loading;
+    }
+
+    /**
+     * Read the cache file if it has not been read yet.  The file is read without holding the lock so that
+     * the tree is not held up.
+     *
+     * @return true if cached projects were added for display
+     */
+    private boolean load() {
+        synchronized (this) {
+            if (connections != null) {
+                return false;
+            }
+        }
+        Map<String, JSONObject> loaded = new LinkedHashMap<String, JSONObject>();
+        Map<String, List<CachedApplication>> loadedApps = new LinkedHashMap<String, List<CachedApplication>>();
+        if (ENABLED) {
+            read(loaded, loadedApps);
+        }
+        synchronized (this) {
+            if (connections != null) {
+                return false;
+            }
+            connections = loaded;
+            for (Map.Entry<String, List<CachedApplication>> entry : loadedApps.entrySet()) {
+                // A connection that already has its project list or failed to connect does not show them
+                if (!discarded.contains(entry.getKey())) {
+                    staleApps.put(entry.getKey(), entry.getValue());
+                }
+            }
+            discarded.clear();
+            return !staleApps.isEmpty();
+        }
+    }
+
+    private static void read(Map<String, JSONObject> connections, Map<String, List<CachedApplication>> staleApps) {
+        Path file = getCacheFile();
+        if (!Files.exists(file)) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            JSONObject cache = new JSONObject(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+            if (cache.optInt(KEY_VERSION) != CACHE_VERSION) {
+                LOG.info("Ignoring the Codewind project cache since it has a different version: " + file); //$NON-NLS-1$
+                return;
+            }
+            JSONArray connArray = cache.getJSONArray(KEY_CONNECTIONS);
+            for (int i = 0; i < connArray.length(); i++) {
+                JSONObject connObj = connArray.getJSONObject(i);
+                String conid = connObj.getString(KEY_ID);
+                connections.put(conid, connObj);
+                staleApps.put(conid, readProjects(conid, connObj.getJSONArray(KEY_PROJECTS)));
+            }
+            LOG.info("Loaded the Codewind project cache in " + (System.currentTimeMillis() - start) + " ms: " + file); //$NON-NLS-1$ //$NON-NLS-2$
+        } catch (IOException | JSONException e) {
+            LOG.warn("An error occurred reading the Codewind project cache: " + file, e); //$NON-NLS-1$
+            connections.clear();
+            staleApps.clear();
+        }
+    }
+
+    private static List<CachedApplication> readProjects(String conid, JSONArray projects) throws JSONException {
+        List<CachedApplication> apps = new ArrayList<CachedApplication>(projects.length());
+        for (int i = 0; i < projects.length(); i++) {
+            JSONObject project = projects.getJSONObject(i);
+            apps.add(new CachedApplication(conid,
+                    project.getString(KEY_ID),
+                    project.getString(KEY_NAME),
+                    ProjectType.getType(project.optString(KEY_TYPE, ProjectType.TYPE_UNKNOWN.getId()), null),
+                    ProjectLanguage.getLanguage(project.optString(KEY_LANGUAGE, null)),
+                    project.optString(KEY_LOCATION, null),
+                    getEnum(AppStatus.class, project.optString(KEY_APP_STATUS, null), AppStatus.UNKNOWN),
+                    getEnum(BuildStatus.class, project.optString(KEY_BUILD_STATUS, null), BuildStatus.UNKOWN),
+                    getEnum(StartMode.class, project.optString(KEY_START_MODE, null), StartMode.RUN),
+                    project.optBoolean(KEY_ENABLED, true)));
+        }
+        apps.sort(CachedApplication.NAME_ORDER);
+        return Collections.unmodifiableList(apps);
+    }
+
+    private static <T extends Enum<T>> T getEnum(Class<T> type, String name, T defaultValue) {
+        if (name != null) {
+            try {
+                return Enum.valueOf(type, name);
+            } catch (IllegalArgumentException e) {
+                // Fall through to the default
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * The last known projects for a connection that does not have its project list yet.  Only returns what
+     * has already been read, so it can be called on the event dispatch thread.
+     *
+     * @return the projects in name order, or an empty list if the connection has its project list, nothing is
+     * cached or the cache has not been read yet
+     */
+    public synchronized List<CachedApplication> getStaleApps(CodewindConnection connection) {
+        List<CachedApplication> apps = staleApps.get(connection.getConid());
+        return apps == null ? Collections.<CachedApplication>emptyList() : apps;
+    }
+
+    /**
+     * Stop showing the cached projects for the connection, for example because it failed to connect.
+     * The projects are kept in the cache for the next startup.
+     */
+    public synchronized void discardStaleApps(CodewindConnection connection) {
+        staleApps.remove(connection.getConid());
+        if (connections == null && connection.getConid() != null) {
+            discarded.add(connection.getConid());
+        }
+    }
+
+    /**
+     * The connection has its project list: stop showing the cached projects and update the cache.
+     */
+    public void reconciled(CodewindConnection connection) {
+        discardStaleApps(connection);
+        scheduleSave();
+    }
+
+    /**
+     * Write the cache after a short delay.  Does nothing if a write is already scheduled.
+     */
+    public void scheduleSave() {
+        if (!ENABLED || !saveScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        synchronized (this) {
+            if (saver == null) {
+                saver = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "Codewind Project Cache"); //$NON-NLS-1$
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            saver.schedule(this::save, SAVE_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Write the cache now, for example when the plugin is unloaded.  Only connections that are connected are
+     * updated, the last known projects are kept for the others.
+     */
+    public void save() {
+        saveScheduled.set(false);
+        if (!ENABLED) {
+            return;
+        }
+        load();
+        JSONObject cache = new JSONObject();
+        synchronized (this) {
+            try {
+                for (CodewindConnection connection : ConnectionManager.getManager().activeConnections()) {
+                    if (connection.isConnected() && connection.getConid() != null) {
+                        connections.put(connection.getConid(), toJSON(connection));
+                    }
+                }
+                cache.put(KEY_VERSION, CACHE_VERSION);
+                cache.put(KEY_CONNECTIONS, new JSONArray(connections.values()));
+            } catch (JSONException e) {
+                LOG.warn("An error occurred creating the Codewind project cache", e); //$NON-NLS-1$
+                return;
+            }
+        }
+        Path file = getCacheFile();
+        try {
+            Files.createDirectories(file.getParent());
+            // Write to a temporary file first so a failed write does not leave a partial cache
+            Path tmpFile = file.resolveSibling(file.getFileName() + ".tmp"); //$NON-NLS-1$
+            Files.write(tmpFile, cache.toString().getBytes(StandardCharsets.UTF_8));
+            Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOG.debug("Saved the Codewind project cache: " + file); //$NON-NLS-1$
+        } catch (IOException e) {
+            LOG.warn("An error occurred writing the Codewind project cache: " + file, e); //$NON-NLS-1$
+        }
+    }
+
+    private static JSONObject toJSON(CodewindConnection connection) throws JSONException {
+        JSONArray projects = new JSONArray();
+        for (CodewindApplication app : connection.getSortedApps()) {
+            ApplicationState state = app.getState();
+            JSONObject project = new JSONObject();
+            project.put(KEY_ID, app.projectID);
+            project.put(KEY_NAME, app.name);
+            project.put(KEY_TYPE, app.projectType.getId());
+            project.put(KEY_LANGUAGE, app.projectLanguage.getId());
+            if (app.fullLocalPath != null) {
+                project.put(KEY_LOCATION, app.fullLocalPath.toString());
+            }
+            project.put(KEY_APP_STATUS, state.appStatus.name());
+            if (state.buildStatus != null) {
+                project.put(KEY_BUILD_STATUS, state.buildStatus.name());
+            }
+            if (state.startMode != null) {
+                project.put(KEY_START_MODE, state.startMode.name());
+            }
+            project.put(KEY_ENABLED, state.enabled);
+            projects.put(project);
+        }
+        JSONObject connObj = new JSONObject();
+        connObj.put(KEY_ID, connection.getConid());
+        connObj.put(KEY_NAME, connection.getName());
+        connObj.put(KEY_PROJECTS, projects);
+        return connObj;
+    }
+
+    /**
+     * Stop the cache writer, writing any pending changes first.
+     */
+    public void dispose() {
+        ScheduledExecutorService executor;
+        synchronized (this) {
+            executor = saver;
+            saver = null;
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        if (saveScheduled.get()) {
+            save();
+        }
+    }
+
+    /**
+     * The last known information for a project, shown in the tree until the connection has its project list.
+     */
+    public static class CachedApplication {
+
+        public static final Comparator<CachedApplication> NAME_ORDER =
+                Comparator.comparing((CachedApplication app) -> app.name).thenComparing(app -> app.projectID);
+
+        public final String conid;
+        public final String projectID;
+        public final String name;
+        public final ProjectType projectType;
+        public final ProjectLanguage projectLanguage;
+        public final String location;
+        public final AppStatus appStatus;
+        public final BuildStatus buildStatus;
+        public final StartMode startMode;
+        public final boolean enabled;
+
+        private CachedApplication(String conid, String projectID, String name, ProjectType projectType,
+                                  ProjectLanguage projectLanguage, String location, AppStatus appStatus,
+                                  BuildStatus buildStatus, StartMode startMode, boolean enabled) {
+            this.conid = conid;
+            this.projectID = projectID;
+            this.name = name;
+            this.projectType = projectType;
+            this.projectLanguage = projectLanguage;
+            this.location = location;
+            this.appStatus = appStatus;
+            this.buildStatus = buildStatus;
+            this.startMode = startMode;
+            this.enabled = enabled;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
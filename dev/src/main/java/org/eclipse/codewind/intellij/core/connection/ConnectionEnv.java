@@ -18,6 +18,8 @@ import org.json.JSONObject;
 
 public class ConnectionEnv extends JSONObjectResult {
 
+	private static final Logger LOG = Logger.getInstance(ConnectionEnv.class);
+
 	public static final String KEY_VERSION = "codewind_version"; //$NON-NLS-1$
 	public static final String UNKNOWN_VERSION = "unknown"; //$NON-NLS-1$
 	public static final String KEY_SOCKET_NAMESPACE = "socket_namespace"; //$NON-NLS-1$
@@ -80,7 +82,7 @@ public class ConnectionEnv extends JSONObjectResult {
 			try {
 				return new URL(urlStr);
 			} catch (Exception e) {
-				Logger.logWarning("The Tekton dashboard URL is not valid: " + urlStr, e);
+				LOG.warn("The Tekton dashboard URL is not valid: " + urlStr, e);
 			}
 			return null;
 		}
@@ -29,6 +29,8 @@ import java.util.List;
  */
 public class ConnectionManager {
 
+    private static final Logger LOG = Logger.getInstance(ConnectionManager.class);
+
     // Singleton instance. Never access this directly. Use the getManager() method.
     private static ConnectionManager instance;
 
@@ -36,15 +38,20 @@ public class ConnectionManager {
     private List<CodewindConnection> connections = new ArrayList<>();
 
     private ConnectionManager() {
+		// Normally already loaded at startup, see CodewindPreloadingActivity
+		ConnectionCache.getInstance().loadAsync();
 		localConnection = CodewindConnection.createLocalConnection();
 		add(localConnection);
 		CoreUtil.runAsync( () -> {
 			try {
 				// This will connect if Codewind is running
 				CodewindManager.getManager().refreshInstallStatus();
-				CoreUtil.updateAll();
 			} catch (Exception e) {
-				Logger.logWarning("An error occurred trying to connect to the local Codewind instance at:" + localConnection.getBaseURI(), e); //$NON-NLS-1$
+				LOG.warn("An error occurred trying to connect to the local Codewind instance at:" + localConnection.getBaseURI(), e); //$NON-NLS-1$
+			} finally {
+				// The tree shows the cached projects until the first connection attempt is done
+				ConnectionCache.getInstance().discardStaleApps(localConnection);
+				CoreUtil.updateAll();
 			}
 		});
     }
@@ -65,12 +72,12 @@ public class ConnectionManager {
      */
     public synchronized void add(CodewindConnection connection) {
         if (connection == null) {
-            Logger.logWarning("Null connection passed to be added"); //$NON-NLS-1$
+            LOG.warn("Null connection passed to be added"); //$NON-NLS-1$
             return;
         }
 
         connections.add(connection);
-        Logger.log("Added a new connection: " + connection.getBaseURI()); //$NON-NLS-1$
+        LOG.info("Added a new connection: " + connection.getBaseURI()); //$NON-NLS-1$
     }
 
     /**
@@ -121,13 +128,13 @@ public class ConnectionManager {
 				try {
 					ConnectionUtil.removeConnection(connection.getConid(), new EmptyProgressIndicator());
 				} catch (Exception e) {
-					Logger.logWarning("An error occurred trying to de-register the connection: " + connection.getName()); //$NON-NLS-1$ //$NON-NLS-2$
+					LOG.warn("An error occurred trying to de-register the connection: " + connection.getName()); //$NON-NLS-1$ //$NON-NLS-2$
 				}
 			}
 		}
 
 		if (!removeResult) {
-			Logger.logWarning("Tried to remove connection " + baseUrl + ", but it didn't exist"); //$NON-NLS-1$ //$NON-NLS-2$
+			LOG.warn("Tried to remove connection " + baseUrl + ", but it didn't exist"); //$NON-NLS-1$ //$NON-NLS-2$
 		}
 		
 		CoreUtil.updateAll();
@@ -138,7 +145,7 @@ public class ConnectionManager {
 	 * Deletes all of the instance's connections. Called when the plugin is stopped.
 	 */
 	public synchronized void clear() {
-		Logger.log("Clearing " + connections.size() + " connections"); //$NON-NLS-1$ //$NON-NLS-2$
+		LOG.info("Clearing " + connections.size() + " connections"); //$NON-NLS-1$ //$NON-NLS-2$
 
 		Iterator<CodewindConnection> it = connections.iterator();
 
@@ -21,6 +21,8 @@ import org.json.JSONObject;
 
 public class JSONObjectResult {
 
+	private static final Logger LOG = Logger.getInstance(JSONObjectResult.class);
+
 	protected final JSONObject result;
 	protected final String type;
 
@@ -39,10 +41,10 @@ public class JSONObjectResult {
 			try {
 				value = result.getString(key);
 			} catch (JSONException e) {
-				Logger.logWarning("An error occurred retrieving the value from the " + type + " object for key: " + key, e);
+				LOG.warn("An error occurred retrieving the value from the " + type + " object for key: " + key, e);
 			}
 		} else {
-			Logger.logWarning("The " + type + " object did not have the expected key: " + key);
+			LOG.warn("The " + type + " object did not have the expected key: " + key);
 		}
 		return value;
 	}
@@ -53,10 +55,10 @@ public class JSONObjectResult {
 			try {
 				value = result.getBoolean(key);
 			} catch (JSONException e) {
-				Logger.logWarning("An error occurred retrieving the value from the " + type + " object for key: " + key, e);
+				LOG.warn("An error occurred retrieving the value from the " + type + " object for key: " + key, e);
 			}
 		} else {
-			Logger.logWarning("The " + type + " object did not have the expected key: " + key);
+			LOG.warn("The " + type + " object did not have the expected key: " + key);
 		}
 		return value;
 	}
@@ -70,10 +72,10 @@ public class JSONObjectResult {
 					list.add(array.getString(i));
 				}
 			} catch (JSONException e) {
-				Logger.logWarning("An error occurred retrieving the value from the " + type + " object for key: " + key, e);
+				LOG.warn("An error occurred retrieving the value from the " + type + " object for key: " + key, e);
 			}
 		} else {
-			Logger.logWarning("The " + type + " object did not have the expected key: " + key);
+			LOG.warn("The " + type + " object did not have the expected key: " + key);
 		}
 		return list;
 	}
@@ -84,10 +86,10 @@ public class JSONObjectResult {
 			try {
 				value = result.getJSONObject(key);
 			} catch (JSONException e) {
-				Logger.logWarning("An error occurred retrieving the value from the " + type + " object for key: " + key, e);
+				LOG.warn("An error occurred retrieving the value from the " + type + " object for key: " + key, e);
 			}
 		} else {
-			Logger.logWarning("The " + type + " object did not have the expected key: " + key);
+			LOG.warn("The " + type + " object did not have the expected key: " + key);
 		}
 		return value;
 	}
@@ -0,0 +1,280 @@
+/*******************************************************************************
+ * Copyright (c) 2020 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.codewind.intellij.core.connection;
+
+import org.eclipse.codewind.intellij.core.Logger;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/**
+ * Runs the socket event handlers for a connection off the socket.io event thread.
+ * <p>
+ * Events are striped onto a fixed number of single threaded lanes using the project id so that the
+ * events for a project are always handled in the order they were received, while a slow handler for
+ * one project (for example one that has to fetch the project list) does not hold up the others.
+ * Each lane has a bounded queue.  When a lane is full the socket thread blocks until there is room,
+ * which pushes back on the socket rather than using unbounded memory.
+ * <p>
+ * The number of lanes and the queue size per lane can be set with the
+ * <code>org.eclipse.codewind.socketEventLanes</code> and <code>org.eclipse.codewind.socketEventQueueSize</code>
+ * system properties.
+ */
+public class SocketEventExecutor {
+
+    private static final Logger LOG = Logger.getInstance(SocketEventExecutor.class);
+
+    public static final String LANES_PROPERTY = "org.eclipse.codewind.socketEventLanes"; //$NON-NLS-1$
+    public static final String QUEUE_SIZE_PROPERTY = "org.eclipse.codewind.socketEventQueueSize"; //$NON-NLS-1$
+    private static final int DEFAULT_LANES = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private static final int DEFAULT_QUEUE_SIZE = 500;
+
+    private final ThreadPoolExecutor[] lanes;
+    private volatile boolean shutdown = false;
+
+    private final AtomicLong eventsHandled = new AtomicLong();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+    private final AtomicLong totalQueueNanos = new AtomicLong();
+    private final AtomicLong blockedSubmits = new AtomicLong();
+
+    // Called with the queue time plus the handler time of each event, used by the SocketEventReplayer.  For
+    // events whose handler defers the work, it is called with the time from receiving the event to the end of
+    // the deferred work instead.
+    private volatile LongConsumer latencyListener;
+    // The event being handled by the current lane thread
+    private final ThreadLocal<EventTiming> currentEvent = new ThreadLocal<EventTiming>();
+
+    public SocketEventExecutor(String name) {
+        this(name, getIntProperty(LANES_PROPERTY, DEFAULT_LANES), getIntProperty(QUEUE_SIZE_PROPERTY, DEFAULT_QUEUE_SIZE));
+    }
+
+    public SocketEventExecutor(String name, int laneCount, int queueSize) {
+        lanes = new ThreadPoolExecutor[Math.max(1, laneCount)];
+        for (int i = 0; i < lanes.length; i++) {
+            final String threadName = "Codewind socket events: " + name + " #" + i; //$NON-NLS-1$ //$NON-NLS-2$
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<Runnable>(Math.max(1, queueSize)),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, threadName);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    (runnable, executor) -> {
+                        // Lane is full so block the caller until there is room.  Adding to the end of the
+                        // queue keeps the ordering for the lane.
+                        if (executor.isShutdown()) {
+                            throw new RejectedExecutionException("The socket event executor has been shut down"); //$NON-NLS-1$
+                        }
+                        blockedSubmits.incrementAndGet();
+                        try {
+                            executor.getQueue().put(runnable);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new RejectedExecutionException("Interrupted waiting to queue a socket event", e); //$NON-NLS-1$
+                        }
+                    });
+        }
+    }
+
+    private static int getIntProperty(String property, int defaultValue) {
+        String value = System.getProperty(property);
+        if (value != null && !value.trim().isEmpty()) {
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                LOG.warn("Invalid value for " + property + ": " + value, e); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Queue the handler on the lane for the given project.  Handlers with no project id all go to the first lane.
+     */
+    public void execute(String projectID, Runnable handler) {
+        if (shutdown) {
+            return;
+        }
+        final long queued = System.nanoTime();
+        Runnable task = () -> {
+            EventTiming timing = new EventTiming(queued);
+            currentEvent.set(timing);
+            long start = System.nanoTime();
+            try {
+                handler.run();
+            } catch (Throwable t) {
+                LOG.warn("An error occurred handling a socket event for project: " + projectID, t); //$NON-NLS-1$
+            } finally {
+                currentEvent.remove();
+                long end = System.nanoTime();
+                recordLatency(start - queued, end - start, !timing.deferred);
+            }
+        };
+        try {
+            getLane(projectID).execute(task);
+        } catch (RejectedExecutionException e) {
+            if (!shutdown) {
+                LOG.warn("The socket event for project " + projectID + " could not be queued", e); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+        }
+    }
+
+    /**
+     * Queue a task on the lane for the given project so that it runs in order with the events for the
+     * project.  Unlike {@link #execute(String, Runnable)} the task is not counted as a socket event.
+     */
+    void executeOnLane(String projectID, Runnable task) {
+        if (shutdown) {
+            return;
+        }
+        try {
+            getLane(projectID).execute(() -> {
+                try {
+                    task.run();
+                } catch (Throwable t) {
+                    LOG.warn("An error occurred running a task for project: " + projectID, t); //$NON-NLS-1$
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            if (!shutdown) {
+                LOG.warn("The task for project " + projectID + " could not be queued", e); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+        }
+    }
+
+    private ThreadPoolExecutor getLane(String projectID) {
+        if (projectID == null) {
+            return lanes[0];
+        }
+        return lanes[(projectID.hashCode() & Integer.MAX_VALUE) % lanes.length];
+    }
+
+    private void recordLatency(long queueNanos, long handlerNanos, boolean notifyListener) {
+        LongConsumer listener = latencyListener;
+        if (listener != null && notifyListener) {
+            listener.accept(queueNanos + handlerNanos);
+        }
+        eventsHandled.incrementAndGet();
+        totalQueueNanos.addAndGet(queueNanos);
+        totalLatencyNanos.addAndGet(handlerNanos);
+        long max = maxLatencyNanos.get();
+        while (handlerNanos > max && !maxLatencyNanos.compareAndSet(max, handlerNanos)) {
+            max = maxLatencyNanos.get();
+        }
+    }
+
+    void setLatencyListener(LongConsumer listener) {
+        this.latencyListener = listener;
+    }
+
+    /**
+     * Called by a handler that leaves the work for its event to a later task, such as the coalescing event
+     * dispatcher.  The latency of the event is then reported to the latency listener by
+     * {@link #recordDeferredLatency(long)} when that work is done, rather than when the handler returns.
+     *
+     * @return the time the event was received, in {@link System#nanoTime()} units
+     */
+    long deferLatency() {
+        EventTiming timing = currentEvent.get();
+        if (timing == null) {
+            // Not called from a socket event handler
+            return System.nanoTime();
+        }
+        timing.deferred = true;
+        return timing.queued;
+    }
+
+    /**
+     * Report the latency of an event whose work was deferred, from the time it was received until now.
+     */
+    void recordDeferredLatency(long receivedNanos) {
+        LongConsumer listener = latencyListener;
+        if (listener != null) {
+            listener.accept(System.nanoTime() - receivedNanos);
+        }
+    }
+
+    /**
+     * Total number of events waiting to be handled across all lanes.
+     */
+    public int getQueueDepth() {
+        int depth = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            depth += lane.getQueue().size();
+        }
+        return depth;
+    }
+
+    /**
+     * Number of events waiting to be handled for each lane.
+     */
+    public int[] getLaneQueueDepths() {
+        int[] depths = new int[lanes.length];
+        for (int i = 0; i < lanes.length; i++) {
+            depths[i] = lanes[i].getQueue().size();
+        }
+        return depths;
+    }
+
+    public long getEventsHandled() {
+        return eventsHandled.get();
+    }
+
+    /**
+     * Number of times the socket thread had to wait because a lane was full.
+     */
+    public long getBlockedSubmits() {
+        return blockedSubmits.get();
+    }
+
+    public double getAverageHandlerLatencyMS() {
+        long count = eventsHandled.get();
+        return count == 0 ? 0 : totalLatencyNanos.get() / (count * 1000000.0);
+    }
+
+    public double getMaxHandlerLatencyMS() {
+        return maxLatencyNanos.get() / 1000000.0;
+    }
+
+    public double getAverageQueueTimeMS() {
+        long count = eventsHandled.get();
+        return count == 0 ? 0 : totalQueueNanos.get() / (count * 1000000.0);
+    }
+
+    public void shutdown() {
+        shutdown = true;
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdownNow();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s lanes=%d queueDepth=%d handled=%d blocked=%d avgLatencyMS=%.2f maxLatencyMS=%.2f avgQueueMS=%.2f", //$NON-NLS-1$
+                SocketEventExecutor.class.getSimpleName(), lanes.length, getQueueDepth(), getEventsHandled(),
+                getBlockedSubmits(), getAverageHandlerLatencyMS(), getMaxHandlerLatencyMS(), getAverageQueueTimeMS());
+    }
+
+    private static class EventTiming {
+        private final long queued;
+        private boolean deferred = false;
+
+        private EventTiming(long queued) {
+            this.queued = queued;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2020 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.codewind.intellij.core.connection;
+
+import org.eclipse.codewind.intellij.core.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Records the raw socket events for a connection to a file so that they can be replayed later with the
+ * {@link SocketEventReplayer}, without a Codewind server.
+ * <p>
+ * Recording is turned on by setting the <code>org.eclipse.codewind.socketRecordDir</code> system property
+ * to a directory.  Each socket writes to its own file in the directory.  The file starts with a header and
+ * each record is the time the event was received, the event name and the payload.  Records are only
+ * appended, and each one is flushed as it is written so that a recording survives the IDE being killed.
+ * <p>
+ * The project list is recorded as well, with the {@link #PROJECT_LIST} event name, so that a replay starts
+ * with the same applications.
+ */
+public class SocketEventRecorder {
+
+    private static final Logger LOG = Logger.getInstance(SocketEventRecorder.class);
+
+    public static final String RECORD_DIR_PROPERTY = "org.eclipse.codewind.socketRecordDir"; //$NON-NLS-1$
+
+    // Pseudo event for the project list, socket.io event names never start with #
+    public static final String PROJECT_LIST = "#projectList"; //$NON-NLS-1$
+
+    public static final String FILE_EXTENSION = ".cwevents"; //$NON-NLS-1$
+
+    private static final int MAGIC = 0x43574556;    // CWEV
+    private static final int FORMAT_VERSION = 1;
+
+    private final Path file;
+    private DataOutputStream out;
+    private long recorded = 0;
+
+    private SocketEventRecorder(Path file, DataOutputStream out) {
+        this.file = file;
+        this.out = out;
+    }
+
+    /**
+     * Create a recorder for the connection if recording is turned on.
+     *
+     * @return the recorder, or null if recording is off or the file could not be created
+     */
+    static SocketEventRecorder create(String connectionName) {
+        String dir = System.getProperty(RECORD_DIR_PROPERTY);
+        if (dir == null || dir.trim().isEmpty()) {
+            return null;
+        }
+        String timestamp = new SimpleDateFormat("yyyyMMdd-HHmmss-SSS").format(new Date()); //$NON-NLS-1$
+        String name = connectionName.replaceAll("[^A-Za-z0-9_-]", "_") + "-" + timestamp + FILE_EXTENSION; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        try {
+            Path file = Paths.get(dir.trim()).resolve(name);
+            Files.createDirectories(file.getParent());
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.APPEND)));
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.flush();
+            LOG.info("Recording the socket events for " + connectionName + " to " + file); //$NON-NLS-1$ //$NON-NLS-2$
+            return new SocketEventRecorder(file, out);
+        } catch (Exception e) {
+            LOG.warn("Failed to create the socket event recording in " + dir + " for " + connectionName, e); //$NON-NLS-1$ //$NON-NLS-2$
+            return null;
+        }
+    }
+
+    /**
+     * Append an event to the recording.  Recording stops if the file cannot be written.
+     */
+    public synchronized void record(String event, Object data) {
+        if (out == null) {
+            return;
+        }
+        try {
+            byte[] payload = data == null ? new byte[0] : data.toString().getBytes(StandardCharsets.UTF_8);
+            out.writeLong(System.currentTimeMillis());
+            out.writeUTF(event);
+            out.writeInt(payload.length);
+            out.write(payload);
+            out.flush();
+            recorded++;
+        } catch (IOException e) {
+            LOG.warn("Failed to write to the socket event recording, stopping: " + file, e); //$NON-NLS-1$
+            close();
+        }
+    }
+
+    public synchronized void close() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            LOG.warn("Failed to close the socket event recording: " + file, e); //$NON-NLS-1$
+        }
+        out = null;
+        LOG.info("Recorded " + recorded + " socket events to " + file); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Read all of the events in a recording.  A partly written record at the end of the file, for example if
+     * the IDE was killed while recording, is ignored.
+     */
+    public static List<RecordedEvent> read(Path file) throws IOException {
+        List<RecordedEvent> events = new ArrayList<RecordedEvent>();
+        try (InputStream stream = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(stream))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a socket event recording: " + file); //$NON-NLS-1$
+            }
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported socket event recording version " + version + ": " + file); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+            while (true) {
+                long timestamp;
+                try {
+                    timestamp = in.readLong();
+                } catch (EOFException e) {
+                    break;
+                }
+                try {
+                    String name = in.readUTF();
+                    byte[] payload = new byte[in.readInt()];
+                    in.readFully(payload);
+                    events.add(new RecordedEvent(timestamp, name, new String(payload, StandardCharsets.UTF_8)));
+                } catch (EOFException e) {
+                    LOG.warn("Ignoring the incomplete record at the end of the socket event recording: " + file); //$NON-NLS-1$
+                    break;
+                }
+            }
+        }
+        return events;
+    }
+
+    public static final class RecordedEvent {
+        public final long timestamp;
+        public final String name;
+        public final String payload;
+
+        RecordedEvent(long timestamp, String name, String payload) {
+            this.timestamp = timestamp;
+            this.name = name;
+            this.payload = payload;
+        }
+    }
+}
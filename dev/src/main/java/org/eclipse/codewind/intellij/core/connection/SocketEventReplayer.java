@@ -0,0 +1,343 @@
+/*******************************************************************************
+ * Copyright (c) 2020 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.codewind.intellij.core.connection;
+
+import com.intellij.openapi.progress.ProgressIndicator;
+import io.socket.emitter.Emitter;
+import org.eclipse.codewind.intellij.core.CodewindApplication;
+import org.eclipse.codewind.intellij.core.CodewindApplicationFactory;
+import org.eclipse.codewind.intellij.core.CoreUtil;
+import org.eclipse.codewind.intellij.core.Logger;
+import org.eclipse.codewind.intellij.core.console.ProjectLogInfo;
+import org.eclipse.codewind.intellij.core.constants.CoreConstants;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replays a recording made by the {@link SocketEventRecorder} through the socket event handlers of a
+ * private connection, without a Codewind server, and measures the event pipeline.
+ * <p>
+ * The events can be replayed at the speed they were recorded, faster, or as fast as possible with
+ * {@link #MAX_SPEED}.  The recorded project lists are applied in order so the handlers see the same
+ * applications as when the events were recorded.  Handlers that would fetch a project from Codewind
+ * skip the fetch, and the other requests they make get canned responses, so the replay never goes to the
+ * network and the measured latencies do not include request timeouts.
+ * <p>
+ * The replay connection is not added to the connection manager, but the application updates still go to
+ * the tree and the tool windows on the event dispatch thread, so the replay must be run in the IDE.
+ */
+public class SocketEventReplayer {
+
+    private static final Logger LOG = Logger.getInstance(SocketEventReplayer.class);
+
+    public static final double MAX_SPEED = Double.POSITIVE_INFINITY;
+
+    private static final URI REPLAY_URI = URI.create("http://localhost:0/"); //$NON-NLS-1$
+    private static final long SAMPLE_INTERVAL_MS = 10;
+    private static final long DRAIN_TIMEOUT_MS = 60000;
+
+    private final Path file;
+    private final double speed;
+
+    /**
+     * @param speed the replay speed, 1 for the recorded speed, greater than 1 to replay faster or
+     *              {@link #MAX_SPEED} to not wait between events
+     */
+    public SocketEventReplayer(Path file, double speed) {
+        if (!(speed > 0)) {
+            throw new IllegalArgumentException("The replay speed must be greater than 0: " + speed); //$NON-NLS-1$
+        }
+        this.file = file;
+        this.speed = speed;
+    }
+
+    /**
+     * Replay the recording and wait for the handlers and the UI updates they queue to finish.
+     */
+    public ReplayResult replay() throws IOException, InterruptedException {
+        List<SocketEventRecorder.RecordedEvent> events = SocketEventRecorder.read(file);
+        LOG.info("Replaying " + events.size() + " socket events from " + file + " at speed " + speed); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+        ReplayConnection connection = new ReplayConnection("Replay " + file.getFileName()); //$NON-NLS-1$
+        CodewindSocket socket = new CodewindSocket(connection, null, REPLAY_URI, false);
+        LatencyRecorder latencies = new LatencyRecorder(events.size());
+        socket.getEventExecutor().setLatencyListener(latencies::add);
+
+        // Sample the queue depths while the events are replayed and handled
+        AtomicInteger maxEdtDepth = new AtomicInteger();
+        AtomicInteger maxLaneDepth = new AtomicInteger();
+        AtomicLong edtDepthTotal = new AtomicLong();
+        AtomicLong samples = new AtomicLong();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Codewind socket event replay sampler"); //$NON-NLS-1$
+            thread.setDaemon(true);
+            return thread;
+        });
+        sampler.scheduleAtFixedRate(() -> {
+            int edtDepth = CoreUtil.getPendingEdtTasks();
+            edtDepthTotal.addAndGet(edtDepth);
+            samples.incrementAndGet();
+            maxEdtDepth.accumulateAndGet(edtDepth, Math::max);
+            maxLaneDepth.accumulateAndGet(socket.getEventExecutor().getQueueDepth(), Math::max);
+        }, 0, SAMPLE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+
+        int dispatched = 0;
+        int skipped = 0;
+        long start = System.nanoTime();
+        boolean drained;
+        try {
+            long firstTimestamp = events.isEmpty() ? 0 : events.get(0).timestamp;
+            for (SocketEventRecorder.RecordedEvent event : events) {
+                if (speed != MAX_SPEED) {
+                    long due = start + (long) ((event.timestamp - firstTimestamp) * 1000000L / speed);
+                    long wait = due - System.nanoTime();
+                    if (wait > 0) {
+                        TimeUnit.NANOSECONDS.sleep(wait);
+                    }
+                }
+                if (SocketEventRecorder.PROJECT_LIST.equals(event.name)) {
+                    CodewindApplicationFactory.getAppsFromProjectsJson(connection, event.payload);
+                    continue;
+                }
+                List<Emitter.Listener> listeners = socket.socket.listeners(event.name);
+                if (listeners.isEmpty()) {
+                    skipped++;
+                    continue;
+                }
+                // Call the listeners on this thread, as the socket.io event thread would
+                for (Emitter.Listener listener : listeners) {
+                    listener.call(event.payload);
+                }
+                dispatched++;
+            }
+            drained = drain(socket, dispatched);
+        } finally {
+            sampler.shutdownNow();
+            socket.close();
+            connection.disconnect();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        ReplayResult result = new ReplayResult(events.size(), dispatched, skipped, connection.skippedFetches.get(),
+                connection.cannedRequests.get(), elapsedNanos, latencies.getSorted(), maxEdtDepth.get(),
+                samples.get() == 0 ? 0 : (double) edtDepthTotal.get() / samples.get(), maxLaneDepth.get(), drained);
+        LOG.info("Socket event replay of " + file + ": " + result); //$NON-NLS-1$ //$NON-NLS-2$
+        return result;
+    }
+
+    /**
+     * Wait for the handlers to finish, deliver the coalesced updates and wait for the event dispatch thread
+     * to run the UI updates.
+     *
+     * @return false if the pipeline did not drain in time
+     */
+    private static boolean drain(CodewindSocket socket, int dispatched) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + DRAIN_TIMEOUT_MS;
+        while (socket.getEventExecutor().getEventsHandled() < dispatched) {
+            if (System.currentTimeMillis() > deadline) {
+                LOG.warn("Timed out waiting for the replayed socket events to be handled"); //$NON-NLS-1$
+                return false;
+            }
+            Thread.sleep(SAMPLE_INTERVAL_MS);
+        }
+        socket.getEventDispatcher().flush();
+        while (CoreUtil.getPendingEdtTasks() > 0) {
+            if (System.currentTimeMillis() > deadline) {
+                LOG.warn("Timed out waiting for the replayed UI updates to run"); //$NON-NLS-1$
+                return false;
+            }
+            Thread.sleep(SAMPLE_INTERVAL_MS);
+        }
+        return true;
+    }
+
+    /**
+     * A connection that is never connected.  Requests to refresh a project are counted and skipped
+     * since there is no server.  The requests made while updating an application are counted and get
+     * canned responses: a build and an application log, every capability, and log streams that are
+     * enabled and disabled without error.
+     */
+    private static class ReplayConnection extends CodewindConnection {
+        private static final String CANNED_LOGS = "{\"" + CoreConstants.KEY_LOG_BUILD + "\":[{\"" + CoreConstants.KEY_LOG_NAME + "\":\"" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                + CoreConstants.BUILD_LOG_SHORTNAME + "\"}],\"" + CoreConstants.KEY_LOG_APP + "\":[{\"" + CoreConstants.KEY_LOG_NAME + "\":\"app.log\"}]}"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        private static final String CANNED_CAPABILITIES = "{\"" + CoreConstants.KEY_START_MODES + "\":[\"run\",\"debug\",\"debugNoInit\"],\"" //$NON-NLS-1$ //$NON-NLS-2$
+                + CoreConstants.KEY_CONTROL_COMMANDS + "\":[\"restart\"]}"; //$NON-NLS-1$
+
+        private final AtomicInteger skippedFetches = new AtomicInteger();
+        private final AtomicInteger cannedRequests = new AtomicInteger();
+
+        private ReplayConnection(String name) {
+            super(name, REPLAY_URI, null);
+        }
+
+        @Override
+        public void refreshApps(String projectID) {
+            skippedFetches.incrementAndGet();
+        }
+
+        @Override
+        public List<ProjectLogInfo> requestProjectLogs(CodewindApplication app) throws JSONException {
+            cannedRequests.incrementAndGet();
+            JSONObject logs = new JSONObject(CANNED_LOGS);
+            List<ProjectLogInfo> logList = new ArrayList<ProjectLogInfo>();
+            logList.addAll(getLogs(logs.getJSONArray(CoreConstants.KEY_LOG_BUILD), CoreConstants.KEY_LOG_BUILD));
+            logList.addAll(getLogs(logs.getJSONArray(CoreConstants.KEY_LOG_APP), CoreConstants.KEY_LOG_APP));
+            return logList;
+        }
+
+        @Override
+        public CompletableFuture<List<ProjectLogInfo>> requestProjectLogsAsync(CodewindApplication app, ProgressIndicator indicator) {
+            try {
+                return CompletableFuture.completedFuture(requestProjectLogs(app));
+            } catch (JSONException e) {
+                CompletableFuture<List<ProjectLogInfo>> result = new CompletableFuture<List<ProjectLogInfo>>();
+                result.completeExceptionally(e);
+                return result;
+            }
+        }
+
+        @Override
+        public JSONObject requestProjectCapabilities(CodewindApplication app) throws JSONException {
+            cannedRequests.incrementAndGet();
+            return new JSONObject(CANNED_CAPABILITIES);
+        }
+
+        @Override
+        public CompletableFuture<JSONObject> requestProjectCapabilitiesAsync(CodewindApplication app, ProgressIndicator indicator) {
+            try {
+                return CompletableFuture.completedFuture(requestProjectCapabilities(app));
+            } catch (JSONException e) {
+                CompletableFuture<JSONObject> result = new CompletableFuture<JSONObject>();
+                result.completeExceptionally(e);
+                return result;
+            }
+        }
+
+        @Override
+        public void requestEnableLogStream(CodewindApplication app, ProjectLogInfo logInfo) {
+            cannedRequests.incrementAndGet();
+        }
+
+        @Override
+        public void requestDisableLogStream(CodewindApplication app, ProjectLogInfo logInfo) {
+            cannedRequests.incrementAndGet();
+        }
+
+        @Override
+        public CompletableFuture<Void> requestEnableLogStreamAsync(CodewindApplication app, ProjectLogInfo logInfo, ProgressIndicator indicator) {
+            requestEnableLogStream(app, logInfo);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<Void> requestDisableLogStreamAsync(CodewindApplication app, ProjectLogInfo logInfo, ProgressIndicator indicator) {
+            requestDisableLogStream(app, logInfo);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    /**
+     * Collects the event latencies from the event executor threads and the coalesced update deliveries.
+     */
+    private static class LatencyRecorder {
+        private long[] nanos;
+        private int count = 0;
+
+        private LatencyRecorder(int expected) {
+            nanos = new long[Math.max(16, expected)];
+        }
+
+        private synchronized void add(long latency) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = latency;
+        }
+
+        private synchronized long[] getSorted() {
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+
+    public static final class ReplayResult {
+        public final int events;
+        public final int dispatched;
+        public final int skipped;    // events with no handler
+        public final int skippedFetches;
+        public final int cannedRequests;    // requests answered without going to Codewind
+        public final long elapsedNanos;
+        public final int maxEdtQueueDepth;
+        public final double averageEdtQueueDepth;
+        public final int maxEventQueueDepth;
+        public final boolean drained;
+        private final long[] latencies;    // sorted, in ns
+
+        private ReplayResult(int events, int dispatched, int skipped, int skippedFetches, int cannedRequests, long elapsedNanos,
+                             long[] latencies, int maxEdtQueueDepth, double averageEdtQueueDepth,
+                             int maxEventQueueDepth, boolean drained) {
+            this.events = events;
+            this.dispatched = dispatched;
+            this.skipped = skipped;
+            this.skippedFetches = skippedFetches;
+            this.cannedRequests = cannedRequests;
+            this.elapsedNanos = elapsedNanos;
+            this.latencies = latencies;
+            this.maxEdtQueueDepth = maxEdtQueueDepth;
+            this.averageEdtQueueDepth = averageEdtQueueDepth;
+            this.maxEventQueueDepth = maxEventQueueDepth;
+            this.drained = drained;
+        }
+
+        /**
+         * Events handled per second, from the start of the replay until the pipeline drained.
+         */
+        public double getThroughput() {
+            return elapsedNanos == 0 ? 0 : dispatched * 1000000000.0 / elapsedNanos;
+        }
+
+        /**
+         * The event latency at the given percentile (0 - 100) in ms.  This is the handler time including the
+         * time queued, or for the coalesced project updates, the time until the update is delivered.
+         */
+        public double getLatencyPercentileMS(double percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100 * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(latencies.length - 1, index))] / 1000000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("events=%d dispatched=%d skipped=%d skippedFetches=%d cannedRequests=%d elapsedMS=%.1f throughput=%.1f/s " //$NON-NLS-1$
+                            + "latencyMS p50=%.2f p90=%.2f p99=%.2f max=%.2f edtQueue max=%d avg=%.1f eventQueueMax=%d drained=%b", //$NON-NLS-1$
+                    events, dispatched, skipped, skippedFetches, cannedRequests, elapsedNanos / 1000000.0, getThroughput(),
+                    getLatencyPercentileMS(50), getLatencyPercentileMS(90), getLatencyPercentileMS(99),
+                    getLatencyPercentileMS(100), maxEdtQueueDepth, averageEdtQueueDepth, maxEventQueueDepth, drained);
+        }
+    }
+}
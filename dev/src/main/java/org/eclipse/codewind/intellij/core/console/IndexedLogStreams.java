@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2020 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.codewind.intellij.core.console;
+
+import org.eclipse.codewind.intellij.core.CodewindApplication;
+import org.eclipse.codewind.intellij.core.Logger;
+import org.eclipse.codewind.intellij.core.connection.CodewindConnection;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the log streams of every project on a connection enabled while the {@link LogSearchIndex} is on, so
+ * that all of the logs are indexed whether or not a console is open for them.
+ */
+public class IndexedLogStreams {
+
+    private static final Logger LOG = Logger.getInstance(IndexedLogStreams.class);
+
+    private final CodewindConnection connection;
+    // The logs with an enabled stream, by project id
+    private final Map<String, Set<String>> enabled = new ConcurrentHashMap<String, Set<String>>();
+
+    public IndexedLogStreams(CodewindConnection connection) {
+        this.connection = connection;
+    }
+
+    private static String getKey(ProjectLogInfo logInfo) {
+        return logInfo.type + '/' + logInfo.logName;
+    }
+
+    /**
+     * Enable the streams for any logs of the application that are not streaming yet.  Called when the
+     * log list of the application changes.
+     */
+    public void update(CodewindApplication app) {
+        if (!LogSearchIndex.getInstance().isEnabled() || !app.isAvailable()) {
+            return;
+        }
+        Set<String> logs = enabled.computeIfAbsent(app.projectID, id -> ConcurrentHashMap.newKeySet());
+        for (ProjectLogInfo logInfo : app.getLogInfos()) {
+            String key = getKey(logInfo);
+            if (logs.add(key)) {
+                connection.requestEnableLogStreamAsync(app, logInfo, null).exceptionally(e -> {
+                    // Try again on the next update
+                    logs.remove(key);
+                    LOG.warn("Error enabling the " + logInfo.logName + " log stream for the index: " + app.name, e); //$NON-NLS-1$ //$NON-NLS-2$
+                    return null;
+                });
+            }
+        }
+    }
+
+    /**
+     * Whether the stream for the log is kept enabled for the index, in which case closing a console for
+     * the log should not disable it.
+     */
+    public boolean isEnabled(String projectID, ProjectLogInfo logInfo) {
+        Set<String> logs = enabled.get(projectID);
+        return logs != null && logs.contains(getKey(logInfo));
+    }
+
+    /**
+     * Forget the streams for a project that was removed.
+     */
+    public void remove(String projectID) {
+        enabled.remove(projectID);
+    }
+
+    /**
+     * Forget all of the streams, for example when the connection is disconnected.  They are enabled again
+     * when the applications are updated after reconnecting.
+     */
+    public void clear() {
+        enabled.clear();
+    }
+}
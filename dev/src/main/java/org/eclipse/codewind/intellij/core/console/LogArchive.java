@@ -0,0 +1,345 @@
+/*******************************************************************************
+ * Copyright (c) 2020 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.codewind.intellij.core.console;
+
+import com.intellij.openapi.application.PathManager;
+import org.eclipse.codewind.intellij.core.CodewindApplication;
+import org.eclipse.codewind.intellij.core.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Append-only archive of a streamed project log, kept on disk under the IDE system directory in
+ * <code>codewind/logs/&lt;connection&gt;/&lt;project&gt;/&lt;log type&gt;-&lt;log name&gt;</code>.
+ * <p>
+ * The log is written to a sequence of segment files.  Each segment is named after the archive offset of
+ * its first byte, so a position in the log is a single <code>long</code> across all of the segments.
+ * A new segment is started when the current one reaches the segment size, and when the log is reset on
+ * the server so that each run of the log starts on a segment boundary.  When the segments for all of the
+ * logs of a project go over the project cap, the oldest segments are deleted.  Segments are read with
+ * memory-mapped reads so that paging through a large log does not copy it onto the heap.
+ * <p>
+ * There is one archive per log.  Each caller of {@link #getArchive(CodewindApplication, ProjectLogInfo)} must
+ * call {@link #close()} when it is done, and the archive stops writing once the last caller has closed it.
+ * <p>
+ * The segment size and project cap (in bytes) can be set with the
+ * <code>org.eclipse.codewind.logArchiveSegmentSize</code> and <code>org.eclipse.codewind.logArchiveProjectCap</code>
+ * system properties.
+ */
+public class LogArchive {
+
+    private static final Logger LOG = Logger.getInstance(LogArchive.class);
+
+    public static final String SEGMENT_SIZE_PROPERTY = "org.eclipse.codewind.logArchiveSegmentSize"; //$NON-NLS-1$
+    public static final String PROJECT_CAP_PROPERTY = "org.eclipse.codewind.logArchiveProjectCap"; //$NON-NLS-1$
+    private static final long SEGMENT_SIZE = Math.max(64 * 1024, Long.getLong(SEGMENT_SIZE_PROPERTY, 4L * 1024 * 1024));
+    private static final long PROJECT_CAP = Math.max(SEGMENT_SIZE * 2, Long.getLong(PROJECT_CAP_PROPERTY, 64L * 1024 * 1024));
+
+    private static final String SEGMENT_EXTENSION = ".log"; //$NON-NLS-1$
+    private static final String ARCHIVE_DIR = "codewind/logs"; //$NON-NLS-1$
+
+    // The open archives, the references to each archive are counted in the map updates
+    private static final Map<Path, LogArchive> archives = new ConcurrentHashMap<Path, LogArchive>();
+    // Segments that are open for writing, which are never deleted to enforce the cap
+    private static final Set<Path> activeSegments = ConcurrentHashMap.newKeySet();
+
+    private final Path projectDir;
+    private final Path dir;
+    // Segments from oldest to newest, guarded by this
+    private final List<Segment> segments = new ArrayList<Segment>();
+    private FileChannel writer;
+    private long startOffset = 0;
+    private long resetOffset = 0;
+    // Guarded by the archives map entry for dir
+    private int references = 0;
+
+    private LogArchive(Path projectDir, Path dir) throws IOException {
+        this.projectDir = projectDir;
+        this.dir = dir;
+        Files.createDirectories(dir);
+        loadSegments();
+    }
+
+    /**
+     * Get the archive for the log, creating it if necessary.  The archive must be closed when it is no longer needed.
+     */
+    public static LogArchive getArchive(CodewindApplication app, ProjectLogInfo logInfo) throws IOException {
+        Path projectDir = Paths.get(PathManager.getSystemPath(), ARCHIVE_DIR, toFileName(app.connection.getConid()), toFileName(app.projectID));
+        Path dir = projectDir.resolve(toFileName(logInfo.type + "-" + logInfo.logName)); //$NON-NLS-1$
+        try {
+            return archives.compute(dir, (key, archive) -> {
+                if (archive == null) {
+                    try {
+                        archive = new LogArchive(projectDir, dir);
+                    } catch (IOException e) {
+                        throw new ArchiveException(e);
+                    }
+                }
+                archive.references++;
+                return archive;
+            });
+        } catch (ArchiveException e) {
+            throw (IOException) e.getCause();
+        }
+    }
+
+    private static String toFileName(String name) {
+        return name == null ? "unknown" : name.replaceAll("[^A-Za-z0-9._-]", "_"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+
+    private void loadSegments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.filter(LogArchive::isSegment).sorted().collect(Collectors.toList())) {
+                String name = file.getFileName().toString();
+                try {
+                    long offset = Long.parseLong(name.substring(0, name.length() - SEGMENT_EXTENSION.length()));
+                    long length = Files.size(file);
+                    if (length == 0) {
+                        Files.delete(file);
+                        continue;
+                    }
+                    segments.add(new Segment(file, offset, length));
+                } catch (NumberFormatException e) {
+                    LOG.warn("Ignoring unexpected file in the log archive: " + file); //$NON-NLS-1$
+                }
+            }
+        }
+        if (!segments.isEmpty()) {
+            startOffset = segments.get(0).offset;
+            resetOffset = getEndOffset();
+        }
+    }
+
+    private static boolean isSegment(Path file) {
+        return file.getFileName().toString().endsWith(SEGMENT_EXTENSION);
+    }
+
+    /**
+     * Append log text to the archive.
+     */
+    public synchronized void append(String text) throws IOException {
+        if (text.isEmpty()) {
+            return;
+        }
+        Segment segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (segment == null || writer == null || segment.length >= SEGMENT_SIZE) {
+            segment = startSegment();
+        }
+        ByteBuffer bytes = StandardCharsets.UTF_8.encode(text);
+        while (bytes.hasRemaining()) {
+            segment.length += writer.write(bytes);
+        }
+    }
+
+    /**
+     * The log was reset on the server.  The archive keeps the previous output but the next output starts
+     * a new segment, and {@link #getResetOffset()} is moved to the end of the archive.
+     */
+    public synchronized void reset() throws IOException {
+        closeWriter();
+        resetOffset = getEndOffset();
+    }
+
+    private Segment startSegment() throws IOException {
+        closeWriter();
+        long offset = getEndOffset();
+        Path file = dir.resolve(String.format("%020d%s", offset, SEGMENT_EXTENSION)); //$NON-NLS-1$
+        writer = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        Segment segment = new Segment(file, offset, writer.size());
+        segments.add(segment);
+        activeSegments.add(file);
+        if (segments.size() == 1) {
+            startOffset = offset;
+        }
+        // Only check the cap when a segment is started, the project can be over the cap by at most one segment per log
+        enforceProjectCap();
+        return segment;
+    }
+
+    private void closeWriter() {
+        if (writer != null) {
+            activeSegments.remove(segments.get(segments.size() - 1).file);
+            try {
+                writer.close();
+            } catch (IOException e) {
+                LOG.warn("An error occurred closing the log archive segment in " + dir, e); //$NON-NLS-1$
+            }
+            writer = null;
+        }
+    }
+
+    /**
+     * Delete the oldest segments of all of the logs for the project until the total size is under the cap.
+     * The segments being written to are never deleted.
+     */
+    private void enforceProjectCap() {
+        List<File> files = new ArrayList<File>();
+        long total = 0;
+        File[] logDirs = projectDir.toFile().listFiles(File::isDirectory);
+        if (logDirs == null) {
+            return;
+        }
+        for (File logDir : logDirs) {
+            File[] segmentFiles = logDir.listFiles((parent, name) -> name.endsWith(SEGMENT_EXTENSION));
+            if (segmentFiles != null) {
+                for (File file : segmentFiles) {
+                    files.add(file);
+                    total += file.length();
+                }
+            }
+        }
+        if (total <= PROJECT_CAP) {
+            return;
+        }
+        files.sort(Comparator.comparingLong(File::lastModified));
+        for (File file : files) {
+            if (total <= PROJECT_CAP) {
+                break;
+            }
+            if (activeSegments.contains(file.toPath())) {
+                continue;
+            }
+            long length = file.length();
+            if (file.delete()) {
+                total -= length;
+            }
+        }
+        pruneDeletedSegments();
+    }
+
+    /**
+     * Drop the segments that have been deleted to keep the project under its cap, possibly by another archive.
+     */
+    private void pruneDeletedSegments() {
+        while (!segments.isEmpty() && !Files.exists(segments.get(0).file)) {
+            Segment removed = segments.remove(0);
+            startOffset = removed.offset + removed.length;
+        }
+        if (!segments.isEmpty()) {
+            startOffset = segments.get(0).offset;
+        }
+        resetOffset = Math.max(resetOffset, startOffset);
+    }
+
+    /**
+     * Offset of the oldest byte still in the archive.
+     */
+    public synchronized long getStartOffset() {
+        pruneDeletedSegments();
+        return startOffset;
+    }
+
+    /**
+     * Offset just past the last byte written to the archive.
+     */
+    public synchronized long getEndOffset() {
+        if (segments.isEmpty()) {
+            return startOffset;
+        }
+        Segment last = segments.get(segments.size() - 1);
+        return last.offset + last.length;
+    }
+
+    /**
+     * Offset of the start of the current run of the log, that is the end of the archive when the log was last reset.
+     */
+    public synchronized long getResetOffset() {
+        return resetOffset;
+    }
+
+    /**
+     * Read up to <code>maxBytes</code> of the archive starting at the given offset.  Reads that start before
+     * the oldest segment start at the oldest segment.  Reads may span segments.
+     *
+     * @return the log text, which may start or end part way through a line
+     */
+    public synchronized String read(long offset, int maxBytes) throws IOException {
+        pruneDeletedSegments();
+        long end = Math.min(getEndOffset(), Math.max(offset, startOffset) + maxBytes);
+        long position = Math.max(offset, startOffset);
+        ByteBuffer result = ByteBuffer.allocate((int) Math.max(0, end - position));
+        for (Segment segment : segments) {
+            if (position >= end) {
+                break;
+            }
+            long segmentEnd = segment.offset + segment.length;
+            if (position >= segmentEnd) {
+                continue;
+            }
+            long count = Math.min(end, segmentEnd) - position;
+            try (FileChannel channel = FileChannel.open(segment.file, StandardOpenOption.READ)) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, position - segment.offset, count);
+                result.put(mapped);
+            }
+            position += count;
+        }
+        result.flip();
+        return StandardCharsets.UTF_8.decode(result).toString();
+    }
+
+    /**
+     * The directory containing the segment files for this log.
+     */
+    public Path getDirectory() {
+        return dir;
+    }
+
+    /**
+     * Release this reference to the archive.  When the last reference is released the archive stops writing.
+     * The segment files are kept.
+     */
+    public void close() {
+        archives.computeIfPresent(dir, (key, archive) -> {
+            if (archive != this || --references > 0) {
+                return archive;
+            }
+            synchronized (this) {
+                closeWriter();
+            }
+            return null;
+        });
+    }
+
+    private static class Segment {
+        private final Path file;
+        private final long offset;
+        private long length;
+
+        private Segment(Path file, long offset, long length) {
+            this.file = file;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    private static class ArchiveException extends RuntimeException {
+        private ArchiveException(IOException cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2020 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.codewind.intellij.core.console;
+
+/**
+ * Bounded buffer of log lines waiting to be written to a console.  When the buffer is full the
+ * oldest lines are dropped and counted so that the reader can show how many lines were lost.
+ * <p>
+ * Lines keep their line terminator.  Text that does not end with a new line is stored as its own
+ * entry so the output is unchanged when the entries are joined.
+ */
+public class LogRingBuffer {
+
+    private final String[] lines;
+    private int head = 0;
+    private int size = 0;
+    private int chars = 0;
+    private long dropped = 0;
+    private boolean reset = false;
+
+    public LogRingBuffer(int capacity) {
+        lines = new String[Math.max(1, capacity)];
+    }
+
+    /**
+     * Add the log text to the buffer.
+     *
+     * @return the number of complete lines in the text
+     */
+    public synchronized int append(String text) {
+        int lineCount = 0;
+        int start = 0;
+        int len = text.length();
+        while (start < len) {
+            int end = text.indexOf('\n', start);
+            if (end == -1) {
+                add(text.substring(start));
+                break;
+            }
+            add(text.substring(start, end + 1));
+            lineCount++;
+            start = end + 1;
+        }
+        return lineCount;
+    }
+
+    private void add(String line) {
+        if (size == lines.length) {
+            chars -= lines[head].length();
+            lines[head] = null;
+            head = (head + 1) % lines.length;
+            size--;
+            dropped++;
+        }
+        lines[(head + size) % lines.length] = line;
+        size++;
+        chars += line.length();
+    }
+
+    /**
+     * Discard the buffered lines, for example because the log was reset on the server.  The next
+     * batch will report that the console should be cleared.
+     */
+    public synchronized void reset() {
+        clear();
+        dropped = 0;
+        reset = true;
+    }
+
+    private void clear() {
+        for (int i = 0; i < size; i++) {
+            lines[(head + i) % lines.length] = null;
+        }
+        head = 0;
+        size = 0;
+        chars = 0;
+    }
+
+    /**
+     * Remove all of the buffered lines.
+     *
+     * @return the batch, or <code>null</code> if there is nothing to write
+     */
+    public synchronized Batch drain() {
+        if (size == 0 && dropped == 0 && !reset) {
+            return null;
+        }
+        StringBuilder builder = new StringBuilder(chars);
+        for (int i = 0; i < size; i++) {
+            builder.append(lines[(head + i) % lines.length]);
+        }
+        Batch batch = new Batch(builder.toString(), size, dropped, reset);
+        clear();
+        dropped = 0;
+        reset = false;
+        return batch;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return lines.length;
+    }
+
+    public static class Batch {
+        public final String text;
+        public final int lineCount;
+        public final long droppedLines;
+        public final boolean reset;
+
+        private Batch(String text, int lineCount, long droppedLines, boolean reset) {
+            this.text = text;
+            this.lineCount = lineCount;
+            this.droppedLines = droppedLines;
+            this.reset = reset;
+        }
+    }
+}
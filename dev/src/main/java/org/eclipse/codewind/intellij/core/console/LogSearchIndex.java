@@ -0,0 +1,437 @@
+/*******************************************************************************
+ * Copyright (c) 2020 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.codewind.intellij.core.console;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Full text index of the log lines streamed from Codewind for all projects on all connections.
+ * <p>
+ * Lines are added to the newest segment as they arrive.  Each segment has its own inverted index from
+ * term to the lines in the segment that contain it, so adding a line only updates the newest segment and
+ * the oldest lines can be evicted by dropping whole segments.  A search returns the lines that contain
+ * all of the terms in the query, newest first.
+ * <p>
+ * When a log is reset, Codewind sends the log again from the start, so the lines indexed for the log before
+ * the reset are superseded.  Each line is tagged with the generation of its source when it was added, and
+ * lines from an earlier generation are skipped by searches until they are evicted.
+ * <p>
+ * While the index is on, the log streams of every project are kept enabled by {@link IndexedLogStreams}
+ * so that the logs are indexed whether or not a console is open for them.
+ * <p>
+ * The index is bounded by both the number of lines and their size.  The maximum number of lines can be set
+ * with the <code>org.eclipse.codewind.logIndexMaxLines</code> system property, a value of 0 disables the index.
+ * The maximum size of the lines can be set with the <code>org.eclipse.codewind.logIndexMaxSizeMB</code>
+ * system property.
+ */
+public class LogSearchIndex {
+
+    public static final String MAX_LINES_PROPERTY = "org.eclipse.codewind.logIndexMaxLines"; //$NON-NLS-1$
+    public static final String MAX_SIZE_PROPERTY = "org.eclipse.codewind.logIndexMaxSizeMB"; //$NON-NLS-1$
+    private static final int MAX_LINES = Integer.getInteger(MAX_LINES_PROPERTY, 200000);
+    private static final int MAX_SIZE_MB = Integer.getInteger(MAX_SIZE_PROPERTY, 64);
+    private static final int SEGMENT_LINES = 8192;
+    // Longer lines are truncated and longer terms (usually ids or encoded data) are not indexed
+    private static final int MAX_LINE_LENGTH = 2000;
+    private static final int MAX_TERM_LENGTH = 64;
+
+    private static final LogSearchIndex instance = new LogSearchIndex(MAX_LINES, MAX_SIZE_MB * 1024L * 1024L);
+
+    private final int maxSegments;
+    private final long maxBytes;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Segments from oldest to newest and the size of their lines, guarded by lock
+    private final ArrayDeque<Segment> segments = new ArrayDeque<Segment>();
+    private long bytes = 0;
+    private long evictedSegments = 0;
+
+    private final Map<String, Source> sources = new ConcurrentHashMap<String, Source>();
+
+    public static LogSearchIndex getInstance() {
+        return instance;
+    }
+
+    private LogSearchIndex(int maxLines, long maxBytes) {
+        this.maxSegments = maxLines <= 0 || maxBytes <= 0 ? 0 : Math.max(2, (maxLines + SEGMENT_LINES - 1) / SEGMENT_LINES);
+        this.maxBytes = maxBytes;
+    }
+
+    public boolean isEnabled() {
+        return maxSegments > 0;
+    }
+
+    private static String getKey(String connectionID, String projectID) {
+        return connectionID + '/' + projectID + '/';
+    }
+
+    /**
+     * Get the source for a log, creating it if necessary.
+     *
+     * @param connectionID the connection id
+     * @param projectID    the project id
+     * @param projectName  the project name, for display
+     * @param logType      the log type, build or app
+     * @param logName      the log name
+     */
+    public Source getSource(String connectionID, String projectID, String projectName, String logType, String logName) {
+        String key = getKey(connectionID, projectID) + logType + '/' + logName;
+        Source source = sources.computeIfAbsent(key, k -> new Source(projectID, projectName, logType, logName));
+        if (projectName != null && !projectName.equals(source.projectName)) {
+            source.projectName = projectName;
+        }
+        return source;
+    }
+
+    /**
+     * Remove the sources for a project, for example when it is deleted.  Its lines stay in the index until they
+     * are evicted.
+     */
+    public void removeSources(String connectionID, String projectID) {
+        String prefix = getKey(connectionID, projectID);
+        sources.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    /**
+     * Remove the sources for all of the projects on a connection, for example when it is removed.
+     */
+    public void removeSources(String connectionID) {
+        String prefix = connectionID + '/';
+        sources.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    /**
+     * Add log output to the index.  Only complete lines are indexed, the rest of the output is kept until
+     * the next update for the source.
+     *
+     * @param reset whether the log was reset, in which case the lines already indexed for the source are
+     *              superseded and any partial line from the previous output is discarded
+     */
+    public void add(Source source, String contents, boolean reset) {
+        if (!isEnabled()) {
+            return;
+        }
+        List<String> lines;
+        int generation;
+        synchronized (source) {
+            lines = source.takeLines(contents, reset);
+            generation = source.generation;
+        }
+        if (lines.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (String line : lines) {
+                Segment segment = segments.peekLast();
+                if (segment == null || segment.isFull()) {
+                    segment = new Segment(segment == null ? 0 : segment.firstLine + segment.size);
+                    segments.addLast(segment);
+                    while (segments.size() > maxSegments) {
+                        evictOldest();
+                    }
+                }
+                segment.add(source, generation, line);
+                bytes += getSize(line);
+                // Keep the newest segment even if it is over the limit on its own
+                while (bytes > maxBytes && segments.size() > 1) {
+                    evictOldest();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void evictOldest() {
+        bytes -= segments.removeFirst().bytes;
+        evictedSegments++;
+    }
+
+    private static long getSize(String line) {
+        return 2L * line.length();
+    }
+
+    /**
+     * Find the lines that contain all of the terms in the query.
+     *
+     * @param query      the search text
+     * @param maxResults the maximum number of lines to return
+     * @return the matching lines, newest first
+     */
+    public List<Match> search(String query, int maxResults) {
+        List<Match> matches = new ArrayList<Match>();
+        Set<String> terms = new LinkedHashSet<String>();
+        tokenize(query, terms);
+        if (terms.isEmpty() || maxResults <= 0) {
+            return matches;
+        }
+        lock.readLock().lock();
+        try {
+            Iterator<Segment> it = segments.descendingIterator();
+            while (it.hasNext() && matches.size() < maxResults) {
+                it.next().search(terms, maxResults, matches);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return matches;
+    }
+
+    /**
+     * Remove all of the lines from the index.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            segments.clear();
+            bytes = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        sources.clear();
+    }
+
+    public int getLineCount() {
+        lock.readLock().lock();
+        try {
+            int count = 0;
+            for (Segment segment : segments) {
+                count += segment.size;
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The approximate size of the lines in the index in bytes.
+     */
+    public long getSize() {
+        lock.readLock().lock();
+        try {
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getSegmentCount() {
+        lock.readLock().lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getEvictedSegments() {
+        lock.readLock().lock();
+        try {
+            return evictedSegments;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void tokenize(String text, Set<String> terms) {
+        int len = text.length();
+        int start = -1;
+        for (int i = 0; i <= len; i++) {
+            boolean isTermChar = i < len && Character.isLetterOrDigit(text.charAt(i));
+            if (isTermChar && start == -1) {
+                start = i;
+            } else if (!isTermChar && start != -1) {
+                if (i - start <= MAX_TERM_LENGTH) {
+                    terms.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                }
+                start = -1;
+            }
+        }
+    }
+
+    /**
+     * A log of a project.
+     */
+    public static class Source {
+        public final String projectID;
+        public final String logType;
+        public final String logName;
+        // Kept up to date in case the project is renamed
+        private volatile String projectName;
+        // Partial line from the last update, guarded by this
+        private final StringBuilder pending = new StringBuilder();
+        // Incremented when the log is reset, only written while holding this
+        private volatile int generation = 0;
+
+        private Source(String projectID, String projectName, String logType, String logName) {
+            this.projectID = projectID;
+            this.projectName = projectName;
+            this.logType = logType;
+            this.logName = logName;
+        }
+
+        public String getProjectName() {
+            return projectName;
+        }
+
+        private synchronized List<String> takeLines(String contents, boolean reset) {
+            if (reset) {
+                pending.setLength(0);
+                generation++;
+            }
+            List<String> lines = new ArrayList<String>();
+            int start = 0;
+            int end;
+            while ((end = contents.indexOf('\n', start)) != -1) {
+                pending.append(contents, start, end);
+                int length = pending.length();
+                if (length > 0 && pending.charAt(length - 1) == '\r') {
+                    pending.setLength(length - 1);
+                }
+                if (pending.length() > 0) {
+                    lines.add(pending.length() > MAX_LINE_LENGTH ? pending.substring(0, MAX_LINE_LENGTH) : pending.toString());
+                }
+                pending.setLength(0);
+                start = end + 1;
+            }
+            if (start < contents.length() && pending.length() < MAX_LINE_LENGTH) {
+                pending.append(contents, start, Math.min(contents.length(), start + MAX_LINE_LENGTH - pending.length()));
+            }
+            return lines;
+        }
+
+        @Override
+        public String toString() {
+            String name = projectName;
+            return (name != null ? name : projectID) + " - " + logName; //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * A line that matched a search.
+     */
+    public static class Match {
+        public final Source source;
+        public final String line;
+        // Position of the line in the index, higher is newer
+        public final long lineNumber;
+
+        private Match(Source source, String line, long lineNumber) {
+            this.source = source;
+            this.line = line;
+            this.lineNumber = lineNumber;
+        }
+
+        @Override
+        public String toString() {
+            return "[" + source + "] " + line; //$NON-NLS-1$ //$NON-NLS-2$
+        }
+    }
+
+    private static class Segment {
+        private final long firstLine;
+        private final Source[] lineSources = new Source[SEGMENT_LINES];
+        private final int[] lineGenerations = new int[SEGMENT_LINES];
+        private final String[] lines = new String[SEGMENT_LINES];
+        private final Map<String, Postings> index = new HashMap<String, Postings>();
+        private int size = 0;
+        private long bytes = 0;
+        private final Set<String> lineTerms = new LinkedHashSet<String>();
+
+        private Segment(long firstLine) {
+            this.firstLine = firstLine;
+        }
+
+        private boolean isFull() {
+            return size == SEGMENT_LINES;
+        }
+
+        private void add(Source source, int generation, String line) {
+            int lineIndex = size++;
+            lineSources[lineIndex] = source;
+            lineGenerations[lineIndex] = generation;
+            lines[lineIndex] = line;
+            bytes += getSize(line);
+            lineTerms.clear();
+            tokenize(line, lineTerms);
+            for (String term : lineTerms) {
+                Postings postings = index.get(term);
+                if (postings == null) {
+                    postings = new Postings();
+                    index.put(term, postings);
+                }
+                postings.add(lineIndex);
+            }
+        }
+
+        private void search(Set<String> terms, int maxResults, List<Match> matches) {
+            // Intersect starting from the rarest term
+            Postings[] postings = new Postings[terms.size()];
+            int i = 0;
+            for (String term : terms) {
+                Postings p = index.get(term);
+                if (p == null) {
+                    return;
+                }
+                postings[i++] = p;
+            }
+            Arrays.sort(postings, (a, b) -> Integer.compare(a.size, b.size));
+
+            Postings rarest = postings[0];
+            for (int j = rarest.size - 1; j >= 0 && matches.size() < maxResults; j--) {
+                int lineIndex = rarest.lines[j];
+                if (lineGenerations[lineIndex] != lineSources[lineIndex].generation) {
+                    // Superseded by a reset of the log
+                    continue;
+                }
+                boolean all = true;
+                for (int k = 1; k < postings.length && all; k++) {
+                    all = postings[k].contains(lineIndex);
+                }
+                if (all) {
+                    matches.add(new Match(lineSources[lineIndex], lines[lineIndex], firstLine + lineIndex));
+                }
+            }
+        }
+    }
+
+    /**
+     * Sorted list of the lines in a segment that contain a term.
+     */
+    private static class Postings {
+        private int[] lines = new int[4];
+        private int size = 0;
+
+        private void add(int line) {
+            if (size == lines.length) {
+                lines = Arrays.copyOf(lines, size * 2);
+            }
+            lines[size++] = line;
+        }
+
+        private boolean contains(int line) {
+            return Arrays.binarySearch(lines, 0, size, line) >= 0;
+        }
+    }
+}
@@ -11,6 +11,8 @@
 
 package org.eclipse.codewind.intellij.core.console;
 
+import java.util.Objects;
+
 public class ProjectLogInfo {
 	
 	public final String type;
@@ -31,4 +33,20 @@ public class ProjectLogInfo {
 		return (this.type.equals(logInfo.type) && this.logName.equals(logInfo.logName));
 	}
 
+	@Override
+	public boolean equals(Object object) {
+		if (this == object)
+			return true;
+		if (!(object instanceof ProjectLogInfo))
+			return false;
+		ProjectLogInfo other = (ProjectLogInfo) object;
+		return Objects.equals(type, other.type) && Objects.equals(logName, other.logName) &&
+				Objects.equals(workspaceLogPath, other.workspaceLogPath);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(type, logName, workspaceLogPath);
+	}
+
 }
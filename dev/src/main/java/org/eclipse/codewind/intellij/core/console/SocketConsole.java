@@ -14,13 +14,51 @@ import com.intellij.execution.ui.ConsoleView;
 import com.intellij.execution.ui.ConsoleViewContentType;
 import com.intellij.ui.content.Content;
 import org.eclipse.codewind.intellij.core.CodewindApplication;
-import org.eclipse.codewind.intellij.core.CoreUtil;
 import org.eclipse.codewind.intellij.core.Logger;
 import org.eclipse.codewind.intellij.core.connection.CodewindSocket;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+import static org.eclipse.codewind.intellij.core.messages.CodewindCoreBundle.message;
+
+/**
+ * Console for a project log that is streamed over the Codewind socket.
+ * <p>
+ * Log updates are added to a bounded buffer of lines and written to the console view in batches at
+ * a fixed rate, so that a very busy log cannot use unlimited memory or flood the console.  If the
+ * buffer fills up between flushes the oldest lines are dropped and a message saying how many lines
+ * were dropped is written instead.  The buffer size (in lines) and the flush interval (in ms) can be
+ * set with the <code>org.eclipse.codewind.consoleBufferLines</code> and
+ * <code>org.eclipse.codewind.consoleFlushInterval</code> system properties.
+ * <p>
+ * The complete log is also written to a {@link LogArchive} on disk, so lines dropped from the console
+ * are still available, including after the console is closed.
+ */
 public class SocketConsole {
+
+    private static final Logger LOG = Logger.getInstance(SocketConsole.class);
+
+    public static final String BUFFER_LINES_PROPERTY = "org.eclipse.codewind.consoleBufferLines"; //$NON-NLS-1$
+    public static final String FLUSH_INTERVAL_PROPERTY = "org.eclipse.codewind.consoleFlushInterval"; //$NON-NLS-1$
+    private static final int BUFFER_LINES = Integer.getInteger(BUFFER_LINES_PROPERTY, 20000);
+    private static final long FLUSH_INTERVAL_MS = Math.max(10, Long.getLong(FLUSH_INTERVAL_PROPERTY, 100));
+    private static final long RATE_SAMPLE_MS = 1000;
+
+    private static final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Codewind console flusher"); //$NON-NLS-1$
+        thread.setDaemon(true);
+        return thread;
+    });
+
     public final CodewindApplication app;
     public final ProjectLogInfo logInfo;
     private final CodewindSocket socket;
@@ -31,6 +69,24 @@ public class SocketConsole {
     private ConsoleView consoleView;
     private final ILogChangeNotifier notifier;
 
+    private final LogRingBuffer buffer = new LogRingBuffer(BUFFER_LINES);
+    private volatile LogArchive archive;
+    // Set when the archive fails, written to the console by the next flush
+    private volatile String archiveError;
+    private ScheduledFuture<?> flushTask;
+
+    private final AtomicLong bytesReceived = new AtomicLong();
+    private final AtomicLong linesReceived = new AtomicLong();
+    private final AtomicLong linesDropped = new AtomicLong();
+    private final AtomicLong batchesWritten = new AtomicLong();
+
+    // Rates over the last sample period, only updated by the flusher
+    private long sampleTime = System.currentTimeMillis();
+    private long sampleBytes = 0;
+    private long sampleLines = 0;
+    private volatile double bytesPerSecond = 0;
+    private volatile double linesPerSecond = 0;
+
     public SocketConsole(Content content, ConsoleView consoleView, String consoleName, ProjectLogInfo logInfo, CodewindApplication app, ILogChangeNotifier iLogChangeNotifier) {
         this.logInfo = logInfo;
         this.app = app;
@@ -42,45 +98,204 @@ public class SocketConsole {
     }
 
     public void initialize() throws Exception {
-        SocketConsole socketConsole = this;
-        CoreUtil.runAsync(new Runnable() {
-            @Override
-            public void run() {
-                try {
-                    socket.registerSocketConsole(socketConsole);
-                    app.connection.requestEnableLogStream(app, logInfo);
-                } catch (Exception e) {
+        try {
+            archive = LogArchive.getArchive(app, logInfo);
+        } catch (IOException e) {
+            LOG.warn("The " + logInfo.logName + " log for " + app.name + " cannot be archived", e); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        }
+        flushTask = flusher.scheduleAtFixedRate(this::flush, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        socket.registerSocketConsole(this);
+        // The stream is already enabled if the log search index needs it
+        if (!app.connection.getIndexedLogStreams().isEnabled(app.projectID, logInfo)) {
+            app.connection.requestEnableLogStreamAsync(app, logInfo, null).exceptionally(e -> {
+                LOG.warn("Error enabling the log stream for: " + app.name, e);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Add a log update to the buffer.  It is written to the console by the next flush.  The update is
+     * archived separately by {@link #archive(Collection, String, boolean)}, once for all of the consoles
+     * showing the log.
+     */
+    public void update(String contents, boolean reset) {
+        if (!isInitialized || reset) {
+            buffer.reset();
+            isInitialized = true;
+        }
+        bytesReceived.addAndGet(utf8Length(contents));
+        linesReceived.addAndGet(buffer.append(contents));
+    }
 
+    /**
+     * Add a log update to the archive shared by the consoles for the log.  The consoles for a log all hold
+     * the same archive, so each update is written once.  If the archive fails, for example because the disk
+     * is full, the log is still shown but is no longer archived.
+     *
+     * @param reset whether the log was reset on the server
+     */
+    public static void archive(Collection<SocketConsole> consoles, String contents, boolean reset) {
+        Set<LogArchive> written = Collections.newSetFromMap(new IdentityHashMap<LogArchive, Boolean>());
+        for (SocketConsole console : consoles) {
+            LogArchive current = console.archive;
+            if (current == null || !written.add(current)) {
+                continue;
+            }
+            try {
+                if (reset) {
+                    current.reset();
+                }
+                current.append(contents);
+            } catch (IOException e) {
+                LOG.warn("The " + console.logInfo.logName + " log for " + console.app.name + " can no longer be archived", e); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                for (SocketConsole other : consoles) {
+                    if (other.archive == current) {
+                        other.releaseArchive(current);
+                        other.archiveError = e.getLocalizedMessage();
+                    }
                 }
             }
-        });
+        }
     }
 
-    public void update(String contents, boolean reset) throws IOException {
-        if (!isInitialized || reset) {
-            if (consoleView != null) {
-                consoleView.clear();
+    private synchronized void releaseArchive(LogArchive current) {
+        if (current != null && archive == current) {
+            archive = null;
+            current.close();
+        }
+    }
+
+    /**
+     * Write the buffered lines to the console view.
+     */
+    private void flush() {
+        try {
+            LogRingBuffer.Batch batch = buffer.drain();
+            if (batch != null && consoleView != null) {
+                if (batch.reset) {
+                    consoleView.clear();
+                }
+                String error = archiveError;
+                if (error != null) {
+                    archiveError = null;
+                    consoleView.print(message("LogFileArchiveErrorMsg", error) + "\n", ConsoleViewContentType.ERROR_OUTPUT); //$NON-NLS-1$
+                }
+                if (batch.droppedLines > 0) {
+                    linesDropped.addAndGet(batch.droppedLines);
+                    LogArchive archive = this.archive;
+                    String msg = archive != null ? message("LogFileLinesDroppedArchivedMsg", batch.droppedLines, archive.getDirectory()) : message("LogFileLinesDroppedMsg", batch.droppedLines);
+                    consoleView.print(msg + "\n", ConsoleViewContentType.SYSTEM_OUTPUT); //$NON-NLS-1$
+                }
+                if (!batch.text.isEmpty()) {
+                    // Todo: investigate how else we can print with different content types
+                    consoleView.print(batch.text, ConsoleViewContentType.NORMAL_OUTPUT);
+                }
+                batchesWritten.incrementAndGet();
+                if (!consoleView.getComponent().isShowing()) {
+                    synchronized (notifier) {
+                        notifier.notifyChange(this.consoleName);
+                    }
+                }
             }
-            isInitialized = true;
+            updateRates();
+        } catch (Exception e) {
+            LOG.warn("An error occurred writing to the console " + consoleName, e); //$NON-NLS-1$
+        }
+    }
+
+    private void updateRates() {
+        long now = System.currentTimeMillis();
+        long elapsed = now - sampleTime;
+        if (elapsed < RATE_SAMPLE_MS) {
+            return;
         }
-        if (!consoleView.getComponent().isShowing()) {
-            synchronized(notifier) {
-                notifier.notifyChange(this.consoleName);
+        long bytes = bytesReceived.get();
+        long lines = linesReceived.get();
+        bytesPerSecond = (bytes - sampleBytes) * 1000.0 / elapsed;
+        linesPerSecond = (lines - sampleLines) * 1000.0 / elapsed;
+        sampleTime = now;
+        sampleBytes = bytes;
+        sampleLines = lines;
+    }
+
+    private static long utf8Length(String str) {
+        long len = 0;
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (c < 0x80) {
+                len++;
+            } else if (c < 0x800) {
+                len += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                len += 4;
+                i++;
+            } else {
+                len += 3;
             }
         }
-        // Todo: investigate how else we can print with different content types
-        consoleView.print(contents, ConsoleViewContentType.NORMAL_OUTPUT);
+        return len;
+    }
+
+    /**
+     * Total number of bytes of log received for this console.
+     */
+    public long getBytesReceived() {
+        return bytesReceived.get();
+    }
+
+    /**
+     * Total number of log lines received for this console.
+     */
+    public long getLinesReceived() {
+        return linesReceived.get();
+    }
+
+    /**
+     * Total number of log lines dropped because the buffer was full.
+     */
+    public long getLinesDropped() {
+        return linesDropped.get();
+    }
+
+    public long getBatchesWritten() {
+        return batchesWritten.get();
+    }
+
+    /**
+     * Bytes of log received per second, over the last second.
+     */
+    public double getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    /**
+     * Log lines received per second, over the last second.
+     */
+    public double getLinesPerSecond() {
+        return linesPerSecond;
+    }
+
+    /**
+     * Number of lines waiting to be written to the console.
+     */
+    public int getBufferedLines() {
+        return buffer.size();
     }
 
     public void dispose() {
-        Logger.log("Dispose console " + logInfo.logName);
+        LOG.info("Dispose console " + logInfo.logName);
         socket.deregisterSocketConsole(this);
-        if (app.isAvailable()) {
-            try {
-                app.connection.requestDisableLogStream(app, logInfo);
-            } catch (Exception e) {
-                Logger.logWarning("Error disabling the log stream for: " + app.name, e);
-            }
+        if (flushTask != null) {
+            flushTask.cancel(false);
+        }
+        releaseArchive(archive);
+        // Leave the stream enabled if the log search index needs it
+        if (app.isAvailable() && !app.connection.getIndexedLogStreams().isEnabled(app.projectID, logInfo)) {
+            app.connection.requestDisableLogStreamAsync(app, logInfo, null).exceptionally(e -> {
+                LOG.warn("Error disabling the log stream for: " + app.name, e);
+                return null;
+            });
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2020 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.codewind.intellij.core.console;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Index of the socket consoles for a connection by project id, log type and log name so that
+ * log-update events can be routed without looking at every console.  Consoles can be added and
+ * removed from any thread.
+ */
+public class SocketConsoleIndex {
+
+    private final Map<Key, Set<SocketConsole>> consoles = new ConcurrentHashMap<Key, Set<SocketConsole>>();
+
+    private final AtomicLong routedFrames = new AtomicLong();
+    private final AtomicLong unroutedFrames = new AtomicLong();
+
+    public void add(SocketConsole console) {
+        consoles.compute(new Key(console), (key, set) -> {
+            if (set == null) {
+                set = new CopyOnWriteArraySet<SocketConsole>();
+            }
+            set.add(console);
+            return set;
+        });
+    }
+
+    public void remove(SocketConsole console) {
+        consoles.computeIfPresent(new Key(console), (key, set) -> {
+            set.remove(console);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    /**
+     * Get the consoles for a log.  Counts the lookup as a routed or unrouted log frame.
+     *
+     * @return the consoles, empty if there are none
+     */
+    public Set<SocketConsole> route(String projectID, String type, String logName) {
+        Set<SocketConsole> set = consoles.get(new Key(projectID, type, logName));
+        if (set == null || set.isEmpty()) {
+            unroutedFrames.incrementAndGet();
+            return Collections.emptySet();
+        }
+        routedFrames.incrementAndGet();
+        return set;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Set<SocketConsole> set : consoles.values()) {
+            size += set.size();
+        }
+        return size;
+    }
+
+    /**
+     * Number of log frames delivered to at least one console.
+     */
+    public long getRoutedFrames() {
+        return routedFrames.get();
+    }
+
+    /**
+     * Number of log frames for which no console was registered, for example because the
+     * console was closed before the log stream was disabled.
+     */
+    public long getUnroutedFrames() {
+        return unroutedFrames.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s consoles=%d routed=%d unrouted=%d", //$NON-NLS-1$
+                SocketConsoleIndex.class.getSimpleName(), size(), getRoutedFrames(), getUnroutedFrames());
+    }
+
+    private static class Key {
+        private final String projectID;
+        private final String type;
+        private final String logName;
+        private final int hash;
+
+        private Key(SocketConsole console) {
+            this(console.app.projectID, console.logInfo.type, console.logInfo.logName);
+        }
+
+        private Key(String projectID, String type, String logName) {
+            this.projectID = projectID;
+            this.type = type;
+            this.logName = logName;
+            int result = projectID != null ? projectID.hashCode() : 0;
+            result = 31 * result + (type != null ? type.hashCode() : 0);
+            result = 31 * result + (logName != null ? logName.hashCode() : 0);
+            this.hash = result;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return hash == other.hash && equals(projectID, other.projectID) && equals(type, other.type)
+                    && equals(logName, other.logName);
+        }
+
+        private static boolean equals(String a, String b) {
+            return a == null ? b == null : a.equals(b);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
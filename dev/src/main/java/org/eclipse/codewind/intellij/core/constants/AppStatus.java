@@ -23,6 +23,8 @@ public enum AppStatus {
     STOPPED("stopped", message("AppStatusStopped")),
     UNKNOWN("unknown", message("AppStatusUnknown"));
 
+    private static final Logger LOG = Logger.getInstance(AppStatus.class);
+
     public final String appStatus;
     public final String displayString;
 
@@ -40,7 +42,7 @@ public enum AppStatus {
                 return state;
             }
         }
-        Logger.logWarning("Unrecognized application status: " + appStatus);
+        LOG.warn("Unrecognized application status: " + appStatus);
         return AppStatus.UNKNOWN;
     }
 
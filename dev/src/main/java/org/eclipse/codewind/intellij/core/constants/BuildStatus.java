@@ -23,6 +23,8 @@ public enum BuildStatus {
     QUEUED("queued", message("BuildStateQueued")),
     UNKOWN("unknown", message("BuildStateUnknown"));
 
+    private static final Logger LOG = Logger.getInstance(BuildStatus.class);
+
     public static final String BUILD_REQUIRED = "buildRequired";
 
     public final String status;
@@ -45,7 +47,7 @@ public enum BuildStatus {
                 return status;
             }
         }
-        Logger.logWarning("Unrecognized application state: " + buildStatus);
+        LOG.warn("Unrecognized application state: " + buildStatus);
         return BuildStatus.UNKOWN;
     }
 
@@ -23,6 +23,8 @@ import org.json.JSONObject;
  * Represents the capabilities of a project.
  */
 public class ProjectCapabilities {
+
+	private static final Logger LOG = Logger.getInstance(ProjectCapabilities.class);
 	
 	public static final ProjectCapabilities emptyCapabilities = new ProjectCapabilities();
 	
@@ -89,7 +91,7 @@ public class ProjectCapabilities {
 				}
 			}
 		} catch (JSONException e) {
-			Logger.logWarning("Failed to parse the start mode capabilities.", e);
+			LOG.warn("Failed to parse the start mode capabilities.", e);
 		}
 		
 		try {
@@ -103,7 +105,7 @@ public class ProjectCapabilities {
 				}
 			}
 		} catch (JSONException e) {
-			Logger.logWarning("Failed to parse the control command capabilities.", e);
+			LOG.warn("Failed to parse the control command capabilities.", e);
 		}
 	}
 	
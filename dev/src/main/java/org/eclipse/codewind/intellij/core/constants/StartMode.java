@@ -25,6 +25,8 @@ public enum StartMode {
     DEBUG("debug"),
     DEBUG_NO_INIT("debugNoInit");
 
+    private static final Logger LOG = Logger.getInstance(StartMode.class);
+
     public static final EnumSet<StartMode> DEBUG_MODES = EnumSet.of(DEBUG, DEBUG_NO_INIT);
 
     public final String startMode;
@@ -53,18 +55,18 @@ public enum StartMode {
                 mode = obj.getString(CoreConstants.KEY_START_MODE);
             }
             if (mode == null) {
-                Logger.log("No start mode was specified on JSON object");
+                LOG.info("No start mode was specified on JSON object");
                 return StartMode.RUN;
             } else {
                 StartMode startMode = StartMode.get(mode);
                 if (startMode == null) {
-                    Logger.log("Unrecognized start mode: " + mode);
+                    LOG.info("Unrecognized start mode: " + mode);
                     return StartMode.RUN;
                 }
                 return startMode;
             }
         } catch (Exception e) {
-            Logger.logWarning("Failed to get start mode", e);
+            LOG.warn("Failed to get start mode", e);
         }
         return StartMode.RUN;
     }
@@ -42,6 +42,8 @@ import java.awt.Component;
  */
 public class CoreUiUtil {
 
+    private static final Logger LOG = Logger.getInstance(CoreUiUtil.class);
+
     public static void debug(Project project, CodewindApplication application) {
         String projectName = project.getName();
         RunManager runManager = RunManager.getInstance(project);
@@ -80,7 +82,7 @@ public class CoreUiUtil {
                     builder = ExecutionEnvironmentBuilder.create(DefaultDebugExecutor.getDebugExecutorInstance(), runner);
                     ExecutionManager.getInstance(project).restartRunProfile(builder.build());
                 } catch (Exception e){
-                    Logger.log(e);
+                    LOG.info(e);
                 }
             }
             // https://github.com/eclipse/codewind/issues/2531 - Focus switches to previous window after canceling prompt
@@ -44,6 +44,8 @@ import java.util.Map;
 
 public class CodewindToolWindow extends JBPanel<CodewindToolWindow> {
 
+    private static final Logger LOG = Logger.getInstance(CodewindToolWindow.class);
+
     public static String ID = "Codewind";
     public static String DISPLAY_NAME = "";
     private Tree tree;
@@ -248,7 +250,7 @@ public class CodewindToolWindow extends JBPanel<CodewindToolWindow> {
                 try {
                     com.intellij.ide.browsers.BrowserLauncher.getInstance().browse(rootURL.toURI());
                 } catch (URISyntaxException use) {
-                    Logger.log("Bad Application URL: " + rootURL);
+                    LOG.info("Bad Application URL: " + rootURL);
                     System.out.println("*** Bad Application URL: " + rootURL);
                 }
             }
@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2020 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.codewind.intellij.ui;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.ui.components.JBLabel;
+import com.intellij.ui.components.JBPanel;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.components.JBTextArea;
+import com.intellij.util.ui.JBUI;
+import org.eclipse.codewind.intellij.core.CodewindApplication;
+import org.eclipse.codewind.intellij.core.CodewindIOExecutor;
+import org.eclipse.codewind.intellij.core.CoreUtil;
+import org.eclipse.codewind.intellij.core.Logger;
+import org.eclipse.codewind.intellij.core.console.LogArchive;
+import org.eclipse.codewind.intellij.core.console.ProjectLogInfo;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.IOException;
+
+import static org.eclipse.codewind.intellij.ui.messages.CodewindUIBundle.message;
+
+/**
+ * Shows the archived history of a project log one page at a time, including the output that was dropped
+ * from the console or written before the console was opened.  See {@link LogArchive}.
+ */
+public class LogHistoryDialog extends DialogWrapper {
+
+    private static final Logger LOG = Logger.getInstance(LogHistoryDialog.class);
+
+    private static final int PAGE_BYTES = 256 * 1024;
+
+    private final LogArchive archive;
+    private final String logName;
+
+    private final JBTextArea text = new JBTextArea();
+    private final JBLabel status = new JBLabel();
+    private final JButton earlierButton = new JButton(message("LogHistoryEarlier"));
+    private final JButton laterButton = new JButton(message("LogHistoryLater"));
+    private final JButton latestButton = new JButton(message("LogHistoryLatest"));
+
+    // The page being shown, only used on the event dispatch thread
+    private Page page;
+
+    /**
+     * Open the archive of the log and show the latest page of it.
+     */
+    public static void open(Project project, CodewindApplication app, ProjectLogInfo logInfo) {
+        LogArchive archive;
+        try {
+            archive = LogArchive.getArchive(app, logInfo);
+        } catch (IOException e) {
+            LOG.warn("The archive for the " + logInfo.logName + " log of " + app.name + " could not be opened", e); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            CoreUtil.openDialog(true, message("LogHistoryErrorTitle"), message("LogHistoryErrorMsg", logInfo.logName, app.name, e.getLocalizedMessage()));
+            return;
+        }
+        new LogHistoryDialog(project, archive, app.name + " - " + logInfo.logName).show(); //$NON-NLS-1$
+    }
+
+    private LogHistoryDialog(Project project, LogArchive archive, String logName) {
+        super(project, false);
+        this.archive = archive;
+        this.logName = logName;
+        setTitle(message("LogHistoryTitle", logName));
+        setModal(false);
+
+        text.setEditable(false);
+        text.setFont(new Font(Font.MONOSPACED, Font.PLAIN, text.getFont().getSize()));
+        earlierButton.addActionListener(e -> load(page.start - PAGE_BYTES));
+        laterButton.addActionListener(e -> load(page.start + PAGE_BYTES));
+        latestButton.addActionListener(e -> load(Long.MAX_VALUE));
+        setButtonsEnabled(false);
+
+        init();
+        load(Long.MAX_VALUE);
+    }
+
+    @Nullable
+    @Override
+    protected JComponent createCenterPanel() {
+        JBPanel<?> buttons = new JBPanel<>(new FlowLayout(FlowLayout.LEFT));
+        buttons.add(earlierButton);
+        buttons.add(laterButton);
+        buttons.add(latestButton);
+        buttons.add(status);
+
+        JBPanel<?> panel = new JBPanel<>(new BorderLayout());
+        panel.add(buttons, BorderLayout.NORTH);
+        JBScrollPane scrollPane = new JBScrollPane(text);
+        scrollPane.setPreferredSize(JBUI.size(900, 500));
+        panel.add(scrollPane, BorderLayout.CENTER);
+        return panel;
+    }
+
+    @NotNull
+    @Override
+    protected Action[] createActions() {
+        return new Action[]{getOKAction()};
+    }
+
+    /**
+     * Read the page starting at the given offset, which is moved into the archive, on the I/O executor.
+     */
+    private void load(long offset) {
+        setButtonsEnabled(false);
+        CodewindIOExecutor.getExecutor().supplyAsync("Read the history of the " + logName + " log", () -> { //$NON-NLS-1$ //$NON-NLS-2$
+            long archiveStart = archive.getStartOffset();
+            long archiveEnd = archive.getEndOffset();
+            long start = Math.max(archiveStart, Math.min(offset, archiveEnd - PAGE_BYTES));
+            return new Page(start, archiveStart, archiveEnd, archive.read(start, PAGE_BYTES));
+        }).whenComplete((result, e) -> CoreUtil.invokeLater(() -> {
+            if (isDisposed()) {
+                return;
+            }
+            if (e != null) {
+                LOG.warn("An error occurred reading the history of the " + logName + " log", e); //$NON-NLS-1$ //$NON-NLS-2$
+                status.setText(message("LogHistoryReadError", Logger.unwrap(e).getLocalizedMessage()));
+                latestButton.setEnabled(true);
+                return;
+            }
+            page = result;
+            text.setText(result.text);
+            text.setCaretPosition(result.start + PAGE_BYTES >= result.archiveEnd ? result.text.length() : 0);
+            status.setText(message("LogHistoryRange", result.start, result.start + Math.min(PAGE_BYTES, result.archiveEnd - result.start), result.archiveEnd));
+            earlierButton.setEnabled(result.start > result.archiveStart);
+            laterButton.setEnabled(result.start + PAGE_BYTES < result.archiveEnd);
+            latestButton.setEnabled(true);
+        }));
+    }
+
+    private void setButtonsEnabled(boolean enabled) {
+        earlierButton.setEnabled(enabled);
+        laterButton.setEnabled(enabled);
+        latestButton.setEnabled(enabled);
+    }
+
+    @Override
+    protected void dispose() {
+        archive.close();
+        super.dispose();
+    }
+
+    private static class Page {
+        private final long start;
+        private final long archiveStart;
+        private final long archiveEnd;
+        private final String text;
+
+        private Page(long start, long archiveStart, long archiveEnd, String text) {
+            this.start = start;
+            this.archiveStart = archiveStart;
+            this.archiveEnd = archiveEnd;
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2020 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.codewind.intellij.ui;
+
+import com.intellij.ui.DocumentAdapter;
+import com.intellij.ui.SearchTextField;
+import com.intellij.ui.components.JBLabel;
+import com.intellij.ui.components.JBList;
+import com.intellij.ui.components.JBPanel;
+import com.intellij.ui.components.JBScrollPane;
+import org.eclipse.codewind.intellij.core.console.LogSearchIndex;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import java.awt.*;
+import java.util.List;
+
+import static org.eclipse.codewind.intellij.ui.messages.CodewindUIBundle.message;
+
+/**
+ * Tool window tab for searching the logs streamed from all Codewind projects.  See {@link LogSearchIndex}.
+ */
+public class LogSearchPanel extends JBPanel<LogSearchPanel> {
+
+    private static final int MAX_RESULTS = 500;
+    private static final int SEARCH_DELAY_MS = 200;
+
+    private final SearchTextField searchField = new SearchTextField();
+    private final DefaultListModel<LogSearchIndex.Match> results = new DefaultListModel<LogSearchIndex.Match>();
+    private final JBList<LogSearchIndex.Match> resultList = new JBList<LogSearchIndex.Match>(results);
+    private final JBLabel status = new JBLabel();
+    private final Timer searchTimer;
+
+    public LogSearchPanel() {
+        super(new BorderLayout());
+
+        searchTimer = new Timer(SEARCH_DELAY_MS, e -> search());
+        searchTimer.setRepeats(false);
+        searchField.addDocumentListener(new DocumentAdapter() {
+            @Override
+            protected void textChanged(@NotNull DocumentEvent e) {
+                searchTimer.restart();
+            }
+        });
+        searchField.getTextEditor().addActionListener(e -> search());
+
+        resultList.getEmptyText().setText(message("LogSearchEmptyText"));
+        resultList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+
+        add(searchField, BorderLayout.NORTH);
+        add(new JBScrollPane(resultList), BorderLayout.CENTER);
+        add(status, BorderLayout.SOUTH);
+
+        if (!LogSearchIndex.getInstance().isEnabled()) {
+            searchField.setEnabled(false);
+            status.setText(message("LogSearchDisabled"));
+        }
+    }
+
+    private void search() {
+        searchTimer.stop();
+        LogSearchIndex index = LogSearchIndex.getInstance();
+        long start = System.currentTimeMillis();
+        List<LogSearchIndex.Match> matches = index.search(searchField.getText(), MAX_RESULTS);
+        long time = System.currentTimeMillis() - start;
+
+        results.clear();
+        for (LogSearchIndex.Match match : matches) {
+            results.addElement(match);
+        }
+        status.setText(message("LogSearchStatus", matches.size(), time, index.getLineCount()));
+    }
+}
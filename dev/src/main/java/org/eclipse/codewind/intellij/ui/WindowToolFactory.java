@@ -17,12 +17,15 @@ import com.intellij.openapi.wm.ToolWindowFactory;
 import com.intellij.ui.content.ContentFactory;
 import org.jetbrains.annotations.NotNull;
 
+import static org.eclipse.codewind.intellij.ui.messages.CodewindUIBundle.message;
+
 public class WindowToolFactory implements ToolWindowFactory {
     @Override
     public void createToolWindowContent(@NotNull Project project, @NotNull ToolWindow toolWindow) {
         CodewindToolWindow codewindToolWindow = new CodewindToolWindow();
         ContentFactory contentFactory = ContentFactory.SERVICE.getInstance();
         toolWindow.getContentManager().addContent(contentFactory.createContent(codewindToolWindow, CodewindToolWindow.DISPLAY_NAME, false));
+        toolWindow.getContentManager().addContent(contentFactory.createContent(new LogSearchPanel(), message("LogSearchTabName"), false));
         codewindToolWindow.init();
     }
 }
@@ -27,6 +27,8 @@ import static com.intellij.openapi.actionSystem.PlatformDataKeys.CONTEXT_COMPONE
  */
 public abstract class AbstractApplicationAction extends AnAction {
 
+    private static final Logger LOG = Logger.getInstance(AbstractApplicationAction.class);
+
     // Do not use member variables in actions
 
     public AbstractApplicationAction(String text) {
@@ -37,13 +39,13 @@ public abstract class AbstractApplicationAction extends AnAction {
     protected CodewindApplication getSelection(@NotNull AnActionEvent e) {
         Object data = e.getData(CONTEXT_COMPONENT);
         if (!(data instanceof Tree)) {
-            Logger.log("Unexpected selection context for "  + this.getClass().getName() + " : " + data);
+            LOG.info("Unexpected selection context for "  + this.getClass().getName() + " : " + data);
             return null;
         }
         Tree tree = (Tree) data;
         TreePath treePath = tree.getSelectionPath();
         if (treePath == null) {
-            Logger.log("No selection path for "  + this.getClass().getName() + " : " + tree);
+            LOG.info("No selection path for "  + this.getClass().getName() + " : " + tree);
             return null;
         }
         Object node = treePath.getLastPathComponent();
@@ -57,7 +59,7 @@ public abstract class AbstractApplicationAction extends AnAction {
     protected Tree getTree(@NotNull AnActionEvent e) {
         Object data = e.getData(CONTEXT_COMPONENT);
         if (!(data instanceof Tree)) {
-            Logger.log("Unexpected selection context for " + this.getClass().getName() + " : " + data);
+            LOG.info("Unexpected selection context for " + this.getClass().getName() + " : " + data);
             return null;
         }
         return (Tree) data;
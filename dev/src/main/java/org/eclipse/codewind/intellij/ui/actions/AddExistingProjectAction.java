@@ -32,6 +32,8 @@ import static org.eclipse.codewind.intellij.ui.messages.CodewindUIBundle.message
 
 public class AddExistingProjectAction extends AnAction {
 
+    private static final Logger LOG = Logger.getInstance(AddExistingProjectAction.class);
+
     public AddExistingProjectAction() {
         super(message("BindActionLabel"));
     }
@@ -65,7 +67,7 @@ public class AddExistingProjectAction extends AnAction {
         Tree tree = (Tree) data;
         TreePath treePath = tree.getSelectionPath();
         if (treePath == null) {
-            Logger.log("No selection path for AddExistingProjectAction: " + tree);
+            LOG.info("No selection path for AddExistingProjectAction: " + tree);
             return null;
         }
         Object node = treePath.getLastPathComponent();
@@ -26,6 +26,8 @@ import static org.eclipse.codewind.intellij.ui.messages.CodewindUIBundle.message
 
 public class CloseAllLogsAction extends AnAction {
 
+    private static final Logger LOG = Logger.getInstance(CloseAllLogsAction.class);
+
     public CloseAllLogsAction() {
         super(message("CloseAllLogFilesAction"));
     }
@@ -49,7 +51,7 @@ public class CloseAllLogsAction extends AnAction {
         Tree tree = (Tree) data;
         TreePath treePath = tree.getSelectionPath();
         if (treePath == null) {
-            Logger.log("No selection path for CloseAllLogsAction: " + tree);
+            LOG.info("No selection path for CloseAllLogsAction: " + tree);
             return null;
         }
         Object node = treePath.getLastPathComponent();
@@ -33,6 +33,8 @@ import static org.eclipse.codewind.intellij.ui.messages.CodewindUIBundle.message
 
 public class ManageReposAction extends AnAction {
 
+    private static final Logger LOG = Logger.getInstance(ManageReposAction.class);
+
     public ManageReposAction() {
         super(message("RepoMgmtActionLabel"));
     }
@@ -54,7 +56,7 @@ public class ManageReposAction extends AnAction {
                     ProgressIndicator mon = new EmptyProgressIndicator();
                     repoListArray[0] = TemplateUtil.listTemplateSources(connection.getConid(), mon);
                 } catch (Exception e1) {
-                    Logger.logWarning("An error occurred trying to get the template sources for: " + connection.getName() + ": " + e1.getMessage());
+                    LOG.warn("An error occurred trying to get the template sources for: " + connection.getName() + ": " + e1.getMessage());
                 }
             }, message("RepoListTask", "connection"), false, e.getProject());
             RepositoryManagementDialog dialog = new RepositoryManagementDialog(e.getProject(), connection, repoListArray[0]);
@@ -72,13 +74,13 @@ public class ManageReposAction extends AnAction {
     private CodewindConnection getSelection(@NotNull AnActionEvent e) {
         Object data = e.getData(CONTEXT_COMPONENT);
         if (!(data instanceof Tree)) {
-            Logger.logDebug("Unrecognized component for : " + data);
+            LOG.debug("Unrecognized component for : " + data);
             return null;
         }
         Tree tree = (Tree) data;
         TreePath treePath = tree.getSelectionPath();
         if (treePath == null) {
-            Logger.logDebug("No selection path for ManageReposAction: " + tree);
+            LOG.debug("No selection path for ManageReposAction: " + tree);
             return null;
         }
         Object node = treePath.getLastPathComponent();
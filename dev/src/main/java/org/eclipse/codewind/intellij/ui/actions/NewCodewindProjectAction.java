@@ -37,6 +37,8 @@ import static org.eclipse.codewind.intellij.ui.messages.CodewindUIBundle.message
 
 public class NewCodewindProjectAction extends NewProjectAction {
 
+    private static final Logger LOG = Logger.getInstance(NewCodewindProjectAction.class);
+
     @Override
     public void actionPerformed(@NotNull AnActionEvent e) {
         CodewindConnection connection = getSelection(e);
@@ -49,7 +51,7 @@ public class NewCodewindProjectAction extends NewProjectAction {
             }
             selectCodewindTemplate(wizard);
         } catch (Exception ex) {
-            Logger.logWarning(ex);
+            LOG.warn(ex);
         }
         NewProjectUtil.createNewProject(wizard);
     }
@@ -92,7 +94,7 @@ public class NewCodewindProjectAction extends NewProjectAction {
         Tree tree = (Tree) data;
         TreePath treePath = tree.getSelectionPath();
         if (treePath == null) {
-            Logger.log("No selection path for NewCodewindProjectAction: " + tree);
+            LOG.info("No selection path for NewCodewindProjectAction: " + tree);
             return null;
         }
         Object node = treePath.getLastPathComponent();
@@ -27,6 +27,8 @@ import static org.eclipse.codewind.intellij.ui.messages.CodewindUIBundle.message
 
 public class OpenAppMonitorAction extends AbstractApplicationAction {
 
+    private static final Logger LOG = Logger.getInstance(OpenAppMonitorAction.class);
+
     public OpenAppMonitorAction() {
         super(message("ActionOpenMetricsDashboard"));
     }
@@ -52,7 +54,7 @@ public class OpenAppMonitorAction extends AbstractApplicationAction {
                     perfURI = perfURL.toURI();
                     com.intellij.ide.browsers.BrowserLauncher.getInstance().browse(perfURI);
                 } catch (URISyntaxException use) {
-                    Logger.log("Bad Metrics Dashboard URL: " + perfURL);
+                    LOG.info("Bad Metrics Dashboard URL: " + perfURL);
                 }
             }
             return;
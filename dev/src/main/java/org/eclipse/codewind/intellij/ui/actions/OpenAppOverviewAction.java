@@ -26,6 +26,8 @@ import static org.eclipse.codewind.intellij.ui.messages.CodewindUIBundle.message
 
 public class OpenAppOverviewAction extends AnAction {
 
+    private static final Logger LOG = Logger.getInstance(OpenAppOverviewAction.class);
+
     public OpenAppOverviewAction() {
         super(message("ACTION_OPEN_APP_OVERVIEW"));
     }
@@ -48,7 +50,7 @@ public class OpenAppOverviewAction extends AnAction {
         Tree tree = (Tree) data;
         TreePath treePath = tree.getSelectionPath();
         if (treePath == null) {
-            Logger.log("No selection path for OpenAppOverviewAction: " + tree);
+            LOG.info("No selection path for OpenAppOverviewAction: " + tree);
             return null;
         }
         Object node = treePath.getLastPathComponent();
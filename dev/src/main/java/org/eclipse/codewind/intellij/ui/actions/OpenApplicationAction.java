@@ -30,6 +30,8 @@ import static com.intellij.openapi.actionSystem.PlatformDataKeys.CONTEXT_COMPONE
 
 public class OpenApplicationAction extends AnAction {
 
+    private static final Logger LOG = Logger.getInstance(OpenApplicationAction.class);
+
     public OpenApplicationAction() {
         super("Open Application");
     }
@@ -38,7 +40,7 @@ public class OpenApplicationAction extends AnAction {
     public void actionPerformed(@NotNull AnActionEvent e) {
         Object data = e.getData(CONTEXT_COMPONENT);
         if (!(data instanceof Tree)) {
-            Logger.log("unrecognized component for OpenApplicationAction: " + data);
+            LOG.info("unrecognized component for OpenApplicationAction: " + data);
             System.out.println("*** unrecognized component for OpenApplicationAction: " + data);
             return;
         }
@@ -46,7 +48,7 @@ public class OpenApplicationAction extends AnAction {
         Tree tree = (Tree) data;
         TreePath treePath = tree.getSelectionPath();
         if (treePath == null) {
-            Logger.log("no selection for OpenApplicationAction: " + data);
+            LOG.info("no selection for OpenApplicationAction: " + data);
             System.out.println("*** no selection for OpenApplicationAction: " + data);
             return;
         }
@@ -63,7 +65,7 @@ public class OpenApplicationAction extends AnAction {
                     rootURI = rootURL.toURI();
                     com.intellij.ide.browsers.BrowserLauncher.getInstance().browse(rootURI);
                 } catch (URISyntaxException use) {
-                    Logger.log("Bad Application URL: " + rootURL);
+                    LOG.info("Bad Application URL: " + rootURL);
                     System.out.println("*** Bad Application URL: " + rootURL);
                 }
             }
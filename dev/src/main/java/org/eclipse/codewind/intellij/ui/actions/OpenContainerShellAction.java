@@ -29,6 +29,9 @@ import java.io.IOException;
 import static org.eclipse.codewind.intellij.ui.messages.CodewindUIBundle.message;
 
 public class OpenContainerShellAction extends AbstractProjectDependentAction {
+
+    private static final Logger LOG = Logger.getInstance(OpenContainerShellAction.class);
+
     public OpenContainerShellAction() {
         super(message("ActionOpenContainerShell"));
     }
@@ -57,7 +60,7 @@ public class OpenContainerShellAction extends AbstractProjectDependentAction {
                 } else {
                     processPath = KubeUtil.getCommand();
                     if (processPath == null) {
-                        Logger.logWarning("The container shell cannot be opened because neither of the kubectl or oc commands could be found on the path");
+                        LOG.warn("The container shell cannot be opened because neither of the kubectl or oc commands could be found on the path");
                         CoreUtil.openDialog(true, message("ActionOpenContainerShellErrorTitle"), message("ActionOpenContainerShellNoKubectlMsg"));
                         return;
                     }
@@ -70,7 +73,7 @@ public class OpenContainerShellAction extends AbstractProjectDependentAction {
                     w.executeCommand(cmd);
                     w.requestFocusInWindow();
                 } catch (IOException e) {
-                    Logger.logWarning(e);
+                    LOG.warn(e);
                     CoreUtil.openDialog(true, message("ActionOpenContainerShellErrorTitle"), e.getLocalizedMessage());
                 }
             }
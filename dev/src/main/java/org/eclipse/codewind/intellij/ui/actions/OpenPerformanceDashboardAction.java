@@ -28,6 +28,8 @@ import static org.eclipse.codewind.intellij.ui.messages.CodewindUIBundle.message
 
 public class OpenPerformanceDashboardAction extends AbstractApplicationAction {
 
+    private static final Logger LOG = Logger.getInstance(OpenPerformanceDashboardAction.class);
+
     public OpenPerformanceDashboardAction() {
         super(message("ActionOpenPerfDashboard"));
     }
@@ -53,7 +55,7 @@ public class OpenPerformanceDashboardAction extends AbstractApplicationAction {
                     perfURI = perfURL.toURI();
                     com.intellij.ide.browsers.BrowserLauncher.getInstance().browse(perfURI);
                 } catch (URISyntaxException use) {
-                    Logger.log("Bad Performance Dashboard URL: " + perfURL);
+                    LOG.info("Bad Performance Dashboard URL: " + perfURL);
                 }
             }
             return;
@@ -30,6 +30,8 @@ import static com.intellij.openapi.actionSystem.PlatformDataKeys.CONTEXT_COMPONE
 
 public class OpenTektonDashboardAction extends AnAction {
 
+    private static final Logger LOG = Logger.getInstance(OpenTektonDashboardAction.class);
+
     public OpenTektonDashboardAction() {
         super("Open Tekton Dashboard");
     }
@@ -38,7 +40,7 @@ public class OpenTektonDashboardAction extends AnAction {
     public void actionPerformed(@NotNull AnActionEvent e) {
         Object data = e.getData(CONTEXT_COMPONENT);
         if (!(data instanceof Tree)) {
-            Logger.log("unrecognized component for OpenTektonDashboardAction: " + data);
+            LOG.info("unrecognized component for OpenTektonDashboardAction: " + data);
             System.out.println("*** unrecognized component for OpenTektonDashboardAction: " + data);
             return;
         }
@@ -46,7 +48,7 @@ public class OpenTektonDashboardAction extends AnAction {
         Tree tree = (Tree) data;
         TreePath treePath = tree.getSelectionPath();
         if (treePath == null) {
-            Logger.log("no selection for OpenTektonDashboardAction: " + data);
+            LOG.info("no selection for OpenTektonDashboardAction: " + data);
             System.out.println("*** no selection for OpenTektonDashboardAction: " + data);
             return;
         }
@@ -63,7 +65,7 @@ public class OpenTektonDashboardAction extends AnAction {
                     try {
                         com.intellij.ide.browsers.BrowserLauncher.getInstance().browse(tektonURL.toURI());
                     } catch (URISyntaxException use) {
-                        Logger.log("Bad Tekton Dashboard URL: " + tektonURL);
+                        LOG.info("Bad Tekton Dashboard URL: " + tektonURL);
                         System.out.println("*** Bad Tekton Dashboard URL: " + tektonURL);
                     }
                 }
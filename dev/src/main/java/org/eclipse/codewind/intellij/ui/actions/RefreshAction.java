@@ -31,6 +31,8 @@ import static org.eclipse.codewind.intellij.ui.messages.CodewindUIBundle.message
 
 public class RefreshAction extends AnAction {
 
+    private static final Logger LOG = Logger.getInstance(RefreshAction.class);
+
     public RefreshAction() {
         super(message("ACTION_REFRESH"));
     }
@@ -39,7 +41,7 @@ public class RefreshAction extends AnAction {
     public void actionPerformed(@NotNull AnActionEvent e) {
         Object data = e.getData(CONTEXT_COMPONENT);
         if (!(data instanceof Tree)) {
-            Logger.log("unrecognized component for RefreshAction: " + data);
+            LOG.info("unrecognized component for RefreshAction: " + data);
             System.out.println("*** unrecognized component for RefreshAction: " + data);
             return;
         }
@@ -47,7 +49,7 @@ public class RefreshAction extends AnAction {
         Tree tree = (Tree) data;
         TreePath treePath = tree.getSelectionPath();
         if (treePath == null) {
-            Logger.log("no selection for RefreshAction: " + data);
+            LOG.info("no selection for RefreshAction: " + data);
             System.out.println("*** no selection for RefreshAction: " + data);
             return;
         }
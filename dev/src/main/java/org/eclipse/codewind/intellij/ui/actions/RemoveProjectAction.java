@@ -31,6 +31,8 @@ import static org.eclipse.codewind.intellij.ui.messages.CodewindUIBundle.message
 
 public class RemoveProjectAction extends AnAction {
 
+    private static final Logger LOG = Logger.getInstance(RemoveProjectAction.class);
+
     public RemoveProjectAction() {
         super(message("UnbindActionLabel"));
     }
@@ -39,7 +41,7 @@ public class RemoveProjectAction extends AnAction {
     public void actionPerformed(@NotNull AnActionEvent e) {
         Object data = e.getData(CONTEXT_COMPONENT);
         if (!(data instanceof Tree)) {
-            Logger.log("unrecognized component for RemoveProjectAction: " + data);
+            LOG.info("unrecognized component for RemoveProjectAction: " + data);
             System.out.println("*** unrecognized component for RemoveProjectAction: " + data);
             return;
         }
@@ -53,13 +55,13 @@ public class RemoveProjectAction extends AnAction {
                 if (node instanceof CodewindApplication) {
                     applications.add((CodewindApplication) node);
                 } else {
-                    Logger.log("selection for RemoveProjectAction is not a project: " + data);
+                    LOG.info("selection for RemoveProjectAction is not a project: " + data);
                     System.out.println("*** selection for RemoveProjectAction is not a project: " + data);
                 }
             }
         }
         if (applications.isEmpty()) {
-            Logger.log("no selection for RemoveProjectAction: " + data);
+            LOG.info("no selection for RemoveProjectAction: " + data);
             System.out.println("*** no selection for RemoveProjectAction: " + data);
             return;
         }
@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (c) 2020 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.codewind.intellij.ui.actions;
+
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.fileChooser.FileChooser;
+import com.intellij.openapi.fileChooser.FileChooserDescriptorFactory;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.eclipse.codewind.intellij.core.connection.SocketEventReplayer;
+import org.eclipse.codewind.intellij.ui.tasks.ReplaySocketEventsTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Paths;
+
+import static org.eclipse.codewind.intellij.ui.messages.CodewindUIBundle.message;
+
+/**
+ * Internal action to replay a socket event recording, see {@link SocketEventReplayer}.
+ */
+public class ReplaySocketEventsAction extends AnAction {
+
+    private static final String MAX_SPEED = "max"; //$NON-NLS-1$
+
+    public ReplaySocketEventsAction() {
+        super(message("ACTION_REPLAY_SOCKET_EVENTS"));
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        VirtualFile file = FileChooser.chooseFile(FileChooserDescriptorFactory.createSingleFileDescriptor(), e.getProject(), null);
+        if (file == null) {
+            return;
+        }
+        String speedStr = Messages.showInputDialog(e.getProject(), message("ReplaySocketEventsSpeed"),
+                message("ReplaySocketEventsTitle"), null, "1", null); //$NON-NLS-1$
+        if (speedStr == null) {
+            return;
+        }
+        double speed;
+        try {
+            speed = MAX_SPEED.equalsIgnoreCase(speedStr.trim()) ? SocketEventReplayer.MAX_SPEED : Double.parseDouble(speedStr.trim());
+        } catch (NumberFormatException ex) {
+            speed = -1;
+        }
+        if (!(speed > 0)) {
+            Messages.showErrorDialog(message("ReplaySocketEventsInvalidSpeed", speedStr), message("ReplaySocketEventsTitle"));
+            return;
+        }
+        ProgressManager.getInstance().run(new ReplaySocketEventsTask(Paths.get(file.getPath()), speed));
+    }
+}
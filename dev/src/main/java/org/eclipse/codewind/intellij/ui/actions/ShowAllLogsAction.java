@@ -26,6 +26,8 @@ import static org.eclipse.codewind.intellij.ui.messages.CodewindUIBundle.message
 
 public class ShowAllLogsAction extends AnAction {
 
+    private static final Logger LOG = Logger.getInstance(ShowAllLogsAction.class);
+
     public ShowAllLogsAction() {
         super(message("ShowAllLogFilesAction"));
     }
@@ -48,7 +50,7 @@ public class ShowAllLogsAction extends AnAction {
         Tree tree = (Tree) data;
         TreePath treePath = tree.getSelectionPath();
         if (treePath == null) {
-            Logger.log("No selection path for ShowAllLogsAction: " + tree);
+            LOG.info("No selection path for ShowAllLogsAction: " + tree);
             return null;
         }
         Object node = treePath.getLastPathComponent();
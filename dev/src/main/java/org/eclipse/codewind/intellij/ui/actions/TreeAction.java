@@ -26,6 +26,9 @@ import java.util.function.Function;
 import static com.intellij.openapi.actionSystem.PlatformDataKeys.CONTEXT_COMPONENT;
 
 public abstract class TreeAction<T> extends AnAction {
+
+    private static final Logger LOG = Logger.getInstance(TreeAction.class);
+
     private final String text;
     private final Class<T> type;
     private final Function<T, Task.Backgroundable> taskFactory;
@@ -45,19 +48,19 @@ public abstract class TreeAction<T> extends AnAction {
     protected Optional<T> getSelection(@NotNull AnActionEvent e) {
         Object data = e.getData(CONTEXT_COMPONENT);
         if (!(data instanceof Tree)) {
-            Logger.logWarning("unrecognized component for action " + text + ": " + data);
+            LOG.warn("unrecognized component for action " + text + ": " + data);
             System.out.println("unrecognized component for action " + text + ": " + data);
             return Optional.empty();
         }
         Tree tree = (Tree) data;
         TreePath treePath = tree.getSelectionPath();
         if (treePath == null) {
-            Logger.logWarning("no selection for action " + text);
+            LOG.warn("no selection for action " + text);
             return Optional.empty();
         }
         Object node = treePath.getLastPathComponent();
         if (!(type.isInstance(node))) {
-            Logger.logWarning("unrecognized node for action " + text + ": " + node);
+            LOG.warn("unrecognized node for action " + text + ": " + node);
             System.out.println("unrecognized node for action " + text + ": " + node);
             return Optional.empty();
         }
@@ -25,6 +25,8 @@ import java.net.URISyntaxException;
  */
 public abstract class AbstractCodewindDialogWrapper extends DialogWrapper {
 
+    private static final Logger LOG = Logger.getInstance(AbstractCodewindDialogWrapper.class);
+
     private String helpUrl;
 
     /**
@@ -51,7 +53,7 @@ public abstract class AbstractCodewindDialogWrapper extends DialogWrapper {
         try {
             BrowserLauncher.getInstance().browse(new URI(helpUrl));
         } catch (URISyntaxException ex) {
-            Logger.logDebug("Exception when lanching browser", ex);
+            LOG.debug("Exception when lanching browser", ex);
         }
     }
 }
\ No newline at end of file
@@ -37,6 +37,8 @@ import java.net.URISyntaxException;
 
 public class WidgetUtils {
 
+    private static final Logger LOG = Logger.getInstance(WidgetUtils.class);
+
     public static JTextArea createJTextArea(String textValue) {
         JTextArea textArea = new JTextArea();
         JTextField textField = new JTextField();
@@ -94,7 +96,7 @@ public class WidgetUtils {
                     BrowserLauncher.getInstance().browse(new URI(hyperlink.getText()));
 //                    Desktop.getDesktop().browse(new URI(hyperlink.getText()));
                 } catch (URISyntaxException e) {
-                    Logger.logTrace(e);
+                    LOG.trace(e);
                 }
             }
         });
@@ -141,7 +143,7 @@ public class WidgetUtils {
                 try {
                     BrowserLauncher.getInstance().browse(event.getURL().toURI());
                 } catch (Exception e) {
-                    Logger.logTrace(e);
+                    LOG.trace(e);
                 }
             }
         });
@@ -175,7 +177,7 @@ public class WidgetUtils {
                 try {
                     BrowserLauncher.getInstance().browse(event.getURL().toURI());
                 } catch (Exception e) {
-                    Logger.logTrace(e);
+                    LOG.trace(e);
                 }
             }
         });
@@ -68,6 +68,8 @@ import static org.eclipse.codewind.intellij.ui.messages.CodewindUIBundle.message
 
 public class CodewindModuleBuilder extends JavaModuleBuilder implements ModuleBuilderListener {
 
+    private static final Logger LOG = Logger.getInstance(CodewindModuleBuilder.class);
+
     private ProjectTemplateInfo template;
     private boolean isSuccessful;
     private CodewindConnection connection;
@@ -183,7 +185,7 @@ public class CodewindModuleBuilder extends JavaModuleBuilder implements ModuleBu
         Sdk sdk = ProjectRootManager.getInstance(ideaProject).getProjectSdk();
         String javaHome = sdk == null ? null : sdk.getHomePath();
         if (javaHome == null) {
-            Logger.log("createProject: no sdk set for project: " + ideaProject.getName());
+            LOG.info("createProject: no sdk set for project: " + ideaProject.getName());
         }
 
         SetupCodewindProjectRunnable setupProjectRunnable = new SetupCodewindProjectRunnable(path, name, url, language, projectType, conid, javaHome);
@@ -198,7 +200,7 @@ public class CodewindModuleBuilder extends JavaModuleBuilder implements ModuleBu
         } catch (Exception e) {
             if (!(e instanceof ProcessCanceledException)) { // If the user cancelled it, don't log it
                 Throwable thrown = Logger.unwrap(e);
-                Logger.logWarning("An error occurred creating project " + name, thrown);
+                LOG.warn("An error occurred creating project " + name, thrown);
             }
             throw e; // rethrow so that a message dialog will appear
         }
@@ -242,11 +244,11 @@ public class CodewindModuleBuilder extends JavaModuleBuilder implements ModuleBu
         // If the Codewind project set up was cancelled, simply remove the folder
         if (!isSuccessful) {
             String moduleFileDirectory = getModuleFileDirectory(); // The folder that contains the module file
-            Logger.log("Cancel was pressed. Removing folder " + moduleFileDirectory);
+            LOG.info("Cancel was pressed. Removing folder " + moduleFileDirectory);
             try {
                 FileUtil.deleteDirectory(moduleFileDirectory, true);
             } catch (IOException e) {
-                Logger.log(e);
+                LOG.info(e);
             }
         }
     }
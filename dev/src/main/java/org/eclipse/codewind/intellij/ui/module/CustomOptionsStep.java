@@ -31,6 +31,8 @@ import static org.eclipse.codewind.intellij.ui.messages.CodewindUIBundle.message
 
 public class CustomOptionsStep extends ModuleWizardStep {
 
+    private static final Logger LOG = Logger.getInstance(CustomOptionsStep.class);
+
     private final JPanel panel;
     private final JLabel label;
     private final JButton button;
@@ -119,7 +121,7 @@ public class CustomOptionsStep extends ModuleWizardStep {
             }
         } catch (Exception e) {
             Throwable cause = Logger.unwrap(e);
-            Logger.logWarning(cause);
+            LOG.warn(cause);
         }
     }
 
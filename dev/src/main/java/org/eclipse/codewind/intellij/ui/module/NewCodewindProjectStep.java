@@ -33,6 +33,8 @@ import static org.eclipse.codewind.intellij.ui.messages.CodewindUIBundle.message
 
 public class NewCodewindProjectStep extends ModuleWizardStep {
 
+    private static final Logger LOG = Logger.getInstance(NewCodewindProjectStep.class);
+
     private final CodewindModuleBuilder builder;
     private CodewindConnection connection;
 
@@ -83,7 +85,7 @@ public class NewCodewindProjectStep extends ModuleWizardStep {
                     .collect(Collectors.toList());
             getTableModel().update(templates);
         } catch (Exception e) {
-            Logger.logWarning(e);
+            LOG.warn(e);
         }
     }
 
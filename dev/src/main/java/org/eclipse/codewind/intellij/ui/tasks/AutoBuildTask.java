@@ -15,6 +15,8 @@ import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.ui.Messages;
 import org.eclipse.codewind.intellij.core.CodewindApplication;
+import org.eclipse.codewind.intellij.core.CoreUtil;
+import org.eclipse.codewind.intellij.core.HttpUtil;
 import org.eclipse.codewind.intellij.core.Logger;
 import org.eclipse.codewind.intellij.core.constants.CoreConstants;
 import org.jetbrains.annotations.NotNull;
@@ -23,6 +25,8 @@ import static org.eclipse.codewind.intellij.ui.messages.CodewindUIBundle.message
 
 public class AutoBuildTask extends Task.Backgroundable {
 
+    private static final Logger LOG = Logger.getInstance(AutoBuildTask.class);
+
     private final CodewindApplication application;
     private final boolean enable;
 
@@ -34,14 +38,10 @@ public class AutoBuildTask extends Task.Backgroundable {
 
     @Override
     public void run(@NotNull ProgressIndicator indicator) {
-        try {
-            String actionKey = enable ? CoreConstants.VALUE_ACTION_ENABLEAUTOBUILD : CoreConstants.VALUE_ACTION_DISABLEAUTOBUILD;
-            application.connection.requestProjectBuild(application, actionKey);
-            application.setAutoBuild(enable);
-        } catch (Exception e) {
-            // Handled in #onThrowable()
-            throw new RuntimeException(e);
-        }
+        // Errors are handled in #onThrowable()
+        String actionKey = enable ? CoreConstants.VALUE_ACTION_ENABLEAUTOBUILD : CoreConstants.VALUE_ACTION_DISABLEAUTOBUILD;
+        HttpUtil.waitFor(application.connection.requestProjectBuildAsync(application, actionKey, indicator), indicator);
+        CoreUtil.updateApplication(application, application.setAutoBuild(enable));
     }
 
     @Override
@@ -49,7 +49,7 @@ public class AutoBuildTask extends Task.Backgroundable {
         Throwable t = error;
         while (t.getCause() != null)
             t = t.getCause();
-        Logger.logWarning("An error occurred changing auto build setting for: " + application.name + ", with id: " + application.projectID, t);
+        LOG.warn("An error occurred changing auto build setting for: " + application.name + ", with id: " + application.projectID, t);
         Messages.showErrorDialog(message("ErrorOnEnableDisableAutoBuild", application.name, t.getLocalizedMessage()), "Codewind");
     }
 
@@ -26,6 +26,8 @@ import static org.eclipse.codewind.intellij.ui.messages.CodewindUIBundle.message
 
 public abstract class CodewindProcessTask extends Task.Backgroundable {
 
+    private static final Logger LOG = Logger.getInstance(CodewindProcessTask.class);
+
     protected final Runnable onSuccess;
     protected ProcessHelper.ProcessResult result;
 
@@ -76,7 +78,7 @@ public abstract class CodewindProcessTask extends Task.Backgroundable {
         }
 
         // An error occurred.
-        Logger.logWarning("Installer failed with return code: " + result.getExitValue() + ", output: " + result.getOutput() + ", error: " + result.getError()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        LOG.warn("Installer failed with return code: " + result.getExitValue() + ", output: " + result.getOutput() + ", error: " + result.getError()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
         Messages.showErrorDialog(message(getExceptionMessageKey(), result.getError()), message("CodewindLabel"));
         super.onFinished();
     }
@@ -86,7 +88,7 @@ public abstract class CodewindProcessTask extends Task.Backgroundable {
         Throwable t = error;
         while (t.getCause() != null)
             t = t.getCause();
-        Logger.logWarning("An error occurred starting Codewind: ", t); //$NON-NLS-1$
+        LOG.warn("An error occurred starting Codewind: ", t); //$NON-NLS-1$
         Messages.showErrorDialog(message(getExceptionMessageKey(), t), message("CodewindLabel"));
     }
 }
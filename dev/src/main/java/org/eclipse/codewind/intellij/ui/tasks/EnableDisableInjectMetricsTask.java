@@ -14,11 +14,16 @@ import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.project.Project;
 import org.eclipse.codewind.intellij.core.CodewindApplication;
+import org.eclipse.codewind.intellij.core.HttpUtil;
 import org.eclipse.codewind.intellij.core.Logger;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.CompletionException;
+
 public class EnableDisableInjectMetricsTask extends Task.Backgroundable {
 
+    private static final Logger LOG = Logger.getInstance(EnableDisableInjectMetricsTask.class);
+
     private final CodewindApplication application;
 
     public EnableDisableInjectMetricsTask(CodewindApplication application, Project project, String taskName) {
@@ -28,11 +33,10 @@ public class EnableDisableInjectMetricsTask extends Task.Backgroundable {
     @Override
     public void run(@NotNull ProgressIndicator indicator) {
         try {
-            application.connection.requestInjectMetrics(application.projectID, !application.isMetricsInjected());
-            application.connection.refreshApps(application.projectID);
-        } catch (Exception e) {
-            Logger.logWarning("An error occurred changing inject metric setting for: " + application.name + ", with id: " + application.projectID, e);
-
+            HttpUtil.waitFor(application.connection.requestInjectMetricsAsync(application.projectID, !application.isMetricsInjected(), indicator)
+                    .thenCompose(result -> application.connection.refreshAppAsync(application.projectID, indicator)), indicator);
+        } catch (CompletionException e) {
+            LOG.warn("An error occurred changing inject metric setting for: " + application.name + ", with id: " + application.projectID, e);
         }
     }
 }
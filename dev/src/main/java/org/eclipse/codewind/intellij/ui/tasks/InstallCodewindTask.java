@@ -22,6 +22,8 @@ import static org.eclipse.codewind.intellij.ui.messages.CodewindUIBundle.message
 
 public class InstallCodewindTask extends CodewindProcessTask {
 
+    private static final Logger LOG = Logger.getInstance(InstallCodewindTask.class);
+
     public InstallCodewindTask(Runnable onSuccess) {
         super(null, message("InstallCodewindJobLabel"), false, PerformInBackgroundOption.DEAF, onSuccess);
     }
@@ -31,12 +33,12 @@ public class InstallCodewindTask extends CodewindProcessTask {
         ProcessHelper.ProcessResult result = null;
         result = InstallUtil.installCodewind(InstallUtil.getVersion(), indicator);
         if (result.getExitValue()!= 0) {
-            Logger.log("Error occurred installing Codewind: " + result.getErrorMsg());
+            LOG.info("Error occurred installing Codewind: " + result.getErrorMsg());
             System.out.println("*** Error occurred installing Codewind: " + result.getErrorMsg());
         } else {
             result = InstallUtil.startCodewind(InstallUtil.getVersion(), indicator);
             if (result.getExitValue()!= 0) {
-                Logger.log("Error occurred starting Codewind after install: " + result.getErrorMsg());
+                LOG.info("Error occurred starting Codewind after install: " + result.getErrorMsg());
                 System.out.println("*** Error occurred starting Codewind after install: " + result.getErrorMsg());
             }
         }
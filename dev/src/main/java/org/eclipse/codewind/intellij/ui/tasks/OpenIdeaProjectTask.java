@@ -32,6 +32,8 @@ import static org.eclipse.codewind.intellij.ui.messages.CodewindUIBundle.message
 
 public class OpenIdeaProjectTask extends Task.Backgroundable {
 
+    private static final Logger LOG = Logger.getInstance(OpenIdeaProjectTask.class);
+
     private final CodewindApplication application;
 
     public OpenIdeaProjectTask(CodewindApplication application) {
@@ -81,7 +83,7 @@ public class OpenIdeaProjectTask extends Task.Backgroundable {
         Throwable t = error;
         while (t.getCause() != null)
             t = t.getCause();
-        Logger.logWarning("An error occurred opening project " + application.getName(), t);
+        LOG.warn("An error occurred opening project " + application.getName(), t);
         Messages.showErrorDialog(message("ProjectOpenError", application.getName()), "Codewind");
     }
 }
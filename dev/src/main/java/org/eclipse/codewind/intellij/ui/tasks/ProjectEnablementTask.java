@@ -15,6 +15,7 @@ import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.ui.Messages;
 import org.eclipse.codewind.intellij.core.CodewindApplication;
+import org.eclipse.codewind.intellij.core.HttpUtil;
 import org.eclipse.codewind.intellij.core.Logger;
 import org.jetbrains.annotations.NotNull;
 
@@ -22,6 +23,8 @@ import static org.eclipse.codewind.intellij.ui.messages.CodewindUIBundle.message
 
 public class ProjectEnablementTask extends Task.Backgroundable {
 
+    private static final Logger LOG = Logger.getInstance(ProjectEnablementTask.class);
+
     private final CodewindApplication application;
     private final boolean enable;
 
@@ -33,12 +36,8 @@ public class ProjectEnablementTask extends Task.Backgroundable {
 
     @Override
     public void run(@NotNull ProgressIndicator indicator) {
-        try {
-            application.connection.requestProjectOpenClose(application, enable);
-        } catch (Exception e) {
-            // Handled in #onThrowable()
-            throw new RuntimeException(e);
-        }
+        // Errors are handled in #onThrowable()
+        HttpUtil.waitFor(application.connection.requestProjectOpenCloseAsync(application, enable, indicator), indicator);
     }
 
     @Override
@@ -46,7 +45,7 @@ public class ProjectEnablementTask extends Task.Backgroundable {
         Throwable t = error;
         while (t.getCause() != null)
             t = t.getCause();
-        Logger.logWarning("An error occurred updating enablement for: " + application.name + ", with id: " + application.projectID, t); //$NON-NLS-1$ //$NON-NLS-2$
+        LOG.warn("An error occurred updating enablement for: " + application.name + ", with id: " + application.projectID, t); //$NON-NLS-1$ //$NON-NLS-2$
         Messages.showErrorDialog(message("ErrorOnEnableDisableProject", application.name, t.getLocalizedMessage()), "Codewind");
     }
 
@@ -24,6 +24,9 @@ import java.util.List;
 import static org.eclipse.codewind.intellij.ui.messages.CodewindUIBundle.message;
 
 public class RemoveProjectTask extends Task.Backgroundable {
+
+    private static final Logger LOG = Logger.getInstance(RemoveProjectTask.class);
+
     private final List<CodewindApplication> applications;
     private CodewindApplication errorApp;
 
@@ -51,7 +54,7 @@ public class RemoveProjectTask extends Task.Backgroundable {
         Throwable t = error;
         while (t.getCause() != null)
             t = t.getCause();
-        Logger.logWarning("An error occurred removing project " + errorApp.name, t);
+        LOG.warn("An error occurred removing project " + errorApp.name, t);
         Messages.showErrorDialog(message("UnbindActionError", errorApp.name, t.getLocalizedMessage()), message("CodewindLabel"));
     }
 }
@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright (c) 2020 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.codewind.intellij.ui.tasks;
+
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import org.eclipse.codewind.intellij.core.CoreUtil;
+import org.eclipse.codewind.intellij.core.Logger;
+import org.eclipse.codewind.intellij.core.connection.SocketEventReplayer;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+
+import static org.eclipse.codewind.intellij.ui.messages.CodewindUIBundle.message;
+
+public class ReplaySocketEventsTask extends Task.Backgroundable {
+
+    private static final Logger LOG = Logger.getInstance(ReplaySocketEventsTask.class);
+
+    private final Path file;
+    private final double speed;
+
+    public ReplaySocketEventsTask(Path file, double speed) {
+        super(null, message("ReplaySocketEventsTask", file.getFileName()), true);
+        this.file = file;
+        this.speed = speed;
+    }
+
+    @Override
+    public void run(@NotNull ProgressIndicator indicator) {
+        indicator.setIndeterminate(true);
+        try {
+            SocketEventReplayer.ReplayResult result = new SocketEventReplayer(file, speed).replay();
+            CoreUtil.openDialog(false, message("ReplaySocketEventsTitle"), message("ReplaySocketEventsResult",
+                    String.valueOf(result.dispatched), format(result.elapsedNanos / 1000000.0), format(result.getThroughput()),
+                    format(result.getLatencyPercentileMS(50)), format(result.getLatencyPercentileMS(90)),
+                    format(result.getLatencyPercentileMS(99)), format(result.getLatencyPercentileMS(100)),
+                    String.valueOf(result.maxEdtQueueDepth), format(result.averageEdtQueueDepth)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            LOG.warn("An error occurred replaying the socket events from " + file, e); //$NON-NLS-1$
+            CoreUtil.openDialog(true, message("ReplaySocketEventsTitle"), message("ReplaySocketEventsError", file, e.getMessage()));
+        }
+    }
+
+    private static String format(double value) {
+        return String.format("%.2f", value); //$NON-NLS-1$
+    }
+}
@@ -14,13 +14,19 @@ import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.project.Project;
 import org.eclipse.codewind.intellij.core.CodewindApplication;
+import org.eclipse.codewind.intellij.core.HttpUtil;
 import org.eclipse.codewind.intellij.core.Logger;
 import org.eclipse.codewind.intellij.core.constants.StartMode;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.CompletionException;
+
 import static org.eclipse.codewind.intellij.ui.messages.CodewindUIBundle.message;
 
 public class RestartDebugModeTask extends Task.Backgroundable {
+
+    private static final Logger LOG = Logger.getInstance(RestartDebugModeTask.class);
+
     private final CodewindApplication application;
 
     public RestartDebugModeTask(CodewindApplication application, Project project) {
@@ -31,20 +37,23 @@ public class RestartDebugModeTask extends Task.Backgroundable {
     @Override
     public void run(@NotNull ProgressIndicator indicator) {
         if (application.projectLanguage.isJava()) {
+            application.clearDebugger();
+            // Restart the project in debug mode. The debugger will be attached when the restart result event is received from Codewind.
+            // Try debug mode first since it allows debug of initialization.  If not supported use debugNoInit mode.
+            String startMode;
+            if (application.getProjectCapabilities().supportsDebugMode()) {
+                startMode = StartMode.DEBUG.startMode;
+            } else if (application.getProjectCapabilities().supportsDebugNoInitMode()) {
+                startMode = StartMode.DEBUG_NO_INIT.startMode;
+            } else {
+                // Should never get here
+                LOG.info("Project restart in debug mode requested but project does not support any debug modes: " + application.name);
+                return;
+            }
             try {
-                application.clearDebugger();
-                // Restart the project in debug mode. The debugger will be attached when the restart result event is received from Codewind.
-                // Try debug mode first since it allows debug of initialization.  If not supported use debugNoInit mode.
-                if (application.getProjectCapabilities().supportsDebugMode()) {
-                    application.connection.requestProjectRestart(application, StartMode.DEBUG.startMode);
-                } else if (application.getProjectCapabilities().supportsDebugNoInitMode()) {
-                    application.connection.requestProjectRestart(application, StartMode.DEBUG_NO_INIT.startMode);
-                } else {
-                    // Should never get here
-                    Logger.log("Project restart in debug mode requested but project does not support any debug modes: " + application.name);
-                }
-            } catch (Exception e) {
-                Logger.log(e);
+                HttpUtil.waitFor(application.connection.requestProjectRestartAsync(application, startMode, indicator), indicator);
+            } catch (CompletionException e) {
+                LOG.info(e);
             }
         }
     }
@@ -14,13 +14,19 @@ import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.project.Project;
 import org.eclipse.codewind.intellij.core.CodewindApplication;
+import org.eclipse.codewind.intellij.core.HttpUtil;
 import org.eclipse.codewind.intellij.core.Logger;
 import org.eclipse.codewind.intellij.core.constants.StartMode;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.CompletionException;
+
 import static org.eclipse.codewind.intellij.ui.messages.CodewindUIBundle.message;
 
 public class RestartRunModeTask extends Task.Backgroundable {
+
+    private static final Logger LOG = Logger.getInstance(RestartRunModeTask.class);
+
     private final CodewindApplication application;
 
     public RestartRunModeTask(CodewindApplication application, Project project) {
@@ -30,11 +36,11 @@ public class RestartRunModeTask extends Task.Backgroundable {
 
     @Override
     public void run(@NotNull ProgressIndicator indicator) {
+        application.clearDebugger();
         try {
-            application.clearDebugger();
-            application.connection.requestProjectRestart(application, StartMode.RUN.startMode);
-        } catch (Exception e){
-            Logger.log("Error initiating restart for project: " + getProject().getName(), e);
+            HttpUtil.waitFor(application.connection.requestProjectRestartAsync(application, StartMode.RUN.startMode, indicator), indicator);
+        } catch (CompletionException e) {
+            LOG.info("Error initiating restart for project: " + getProject().getName(), e);
         }
     }
 }
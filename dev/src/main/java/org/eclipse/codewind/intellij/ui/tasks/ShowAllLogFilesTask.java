@@ -37,6 +37,7 @@ import org.eclipse.codewind.intellij.core.console.ProjectLogInfo;
 import org.eclipse.codewind.intellij.core.console.SocketConsole;
 import org.eclipse.codewind.intellij.ui.CodewindToolWindow;
 import org.eclipse.codewind.intellij.ui.IconCache;
+import org.eclipse.codewind.intellij.ui.LogHistoryDialog;
 import org.eclipse.codewind.intellij.ui.constants.UIConstants;
 import org.eclipse.codewind.intellij.ui.toolwindow.LogsViewNotifier;
 import org.eclipse.codewind.intellij.ui.toolwindow.UpdateHandler;
@@ -51,6 +52,8 @@ import static org.eclipse.codewind.intellij.ui.messages.CodewindUIBundle.message
 
 public class ShowAllLogFilesTask extends Task.Backgroundable {
 
+    private static final Logger LOG = Logger.getInstance(ShowAllLogFilesTask.class);
+
     private final CodewindApplication application;
     private ToolWindow logFilesToolWindow;
     private ContentManager contentManager = null;
@@ -83,7 +86,7 @@ public class ShowAllLogFilesTask extends Task.Backgroundable {
                             socketConsole.initialize();
                         }
                     } catch( Exception e) {
-                        Logger.log(e);
+                        LOG.info(e);
                     }
                 }
                 if (!logFilesToolWindow.isVisible() && logFilesToolWindow.isAvailable()) {
@@ -179,10 +182,18 @@ public class ShowAllLogFilesTask extends Task.Backgroundable {
                 try {
                     BrowserLauncher.getInstance().browse(new URI(UIConstants.GETTING_STARTED_INFO_URL));
                 } catch (URISyntaxException ex) {
-                    Logger.log(ex);
+                    LOG.info(ex);
                 }
             }
         };
+        final AnAction historyAction = new AnAction(message("LogHistoryAction")) {
+            @Override
+            public void actionPerformed(@NotNull AnActionEvent e) {
+                LogHistoryDialog.open(getProject(), application, logInfo);
+            }
+        };
+        historyAction.getTemplatePresentation().setIcon(AllIcons.Vcs.History);
+        toolbarGroup.add(historyAction);
         helpAction.getTemplatePresentation().setIcon(AllIcons.Actions.Help);
         toolbarGroup.add(helpAction);
         final AnAction closeTabAction = new TabbedContentAction.CloseAction(content) {
@@ -16,19 +16,19 @@ import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.Messages;
 import org.eclipse.codewind.intellij.core.CodewindApplication;
+import org.eclipse.codewind.intellij.core.HttpUtil;
 import org.eclipse.codewind.intellij.core.Logger;
 import org.eclipse.codewind.intellij.core.constants.CoreConstants;
 import org.jetbrains.annotations.Nls;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import org.json.JSONException;
-
-import java.io.IOException;
 
 import static org.eclipse.codewind.intellij.ui.messages.CodewindUIBundle.message;
 
 public class StartBuildTask extends Task.Backgroundable {
 
+    private static final Logger LOG = Logger.getInstance(StartBuildTask.class);
+
     @NotNull
     private final CodewindApplication application;
 
@@ -39,13 +39,8 @@ public class StartBuildTask extends Task.Backgroundable {
 
     @Override
     public void run(@NotNull ProgressIndicator indicator) {
-
-        try {
-            application.connection.requestProjectBuild(application, CoreConstants.VALUE_ACTION_BUILD);
-        } catch (Exception e) {
-            // Handled in #onThrowable()
-            throw new RuntimeException(e);
-        }
+        // Errors are handled in #onThrowable()
+        HttpUtil.waitFor(application.connection.requestProjectBuildAsync(application, CoreConstants.VALUE_ACTION_BUILD, indicator), indicator);
     }
 
     @Override
@@ -53,7 +48,7 @@ public class StartBuildTask extends Task.Backgroundable {
         Throwable t = error;
         while (t.getCause() != null)
             t = t.getCause();
-        Logger.logWarning("An error occurred building project " + application.getName(), t);
+        LOG.warn("An error occurred building project " + application.getName(), t);
         Messages.showErrorDialog(message("StartBuildError", application.getName(), t.getLocalizedMessage()), "Codewind");
     }
 }
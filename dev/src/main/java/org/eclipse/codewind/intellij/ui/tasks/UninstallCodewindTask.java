@@ -23,6 +23,8 @@ import static org.eclipse.codewind.intellij.ui.messages.CodewindUIBundle.message
 
 public class UninstallCodewindTask extends CodewindProcessTask {
 
+    private static final Logger LOG = Logger.getInstance(UninstallCodewindTask.class);
+
     public UninstallCodewindTask(Runnable onSuccess) {
         super(null, message("RemovingCodewindJobLabel"), false, PerformInBackgroundOption.DEAF, onSuccess);
     }
@@ -32,12 +34,12 @@ public class UninstallCodewindTask extends CodewindProcessTask {
         ProcessHelper.ProcessResult result = null;
         result = InstallUtil.stopCodewind(indicator);
         if (result.getExitValue()!= 0) {
-            Logger.log("Error occurred stopping Codewind: " + result.getErrorMsg());
+            LOG.info("Error occurred stopping Codewind: " + result.getErrorMsg());
             System.out.println("*** Error occurred stopping Codewind: " + result.getErrorMsg());
         } else {
             result = InstallUtil.removeCodewind(CodewindManager.getManager().getInstallStatus().getInstalledVersions(), indicator);
             if (result.getExitValue()!= 0) {
-                Logger.log("Error occurred removing Codewind after install: " + result.getErrorMsg());
+                LOG.info("Error occurred removing Codewind after install: " + result.getErrorMsg());
                 System.out.println("*** Error occurred removing Codewind after install: " + result.getErrorMsg());
             }
         }
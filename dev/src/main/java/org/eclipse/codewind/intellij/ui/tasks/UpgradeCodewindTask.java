@@ -23,6 +23,8 @@ import static org.eclipse.codewind.intellij.ui.messages.CodewindUIBundle.message
 
 public class UpgradeCodewindTask extends CodewindProcessTask {
 
+    private static final Logger LOG = Logger.getInstance(UpgradeCodewindTask.class);
+
     public UpgradeCodewindTask(Runnable onSuccess) {
         super(null, message("InstallCodewindJobLabel"), false, PerformInBackgroundOption.DEAF, onSuccess);
     }
@@ -32,22 +34,22 @@ public class UpgradeCodewindTask extends CodewindProcessTask {
         ProcessHelper.ProcessResult result = null;
         result = InstallUtil.stopCodewind(indicator);
         if (result.getExitValue()!= 0) {
-            Logger.log("Error occurred stopping Codewind: " + result.getErrorMsg());
+            LOG.info("Error occurred stopping Codewind: " + result.getErrorMsg());
             System.out.println("*** Error occurred stopping Codewind: " + result.getErrorMsg());
         } else {
             result = InstallUtil.removeCodewind(CodewindManager.getManager().getInstallStatus().getInstalledVersions(), indicator);
             if (result.getExitValue()!= 0) {
-                Logger.log("Error occurred removing Codewind after install: " + result.getErrorMsg());
+                LOG.info("Error occurred removing Codewind after install: " + result.getErrorMsg());
                 System.out.println("*** Error occurred removing Codewind after install: " + result.getErrorMsg());
             } else {
                 result = InstallUtil.installCodewind(InstallUtil.getVersion(), indicator);
                 if (result.getExitValue()!= 0) {
-                    Logger.log("Error occurred installing Codewind: " + result.getErrorMsg());
+                    LOG.info("Error occurred installing Codewind: " + result.getErrorMsg());
                     System.out.println("*** Error occurred installing Codewind: " + result.getErrorMsg());
                 } else {
                     result = InstallUtil.startCodewind(InstallUtil.getVersion(), indicator);
                     if (result.getExitValue()!= 0) {
-                        Logger.log("Error occurred starting Codewind after install: " + result.getErrorMsg());
+                        LOG.info("Error occurred starting Codewind after install: " + result.getErrorMsg());
                         System.out.println("*** Error occurred starting Codewind after install: " + result.getErrorMsg());
                     } else {
                         // go through each project and upgrade its workspace
@@ -32,6 +32,9 @@ import java.net.URL;
 import static org.eclipse.codewind.intellij.ui.messages.CodewindUIBundle.message;
 
 public class DetailsStep extends AbstractAddTemplateSourceWizardStep {
+
+    private static final Logger LOG = Logger.getInstance(DetailsStep.class);
+
     public static String STEP_ID = "DetailsStep";
     private DetailsForm form;
 
@@ -130,7 +133,7 @@ public class DetailsStep extends AbstractAddTemplateSourceWizardStep {
 
                         // The name should at least be set
                         if (name == null || name.isEmpty()) {
-                            Logger.logDebug("Found the template source information but the name is null or empty: " + detailsUrl);
+                            LOG.debug("Found the template source information but the name is null or empty: " + detailsUrl);
                         } else {
                             defaultValues[0] = name;
                             defaultValues[1] = description;
@@ -148,7 +151,7 @@ public class DetailsStep extends AbstractAddTemplateSourceWizardStep {
                         }
                     } else {
                         // Don't log this as an error as the template source may not provide details
-                        Logger.logTrace("Got error code " + result.error
+                        LOG.trace("Got error code " + result.error
                                 + " trying to retrieve the template source details for url: " + detailsUrl
                                 + ", and error: " + result.error);
                     }
@@ -51,6 +51,9 @@ import java.util.Base64;
 import static org.eclipse.codewind.intellij.ui.messages.CodewindUIBundle.message;
 
 public class AuthForm extends BaseCodewindForm {
+
+    private static final Logger LOG = Logger.getInstance(AuthForm.class);
+
     private JPanel contentPane;
     private JPanel authenticationMethodPanel;
     private JRadioButton logonRadioButton;
@@ -278,7 +281,7 @@ public class AuthForm extends BaseCodewindForm {
                 String auth = username + ":" + password;
                 return "Basic " + Base64.getEncoder().encodeToString(auth.getBytes("UTF-8"));  // NON NLS
             } catch (UnsupportedEncodingException e) {
-                Logger.logWarning("An unsupported encoding exception occurred trying to encode the logon authentication."); // NON NLS
+                LOG.warn("An unsupported encoding exception occurred trying to encode the logon authentication."); // NON NLS
             }
             return null;
         }
@@ -34,6 +34,9 @@ import java.awt.event.MouseEvent;
 import static org.eclipse.codewind.intellij.ui.messages.CodewindUIBundle.message;
 
 public class DetailsForm extends BaseCodewindForm {
+
+    private static final Logger LOG = Logger.getInstance(DetailsForm.class);
+
     private JPanel contentPane;
     private JPanel headerPanel;
     private JPanel mainContent;
@@ -82,7 +85,7 @@ public class DetailsForm extends BaseCodewindForm {
                     descriptionTextField.setText(defaultValues[1] == null ? "" : defaultValues[1]);
                     validate(false, resetButton);
                 } catch (Exception e) {
-                    Logger.logDebug("An error occurred trying to get the template source details", e);
+                    LOG.debug("An error occurred trying to get the template source details", e);
                 }
 
             }
@@ -60,6 +60,9 @@ import java.util.Optional;
 import static org.eclipse.codewind.intellij.ui.messages.CodewindUIBundle.message;
 
 public class RepositoryManagementForm {
+
+    private static final Logger LOG = Logger.getInstance(RepositoryManagementForm.class);
+
     private JPanel contentPane;
     private JPanel rowPanel;
     private JTable repoViewer;
@@ -280,14 +283,14 @@ public class RepositoryManagementForm {
                             try {
                                 TemplateUtil.removeTemplateSource(info.getURL(), connection.getConid(), mon);
                             } catch (Exception e) {
-                                Logger.logWarning("Failed to remove repository: " + info.getURL(), e); // Not NLS
+                                LOG.warn("Failed to remove repository: " + info.getURL(), e); // Not NLS
                             }
                         } else if (info.getEnabled() != entry.get().enabled) {
                             // The new set contains the original repo but the enablement does not match so update it
                             try {
                                 TemplateUtil.enableTemplateSource(entry.get().enabled, info.getURL(), connection.getConid(), mon);
                             } catch (Exception e) {
-                                Logger.logWarning("Failed to update repository: " + info.getURL(), e); // Not NLS
+                                LOG.warn("Failed to update repository: " + info.getURL(), e); // Not NLS
                             }
                         }
                         if (mon.isCanceled()) {
@@ -301,7 +304,7 @@ public class RepositoryManagementForm {
                             try {
                                 TemplateUtil.addTemplateSource(entry.url, entry.username, entry.password, entry.accessToken, entry.name, entry.description, connection.getConid(), mon);
                             } catch (Exception e) {
-                                Logger.logWarning("Failed to add repository: " + entry.url, e); // Not NLS
+                                LOG.warn("Failed to add repository: " + entry.url, e); // Not NLS
                                 CoreUtil.openDialog(true, message("RepoMgmtAddFailed", entry.url), e.getLocalizedMessage());
                             }
                         }
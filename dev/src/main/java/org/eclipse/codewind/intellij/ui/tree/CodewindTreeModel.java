@@ -12,20 +12,61 @@
 package org.eclipse.codewind.intellij.ui.tree;
 
 import com.intellij.ui.tree.BaseTreeModel;
+import org.eclipse.codewind.intellij.core.ApplicationState;
 import org.eclipse.codewind.intellij.core.CodewindApplication;
 import org.eclipse.codewind.intellij.core.IUpdateHandler;
 import org.eclipse.codewind.intellij.core.connection.CodewindConnection;
+import org.eclipse.codewind.intellij.core.connection.ConnectionCache;
 import org.eclipse.codewind.intellij.core.connection.ConnectionManager;
 
 import javax.swing.tree.TreePath;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+/**
+ * Tree model for the Codewind tool window.
+ * <p>
+ * The model keeps its own copy of the children of the root and of each connection, and updates them
+ * incrementally as it is notified of changes, firing inserted, removed and changed events for just the nodes
+ * affected.  This keeps the expansion and selection state of the rest of the tree.  The applications for a
+ * connection are kept in {@link CodewindApplication#NAME_ORDER} so an application can be found with a binary search.
+ * <p>
+ * Until a connection has its project list, its children are the last known projects from the {@link ConnectionCache}.
+ * They are replaced by the live applications with a structure change of the connection node.
+ * <p>
+ * The model is only accessed on the event dispatch thread (the update methods are called through
+ * {@link org.eclipse.codewind.intellij.core.CoreUtil#invokeLater(Runnable)}).
+ */
 public class CodewindTreeModel extends BaseTreeModel<Object> implements IUpdateHandler {
 
-    private static final CodewindTreeModel INSTANCE = new CodewindTreeModel();
+    // The application state shown in the tree, see CodewindTreeNodeCellRenderer
+    private static final int LABEL_CHANGES = ApplicationState.STATUS | ApplicationState.BUILD |
+            ApplicationState.START_MODE | ApplicationState.SETTINGS;
 
-    private Object root = ConnectionManager.getManager();
+    private final Object root;
+
+    // The children as last reported to the tree
+    private List<CodewindConnection> connections;
+    private final Map<CodewindConnection, List<CodewindApplication>> apps = new HashMap<CodewindConnection, List<CodewindApplication>>();
+    // Connections whose children were reported as the cached projects
+    private final Set<CodewindConnection> staleConnections = new HashSet<CodewindConnection>();
+
+    private CodewindTreeModel() {
+        root = ConnectionManager.getManager();
+    }
+
+    /**
+     * Create a model for the given connections without the connection manager, for the benchmarks.
+     */
+    CodewindTreeModel(Object root, List<CodewindConnection> connections) {
+        this.root = root;
+        this.connections = new ArrayList<CodewindConnection>(connections);
+    }
 
     @Override
     public List<? extends Object> getChildren(Object parent) {
@@ -39,11 +80,59 @@ public class CodewindTreeModel extends BaseTreeModel<Object> implements IUpdateH
     }
 
     private List<CodewindConnection> getChildren(ConnectionManager manager) {
-        return manager.activeConnections();
+        if (connections == null) {
+            connections = new ArrayList<CodewindConnection>(manager.activeConnections());
+        }
+        return Collections.unmodifiableList(connections);
     }
 
-    private List<CodewindApplication> getChildren(CodewindConnection connection) {
-        return connection.getSortedApps();
+    private List<? extends Object> getChildren(CodewindConnection connection) {
+        if (!connection.isConnected() && !staleConnections.contains(connection) && !connection.getSortedApps().isEmpty()) {
+            // The applications are kept while the connection is down so they can be resynchronized, don't show
+            // them.  They are inserted by the connection update once the connection is restored.
+            List<CodewindApplication> hidden = new ArrayList<CodewindApplication>();
+            apps.put(connection, hidden);
+            return Collections.unmodifiableList(hidden);
+        }
+        List<CodewindApplication> list = getApps(connection);
+        if (list.isEmpty() || staleConnections.contains(connection)) {
+            List<ConnectionCache.CachedApplication> staleApps = ConnectionCache.getInstance().getStaleApps(connection);
+            if (!staleApps.isEmpty()) {
+                staleConnections.add(connection);
+                return staleApps;
+            }
+            if (staleConnections.remove(connection)) {
+                // The live applications were not tracked while the cached projects were shown
+                list = new ArrayList<CodewindApplication>(connection.getSortedApps());
+                apps.put(connection, list);
+            }
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * If the tree is showing the cached projects for the connection and it now has its project list, replace
+     * them with the live applications.
+     *
+     * @return true if the children of the connection were replaced by a structure change
+     */
+    private boolean replaceStaleApps(CodewindConnection connection) {
+        if (!staleConnections.contains(connection) || !ConnectionCache.getInstance().getStaleApps(connection).isEmpty()) {
+            return false;
+        }
+        staleConnections.remove(connection);
+        apps.put(connection, new ArrayList<CodewindApplication>(connection.getSortedApps()));
+        this.treeStructureChanged(treePathFrom(getRoot(), connection), new int[0], new Object[0]);
+        return true;
+    }
+
+    private List<CodewindApplication> getApps(CodewindConnection connection) {
+        List<CodewindApplication> list = apps.get(connection);
+        if (list == null) {
+            list = new ArrayList<CodewindApplication>(connection.getSortedApps());
+            apps.put(connection, list);
+        }
+        return list;
     }
 
     @Override
@@ -53,47 +142,169 @@ public class CodewindTreeModel extends BaseTreeModel<Object> implements IUpdateH
 
     @Override
     public void updateAll() {
+        connections = null;
+        apps.clear();
+        staleConnections.clear();
         this.treeStructureChanged(new TreePath(getRoot()), new int[0], new Object[0]);
     }
 
     @Override
     public void updateConnection(CodewindConnection connection) {
-        int index = getChildren(getRoot()).indexOf(connection);
-        if (index >= 0) {
-            TreePath path = treePathFrom(getRoot(), connection);
-            this.treeStructureChanged(path, new int[0], new Object[0]);
-        } else {
-            TreePath path = treePathFrom(getRoot());
-            this.treeStructureChanged(path, new int[0], new Object[0]);
+        if (!updateConnections()) {
+            // The connection is not new so the connection node and its applications may have changed
+            int index = connections.indexOf(connection);
+            if (index >= 0) {
+                this.treeNodesChanged(treePathFrom(getRoot()), new int[] {index}, new Object[] {connection});
+                updateApps(connection);
+            }
+        }
+    }
+
+    /**
+     * Bring the connections up to date with the connection manager.
+     *
+     * @return true if the connections were replaced by a structure change
+     */
+    private boolean updateConnections() {
+        if (connections == null) {
+            // Nothing has been reported to the tree yet
+            getChildren(ConnectionManager.getManager());
+            this.treeStructureChanged(treePathFrom(getRoot()), new int[0], new Object[0]);
+            return true;
+        }
+        List<CodewindConnection> newConnections = ConnectionManager.getManager().activeConnections();
+        TreePath rootPath = treePathFrom(getRoot());
+
+        // Removed connections, from the last to the first so the indices stay valid
+        Set<CodewindConnection> newSet = new HashSet<CodewindConnection>(newConnections);
+        for (int i = connections.size() - 1; i >= 0; i--) {
+            CodewindConnection connection = connections.get(i);
+            if (!newSet.contains(connection)) {
+                connections.remove(i);
+                apps.remove(connection);
+                staleConnections.remove(connection);
+                this.treeNodesRemoved(rootPath, new int[] {i}, new Object[] {connection});
+            }
+        }
+
+        // The manager only appends connections so the remaining ones are still in order
+        if (!newConnections.subList(0, Math.min(connections.size(), newConnections.size())).equals(connections)) {
+            connections = new ArrayList<CodewindConnection>(newConnections);
+            apps.clear();
+            staleConnections.clear();
+            this.treeStructureChanged(rootPath, new int[0], new Object[0]);
+            return true;
+        }
+        for (int i = connections.size(); i < newConnections.size(); i++) {
+            CodewindConnection connection = newConnections.get(i);
+            connections.add(connection);
+            this.treeNodesInserted(rootPath, new int[] {i}, new Object[] {connection});
+        }
+        return false;
+    }
+
+    /**
+     * Bring the applications for the connection up to date with the connection.
+     */
+    private void updateApps(CodewindConnection connection) {
+        List<CodewindApplication> list = apps.get(connection);
+        if (list == null) {
+            // The tree has not asked for the children yet
+            return;
+        }
+        if (replaceStaleApps(connection) || staleConnections.contains(connection)) {
+            return;
+        }
+        TreePath path = treePathFrom(getRoot(), connection);
+        List<CodewindApplication> newApps = connection.getSortedApps();
+
+        // Removed applications, from the last to the first so the indices stay valid
+        Set<CodewindApplication> newSet = new HashSet<CodewindApplication>(newApps);
+        for (int i = list.size() - 1; i >= 0; i--) {
+            CodewindApplication app = list.get(i);
+            if (!newSet.contains(app)) {
+                list.remove(i);
+                this.treeNodesRemoved(path, new int[] {i}, new Object[] {app});
+            }
+        }
+
+        // Added and changed applications
+        for (CodewindApplication app : newApps) {
+            updateApp(path, list, app);
         }
     }
 
     @Override
     public void updateApplication(CodewindApplication application) {
-        TreePath path = treePathFrom(getRoot(), application.getConnection());
-        int index = getChildren(application.getConnection()).indexOf(application);
-        if (index >= 0) {
-            try {
-                // It is possible that the number of applications in the model does not match the number of child nodes that is in the current tree node state,
-                // TreeStateNode (the connection node). When a new project is created and is added last in the tree, can get ArrayIndexOutOfBoundsException x >= x.
-                this.treeNodesChanged(path, new int[] {index}, new Object[] {application});
-            } catch (ArrayIndexOutOfBoundsException e) {
-                // the structure should change (the order of socket events is not deterministic)
-                this.treeStructureChanged(path, new int[0], new Object[0]);
+        CodewindConnection connection = application.getConnection();
+        if (connections == null || !connections.contains(connection)) {
+            updateConnection(connection);
+            return;
+        }
+        List<CodewindApplication> list = apps.get(connection);
+        if (list == null) {
+            // The tree has not asked for the children yet
+            return;
+        }
+        if (replaceStaleApps(connection) || staleConnections.contains(connection)) {
+            return;
+        }
+        if (connection.getAppByID(application.projectID) == null) {
+            removeApplication(application);
+            return;
+        }
+        updateApp(treePathFrom(getRoot(), connection), list, application);
+    }
+
+    @Override
+    public void updateApplication(CodewindApplication application, int changes) {
+        if ((changes & LABEL_CHANGES) == 0) {
+            // Nothing shown in the tree changed, but the application still needs to be added if it is new
+            List<CodewindApplication> list = apps.get(application.getConnection());
+            if (list != null && !staleConnections.contains(application.getConnection())) {
+                int index = Collections.binarySearch(list, application, CodewindApplication.NAME_ORDER);
+                if (index >= 0 && list.get(index) == application) {
+                    return;
+                }
             }
+        }
+        updateApplication(application);
+    }
+
+    private void updateApp(TreePath path, List<CodewindApplication> list, CodewindApplication app) {
+        int index = Collections.binarySearch(list, app, CodewindApplication.NAME_ORDER);
+        if (index >= 0) {
+            // The application object is replaced if the project was re-created with the same id
+            list.set(index, app);
+            this.treeNodesChanged(path, new int[] {index}, new Object[] {app});
         } else {
-            this.treeStructureChanged(path, new int[0], new Object[0]);
+            index = -(index + 1);
+            list.add(index, app);
+            this.treeNodesInserted(path, new int[] {index}, new Object[] {app});
         }
     }
 
     @Override
     public void removeConnection(List<CodewindApplication> apps) {
-        this.treeStructureChanged(new TreePath(getRoot()), new int[0], new Object[0]);
+        if (!updateConnections() && apps != null) {
+            // The connection may still be in the tree if it was not removed from the manager
+            for (CodewindApplication app : apps) {
+                removeApplication(app);
+            }
+        }
     }
 
     @Override
     public void removeApplication(CodewindApplication application) {
-        updateConnection(application.getConnection());
+        List<CodewindApplication> list = apps.get(application.getConnection());
+        if (list == null || replaceStaleApps(application.getConnection()) || staleConnections.contains(application.getConnection())) {
+            return;
+        }
+        int index = Collections.binarySearch(list, application, CodewindApplication.NAME_ORDER);
+        if (index >= 0) {
+            CodewindApplication app = list.remove(index);
+            this.treeNodesRemoved(treePathFrom(getRoot(), application.getConnection()), new int[] {index}, new Object[] {app});
+        }
     }
 
     private static TreePath treePathFrom(Object... objects) {
@@ -101,6 +312,11 @@ public class CodewindTreeModel extends BaseTreeModel<Object> implements IUpdateH
     }
 
     public static CodewindTreeModel getInstance() {
-        return INSTANCE;
+        return Holder.INSTANCE;
+    }
+
+    // Created on first use so that loading the class does not start the connection manager
+    private static class Holder {
+        private static final CodewindTreeModel INSTANCE = new CodewindTreeModel();
     }
 }
@@ -23,6 +23,7 @@ import org.eclipse.codewind.intellij.core.*;
 import org.eclipse.codewind.intellij.core.cli.InstallStatus;
 import org.eclipse.codewind.intellij.core.cli.InstallUtil;
 import org.eclipse.codewind.intellij.core.connection.CodewindConnection;
+import org.eclipse.codewind.intellij.core.connection.ConnectionCache.CachedApplication;
 import org.eclipse.codewind.intellij.core.connection.ConnectionManager;
 import org.eclipse.codewind.intellij.core.connection.LocalConnection;
 import org.eclipse.codewind.intellij.core.connection.RemoteConnection;
@@ -30,10 +31,13 @@ import org.eclipse.codewind.intellij.core.constants.AppStatus;
 import org.eclipse.codewind.intellij.core.constants.BuildStatus;
 import org.eclipse.codewind.intellij.core.constants.ProjectLanguage;
 import org.eclipse.codewind.intellij.core.constants.ProjectType;
+import org.eclipse.codewind.intellij.core.constants.StartMode;
 import org.jetbrains.annotations.NotNull;
 
 public class CodewindTreeNodeCellRenderer extends DefaultTreeCellRenderer {
 
+    private static final Logger LOG = Logger.getInstance(CodewindTreeNodeCellRenderer.class);
+
     @Override
     public Component getTreeCellRendererComponent(JTree tree, Object value, boolean selected, boolean expanded, boolean leaf, int row, boolean hasFocus) {
         setIcons(value);
@@ -59,12 +63,21 @@ public class CodewindTreeNodeCellRenderer extends DefaultTreeCellRenderer {
             return;
         }
 
+        if (value instanceof CachedApplication) {
+            CachedApplication app = (CachedApplication) value;
+            setIcons(app.projectType, app.projectLanguage);
+            return;
+        }
+
         if (!(value instanceof CodewindApplication)) {
             return;
         }
 
         CodewindApplication app = (CodewindApplication) value;
-        ProjectType type = app.projectType;
+        setIcons(app.projectType, app.projectLanguage);
+    }
+
+    private void setIcons(ProjectType type, ProjectLanguage lang) {
         if (type == ProjectType.TYPE_LIBERTY) {
             Icon icon = getCachedIcon(ICONS_THEMELESS_PROJECT_TYPES_MICROPROFILE_SVG);
             setIcons(icon);
@@ -89,7 +102,6 @@ public class CodewindTreeNodeCellRenderer extends DefaultTreeCellRenderer {
             return;
         }
 
-        ProjectLanguage lang = app.projectLanguage;
         if (lang.isGo()) {
             Icon icon = getCachedIcon(ICONS_THEMELESS_PROJECT_TYPES_GO_SVG);
             setIcons(icon);
@@ -129,28 +141,42 @@ public class CodewindTreeNodeCellRenderer extends DefaultTreeCellRenderer {
             return getText(application);
         }
 
+        if (element instanceof CachedApplication) {
+            CachedApplication application = (CachedApplication) element;
+            return getText(application);
+        }
+
         return element.toString();
     }
 
     @NotNull
     private String getText(CodewindApplication application) {
-        StringBuilder builder = new StringBuilder(application.name);
+        ApplicationState state = application.getState();
+        return getText(application.name, state.enabled, state.appStatus, state.buildStatus, state.buildDetails, state.startMode);
+    }
 
-        if (application.isEnabled()) {
-            AppStatus appStatus = application.getAppStatus();
-            BuildStatus buildStatus = application.getBuildStatus();
+    @NotNull
+    private String getText(CachedApplication application) {
+        // Shown until the connection has its project list
+        return getText(application.name, application.enabled, application.appStatus, application.buildStatus, null, application.startMode) +
+                " (" + message("CodewindProjectStale") + ")";
+    }
+
+    @NotNull
+    private String getText(String name, boolean enabled, AppStatus appStatus, BuildStatus buildStatus, String buildDetails, StartMode startMode) {
+        StringBuilder builder = new StringBuilder(name);
 
+        if (enabled) {
             if (appStatus == AppStatus.UNKNOWN && buildStatus == BuildStatus.UNKOWN) {
                 builder.append(" [").append(AppStatus.UNKNOWN.displayString).append("]");
             }
 
             if (appStatus != AppStatus.UNKNOWN) {
-                String displayString = appStatus.getDisplayString(application.getStartMode());
+                String displayString = appStatus.getDisplayString(startMode);
                 builder.append(" [").append(displayString).append("]");
             }
 
             if (buildStatus != BuildStatus.UNKOWN) {
-                String buildDetails = application.getBuildDetails();
                 if (buildDetails != null && !buildDetails.isEmpty()) {
                     builder.append(" [")
                             .append(buildStatus.getDisplayString())
@@ -208,7 +234,7 @@ public class CodewindTreeNodeCellRenderer extends DefaultTreeCellRenderer {
             } else if (status.isError()) {
                 String msg = manager.getInstallerErrorMsg();
                 if (msg != null) {
-                    Logger.log(msg); // Log this as INFO so it will be in the IntelliJ log by default (trace does not have to be enabled)
+                    LOG.info(msg); // Log this as INFO so it will be in the IntelliJ log by default (trace does not have to be enabled)
                 }
                 return text + " [" + message("CodewindErrorQualifier") + "] (" + message("CodewindErrorMsg") + ")";
             } else if (status.isUnknown()) {
@@ -23,6 +23,9 @@ import java.net.URISyntaxException;
 import java.util.List;
 
 public abstract class AbstractCodewindWizard extends AbstractWizardEx implements ChangeListener {
+
+    private static final Logger LOG = Logger.getInstance(AbstractCodewindWizard.class);
+
     protected String helpUrl;
 
     public AbstractCodewindWizard(String title, Project project, List<? extends AbstractCodewindWizardStep> steps, String helpUrl) {
@@ -51,7 +54,7 @@ public abstract class AbstractCodewindWizard extends AbstractWizardEx implements
         try {
             BrowserLauncher.getInstance().browse(new URI(helpUrl));
         } catch (URISyntaxException ex) {
-            Logger.logWarning(ex);
+            LOG.warn(ex);
         }
     }
 
@@ -38,6 +38,8 @@ import static org.eclipse.codewind.intellij.ui.messages.CodewindUIBundle.message
 
 public class AddExistingProjectWizard extends AbstractCodewindWizard {
 
+    private static final Logger LOG = Logger.getInstance(AddExistingProjectWizard.class);
+
     private BindProjectModel model;
     private CodewindConnection connection;
     private Project intellijProject;
@@ -126,7 +128,7 @@ public class AddExistingProjectWizard extends AbstractCodewindWizard {
                         ProgressIndicator indicator = ProgressManager.getInstance().getProgressIndicator();
                         ProjectUtil.validateProject(name, path, typeInfo.getId() + ":" + finalLanguage, connection.getConid(), indicator);
                     } catch (Exception e) {
-                        Logger.log(e);
+                        LOG.info(e);
                         validationException = e;
                     }
                 }
@@ -165,13 +167,13 @@ public class AddExistingProjectWizard extends AbstractCodewindWizard {
                         ProgressIndicator indicator = ProgressManager.getInstance().getProgressIndicator();
                         ProjectUtil.bindProject(name, path, language, typeInfo.getId(), connection.getConid(), indicator);
                     } catch (Exception e) {
-                        Logger.log(e);
+                        LOG.info(e);
                         bindException = e;
                     }
                 }
             }, message("BindProjectWizardJobLabel", name), true, intellijProject);
         } catch (Exception e) {
-            Logger.log(e);
+            LOG.info(e);
         }
 
         // Dismiss the wizard regardless of project bind error
@@ -207,7 +209,7 @@ public class AddExistingProjectWizard extends AbstractCodewindWizard {
                 }
             });
         } catch (Exception ex) {
-            Logger.log(ex);
+            LOG.info(ex);
         }
     }
 }
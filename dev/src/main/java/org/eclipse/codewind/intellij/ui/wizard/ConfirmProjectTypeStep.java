@@ -41,6 +41,9 @@ import java.awt.Insets;
 import static org.eclipse.codewind.intellij.ui.messages.CodewindUIBundle.message;
 
 public class ConfirmProjectTypeStep extends AbstractBindProjectWizardStep {
+
+    private static final Logger LOG = Logger.getInstance(ConfirmProjectTypeStep.class);
+
     public static String STEP_ID = "ConfirmProjectTypeStep";
     private Project project;
     private CodewindConnection connection;
@@ -201,7 +204,7 @@ public class ConfirmProjectTypeStep extends AbstractBindProjectWizardStep {
                     }
                 } catch (Exception e) {
                     // Fill this in and ensure user can go to the last page
-                    Logger.log(e);
+                    LOG.info(e);
                     typeField.setText(ProjectType.TYPE_UNKNOWN.getDisplayName());
                     languageField.setText(ProjectLanguage.LANGUAGE_UNKNOWN.getDisplayName());
                 }
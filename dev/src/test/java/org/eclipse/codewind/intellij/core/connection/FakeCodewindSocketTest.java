@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2020 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.codewind.intellij.core.connection;
+
+import org.eclipse.codewind.intellij.core.CodewindApplication;
+import org.eclipse.codewind.intellij.core.HttpUtil;
+import org.eclipse.codewind.intellij.core.constants.AppStatus;
+import org.eclipse.codewind.intellij.core.constants.BuildStatus;
+import org.eclipse.codewind.intellij.core.constants.CoreConstants;
+import org.eclipse.codewind.intellij.fake.FakeCodewind;
+import org.eclipse.codewind.intellij.fake.FakeProject;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.URI;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Smoke test of the plugin against {@link FakeCodewind}: the REST endpoints are read with the plugin's HTTP
+ * client and the socket.io client connects to the fake socket server and receives its events.
+ */
+public class FakeCodewindSocketTest {
+
+    private static final long TIMEOUT_MS = 10000;
+
+    private FakeCodewind codewind;
+    private CodewindConnection connection;
+    private CodewindSocket socket;
+
+    @Before
+    public void setUp() throws Exception {
+        codewind = new FakeCodewind().start();
+    }
+
+    @After
+    public void tearDown() {
+        if (socket != null) {
+            socket.close();
+        }
+        codewind.stop();
+    }
+
+    @Test
+    public void projectStatusChanged() throws Exception {
+        FakeProject project = codewind.addProjects(1).get(0);
+
+        connection = new CodewindConnection("Fake Codewind", codewind.getBaseUri(), null) {
+            @Override
+            public boolean isConnected() {
+                return true;
+            }
+        };
+        connection.refreshApps(null);
+        CodewindApplication app = connection.getAppByID(project.projectID);
+        assertNotNull("The project from the fake project list was not added", app);
+        assertEquals(AppStatus.STARTED, app.getAppStatus());
+
+        URI envUri = codewind.getBaseUri().resolve(CoreConstants.APIPATH_ENV);
+        ConnectionEnv env = new ConnectionEnv(new JSONObject(HttpUtil.get(envUri).response));
+        assertEquals(FakeCodewind.NAMESPACE, env.getSocketNamespace());
+
+        socket = new CodewindSocket(connection, null, codewind.getBaseUri().resolve(env.getSocketNamespace()), true);
+        assertTrue("The socket did not connect to the fake socket server", socket.blockUntilFirstConnection());
+
+        long handled = socket.getEventExecutor().getEventsHandled();
+        codewind.setStatus(project.projectID, AppStatus.STOPPED.appStatus, null);
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (socket.getEventExecutor().getEventsHandled() == handled) {
+            assertTrue("The project status event was not received", System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+        socket.getEventDispatcher().flush(project.projectID);
+
+        assertEquals(AppStatus.STOPPED, app.getAppStatus());
+        assertEquals(BuildStatus.SUCCESS, app.getBuildStatus());
+    }
+}